@@ -0,0 +1,45 @@
+package it.fulminazzo.mojito.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The programs measured by the benchmarks, stored in the <code>programs</code> resources folder.
+ */
+final class BenchmarkPrograms {
+    static final String ARITHMETIC = "arithmetic";
+    static final String STRINGS = "strings";
+    static final String ARRAYS = "arrays";
+    static final String COLLECTIONS = "collections";
+    static final String EXCEPTIONS = "exceptions";
+    static final String SWITCH = "switch";
+    static final String LOOPS = "loops";
+
+    private BenchmarkPrograms() {
+    }
+
+    /**
+     * Reads the source code of the program with the given name.
+     *
+     * @param name the name of the program
+     * @return the source code
+     */
+    static byte @NotNull [] read(final @NotNull String name) {
+        String path = "/programs/" + name + ".java";
+        try (InputStream input = BenchmarkPrograms.class.getResourceAsStream(path)) {
+            if (input == null) throw new IllegalArgumentException("Could not find program: " + path);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) output.write(buffer, 0, read);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package it.fulminazzo.mojito.benchmarks;
+
+import it.fulminazzo.mojito.ExecutionMode;
+import it.fulminazzo.mojito.Mojito;
+import it.fulminazzo.mojito.PreparedScript;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the run of an already compiled script in every {@link ExecutionMode},
+ * so that each mode can be compared with the {@link ExecutionMode#INTERPRETED} one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({
+            "INTERPRETED",
+            "SPECIALIZED",
+            "COMPILED",
+            "BYTECODE",
+            "JVM",
+            "TIERED"
+    })
+    private ExecutionMode mode;
+
+    @Param({
+            BenchmarkPrograms.LOOPS,
+            BenchmarkPrograms.ARITHMETIC
+    })
+    private String program;
+
+    private PreparedScript script;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String code = new String(BenchmarkPrograms.read(this.program), StandardCharsets.UTF_8);
+        this.script = Mojito.newRunner(new Object(), this.mode).compile(code);
+    }
+
+    @Benchmark
+    public Object run() {
+        return this.script.run();
+    }
+
+}
@@ -0,0 +1,75 @@
+package it.fulminazzo.mojito.benchmarks;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.parser.JavaParser;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.tokenizer.Tokenizer;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.typechecker.TypeChecker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every stage of the pipeline on its own, for each one of the {@link BenchmarkPrograms}.
+ * <br>
+ * Every stage is given the output of the previous ones, computed once before the measurements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+    private final Object executingObject = new Object();
+
+    @Param({
+            BenchmarkPrograms.ARITHMETIC,
+            BenchmarkPrograms.STRINGS,
+            BenchmarkPrograms.ARRAYS,
+            BenchmarkPrograms.COLLECTIONS,
+            BenchmarkPrograms.EXCEPTIONS,
+            BenchmarkPrograms.SWITCH
+    })
+    private String program;
+
+    private byte[] source;
+    private JavaProgram parsed;
+    private ResolutionTable resolutionTable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.source = BenchmarkPrograms.read(this.program);
+        this.parsed = parse();
+        TypeChecker typeChecker = new TypeChecker(this.executingObject);
+        typeChecker.visitProgram(this.parsed);
+        this.resolutionTable = typeChecker.getResolutionTable();
+    }
+
+    @Benchmark
+    public void tokenize(final Blackhole blackhole) {
+        Tokenizer tokenizer = new Tokenizer(new ByteArrayInputStream(this.source));
+        while (tokenizer.hasNext()) blackhole.consume(tokenizer.next());
+    }
+
+    @Benchmark
+    public JavaProgram parse() {
+        JavaParser parser = new JavaParser();
+        parser.setInput(new ByteArrayInputStream(this.source));
+        return parser.parseProgram();
+    }
+
+    @Benchmark
+    public Object typeCheck() {
+        return new TypeChecker(this.executingObject).visitProgram(this.parsed);
+    }
+
+    @Benchmark
+    public Object execute() {
+        return new Executor(this.executingObject, this.resolutionTable).visitProgram(this.parsed);
+    }
+
+}
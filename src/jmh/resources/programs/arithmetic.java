@@ -0,0 +1,7 @@
+long sum = 0L;
+for (int i = 0; i < 1000; i++) {
+    int square = i * i;
+    if (square % 3 == 0) sum += square / 3;
+    else sum -= i;
+}
+return sum;
@@ -0,0 +1,6 @@
+int[] data = new int[256];
+for (int i = 0; i < data.length; i++) data[i] = (i * 31) % 97;
+for (int i = 1; i < data.length; i++) data[i] = data[i] + data[i - 1];
+int max = 0;
+for (int value : data) if (value > max) max = value;
+return max;
@@ -0,0 +1,9 @@
+ArrayList list = new ArrayList();
+HashMap map = new HashMap();
+for (int i = 0; i < 200; i++) {
+    list.add(i);
+    map.put("key" + i % 50, i);
+}
+int found = 0;
+for (int i = 0; i < 200; i += 2) if (list.contains(i)) found++;
+return found + map.size();
@@ -0,0 +1,15 @@
+int caught = 0;
+for (int i = 0; i < 100; i++) {
+    try {
+        if (i % 4 == 0) throw new IllegalStateException("state " + i);
+        if (i % 4 == 1) throw new IllegalArgumentException("argument " + i);
+        caught += 2;
+    } catch (IllegalArgumentException e) {
+        caught += 3;
+    } catch (RuntimeException e) {
+        caught++;
+    } finally {
+        caught++;
+    }
+}
+return caught;
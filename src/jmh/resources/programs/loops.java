@@ -0,0 +1,10 @@
+long sum = 0L;
+for (int i = 0; i < 200; i++) {
+    int j = 0;
+    while (j < 200) {
+        if ((i + j) % 7 == 0) sum += i * j;
+        else sum -= j;
+        j++;
+    }
+}
+return sum;
@@ -0,0 +1,10 @@
+StringBuilder builder = new StringBuilder();
+String line = "";
+for (int i = 0; i < 200; i++) {
+    line += i;
+    if (line.length() > 20) {
+        builder.append(line).append("\n");
+        line = "";
+    }
+}
+return builder.length();
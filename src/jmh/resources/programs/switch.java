@@ -0,0 +1,21 @@
+int total = 0;
+String name = "";
+for (int i = 0; i < 500; i++) {
+    switch (i % 5) {
+        case 0: total += 1; break;
+        case 1: total += 3; break;
+        case 2: total -= 2; break;
+        case 3: total *= 2; break;
+        default: total = total % 1000;
+    }
+    switch (i % 3) {
+        case 0: name = "zero"; break;
+        case 1: name = "one"; break;
+        default: name = "two";
+    }
+    switch (name) {
+        case "zero": total++; break;
+        default: total--;
+    }
+}
+return total;
@@ -0,0 +1,37 @@
+package it.fulminazzo.mojito;
+
+/**
+ * The ways a {@link Runner} can execute a program.
+ */
+public enum ExecutionMode {
+    /**
+     * Every node of the program is visited by the {@link it.fulminazzo.mojito.executor.Executor}.
+     */
+    INTERPRETED,
+    /**
+     * Like {@link #INTERPRETED}, but operations, method calls and static fields specialize themselves
+     * on the values they see, as done by the {@link it.fulminazzo.mojito.executor.specialization.Specializer}.
+     */
+    SPECIALIZED,
+    /**
+     * The program is compiled by the {@link it.fulminazzo.mojito.compiler.ClosureCompiler}
+     * and then executed.
+     */
+    COMPILED,
+    /**
+     * The program is compiled by the {@link it.fulminazzo.mojito.compiler.BytecodeCompiler}
+     * and then executed by a single interpreter loop.
+     */
+    BYTECODE,
+    /**
+     * The program is compiled to a JVM class by the {@link it.fulminazzo.mojito.compiler.JvmCompiler}.
+     * If it cannot be compiled, it is {@link #INTERPRETED}.
+     */
+    JVM,
+    /**
+     * The program starts {@link #INTERPRETED}, and its hot loops are compiled
+     * by a {@link it.fulminazzo.mojito.compiler.TieredProgram} while it runs.
+     */
+    TIERED
+
+}
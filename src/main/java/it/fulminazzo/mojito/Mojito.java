@@ -1,15 +1,19 @@
 package it.fulminazzo.mojito;
 
 import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.bench.BenchmarkReport;
+import it.fulminazzo.mojito.bench.ScriptBenchmark;
 import it.fulminazzo.mojito.exceptions.FormatException;
 import it.fulminazzo.mojito.executor.Executor;
 import it.fulminazzo.mojito.executor.ExecutorException;
 import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.optimizer.Optimizer;
 import it.fulminazzo.mojito.parser.JavaParser;
 import it.fulminazzo.mojito.parser.ParserException;
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.NodeException;
 import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.profiler.NodeProfiler;
 import it.fulminazzo.mojito.typechecker.TypeChecker;
 import it.fulminazzo.mojito.typechecker.TypeCheckerException;
 import it.fulminazzo.mojito.utils.TimeUtils;
@@ -19,6 +23,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -30,6 +37,7 @@ import java.util.function.Supplier;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Mojito {
     private static final String[] HELP_OPTIONS = new String[]{"-h", "--help", "/?"};
+    private static final int DEFAULT_BENCH_ITERATIONS = 1000;
     
     private static void info(final @NotNull Object message) {
         final String format = "[%s] - %s%n";
@@ -46,23 +54,30 @@ public final class Mojito {
     public static void main(final String @NotNull [] args) {
         try {
             if (args.length == 0) throw new ArgumentsException();
-            String argument = args[0];
+            if (args[0].equalsIgnoreCase("--bench")) {
+                bench(args);
+                return;
+            }
+            final NodeProfiler profiler = args[0].equalsIgnoreCase("--profile") ? new NodeProfiler() : null;
+            final int first = profiler == null ? 0 : 1;
+            if (args.length == first) throw new ArgumentsException();
+            String argument = args[first];
 
             for (String o : HELP_OPTIONS)
                 if (argument.equalsIgnoreCase(o))
                     throw new ArgumentsException();
 
-            Runner runner = newRunner();
+            Runner runner = newRunner().withProfiler(profiler);
 
             final Object code;
             final int start;
             if (argument.equalsIgnoreCase("--code")) {
-                if (args.length == 1) throw new ArgumentsException();
-                code = args[1];
-                start = 2;
+                if (args.length == first + 1) throw new ArgumentsException();
+                code = args[first + 1];
+                start = first + 2;
             } else {
                 code = new File(argument);
-                start = 1;
+                start = first + 1;
             }
 
             final Map<String, Object> variables;
@@ -96,11 +111,81 @@ public final class Mojito {
             info("Program execution returned:");
             Optional<?> result = ((Optional<Value<?>>) runner.latestResult()).map(Value::getValue);
             System.out.println(result.isPresent() ? result.get() : "Nothing was returned");
+
+            if (profiler != null) {
+                info("Profile of the program execution:");
+                System.out.print(profiler.getReport().toText());
+            }
         } catch (ArgumentsException e) {
             System.out.println("Usage:");
             System.out.println("java -jar mojito.jar <filename> <var1:val1> <var2:val2>...");
             System.out.println("java -jar mojito.jar --code \"code to run\" <var1:val1> <var2:val2>...");
+            System.out.println("Prepend --profile to print the time spent in every statement.");
+            System.out.println("java -jar mojito.jar --bench <filename|directory> [iterations]");
+        }
+    }
+
+    /**
+     * Measures the scripts given in the command line arguments with a {@link ScriptBenchmark}
+     * and prints the report.
+     *
+     * @param args the command line arguments, starting with <code>--bench</code>
+     */
+    private static void bench(final String @NotNull [] args) {
+        if (args.length < 2 || args.length > 3) throw new ArgumentsException();
+        final int iterations;
+        try {
+            iterations = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_BENCH_ITERATIONS;
+        } catch (NumberFormatException e) {
+            throw new ArgumentsException();
+        }
+        if (iterations < 1) throw new ArgumentsException();
+
+        final Map<String, String> scripts;
+        try {
+            scripts = readScripts(new File(args[1]));
+        } catch (IOException e) {
+            info("An error occurred while reading the scripts.");
+            info(e.getMessage());
+            return;
+        }
+
+        final BenchmarkReport report;
+        try {
+            report = executeTimed(
+                    String.format("Benchmarking %s scripts with %s iterations.", scripts.size(), iterations),
+                    "Finished benchmarking. (%time%)",
+                    () -> new ScriptBenchmark(iterations, iterations).run(scripts));
+        } catch (RunnerException | ParserException | TypeCheckerException | ExecutorException e) {
+            info("An error occurred while running the scripts.");
+            info(e.getMessage());
+            return;
+        }
+        System.out.print(report.toText());
+    }
+
+    /**
+     * Reads the given script, or all the <code>.java</code> scripts in the given directory sorted by name.
+     *
+     * @param file the file or directory
+     * @return the code of every script, by name
+     * @throws IOException in case of an error while reading
+     */
+    static @NotNull Map<String, String> readScripts(final @NotNull File file) throws IOException {
+        final File[] files;
+        if (file.isDirectory()) {
+            files = file.listFiles((d, n) -> n.endsWith(".java"));
+            if (files == null) throw new IOException("Could not list files in " + file);
+            Arrays.sort(files);
+        } else files = new File[]{file};
+
+        Map<String, String> scripts = new LinkedHashMap<>();
+        for (File f : files) {
+            String name = f.getName();
+            if (name.endsWith(".java")) name = name.substring(0, name.length() - ".java".length());
+            scripts.put(name, new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8));
         }
+        return scripts;
     }
 
     /**
@@ -193,6 +278,44 @@ public final class Mojito {
         return new MojitoRunner(executor);
     }
 
+    /**
+     * Creates a new {@link Runner} with the given object as executor.
+     * Every program will be rewritten by the given {@link Optimizer} before being executed.
+     *
+     * @param executor  the executing object
+     * @param optimizer the optimizer
+     * @return the runner
+     */
+    public static @NotNull Runner newRunner(final @NotNull Object executor, final @NotNull Optimizer optimizer) {
+        return new MojitoRunner(executor, optimizer);
+    }
+
+    /**
+     * Creates a new {@link Runner} with the given object as executor,
+     * that executes every program in the given mode.
+     *
+     * @param executor the executing object
+     * @param mode     the execution mode
+     * @return the runner
+     */
+    public static @NotNull Runner newRunner(final @NotNull Object executor, final @NotNull ExecutionMode mode) {
+        return newRunner(executor, Optimizer.none(), mode);
+    }
+
+    /**
+     * Creates a new {@link Runner} with the given object as executor,
+     * that optimizes every program with the given {@link Optimizer} and executes it in the given mode.
+     *
+     * @param executor  the executing object
+     * @param optimizer the optimizer
+     * @param mode      the execution mode
+     * @return the runner
+     */
+    public static @NotNull Runner newRunner(final @NotNull Object executor, final @NotNull Optimizer optimizer,
+                                            final @NotNull ExecutionMode mode) {
+        return new MojitoRunner(executor, optimizer, mode);
+    }
+
     /**
      * A helper exception for many functions of this class.
      */
@@ -1,14 +1,28 @@
 package it.fulminazzo.mojito;
 
+import it.fulminazzo.mojito.compiler.BytecodeCompiler;
+import it.fulminazzo.mojito.compiler.ClosureCompiler;
+import it.fulminazzo.mojito.compiler.JvmCompiler;
+import it.fulminazzo.mojito.compiler.JvmProgram;
+import it.fulminazzo.mojito.compiler.TierPolicy;
+import it.fulminazzo.mojito.compiler.TieredProgram;
 import it.fulminazzo.mojito.environment.NamedEntity;
 import it.fulminazzo.mojito.environment.ScopeException;
 import it.fulminazzo.mojito.executor.ExceptionWrapper;
+import it.fulminazzo.mojito.executor.ExecutionBudget;
 import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.specialization.Specializer;
 import it.fulminazzo.mojito.executor.values.ClassValue;
 import it.fulminazzo.mojito.executor.values.Value;
 import it.fulminazzo.mojito.executor.values.Values;
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.optimizer.Optimizer;
 import it.fulminazzo.mojito.parser.JavaParser;
 import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.profiler.InteropProfiler;
+import it.fulminazzo.mojito.profiler.NodeProfiler;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
 import it.fulminazzo.mojito.typechecker.TypeChecker;
 import it.fulminazzo.mojito.typechecker.types.ClassType;
 import it.fulminazzo.mojito.typechecker.types.Types;
@@ -18,21 +32,79 @@ import org.jetbrains.annotations.Nullable;
 import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link Runner} for Mojito.
+ * <br>
+ * Every run parses, checks and executes the code from scratch, so a runner can be used by many threads at once.
+ * To avoid repeating these steps, the code should be {@link #compile(String)}d or {@link #prepare(String)}d.
  */
 final class MojitoRunner implements Runner {
     private final @NotNull Object executingObject;
-    private @Nullable Object latestResult;
+    private final @NotNull Optimizer optimizer;
+    private final @NotNull ExecutionMode mode;
+    private final @Nullable ExecutionBudget budget;
+    private final @Nullable NodeProfiler profiler;
+    private final @Nullable InteropProfiler interopProfiler;
+    private final @Nullable ExecutionListener listener;
+    private volatile @Nullable Object latestResult;
 
     /**
-     * Instantiates a new Mojito runner.
+     * Instantiates a new Mojito runner that executes the programs without optimizing them.
      *
      * @param executingObject the executing object
      */
     public MojitoRunner(final @NotNull Object executingObject) {
+        this(executingObject, Optimizer.none());
+    }
+
+    /**
+     * Instantiates a new Mojito runner.
+     *
+     * @param executingObject the executing object
+     * @param optimizer       the optimizer applied to every program before executing it
+     */
+    public MojitoRunner(final @NotNull Object executingObject, final @NotNull Optimizer optimizer) {
+        this(executingObject, optimizer, ExecutionMode.INTERPRETED);
+    }
+
+    /**
+     * Instantiates a new Mojito runner.
+     *
+     * @param executingObject the executing object
+     * @param optimizer       the optimizer applied to every program before executing it
+     * @param mode            the execution mode
+     */
+    public MojitoRunner(final @NotNull Object executingObject, final @NotNull Optimizer optimizer,
+                        final @NotNull ExecutionMode mode) {
+        this(executingObject, optimizer, mode, null);
+    }
+
+    /**
+     * Instantiates a new Mojito runner.
+     *
+     * @param executingObject the executing object
+     * @param optimizer       the optimizer applied to every program before executing it
+     * @param mode            the execution mode
+     * @param budget          the budget of every run (null to run without budget)
+     */
+    public MojitoRunner(final @NotNull Object executingObject, final @NotNull Optimizer optimizer,
+                        final @NotNull ExecutionMode mode, final @Nullable ExecutionBudget budget) {
+        this(executingObject, optimizer, mode, budget, null, null, null);
+    }
+
+    private MojitoRunner(final @NotNull Object executingObject, final @NotNull Optimizer optimizer,
+                         final @NotNull ExecutionMode mode, final @Nullable ExecutionBudget budget,
+                         final @Nullable NodeProfiler profiler, final @Nullable InteropProfiler interopProfiler,
+                         final @Nullable ExecutionListener listener) {
         this.executingObject = executingObject;
+        this.optimizer = optimizer;
+        this.mode = mode;
+        this.budget = budget;
+        this.profiler = profiler;
+        this.interopProfiler = interopProfiler;
+        this.listener = listener;
         this.latestResult = Optional.empty();
     }
 
@@ -45,35 +117,175 @@ final class MojitoRunner implements Runner {
     public @NotNull Optional<?> run(final @NotNull InputStream input, final @NotNull Map<String, Object> variables) {
         final JavaParser parser = new JavaParser();
         final TypeChecker typeChecker = new TypeChecker(this.executingObject);
-        final Executor executor = new Executor(this.executingObject);
+        final Executor executor = new Executor(this.executingObject, typeChecker.getResolutionTable());
+
+        declareTypes(typeChecker, variables);
+        declareValues(executor, variables);
+
+        final ScriptEvents events = ScriptEvents.start(this.mode);
+        final ExecutionListener listener = ScriptEvents.combine(this.listener, events);
+
+        final JavaProgram parsed = phase(listener, ExecutionListener.Phase.PARSE, () -> {
+            parser.setInput(input);
+            return parser.parseProgram();
+        });
+        if (events != null) events.parsed(parser, parsed);
+        phase(listener, ExecutionListener.Phase.TYPE_CHECK, () -> typeChecker.visitProgram(parsed));
+        phase(listener, ExecutionListener.Phase.OPTIMIZE, () -> this.optimizer.optimize(parsed));
+
+        // Compiling to a JVM class may take long, so it is not part of the budget
+        final JvmProgram jvmProgram = this.mode == ExecutionMode.JVM && !isProfiling() ?
+                phase(listener, ExecutionListener.Phase.COMPILE, () ->
+                        new JvmCompiler(this.executingObject, typeChecker.getResolutionTable())
+                                .compile(parsed, variables).orElse(null)) :
+                null;
+        if (this.budget != null) executor.setMeter(this.budget.start());
+        if (this.profiler != null) {
+            this.profiler.start(parser.getSourceMap());
+            executor.setProfiler(this.profiler);
+        }
+        if (this.interopProfiler != null) {
+            this.interopProfiler.start(parser.getSourceMap());
+            executor.setInteropProfiler(this.interopProfiler);
+        }
+        executor.setListener(events != null && events.isRecordingInterop() ? listener : this.listener);
+        try {
+            final Object result = phase(listener, ExecutionListener.Phase.EXECUTE, () ->
+                    execute(executor, typeChecker.getResolutionTable(), parsed, jvmProgram, variables));
+            this.latestResult = result;
+            return Optional.ofNullable(result);
+        } catch (ExceptionWrapper e) {
+            throw RunnerException.of(e.getActualException().getValue());
+        }
+    }
+
+    private @Nullable Object execute(final @NotNull Executor executor, final @NotNull ResolutionTable resolutionTable,
+                                     final @NotNull JavaProgram parsed, final @Nullable JvmProgram jvmProgram,
+                                     final @NotNull Map<String, Object> variables) {
+        // Specialized method calls are not seen by the interop profiler
+        if (this.mode == ExecutionMode.SPECIALIZED && this.interopProfiler == null)
+            return executor.visitProgram(new Specializer(resolutionTable).specialize(parsed)).orElse(null);
+        else if (isProfiling()) return executor.visitProgram(parsed).orElse(null);
+        else if (this.mode == ExecutionMode.COMPILED)
+            return new ClosureCompiler(this.executingObject, resolutionTable)
+                    .compile(parsed).execute(executor).orElse(null);
+        else if (this.mode == ExecutionMode.BYTECODE)
+            return new BytecodeCompiler(this.executingObject, resolutionTable)
+                    .compile(parsed).execute(executor).orElse(null);
+        else if (this.mode == ExecutionMode.TIERED)
+            return new TieredProgram(this.executingObject, resolutionTable,
+                    parsed, new TierPolicy()).execute(executor, variables).orElse(null);
+        else if (this.mode == ExecutionMode.JVM)
+            return (jvmProgram == null ? executor.visitProgram(parsed) : jvmProgram.execute(executor, variables))
+                    .orElse(null);
+        else return executor.visitProgram(parsed).orElse(null);
+    }
+
+    @Override
+    public @NotNull PreparedScript prepare(final @NotNull String code, final @NotNull TierPolicy policy) {
+        return new PreparedScript(this.executingObject, this.optimizer, code, ExecutionMode.TIERED, policy,
+                this.budget, this.listener);
+    }
+
+    @Override
+    public @NotNull PreparedScript compile(final @NotNull String code) {
+        return new PreparedScript(this.executingObject, this.optimizer, code, this.mode, new TierPolicy(),
+                this.budget, this.listener);
+    }
+
+    @Override
+    public @NotNull Runner withOptimizer(final @NotNull Optimizer optimizer) {
+        return new MojitoRunner(this.executingObject, optimizer, this.mode, this.budget,
+                this.profiler, this.interopProfiler, this.listener);
+    }
 
+    @Override
+    public @NotNull Runner withBudget(final @Nullable ExecutionBudget budget) {
+        return new MojitoRunner(this.executingObject, this.optimizer, this.mode, budget,
+                this.profiler, this.interopProfiler, this.listener);
+    }
+
+    @Override
+    public @NotNull Runner withProfiler(final @Nullable NodeProfiler profiler) {
+        return new MojitoRunner(this.executingObject, this.optimizer, this.mode, this.budget,
+                profiler, this.interopProfiler, this.listener);
+    }
+
+    @Override
+    public @NotNull Runner withInteropProfiler(final @Nullable InteropProfiler interopProfiler) {
+        return new MojitoRunner(this.executingObject, this.optimizer, this.mode, this.budget,
+                this.profiler, interopProfiler, this.listener);
+    }
+
+    @Override
+    public @NotNull Runner withListener(final @Nullable ExecutionListener listener) {
+        return new MojitoRunner(this.executingObject, this.optimizer, this.mode, this.budget,
+                this.profiler, this.interopProfiler, listener);
+    }
+
+    /**
+     * Checks whether the programs run by this runner are profiled.
+     *
+     * @return true if they are
+     */
+    private boolean isProfiling() {
+        return this.profiler != null || this.interopProfiler != null;
+    }
+
+    /**
+     * Executes the given phase of a run, notifying the given listener of its start and end.
+     *
+     * @param <T>      the type returned by the phase
+     * @param listener the listener (null to only execute the phase)
+     * @param phase    the phase
+     * @param function the function executing the phase
+     * @return the result of the phase
+     */
+    static <T> T phase(final @Nullable ExecutionListener listener, final @NotNull ExecutionListener.Phase phase,
+                       final @NotNull Supplier<T> function) {
+        if (listener == null) return function.get();
+        listener.onPhaseStart(phase);
+        long start = System.nanoTime();
+        try {
+            return function.get();
+        } finally {
+            listener.onPhaseEnd(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Declares the types of the given variables in the environment of the type checker.
+     *
+     * @param typeChecker the type checker
+     * @param variables   the variables
+     */
+    static void declareTypes(final @NotNull TypeChecker typeChecker, final @NotNull Map<String, Object> variables) {
         for (final String k : variables.keySet())
             try {
                 final Object v = variables.get(k);
-                final Class<?> vClass = v == null ? null : v.getClass();
-
-                NamedEntity name = NamedEntity.of(k);
-
-                ClassType classType = vClass == null ? (ClassType) Types.NULL_TYPE : ClassType.of(vClass);
-                typeChecker.getEnvironment().declare(classType, name, classType.toType());
+                ClassType classType = v == null ? (ClassType) Types.NULL_TYPE : ClassType.of(v.getClass());
+                typeChecker.getEnvironment().declare(classType, NamedEntity.of(k), classType.toType());
+            } catch (ScopeException ignored) {
+                // Cannot happen
+            }
+    }
 
+    /**
+     * Declares the given variables in the environment of the executor.
+     *
+     * @param executor  the executor
+     * @param variables the variables
+     */
+    static void declareValues(final @NotNull Executor executor, final @NotNull Map<String, Object> variables) {
+        for (final String k : variables.keySet())
+            try {
+                final Object v = variables.get(k);
                 Value<?> value = Value.of(v);
                 ClassValue<?> classValue = v == null ? (ClassValue<?>) Values.NULL_VALUE : value.toClass();
-                executor.getEnvironment().declare(classValue, name, value);
+                executor.getEnvironment().declare(classValue, NamedEntity.of(k), value);
             } catch (ScopeException ignored) {
                 // Cannot happen
             }
-
-        parser.setInput(input);
-        JavaProgram parsed = parser.parseProgram();
-        typeChecker.visitProgram(parsed);
-
-        try {
-            this.latestResult = executor.visitProgram(parsed).orElse(null);
-            return latestResult();
-        } catch (ExceptionWrapper e) {
-            throw RunnerException.of(e.getActualException().getValue());
-        }
     }
 
 }
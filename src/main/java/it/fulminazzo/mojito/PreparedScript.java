@@ -0,0 +1,259 @@
+package it.fulminazzo.mojito;
+
+import it.fulminazzo.mojito.compiler.*;
+import it.fulminazzo.mojito.executor.ExceptionWrapper;
+import it.fulminazzo.mojito.executor.ExecutionBudget;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.specialization.Specializer;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.optimizer.Optimizer;
+import it.fulminazzo.mojito.parser.JavaParser;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.typechecker.TypeChecker;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A program prepared by a {@link Runner} to be run many times.
+ * <br>
+ * Since the checks of the {@link TypeChecker} depend on the types of the variables,
+ * the code is parsed and checked once for every combination of variable types it is run with.
+ * Each one of them is either executed by a {@link TieredProgram}, so it is interpreted at first
+ * and compiled as it gets hot, or compiled once in a fixed {@link ExecutionMode}.
+ * <br>
+ * The prepared programs are never modified by their executions:
+ * every run only creates a new {@link Executor}, holding the variables of that run,
+ * so a prepared script can be run by many threads at once.
+ */
+public final class PreparedScript {
+    private final @NotNull Object executingObject;
+    private final @NotNull Optimizer optimizer;
+    private final @NotNull String code;
+    private final @NotNull ExecutionMode mode;
+    private final @NotNull TierPolicy policy;
+    @Getter
+    private final @Nullable ExecutionBudget budget;
+    private final @Nullable ExecutionListener listener;
+    private final @NotNull Map<Map<String, Class<?>>, Prepared> programs;
+    private final @NotNull AtomicLong invocations;
+    private final @NotNull AtomicReference<JavaProgram> checkedProgram;
+
+    /**
+     * Instantiates a new Prepared script.
+     *
+     * @param executingObject the executing object
+     * @param optimizer       the optimizer applied to the program before executing it
+     * @param code            the code
+     * @param mode            the execution mode of the program
+     * @param policy          the policy used to promote the program (only used in {@link ExecutionMode#TIERED})
+     * @param budget          the budget of every run (null to run without budget)
+     * @param listener        the listener notified by every run (null to run without listener)
+     */
+    PreparedScript(final @NotNull Object executingObject, final @NotNull Optimizer optimizer,
+                   final @NotNull String code, final @NotNull ExecutionMode mode,
+                   final @NotNull TierPolicy policy, final @Nullable ExecutionBudget budget,
+                   final @Nullable ExecutionListener listener) {
+        this.executingObject = executingObject;
+        this.optimizer = optimizer;
+        this.code = code;
+        this.mode = mode;
+        this.policy = policy;
+        this.budget = budget;
+        this.listener = listener;
+        this.programs = new ConcurrentHashMap<>();
+        this.invocations = new AtomicLong();
+        this.checkedProgram = new AtomicReference<>();
+    }
+
+    /**
+     * Parses the code of the script, so that syntax errors are reported before its first run.
+     * The parsed program is used by the first preparation, instead of parsing the code again.
+     *
+     * @return this script
+     */
+    public @NotNull PreparedScript checkSyntax() {
+        final ScriptEvents events = ScriptEvents.start(this.mode);
+        this.checkedProgram.set(parse(ScriptEvents.combine(this.listener, events), events));
+        return this;
+    }
+
+    /**
+     * Runs the script.
+     *
+     * @return an optional that may contain the output of the program (if present)
+     */
+    public @NotNull Optional<?> run() {
+        return run(new HashMap<>());
+    }
+
+    /**
+     * Runs the script.
+     *
+     * @param variables a map containing all the variables to inject before executing the code
+     * @return an optional that may contain the output of the program (if present)
+     */
+    public @NotNull Optional<?> run(final @NotNull Map<String, Object> variables) {
+        return run(variables, this.budget);
+    }
+
+    /**
+     * Runs the script with the given budget, instead of the one of this script.
+     *
+     * @param variables a map containing all the variables to inject before executing the code
+     * @param budget    the budget (null to run without budget)
+     * @return an optional that may contain the output of the program (if present)
+     * @throws it.fulminazzo.mojito.executor.BudgetExceededException in case the budget is exceeded
+     */
+    public @NotNull Optional<?> run(final @NotNull Map<String, Object> variables,
+                                    final @Nullable ExecutionBudget budget) {
+        Map<String, Class<?>> types = new HashMap<>();
+        variables.forEach((k, v) -> types.put(k, v == null ? null : v.getClass()));
+        Prepared prepared = this.programs.computeIfAbsent(types, t -> {
+            ScriptEvents.cacheMiss("prepared-programs", t);
+            return prepare(variables);
+        });
+
+        this.invocations.incrementAndGet();
+        Executor executor = new Executor(this.executingObject, prepared.resolutionTable);
+        MojitoRunner.declareValues(executor, variables);
+        if (budget != null) executor.setMeter(budget.start());
+        final ScriptEvents events = ScriptEvents.start(this.mode);
+        final ExecutionListener listener = ScriptEvents.combine(this.listener, events);
+        if (events != null) events.setNodes(prepared.getNodes());
+        executor.setListener(events != null && events.isRecordingInterop() ? listener : this.listener);
+        try {
+            return MojitoRunner.phase(listener, ExecutionListener.Phase.EXECUTE,
+                    () -> prepared.program.execute(executor, variables));
+        } catch (ExceptionWrapper e) {
+            throw RunnerException.of(e.getActualException().getValue());
+        }
+    }
+
+    private @NotNull Prepared prepare(final @NotNull Map<String, Object> variables) {
+        final TypeChecker typeChecker = new TypeChecker(this.executingObject);
+        MojitoRunner.declareTypes(typeChecker, variables);
+
+        final ScriptEvents events = ScriptEvents.start(this.mode);
+        final ExecutionListener listener = ScriptEvents.combine(this.listener, events);
+
+        // Every preparation checks and optimizes its own program, so the checked one can be used only once
+        JavaProgram checked = this.checkedProgram.getAndSet(null);
+        final JavaProgram parsed = checked == null ? parse(listener, events) : checked;
+        MojitoRunner.phase(listener, ExecutionListener.Phase.TYPE_CHECK, () -> typeChecker.visitProgram(parsed));
+        MojitoRunner.phase(listener, ExecutionListener.Phase.OPTIMIZE, () -> this.optimizer.optimize(parsed));
+
+        ResolutionTable resolutionTable = typeChecker.getResolutionTable();
+        switch (this.mode) {
+            case INTERPRETED:
+                return new Prepared(resolutionTable, parsed, (e, v) -> e.visitProgram(parsed), null);
+            case SPECIALIZED: {
+                JavaProgram specialized = new Specializer(resolutionTable).specialize(parsed);
+                return new Prepared(resolutionTable, parsed, (e, v) -> e.visitProgram(specialized), null);
+            }
+            case COMPILED: {
+                CompiledProgram compiled = new ClosureCompiler(this.executingObject, resolutionTable).compile(parsed);
+                return new Prepared(resolutionTable, parsed, (e, v) -> compiled.execute(e), null);
+            }
+            case BYTECODE: {
+                BytecodeProgram compiled = new BytecodeCompiler(this.executingObject, resolutionTable).compile(parsed);
+                return new Prepared(resolutionTable, parsed, (e, v) -> compiled.execute(e), null);
+            }
+            case JVM: {
+                JvmProgram compiled = MojitoRunner.phase(listener, ExecutionListener.Phase.COMPILE, () ->
+                        new JvmCompiler(this.executingObject, resolutionTable).compile(parsed, variables).orElse(null));
+                if (compiled == null)
+                    return new Prepared(resolutionTable, parsed, (e, v) -> e.visitProgram(parsed), null);
+                return new Prepared(resolutionTable, parsed, compiled::execute, null);
+            }
+            default: {
+                TieredProgram tiered = new TieredProgram(this.executingObject, resolutionTable, parsed, this.policy);
+                return new Prepared(resolutionTable, parsed, tiered::execute, tiered);
+            }
+        }
+    }
+
+    private @NotNull JavaProgram parse(final @Nullable ExecutionListener listener, final @Nullable ScriptEvents events) {
+        final JavaParser parser = new JavaParser();
+        final JavaProgram parsed = MojitoRunner.phase(listener, ExecutionListener.Phase.PARSE, () -> {
+            parser.setInput(this.code);
+            return parser.parseProgram();
+        });
+        if (events != null) events.parsed(parser, parsed);
+        return parsed;
+    }
+
+    /**
+     * Gets the tiered programs executed so far, one for every combination of variable types.
+     * They expose the counters used to promote them, and their current execution mode.
+     * If the script is not executed in {@link ExecutionMode#TIERED}, there are none.
+     *
+     * @return the programs
+     */
+    public @NotNull Collection<TieredProgram> getPrograms() {
+        List<TieredProgram> programs = new ArrayList<>();
+        for (Prepared prepared : this.programs.values())
+            if (prepared.tiered != null) programs.add(prepared.tiered);
+        return Collections.unmodifiableList(programs);
+    }
+
+    /**
+     * Gets the number of times the script was run.
+     *
+     * @return the invocations
+     */
+    public long getInvocations() {
+        return this.invocations.get();
+    }
+
+    /**
+     * A program checked for a combination of variable types.
+     */
+    private static final class Prepared {
+        private final @NotNull ResolutionTable resolutionTable;
+        private final @NotNull JavaProgram parsed;
+        private final @NotNull Program program;
+        private final @Nullable TieredProgram tiered;
+        private volatile long nodes = -1;
+
+        private Prepared(final @NotNull ResolutionTable resolutionTable, final @NotNull JavaProgram parsed,
+                         final @NotNull Program program, final @Nullable TieredProgram tiered) {
+            this.resolutionTable = resolutionTable;
+            this.parsed = parsed;
+            this.program = program;
+            this.tiered = tiered;
+        }
+
+        /**
+         * Gets the number of nodes of the program, counting them at the first invocation.
+         *
+         * @return the number of nodes
+         */
+        private long getNodes() {
+            long nodes = this.nodes;
+            if (nodes < 0) this.nodes = nodes = ScriptEvents.countNodes(this.parsed);
+            return nodes;
+        }
+
+    }
+
+    /**
+     * Executes a prepared program with the executor of a single run.
+     */
+    @FunctionalInterface
+    private interface Program {
+
+        @NotNull Optional<Value<?>> execute(final @NotNull Executor executor,
+                                            final @NotNull Map<String, Object> variables);
+
+    }
+
+}
@@ -1,11 +1,23 @@
 package it.fulminazzo.mojito;
 
+import it.fulminazzo.mojito.compiler.TierPolicy;
+import it.fulminazzo.mojito.executor.ExecutionBudget;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.optimizer.Optimizer;
+import it.fulminazzo.mojito.profiler.InteropProfiler;
+import it.fulminazzo.mojito.profiler.NodeProfiler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * An object capable of reading, parsing and executing Java code.
@@ -84,4 +96,203 @@ public interface Runner {
      */
     @NotNull Optional<?> run(final @NotNull InputStream input, final @NotNull Map<String, Object> variables);
 
+    /**
+     * Runs the given code asynchronously with the {@link ScriptExecutors#getDefault()} executor.
+     *
+     * @param code the code
+     * @return a future completed with an optional that may contain the output of the program (if present)
+     */
+    default @NotNull CompletableFuture<Optional<?>> runAsync(final @NotNull String code) {
+        return runAsync(code, new HashMap<>());
+    }
+
+    /**
+     * Runs the given code asynchronously with the {@link ScriptExecutors#getDefault()} executor.
+     *
+     * @param code      the code
+     * @param variables a map containing all the variables to inject before executing the code
+     * @return a future completed with an optional that may contain the output of the program (if present)
+     */
+    default @NotNull CompletableFuture<Optional<?>> runAsync(final @NotNull String code,
+                                                             final @NotNull Map<String, Object> variables) {
+        return runAsync(code, variables, ScriptExecutors.getDefault());
+    }
+
+    /**
+     * Runs the given code asynchronously with the given executor.
+     *
+     * @param code      the code
+     * @param variables a map containing all the variables to inject before executing the code
+     * @param executor  the executor
+     * @return a future completed with an optional that may contain the output of the program (if present),
+     * or completed exceptionally with the exception thrown by the program
+     */
+    default @NotNull CompletableFuture<Optional<?>> runAsync(final @NotNull String code,
+                                                             final @NotNull Map<String, Object> variables,
+                                                             final @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> run(code, variables), executor);
+    }
+
+    /**
+     * Runs all the given tasks with the {@link ScriptExecutors#getDefault()} executor
+     * and waits for them to complete.
+     *
+     * @param tasks the tasks
+     * @return the results, in the same order as the tasks
+     * @see #runAll(Collection, ExecutorService, int)
+     */
+    default @NotNull List<ScriptResult> runAll(final @NotNull Collection<ScriptTask> tasks) {
+        return runAll(tasks, ScriptExecutors.getDefault(), ScriptExecutors.getDefaultConcurrency());
+    }
+
+    /**
+     * Runs all the given tasks with the given executor and waits for them to complete.
+     *
+     * @param tasks    the tasks
+     * @param executor the executor
+     * @return the results, in the same order as the tasks
+     * @see #runAll(Collection, ExecutorService, int)
+     */
+    default @NotNull List<ScriptResult> runAll(final @NotNull Collection<ScriptTask> tasks,
+                                               final @NotNull ExecutorService executor) {
+        return runAll(tasks, executor, ScriptExecutors.getDefaultConcurrency());
+    }
+
+    /**
+     * Runs all the given tasks with the given executor and waits for them to complete.
+     * <br>
+     * At most <code>maxConcurrent</code> tasks are submitted to the executor at once:
+     * the following ones are submitted only when the previous ones complete.
+     * Tasks with the same code are {@link #compile(String)}d only once.
+     * <br>
+     * A task that fails or exceeds its {@link ScriptTask#getTimeout()} does not stop the other ones:
+     * its exception is reported in its {@link ScriptResult}.
+     *
+     * @param tasks         the tasks
+     * @param executor      the executor
+     * @param maxConcurrent the maximum number of tasks submitted at once
+     * @return the results, in the same order as the tasks
+     */
+    default @NotNull List<ScriptResult> runAll(final @NotNull Collection<ScriptTask> tasks,
+                                               final @NotNull ExecutorService executor,
+                                               final int maxConcurrent) {
+        return new ScriptBatch(this, executor, maxConcurrent).run(tasks);
+    }
+
+    /**
+     * Prepares the given code to be run many times.
+     * The returned script starts interpreted, and is compiled as it gets hot.
+     *
+     * @param code the code
+     * @return the prepared script
+     */
+    default @NotNull PreparedScript prepare(final @NotNull String code) {
+        return prepare(code, new TierPolicy());
+    }
+
+    /**
+     * Prepares the given code to be run many times.
+     * The returned script starts interpreted, and is compiled when the thresholds of the given policy are reached.
+     *
+     * @param code   the code
+     * @param policy the policy
+     * @return the prepared script
+     * @throws UnsupportedOperationException if the runner does not support prepared scripts
+     */
+    default @NotNull PreparedScript prepare(final @NotNull String code, final @NotNull TierPolicy policy) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support prepared scripts");
+    }
+
+    /**
+     * Compiles the given code once, in the execution mode of this runner, to be run many times.
+     * Differently from {@link #prepare(String)}, the program never changes its execution mode
+     * (unless the mode of this runner is {@link ExecutionMode#TIERED}).
+     * <br>
+     * The returned script can be shared by many threads:
+     * every run executes the same compiled program with its own variables.
+     *
+     * @param code the code
+     * @return the compiled script
+     * @throws UnsupportedOperationException if the runner does not support compiled scripts
+     */
+    default @NotNull PreparedScript compile(final @NotNull String code) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support compiled scripts");
+    }
+
+    /**
+     * Creates a copy of this runner that rewrites every program with the given {@link Optimizer}
+     * before executing it.
+     * By default, programs are not optimized: to apply all the available passes,
+     * <code>withOptimizer(new Optimizer())</code> should be used.
+     *
+     * @param optimizer the optimizer
+     * @return the runner
+     * @throws UnsupportedOperationException if the runner does not support optimizers
+     */
+    default @NotNull Runner withOptimizer(final @NotNull Optimizer optimizer) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support optimizers");
+    }
+
+    /**
+     * Creates a copy of this runner that executes every program with the given budget.
+     * When the budget is exceeded, the program is stopped with a
+     * {@link it.fulminazzo.mojito.executor.BudgetExceededException}.
+     * <br>
+     * The budget also applies to the scripts {@link #prepare(String)}d or {@link #compile(String)}d by the copy.
+     *
+     * @param budget the budget (null to run without budget)
+     * @return the runner
+     * @throws UnsupportedOperationException if the runner does not support budgets
+     */
+    default @NotNull Runner withBudget(final @Nullable ExecutionBudget budget) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support budgets");
+    }
+
+    /**
+     * Creates a copy of this runner that measures every statement of the programs it runs
+     * with the given profiler.
+     * To measure the statements as written, profiled programs are always interpreted,
+     * regardless of the {@link ExecutionMode} of the runner.
+     * <br>
+     * Since a profiler is not thread-safe, the copy should be used by one thread at a time.
+     * Scripts {@link #prepare(String)}d or {@link #compile(String)}d by the copy are not profiled.
+     *
+     * @param profiler the profiler (null to run without profiling)
+     * @return the runner
+     * @throws UnsupportedOperationException if the runner does not support profilers
+     */
+    default @NotNull Runner withProfiler(final @Nullable NodeProfiler profiler) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support profilers");
+    }
+
+    /**
+     * Creates a copy of this runner that measures the Java methods and fields accessed by the programs it runs
+     * with the given profiler.
+     * Just like {@link #withProfiler(NodeProfiler)}, profiled programs are always interpreted.
+     * Moreover, method calls are not specialized, so that the cost of resolving them is measured at every call.
+     * <br>
+     * Since a profiler is not thread-safe, the copy should be used by one thread at a time.
+     *
+     * @param interopProfiler the profiler (null to run without profiling)
+     * @return the runner
+     * @throws UnsupportedOperationException if the runner does not support interop profilers
+     */
+    default @NotNull Runner withInteropProfiler(final @Nullable InteropProfiler interopProfiler) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support interop profilers");
+    }
+
+    /**
+     * Creates a copy of this runner that notifies the given listener of the events of the programs it runs.
+     * To notify many listeners, they should be combined with {@link ExecutionListener#of(ExecutionListener...)}.
+     * <br>
+     * The listener is also notified by the scripts {@link #prepare(String)}d or {@link #compile(String)}d by the copy.
+     *
+     * @param listener the listener (null to run without listener)
+     * @return the runner
+     * @throws UnsupportedOperationException if the runner does not support listeners
+     */
+    default @NotNull Runner withListener(final @Nullable ExecutionListener listener) {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support listeners");
+    }
+
 }
@@ -0,0 +1,166 @@
+package it.fulminazzo.mojito;
+
+import it.fulminazzo.mojito.executor.ExecutionBudget;
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Runs many {@link ScriptTask}s with an {@link ExecutorService}.
+ * <br>
+ * The tasks are submitted in order, but no more than a fixed number of them can be pending at once:
+ * when the limit is reached, the submitting thread waits for a task to complete.
+ * Tasks with the same code share the same {@link PreparedScript}, so the code is parsed and checked only once.
+ * <br>
+ * Every task completes with its own {@link ScriptResult}:
+ * a failing or timed out task never prevents the other ones from running.
+ * Timed out tasks are interrupted, and stop at their next loop iteration or method invocation.
+ */
+final class ScriptBatch {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "mojito-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final @NotNull Runner runner;
+    private final @NotNull ExecutorService executor;
+    private final @NotNull Semaphore permits;
+    private final @NotNull Map<String, PreparedScript> scripts;
+
+    /**
+     * Instantiates a new Script batch.
+     *
+     * @param runner        the runner used to compile the scripts
+     * @param executor      the executor
+     * @param maxConcurrent the maximum number of tasks that can be pending at once
+     */
+    ScriptBatch(final @NotNull Runner runner, final @NotNull ExecutorService executor, final int maxConcurrent) {
+        if (maxConcurrent < 1) throw new IllegalArgumentException("Concurrency must be at least 1: " + maxConcurrent);
+        this.runner = runner;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrent);
+        this.scripts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Runs all the given tasks and waits for them to complete.
+     * If the current thread is interrupted while waiting, all the pending tasks are cancelled.
+     *
+     * @param tasks the tasks
+     * @return the results, in the same order as the tasks
+     */
+    @NotNull List<ScriptResult> run(final @NotNull Collection<ScriptTask> tasks) {
+        List<CompletableFuture<ScriptResult>> results = new ArrayList<>(tasks.size());
+        try {
+            for (ScriptTask task : tasks) {
+                this.permits.acquire();
+                CompletableFuture<ScriptResult> result = submit(task);
+                result.whenComplete((r, e) -> this.permits.release());
+                results.add(result);
+            }
+            List<ScriptResult> completed = new ArrayList<>(results.size());
+            for (CompletableFuture<ScriptResult> result : results) completed.add(result.get());
+            return completed;
+        } catch (InterruptedException | ExecutionException e) {
+            for (CompletableFuture<ScriptResult> result : results) result.cancel(true);
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw RunnerException.of(e);
+        }
+    }
+
+    private @NotNull CompletableFuture<ScriptResult> submit(final @NotNull ScriptTask task) {
+        final CompletableFuture<ScriptResult> result = new CompletableFuture<>();
+        final Execution execution = new Execution();
+        final long start = System.nanoTime();
+        final Future<?> future;
+        try {
+            future = this.executor.submit(() -> {
+                if (!execution.begin()) return;
+                try {
+                    PreparedScript script = this.scripts.computeIfAbsent(task.getCode(), c -> {
+                        ScriptEvents.cacheMiss("batch-scripts", c);
+                        return this.runner.compile(c);
+                    });
+                    ExecutionBudget budget = task.getBudget() == null ? script.getBudget() : task.getBudget();
+                    // Without a budget, the script would ignore the interruption when timed out
+                    if (budget == null && task.getTimeout() > 0) budget = ExecutionBudget.unlimited();
+                    Optional<?> output = script.run(task.getVariables(), budget);
+                    result.complete(ScriptResult.success(task, output, System.nanoTime() - start));
+                } catch (Throwable e) {
+                    result.complete(ScriptResult.failure(task, e, System.nanoTime() - start));
+                } finally {
+                    execution.end();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.complete(ScriptResult.failure(task, e, System.nanoTime() - start));
+            return result;
+        }
+
+        final long timeout = task.getTimeout();
+        if (timeout > 0) {
+            ScheduledFuture<?> timer = TIMER.schedule(() -> {
+                TimeoutException exception = new TimeoutException(String.format("Script timed out after %sms", timeout));
+                if (result.complete(ScriptResult.failure(task, exception, System.nanoTime() - start)))
+                    execution.stop(future);
+            }, timeout, TimeUnit.MILLISECONDS);
+            result.whenComplete((r, e) -> timer.cancel(false));
+        }
+        // Cancelling the result (when the batch is interrupted) cancels the script too
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) execution.stop(future);
+        });
+        return result;
+    }
+
+    /**
+     * The thread running a task.
+     * Not every {@link ExecutorService} interrupts its threads when a task is cancelled
+     * (for example, a {@link ForkJoinPool} does not), so the thread is interrupted directly.
+     */
+    private static final class Execution {
+        private @Nullable Thread thread;
+        private boolean stopped;
+
+        /**
+         * Marks the current thread as the one running the task.
+         *
+         * @return false if the task was already stopped, and it should not be run
+         */
+        synchronized boolean begin() {
+            if (this.stopped) return false;
+            this.thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * Marks the task as completed.
+         * If it was stopped, the interrupted flag of the thread is cleared, so that it does not affect the next task.
+         */
+        synchronized void end() {
+            this.thread = null;
+            if (this.stopped) Thread.interrupted();
+        }
+
+        /**
+         * Stops the task, by interrupting its thread if it is running.
+         *
+         * @param future the future of the task, cancelled in case the task was not started yet
+         */
+        synchronized void stop(final @NotNull Future<?> future) {
+            this.stopped = true;
+            if (this.thread != null) this.thread.interrupt();
+            else future.cancel(false);
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package it.fulminazzo.mojito;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The executors used by {@link Runner#runAsync(String)} and {@link Runner#runAll(java.util.Collection)}
+ * when none is given.
+ * <br>
+ * If the runtime supports virtual threads, every script is run in a new virtual thread.
+ * Otherwise, scripts are run by a {@link ForkJoinPool} with one thread per available processor.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ScriptExecutors {
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+    private static volatile @Nullable ExecutorService defaultExecutor;
+
+    /**
+     * Gets the default executor, creating it at the first invocation.
+     *
+     * @return the executor
+     */
+    public static @NotNull ExecutorService getDefault() {
+        ExecutorService executor = defaultExecutor;
+        if (executor == null)
+            synchronized (ScriptExecutors.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = newVirtualThreadExecutor();
+                    if (executor == null) executor = new ForkJoinPool(PROCESSORS);
+                    defaultExecutor = executor;
+                }
+            }
+        return executor;
+    }
+
+    /**
+     * Gets the maximum number of scripts of a batch that are submitted to the default executor at once.
+     * Since virtual threads are cheap, more scripts are allowed when they are supported.
+     *
+     * @return the number of scripts
+     */
+    public static int getDefaultConcurrency() {
+        return supportsVirtualThreads() ? PROCESSORS * 64 : PROCESSORS * 4;
+    }
+
+    /**
+     * Checks whether the runtime supports virtual threads.
+     *
+     * @return true if it does
+     */
+    public static boolean supportsVirtualThreads() {
+        return getVirtualThreadFactory() != null;
+    }
+
+    /**
+     * Creates a new executor that starts a new virtual thread for every task.
+     *
+     * @return the executor (null if virtual threads are not supported)
+     */
+    static @Nullable ExecutorService newVirtualThreadExecutor() {
+        Method factory = getVirtualThreadFactory();
+        if (factory == null) return null;
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Preview feature not enabled
+            return null;
+        }
+    }
+
+    private static @Nullable Method getVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
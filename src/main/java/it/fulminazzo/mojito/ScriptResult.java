@@ -0,0 +1,89 @@
+package it.fulminazzo.mojito;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * The outcome of a {@link ScriptTask} run by {@link Runner#runAll(java.util.Collection)}.
+ * A task either completes with a result or fails with an exception,
+ * without affecting the other tasks of the same batch.
+ * The duration is the time, in nanoseconds, between the submission of the task and its completion.
+ */
+@Getter
+public final class ScriptResult {
+    private final @NotNull ScriptTask task;
+    private final @Nullable Object result;
+    private final @Nullable Throwable failure;
+    private final long duration;
+
+    private ScriptResult(final @NotNull ScriptTask task, final @Nullable Object result,
+                         final @Nullable Throwable failure, final long duration) {
+        this.task = task;
+        this.result = result;
+        this.failure = failure;
+        this.duration = duration;
+    }
+
+    /**
+     * Checks whether the task completed without exceptions.
+     *
+     * @return true if it did
+     */
+    public boolean isSuccessful() {
+        return this.failure == null;
+    }
+
+    /**
+     * Gets the output of the task.
+     *
+     * @return an optional that may contain the output of the program (empty if the task failed)
+     */
+    public @NotNull Optional<?> getResult() {
+        return Optional.ofNullable(this.result);
+    }
+
+    /**
+     * Gets the exception that made the task fail.
+     *
+     * @return an optional that may contain the exception (empty if the task was successful)
+     */
+    public @NotNull Optional<Throwable> getFailure() {
+        return Optional.ofNullable(this.failure);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        if (this.failure == null) return String.format("%s(%s -> %s)", getClass().getSimpleName(), this.task, this.result);
+        else return String.format("%s(%s -> %s)", getClass().getSimpleName(), this.task, this.failure);
+    }
+
+    /**
+     * Creates the result of a successful task.
+     *
+     * @param task     the task
+     * @param result   the output of the program
+     * @param duration the duration in nanoseconds
+     * @return the result
+     */
+    static @NotNull ScriptResult success(final @NotNull ScriptTask task, final @NotNull Optional<?> result,
+                                         final long duration) {
+        return new ScriptResult(task, result.orElse(null), null, duration);
+    }
+
+    /**
+     * Creates the result of a failed task.
+     *
+     * @param task     the task
+     * @param failure  the exception that made the task fail
+     * @param duration the duration in nanoseconds
+     * @return the result
+     */
+    static @NotNull ScriptResult failure(final @NotNull ScriptTask task, final @NotNull Throwable failure,
+                                         final long duration) {
+        return new ScriptResult(task, null, failure, duration);
+    }
+
+}
@@ -0,0 +1,85 @@
+package it.fulminazzo.mojito;
+
+import it.fulminazzo.mojito.executor.ExecutionBudget;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A script to be run by {@link Runner#runAll(java.util.Collection)}, together with its variables
+ * and the maximum time, in milliseconds, it is allowed to run for (zero if it can run indefinitely).
+ * <br>
+ * A task can also have its own {@link ExecutionBudget}, that replaces the one of the runner.
+ * Tasks with a timeout are always run with a budget, so that the script stops as soon as it is interrupted.
+ * Instances are immutable: every <code>with</code> method returns a copy.
+ */
+@Getter
+public final class ScriptTask {
+    private final @NotNull String code;
+    private final @NotNull Map<String, Object> variables;
+    private final long timeout;
+    private final @Nullable ExecutionBudget budget;
+
+    private ScriptTask(final @NotNull String code, final @NotNull Map<String, Object> variables,
+                       final long timeout, final @Nullable ExecutionBudget budget) {
+        this.code = code;
+        this.variables = variables;
+        this.timeout = timeout;
+        this.budget = budget;
+    }
+
+    /**
+     * Sets the maximum time the script is allowed to run for.
+     * When exceeded, the script fails with a {@link java.util.concurrent.TimeoutException}
+     * and the thread running it is interrupted.
+     *
+     * @param timeout the timeout (zero or less to wait indefinitely)
+     * @param unit    the unit of the timeout
+     * @return a copy of this task
+     */
+    public @NotNull ScriptTask withTimeout(final long timeout, final @NotNull TimeUnit unit) {
+        return new ScriptTask(this.code, this.variables, unit.toMillis(Math.max(timeout, 0)), this.budget);
+    }
+
+    /**
+     * Sets the budget of the script, replacing the one of the runner.
+     *
+     * @param budget the budget (null to use the one of the runner)
+     * @return a copy of this task
+     */
+    public @NotNull ScriptTask withBudget(final @Nullable ExecutionBudget budget) {
+        return new ScriptTask(this.code, this.variables, this.timeout, budget);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s)", getClass().getSimpleName(), this.code.trim());
+    }
+
+    /**
+     * Creates a new task without variables.
+     *
+     * @param code the code
+     * @return the task
+     */
+    public static @NotNull ScriptTask of(final @NotNull String code) {
+        return of(code, new HashMap<>());
+    }
+
+    /**
+     * Creates a new task.
+     *
+     * @param code      the code
+     * @param variables a map containing all the variables to inject before executing the code
+     * @return the task
+     */
+    public static @NotNull ScriptTask of(final @NotNull String code, final @NotNull Map<String, Object> variables) {
+        return new ScriptTask(code, Collections.unmodifiableMap(new HashMap<>(variables)), 0, null);
+    }
+
+}
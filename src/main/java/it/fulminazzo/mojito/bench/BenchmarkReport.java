@@ -0,0 +1,82 @@
+package it.fulminazzo.mojito.bench;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The report of the scripts measured by a {@link ScriptBenchmark}.
+ * It can be exported as a table or as JSON, to be compared between releases.
+ */
+public final class BenchmarkReport {
+    @Getter
+    private final @NotNull List<BenchmarkResult> results;
+
+    BenchmarkReport(final @NotNull List<BenchmarkResult> results) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+    }
+
+    /**
+     * Converts the report to a table of the scripts, in the order they were measured.
+     * The latencies are in microseconds.
+     *
+     * @return the table
+     */
+    public @NotNull String toText() {
+        StringBuilder builder = new StringBuilder(String.format("%-30s %12s %10s %10s %12s %10s %10s %9s%n",
+                "script", "runs/s", "p50 (us)", "p99 (us)", "javac runs/s", "p50 (us)", "p99 (us)", "overhead"));
+        for (BenchmarkResult result : this.results) {
+            Latencies interpreted = result.getInterpreted();
+            Latencies compiled = result.getCompiled();
+            builder.append(String.format("%-30s %12.2f %10.2f %10.2f ", result.getName(),
+                    interpreted.getThroughput(), interpreted.getP50() / 1e3, interpreted.getP99() / 1e3));
+            if (compiled == null) builder.append(String.format("%12s %10s %10s %9s%n", "-", "-", "-", "-"));
+            else builder.append(String.format("%12.2f %10.2f %10.2f %8.2fx%n",
+                    compiled.getThroughput(), compiled.getP50() / 1e3, compiled.getP99() / 1e3,
+                    result.getOverhead()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Converts the report to a JSON array of the scripts, in the order they were measured.
+     * The latencies are in nanoseconds.
+     *
+     * @return the JSON
+     */
+    public @NotNull String toJson() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.results.size(); i++) {
+            BenchmarkResult result = this.results.get(i);
+            if (i > 0) builder.append(",");
+            builder.append("{\"name\":\"").append(escape(result.getName())).append("\"")
+                    .append(",\"interpreted\":").append(toJson(result.getInterpreted()));
+            if (result.getCompiled() != null)
+                builder.append(",\"compiled\":").append(toJson(result.getCompiled()));
+            if (!Double.isNaN(result.getOverhead())) builder.append(",\"overhead\":").append(result.getOverhead());
+            builder.append("}");
+        }
+        return builder.append("]").toString();
+    }
+
+    private static @NotNull String toJson(final @NotNull Latencies latencies) {
+        return "{\"iterations\":" + latencies.getIterations() +
+                ",\"throughput\":" + latencies.getThroughput() +
+                ",\"p50Nanos\":" + latencies.getP50() +
+                ",\"p99Nanos\":" + latencies.getP99() + "}";
+    }
+
+    private static @NotNull String escape(final @NotNull String string) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\') builder.append('\\').append(c);
+            else if (c < ' ') builder.append(String.format("\\u%04x", (int) c));
+            else builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
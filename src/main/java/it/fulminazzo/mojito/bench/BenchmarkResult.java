@@ -0,0 +1,46 @@
+package it.fulminazzo.mojito.bench;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The measures of a single script taken by a {@link ScriptBenchmark}.
+ */
+@Getter
+public final class BenchmarkResult {
+    private final @NotNull String name;
+    /**
+     * The latencies of the script when interpreted.
+     */
+    private final @NotNull Latencies interpreted;
+    /**
+     * The latencies of the script when compiled with <code>javax.tools</code>
+     * (null if it could not be compiled).
+     */
+    private final @Nullable Latencies compiled;
+
+    BenchmarkResult(final @NotNull String name, final @NotNull Latencies interpreted,
+                    final @Nullable Latencies compiled) {
+        this.name = name;
+        this.interpreted = interpreted;
+        this.compiled = compiled;
+    }
+
+    /**
+     * Gets how many times the interpreted script is slower than the compiled one, by their median latency.
+     *
+     * @return the overhead ({@link Double#NaN} if the script could not be compiled)
+     */
+    public double getOverhead() {
+        if (this.compiled == null || this.compiled.getP50() == 0) return Double.NaN;
+        return (double) this.interpreted.getP50() / this.compiled.getP50();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s, interpreted: %s, compiled: %s)",
+                getClass().getSimpleName(), this.name, this.interpreted, this.compiled);
+    }
+
+}
@@ -0,0 +1,67 @@
+package it.fulminazzo.mojito.bench;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the measured runs of a script.
+ */
+@Getter
+public final class Latencies {
+    private final int iterations;
+    private final long totalTime;
+    private final long p50;
+    private final long p99;
+
+    private Latencies(final int iterations, final long totalTime, final long p50, final long p99) {
+        this.iterations = iterations;
+        this.totalTime = totalTime;
+        this.p50 = p50;
+        this.p99 = p99;
+    }
+
+    /**
+     * Gets the number of runs completed per second.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return this.totalTime == 0 ? 0D : this.iterations * 1e9 / this.totalTime;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(iterations: %s, throughput: %.2f/s, p50: %sns, p99: %sns)",
+                getClass().getSimpleName(), this.iterations, getThroughput(), this.p50, this.p99);
+    }
+
+    /**
+     * Computes the latencies of the given runs.
+     *
+     * @param times the duration of every run, in nanoseconds
+     * @return the latencies
+     */
+    static @NotNull Latencies of(final long @NotNull [] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long time : sorted) total += time;
+        return new Latencies(sorted.length, total, percentile(sorted, 50), percentile(sorted, 99));
+    }
+
+    /**
+     * Gets the given percentile of the given sorted values, with the nearest rank method.
+     *
+     * @param sorted     the values
+     * @param percentile the percentile
+     * @return the value (0 if there are none)
+     */
+    static long percentile(final long @NotNull [] sorted, final int percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100D * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+}
@@ -0,0 +1,107 @@
+package it.fulminazzo.mojito.bench;
+
+import it.fulminazzo.mojito.ExecutionMode;
+import it.fulminazzo.mojito.Mojito;
+import it.fulminazzo.mojito.PreparedScript;
+import it.fulminazzo.mojito.compiler.JvmCompiler;
+import it.fulminazzo.mojito.compiler.JvmProgram;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.parser.JavaParser;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.typechecker.TypeChecker;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Measures the end-to-end runs of whole scripts.
+ * <br>
+ * Every script is prepared once, warmed up and then run for the given number of iterations.
+ * The same script is also measured when wrapped in a class and compiled with <code>javax.tools</code>
+ * by the {@link JvmCompiler}, so that the overhead of the interpreter can be tracked over time.
+ */
+@Getter
+public final class ScriptBenchmark {
+    private final @NotNull Object executingObject;
+    private final int warmup;
+    private final int iterations;
+
+    /**
+     * Instantiates a new Script benchmark.
+     *
+     * @param warmup     the number of runs of every script before measuring it
+     * @param iterations the number of measured runs of every script
+     */
+    public ScriptBenchmark(final int warmup, final int iterations) {
+        if (warmup < 0) throw new IllegalArgumentException("Warmup cannot be negative: " + warmup);
+        if (iterations < 1) throw new IllegalArgumentException("Iterations should be at least 1: " + iterations);
+        this.executingObject = new Object();
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Measures all the given scripts, in the order of the map.
+     *
+     * @param scripts the code of every script, by name
+     * @return the report
+     */
+    public @NotNull BenchmarkReport run(final @NotNull Map<String, String> scripts) {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Map.Entry<String, String> script : scripts.entrySet())
+            results.add(run(script.getKey(), script.getValue()));
+        return new BenchmarkReport(results);
+    }
+
+    /**
+     * Measures the given script.
+     *
+     * @param name the name of the script
+     * @param code the code of the script
+     * @return the result
+     */
+    public @NotNull BenchmarkResult run(final @NotNull String name, final @NotNull String code) {
+        PreparedScript script = Mojito.newRunner(this.executingObject, ExecutionMode.INTERPRETED).compile(code);
+        Latencies interpreted = measure(script::run);
+
+        JvmProgram program = compile(code);
+        final Latencies compiled;
+        if (program == null) compiled = null;
+        else {
+            Executor executor = new Executor(this.executingObject);
+            Map<String, Object> bindings = Collections.emptyMap();
+            compiled = measure(() -> program.execute(executor, bindings));
+        }
+        return new BenchmarkResult(name, interpreted, compiled);
+    }
+
+    private @NotNull Latencies measure(final @NotNull Runnable run) {
+        for (int i = 0; i < this.warmup; i++) run.run();
+        long[] times = new long[this.iterations];
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            run.run();
+            times[i] = System.nanoTime() - start;
+        }
+        return Latencies.of(times);
+    }
+
+    /**
+     * Compiles the given code to a JVM class.
+     *
+     * @param code the code
+     * @return the compiled program (null if it could not be compiled)
+     */
+    private @Nullable JvmProgram compile(final @NotNull String code) {
+        JavaParser parser = new JavaParser();
+        parser.setInput(code);
+        JavaProgram program = parser.parseProgram();
+        TypeChecker typeChecker = new TypeChecker(this.executingObject);
+        typeChecker.visitProgram(program);
+        return new JvmCompiler(this.executingObject, typeChecker.getResolutionTable())
+                .compile(program, Collections.emptyMap()).orElse(null);
+    }
+
+}
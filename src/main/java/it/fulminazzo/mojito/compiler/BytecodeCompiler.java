@@ -0,0 +1,594 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.StringConcatenation;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.arrays.ArrayClassValue;
+import it.fulminazzo.mojito.parser.node.Assignment;
+import it.fulminazzo.mojito.parser.node.MethodCall;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.arrays.DynamicArray;
+import it.fulminazzo.mojito.parser.node.arrays.StaticArray;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.*;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.Decrement;
+import it.fulminazzo.mojito.parser.node.operators.unary.Increment;
+import it.fulminazzo.mojito.parser.node.operators.unary.UnaryOperation;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.parser.node.values.ValueLiteral;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.typechecker.SwitchTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static it.fulminazzo.mojito.compiler.Opcodes.*;
+
+/**
+ * Compiles a type checked {@link JavaProgram} in a {@link BytecodeProgram}.
+ * <br>
+ * Just like in the {@link ClosureCompiler}, every variable declared in the program is assigned to a slot of the {@link Frame},
+ * operations between <code>int</code>s have their own instructions and the members resolved
+ * in the {@link ResolutionTable} are stored directly in the constant pool.
+ * Control flow statements are converted to jumps, so that break and continue do not require exceptions.
+ * Switch statements with constant labels jump to their case through the {@link SwitchTable} of the type checker.
+ * <br>
+ * Nodes that are not supported (like try statements, switch statements without constant labels
+ * and fields not resolved by the type checker) are delegated to the
+ * {@link it.fulminazzo.mojito.executor.Executor} through the {@link Opcodes#FALLBACK} instructions.
+ * <br>
+ * A compiler instance is not thread safe, but can compile any number of programs.
+ */
+public final class BytecodeCompiler extends SlotCompiler {
+    private static final Map<Class<? extends Node>, Integer> INT_OPCODES = new HashMap<>();
+
+    static {
+        INT_OPCODES.put(Add.class, IADD);
+        INT_OPCODES.put(Subtract.class, ISUB);
+        INT_OPCODES.put(Multiply.class, IMUL);
+        INT_OPCODES.put(Equal.class, IEQ);
+        INT_OPCODES.put(NotEqual.class, INE);
+        INT_OPCODES.put(LessThan.class, ILT);
+        INT_OPCODES.put(LessThanEqual.class, ILE);
+        INT_OPCODES.put(GreaterThan.class, IGT);
+        INT_OPCODES.put(GreaterThanEqual.class, IGE);
+    }
+
+    private final @NotNull List<Object> constants;
+    private final @NotNull Map<Object, Integer> constantIndices;
+    private final @NotNull LinkedList<Loop> loops;
+    private int[] code;
+    private int size;
+    private int stack;
+    private int maxStack;
+
+    /**
+     * Instantiates a new Bytecode compiler.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    public BytecodeCompiler(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
+        super(executingObject, resolutionTable);
+        this.constants = new ArrayList<>();
+        this.constantIndices = new IdentityHashMap<>();
+        this.loops = new LinkedList<>();
+    }
+
+    /**
+     * Compiles the given program.
+     *
+     * @param program the program
+     * @return the compiled program
+     */
+    public @NotNull BytecodeProgram compile(final @NotNull JavaProgram program) {
+        reset();
+        this.constants.clear();
+        this.constantIndices.clear();
+        this.loops.clear();
+        this.code = new int[64];
+        this.size = 0;
+        this.stack = 0;
+        this.maxStack = 0;
+        compileBlock(program.getStatements());
+        return new BytecodeProgram(Arrays.copyOf(this.code, this.size), this.constants.toArray(), this.slots, this.maxStack);
+    }
+
+    /*
+        STATEMENTS
+     */
+
+    private void compileBlock(final @NotNull List<Statement> statements) {
+        enterScope();
+        for (Statement statement : statements) compileStatement(statement);
+        exitScope();
+    }
+
+    private void compileStatement(final @NotNull Statement statement) {
+        if (statement.getClass().equals(Statement.class)) {
+            Node expression = statement.getExpression();
+            if (expression instanceof Assignment) compileDeclaration((Assignment) expression);
+            else if (expression instanceof ReAssign) compileReAssign((ReAssign) expression, false);
+            else {
+                compileExpression(expression);
+                emit(POP);
+            }
+        } else if (statement instanceof Return) {
+            compileExpression(statement.getExpression());
+            emit(RETURN);
+        } else if (statement instanceof Throw) {
+            compileExpression(statement.getExpression());
+            emit(THROW);
+        } else if (statement instanceof Break && !this.loops.isEmpty())
+            this.loops.getFirst().breaks.add(emitJump(JUMP));
+        else if (statement instanceof Continue && getContinueTarget() != null)
+            getContinueTarget().continues.add(emitJump(JUMP));
+        else if (statement instanceof IfStatement) compileIfStatement((IfStatement) statement);
+        else if (statement instanceof WhileStatement) compileWhileStatement((WhileStatement) statement);
+        else if (statement instanceof DoStatement) compileDoStatement((DoStatement) statement);
+        else if (statement instanceof ForStatement) compileForStatement((ForStatement) statement);
+        else if (statement instanceof EnhancedForStatement)
+            compileEnhancedForStatement((EnhancedForStatement) statement);
+        else if (statement instanceof SwitchStatement &&
+                this.resolutionTable.getSwitchTable(statement.getExpression()) != null)
+            compileSwitchStatement((SwitchStatement) statement);
+        else fallback(statement, FALLBACK_STATEMENT);
+    }
+
+    private void compileIfStatement(final @NotNull IfStatement statement) {
+        compileExpression(statement.getExpression());
+        int otherwise = emitJump(JUMP_IF_FALSE);
+        compileBlock(statement.getThen().getStatements());
+        Node elseBranch = statement.getElseBranch();
+        if (elseBranch instanceof EmptyLiteral) patch(otherwise, this.size);
+        else {
+            int end = emitJump(JUMP);
+            patch(otherwise, this.size);
+            if (elseBranch instanceof CodeBlock) compileBlock(((CodeBlock) elseBranch).getStatements());
+            else compileStatement((Statement) elseBranch);
+            patch(end, this.size);
+        }
+    }
+
+    private void compileWhileStatement(final @NotNull WhileStatement statement) {
+        int condition = this.size;
+        compileExpression(statement.getExpression());
+        int end = emitJump(JUMP_IF_FALSE);
+        Loop loop = compileLoopCode(statement.getCode());
+        emit(JUMP, condition);
+        patch(end, this.size);
+        patch(loop, this.size, condition);
+    }
+
+    private void compileDoStatement(final @NotNull DoStatement statement) {
+        int start = this.size;
+        Loop loop = compileLoopCode(statement.getCode());
+        int condition = this.size;
+        compileExpression(statement.getExpression());
+        int end = emitJump(JUMP_IF_FALSE);
+        emit(JUMP, start);
+        patch(end, this.size);
+        patch(loop, this.size, condition);
+    }
+
+    private void compileForStatement(final @NotNull ForStatement statement) {
+        enterScope();
+        Node assignment = statement.getAssignment();
+        if (assignment instanceof Assignment) compileDeclaration((Assignment) assignment);
+        else {
+            compileExpression(assignment);
+            emit(POP);
+        }
+        int condition = this.size;
+        compileExpression(statement.getExpression());
+        int end = emitJump(JUMP_IF_FALSE);
+        Loop loop = compileLoopCode(statement.getCode());
+        int increment = this.size;
+        compileExpression(statement.getIncrement());
+        emit(POP);
+        emit(JUMP, condition);
+        patch(end, this.size);
+        patch(loop, this.size, increment);
+        exitScope();
+    }
+
+    private void compileEnhancedForStatement(final @NotNull EnhancedForStatement statement) {
+        enterScope();
+        ClassValue<?> variableType = evaluate(statement.getType()).check(ClassValue.class);
+        compileExpression(statement.getExpression());
+        emit(ITER_INIT);
+        int slot = declare(((Literal) statement.getVariable()).getLiteral(), variableType).getIndex();
+        int next = this.size;
+        emit(ITER_NEXT, slot, -1);
+        int end = this.size - 1;
+        Loop loop = compileLoopCode(statement.getCode());
+        emit(JUMP, next);
+        patch(end, this.size);
+        patch(loop, this.size, next);
+        // Discards the iterator
+        emit(POP);
+        exitScope();
+    }
+
+    /**
+     * Compiles a switch statement with constant labels.
+     * Like in the {@link it.fulminazzo.mojito.executor.Executor}, every case has its own scope,
+     * and the execution falls through the following cases until a break is found.
+     * Values that cannot be looked up in the table do not match any label.
+     *
+     * @param statement the statement
+     */
+    private void compileSwitchStatement(final @NotNull SwitchStatement statement) {
+        enterScope();
+        SwitchTable table = Objects.requireNonNull(this.resolutionTable.getSwitchTable(statement.getExpression()));
+        List<CaseStatement> cases = statement.getCases();
+        int[] targets = new int[cases.size() + 1];
+        compileExpression(statement.getExpression());
+        emit(SWITCH, constant(table), constant(targets));
+        // Break statements exit the switch, while continue statements refer to the enclosing loop
+        Loop block = new Loop(false);
+        this.loops.push(block);
+        for (int i = 0; i < cases.size(); i++) {
+            targets[i] = this.size;
+            compileBlock(cases.get(i).getBlock().getStatements());
+        }
+        targets[cases.size()] = this.size;
+        compileBlock(statement.getDefaultBlock().getStatements());
+        this.loops.pop();
+        for (int position : block.breaks) patch(position, this.size);
+        exitScope();
+    }
+
+    /**
+     * Compiles the code of a loop, collecting its break and continue statements.
+     *
+     * @param code the code
+     * @return the loop, whose jumps must be patched once the targets are known
+     */
+    private @NotNull Loop compileLoopCode(final @NotNull CodeBlock code) {
+        Loop loop = new Loop(true);
+        this.loops.push(loop);
+        compileBlock(code.getStatements());
+        this.loops.pop();
+        return loop;
+    }
+
+    /*
+        ASSIGNMENTS
+     */
+
+    private void compileDeclaration(final @NotNull Assignment assignment) {
+        ClassValue<?> variableType = evaluate(assignment.getType()).checkClass();
+        Node value = assignment.getValue();
+        compileExpression(value);
+        int slot = declare(assignment.getName().getLiteral(), variableType).getIndex();
+        compileAssignVariable(variableType, slot, value, false);
+    }
+
+    private void compileReAssign(final @NotNull ReAssign reAssign, final boolean keep) {
+        Node left = reAssign.getLeft();
+        Node value = reAssign.getRight();
+        Slot slot = getSlot(left);
+        if (left instanceof ArrayIndex) {
+            ArrayIndex arrayIndex = (ArrayIndex) left;
+            compileExpression(arrayIndex.getLeft());
+            compileExpression(arrayIndex.getRight());
+            compileExpression(value);
+            emit(ARRAY_STORE, this.resolutionTable.isExactAssignment(value) ? 1 : 0);
+            if (!keep) emit(POP);
+        } else if (slot == null) {
+            fallback(reAssign, FALLBACK);
+            if (!keep) emit(POP);
+        } else if (this.resolutionTable.isAccumulation(value)) {
+            List<Node> operands = Objects.requireNonNull(StringConcatenation.getOperands(value, this.resolutionTable));
+            emit(LOAD, slot.getIndex());
+            for (Node operand : operands.subList(1, operands.size())) compileExpression(operand);
+            emit(CONCAT, operands.size(), 1);
+            if (keep) emit(DUP);
+            emit(STORE, slot.getIndex());
+        } else {
+            compileExpression(value);
+            compileAssignVariable(slot.getType(), slot.getIndex(), value, keep);
+        }
+    }
+
+    /**
+     * Compiles the assignment of the value on top of the stack to a slot.
+     * Like {@link it.fulminazzo.mojito.executor.Executor#assignVariable}, the value is converted
+     * to the type of the variable only if it is not marked as exact by the {@link ResolutionTable}.
+     *
+     * @param variableType the type of the variable
+     * @param slot         the slot of the variable
+     * @param value        the value node
+     * @param keep         if true, the assigned value is left on the stack
+     */
+    private void compileAssignVariable(final @NotNull ClassValue<?> variableType, final int slot,
+                                       final @NotNull Node value, final boolean keep) {
+        boolean exact = this.resolutionTable.isExactAssignment(value);
+        if (!exact) emit(CONVERT, constant(variableType));
+        if (keep) emit(DUP);
+        emit(STORE, slot);
+        if (keep && !exact) emit(CAST, constant(variableType));
+    }
+
+    /*
+        EXPRESSIONS
+     */
+
+    /**
+     * Compiles the given expression, leaving its value on top of the stack.
+     *
+     * @param node the expression
+     */
+    private void compileExpression(final @NotNull Node node) {
+        if (node instanceof ThisLiteral) emit(THIS);
+        else if (node instanceof ValueLiteral || node instanceof NullLiteral || node instanceof EmptyLiteral)
+            emit(CONST, constant(evaluate(node)));
+        else if (node instanceof ArrayLiteral) fallback(node, FALLBACK);
+        else if (node instanceof ArrayIndex) {
+            compileExpression(((ArrayIndex) node).getLeft());
+            compileExpression(((ArrayIndex) node).getRight());
+            emit(ARRAY_LOAD);
+        } else if (node instanceof Field) compileField((Field) node);
+        else if (node instanceof Literal) compileLiteral((Literal) node);
+        else if (node instanceof ReAssign) compileReAssign((ReAssign) node, true);
+        else if (node instanceof Increment)
+            compilePrefixedOperation((Increment) node, ((Increment) node).isBefore() ? PRE_INC : POST_INC);
+        else if (node instanceof Decrement)
+            compilePrefixedOperation((Decrement) node, ((Decrement) node).isBefore() ? PRE_DEC : POST_DEC);
+        else if (BINARY_OPERATIONS.containsKey(node.getClass()))
+            compileBinaryOperation((BinaryOperation) node);
+        else if (UNARY_OPERATIONS.containsKey(node.getClass())) {
+            compileExpression(((UnaryOperation) node).getOperand());
+            emit(UNARY, constant(UNARY_OPERATIONS.get(node.getClass())));
+        } else if (node instanceof Cast) compileCast((Cast) node);
+        else if (node instanceof MethodCall) compileMethodCall((MethodCall) node);
+        else if (node instanceof NewObject) compileNewObject((NewObject) node);
+        else if (node instanceof StaticArray) compileStaticArray((StaticArray) node);
+        else if (node instanceof DynamicArray) compileDynamicArray((DynamicArray) node);
+        else fallback(node, FALLBACK);
+    }
+
+    private void compileLiteral(final @NotNull Literal literal) {
+        Slot slot = getSlot(literal);
+        if (slot != null) {
+            emit(LOAD, slot.getIndex());
+            return;
+        }
+        Value<?> constant = getConstantClass(literal);
+        if (constant != null) emit(CONST, constant(constant));
+        else fallback(literal, FALLBACK);
+    }
+
+    /**
+     * Compiles the retrieval of a field.
+     * Class names (like <code>Map.Entry</code>) are constants,
+     * while only the fields resolved by the type checker can be read directly.
+     *
+     * @param field the field
+     */
+    private void compileField(final @NotNull Field field) {
+        Value<?> constant = getConstantClass(field);
+        java.lang.reflect.Field resolved = this.resolutionTable.getField(field.getRight());
+        if (constant != null) emit(CONST, constant(constant));
+        else if (resolved == null) fallback(field, FALLBACK);
+        else {
+            compileExpression(field.getLeft());
+            emit(GET_FIELD, constant(resolved));
+        }
+    }
+
+    private void compilePrefixedOperation(final @NotNull UnaryOperation operation, final int opcode) {
+        Slot slot = getSlot(operation.getOperand());
+        if (slot == null) fallback(operation, FALLBACK);
+        else emit(opcode, slot.getIndex(), constant(slot.getType()));
+    }
+
+    private void compileBinaryOperation(final @NotNull BinaryOperation operation) {
+        List<Node> operands = operation instanceof Add ?
+                StringConcatenation.getOperands(operation, this.resolutionTable) : null;
+        if (operands != null) {
+            for (Node operand : operands) compileExpression(operand);
+            emit(CONCAT, operands.size(), 0);
+            return;
+        }
+        compileExpression(operation.getLeft());
+        compileExpression(operation.getRight());
+        Integer opcode = INT_OPCODES.get(operation.getClass());
+        if (opcode != null && Integer.class.equals(getStaticType(operation.getLeft())) &&
+                Integer.class.equals(getStaticType(operation.getRight())))
+            emit(opcode);
+        else emit(BINARY, constant(BINARY_OPERATIONS.get(operation.getClass())));
+    }
+
+    private void compileCast(final @NotNull Cast cast) {
+        Value<?> type = getConstantClass(cast.getLeft());
+        if (type == null) fallback(cast, FALLBACK);
+        else {
+            compileExpression(cast.getRight());
+            emit(CAST, constant(type.checkClass()));
+        }
+    }
+
+    private void compileMethodCall(final @NotNull MethodCall methodCall) {
+        Node executorNode = methodCall.getExecutor();
+        if (executorNode instanceof EmptyLiteral) emit(THIS);
+        else compileExpression(executorNode);
+        MethodInvocation invocation = methodCall.getInvocation();
+        int parameters = compileParameters(invocation);
+        Object method = this.resolutionTable.getMethod(invocation);
+        if (method == null) method = methodCall.getMethodName();
+        emit(INVOKE, constant(method), parameters);
+    }
+
+    private void compileNewObject(final @NotNull NewObject newObject) {
+        Value<?> type = getConstantClass(newObject.getLeft());
+        if (type == null || !(newObject.getRight() instanceof MethodInvocation)) {
+            fallback(newObject, FALLBACK);
+            return;
+        }
+        MethodInvocation invocation = (MethodInvocation) newObject.getRight();
+        int parameters = compileParameters(invocation);
+        emit(NEW, constant(type.checkClass()), constant(this.resolutionTable.getConstructor(invocation)), parameters);
+    }
+
+    private void compileStaticArray(final @NotNull StaticArray array) {
+        Value<?> type = getConstantClass(array.getType());
+        if (type == null) fallback(array, FALLBACK);
+        else emit(NEW_ARRAY, constant(type.checkClass()), array.size());
+    }
+
+    private void compileDynamicArray(final @NotNull DynamicArray array) {
+        Value<?> type = getConstantClass(array.getType());
+        if (type == null || !type.is(ArrayClassValue.class)) {
+            fallback(array, FALLBACK);
+            return;
+        }
+        for (Node component : array.getParameters()) compileExpression(component);
+        emit(NEW_ARRAY_OF, constant(type.check(ArrayClassValue.class).getComponentsType()), array.size());
+    }
+
+    private int compileParameters(final @NotNull MethodInvocation invocation) {
+        List<Node> parameters = invocation.getParameters();
+        for (Node parameter : parameters) compileExpression(parameter);
+        return parameters.size();
+    }
+
+    /**
+     * Delegates the given node to the {@link it.fulminazzo.mojito.executor.Executor}.
+     * If it is a statement in a loop, break and continue are redirected to the loop.
+     *
+     * @param node   the node
+     * @param opcode either {@link Opcodes#FALLBACK} or {@link Opcodes#FALLBACK_STATEMENT}
+     */
+    private void fallback(final @NotNull Node node, final int opcode) {
+        emit(opcode, constant(node), constant(getReferencedSlots(node)), -1, -1);
+        if (opcode == FALLBACK_STATEMENT && !this.loops.isEmpty()) {
+            this.loops.getFirst().breaks.add(this.size - 2);
+            Loop loop = getContinueTarget();
+            if (loop != null) loop.continues.add(this.size - 1);
+        }
+    }
+
+    /**
+     * Gets the innermost loop, skipping the switch statements.
+     *
+     * @return the loop (null if not in a loop)
+     */
+    private @Nullable Loop getContinueTarget() {
+        for (Loop loop : this.loops)
+            if (loop.continuable) return loop;
+        return null;
+    }
+
+    /*
+        CODE
+     */
+
+    private int constant(final Object constant) {
+        return this.constantIndices.computeIfAbsent(constant, c -> {
+            this.constants.add(c);
+            return this.constants.size() - 1;
+        });
+    }
+
+    /**
+     * Emits a jump instruction with an unknown target.
+     *
+     * @param opcode the opcode
+     * @return the position of the target, to be set with {@link #patch(int, int)}
+     */
+    private int emitJump(final int opcode) {
+        emit(opcode, -1);
+        return this.size - 1;
+    }
+
+    private void patch(final int position, final int target) {
+        this.code[position] = target;
+    }
+
+    /**
+     * Sets the targets of all the break and continue jumps of the given loop.
+     *
+     * @param loop           the loop
+     * @param breakTarget    the position after the loop
+     * @param continueTarget the position of the next iteration
+     */
+    private void patch(final @NotNull Loop loop, final int breakTarget, final int continueTarget) {
+        for (int position : loop.breaks) patch(position, breakTarget);
+        for (int position : loop.continues) patch(position, continueTarget);
+    }
+
+    private void emit(final int opcode, final int @NotNull ... operands) {
+        if (this.size + operands.length + 1 > this.code.length)
+            this.code = Arrays.copyOf(this.code, Math.max(this.code.length * 2, this.size + operands.length + 1));
+        this.code[this.size++] = opcode;
+        for (int operand : operands) this.code[this.size++] = operand;
+        this.stack += getStackEffect(opcode, operands);
+        this.maxStack = Math.max(this.maxStack, this.stack);
+    }
+
+    private static int getStackEffect(final int opcode, final int @NotNull [] operands) {
+        switch (opcode) {
+            case CONST:
+            case LOAD:
+            case DUP:
+            case THIS:
+            case PRE_INC:
+            case POST_INC:
+            case PRE_DEC:
+            case POST_DEC:
+            case FALLBACK:
+            case NEW_ARRAY:
+                return 1;
+            case STORE:
+            case POP:
+            case BINARY:
+            case IADD:
+            case ISUB:
+            case IMUL:
+            case IEQ:
+            case INE:
+            case ILT:
+            case ILE:
+            case IGT:
+            case IGE:
+            case JUMP_IF_FALSE:
+            case ARRAY_LOAD:
+            case RETURN:
+            case THROW:
+            case SWITCH:
+                return -1;
+            case ARRAY_STORE:
+                return -2;
+            case INVOKE:
+                return -operands[1];
+            case NEW:
+                return 1 - operands[2];
+            case CONCAT:
+                return 1 - operands[0];
+            case NEW_ARRAY_OF:
+                return 1 - operands[1];
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * The jumps of the break and continue statements of a loop, or of the break statements of a switch.
+     */
+    private static final class Loop {
+        private final @NotNull List<Integer> breaks = new ArrayList<>();
+        private final @NotNull List<Integer> continues = new ArrayList<>();
+        private final boolean continuable;
+
+        private Loop(final boolean continuable) {
+            this.continuable = continuable;
+        }
+    }
+
+}
@@ -0,0 +1,371 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.BreakException;
+import it.fulminazzo.mojito.executor.ContinueException;
+import it.fulminazzo.mojito.executor.ExceptionWrapper;
+import it.fulminazzo.mojito.executor.StringConcatenation;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.ParameterValues;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.ValueIterator;
+import it.fulminazzo.mojito.executor.values.Values;
+import it.fulminazzo.mojito.executor.values.arrays.ArrayValue;
+import it.fulminazzo.mojito.executor.values.primitivevalue.PrimitiveValue;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.typechecker.SwitchTable;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import static it.fulminazzo.mojito.compiler.Opcodes.*;
+
+/**
+ * Executes a {@link BytecodeProgram} in a single loop.
+ * Differently from the {@link it.fulminazzo.mojito.executor.Executor}, the depth of the Java stack
+ * does not depend on the nesting of the program, except for the nodes that were not compiled.
+ */
+@SuppressWarnings("unchecked")
+final class BytecodeInterpreter {
+    private static final Value<?> ONE = PrimitiveValue.of(1);
+
+    private final int @NotNull [] code;
+    private final Object @NotNull [] constants;
+    private final int maxStack;
+    private final @NotNull LongAdder executedInstructions;
+
+    /**
+     * Instantiates a new Bytecode interpreter.
+     *
+     * @param program the program to execute
+     */
+    BytecodeInterpreter(final @NotNull BytecodeProgram program) {
+        this.code = program.getCode();
+        this.constants = program.getConstants();
+        this.maxStack = program.getMaxStack();
+        this.executedInstructions = program.getInstructionCounter();
+    }
+
+    /**
+     * Executes the program.
+     * The number of executed instructions is added to the counter of the program at the end.
+     *
+     * @param frame the frame
+     * @return the returned value ({@link Values#NO_VALUE} if nothing was returned)
+     */
+    @NotNull Value<?> run(final @NotNull Frame frame) {
+        final int[] code = this.code;
+        final Object[] constants = this.constants;
+        final Object[] stack = new Object[this.maxStack];
+        int sp = 0;
+        int pc = 0;
+        long executed = 0;
+        try {
+            while (pc < code.length) {
+                executed++;
+                switch (code[pc]) {
+                    case CONST:
+                        stack[sp++] = constants[code[pc + 1]];
+                        pc += 2;
+                        break;
+                    case LOAD:
+                        stack[sp++] = frame.get(code[pc + 1]);
+                        pc += 2;
+                        break;
+                    case STORE:
+                        frame.set(code[pc + 1], (Value<?>) stack[--sp]);
+                        pc += 2;
+                        break;
+                    case DUP:
+                        stack[sp] = stack[sp - 1];
+                        sp++;
+                        pc++;
+                        break;
+                    case POP:
+                        stack[--sp] = null;
+                        pc++;
+                        break;
+                    case THIS:
+                        stack[sp++] = frame.getExecutor().visitThisLiteral();
+                        pc++;
+                        break;
+                    case BINARY: {
+                        Value<?> right = (Value<?>) stack[--sp];
+                        Value<?> left = (Value<?>) stack[sp - 1];
+                        stack[sp - 1] = ((BinaryOperator<Value<?>>) constants[code[pc + 1]]).apply(left, right);
+                        pc += 2;
+                        break;
+                    }
+                    case UNARY:
+                        stack[sp - 1] = ((UnaryOperator<Value<?>>) constants[code[pc + 1]]).apply((Value<?>) stack[sp - 1]);
+                        pc += 2;
+                        break;
+                    case IADD: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) + right);
+                        pc++;
+                        break;
+                    }
+                    case ISUB: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) - right);
+                        pc++;
+                        break;
+                    }
+                    case IMUL: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) * right);
+                        pc++;
+                        break;
+                    }
+                    case IEQ: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) == right);
+                        pc++;
+                        break;
+                    }
+                    case INE: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) != right);
+                        pc++;
+                        break;
+                    }
+                    case ILT: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) < right);
+                        pc++;
+                        break;
+                    }
+                    case ILE: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) <= right);
+                        pc++;
+                        break;
+                    }
+                    case IGT: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) > right);
+                        pc++;
+                        break;
+                    }
+                    case IGE: {
+                        int right = getInt(stack[--sp]);
+                        stack[sp - 1] = Value.of(getInt(stack[sp - 1]) >= right);
+                        pc++;
+                        break;
+                    }
+                    case CONVERT: {
+                        ClassValue<?> type = (ClassValue<?>) constants[code[pc + 1]];
+                        stack[sp - 1] = frame.getExecutor().convertVariable(type, (Value<?>) stack[sp - 1]);
+                        pc += 2;
+                        break;
+                    }
+                    case CAST:
+                        stack[sp - 1] = ((ClassValue<?>) constants[code[pc + 1]]).cast((Value<?>) stack[sp - 1]);
+                        pc += 2;
+                        break;
+                    case JUMP: {
+                        int target = code[pc + 1];
+                        // Loops jump back to their condition at every iteration
+                        if (target <= pc) frame.tick();
+                        pc = target;
+                        break;
+                    }
+                    case JUMP_IF_FALSE:
+                        if (SlotCompiler.isTrue((Value<?>) stack[--sp])) pc += 2;
+                        else pc = code[pc + 1];
+                        stack[sp] = null;
+                        break;
+                    case PRE_INC:
+                    case POST_INC:
+                    case PRE_DEC:
+                    case POST_DEC: {
+                        int opcode = code[pc];
+                        int slot = code[pc + 1];
+                        Value<?> previous = frame.get(slot);
+                        Value<?> next = opcode == PRE_INC || opcode == POST_INC ? previous.add(ONE) : previous.subtract(ONE);
+                        frame.set(slot, next);
+                        Value<?> returned = opcode == PRE_INC || opcode == PRE_DEC ? next : previous;
+                        stack[sp++] = ((ClassValue<?>) constants[code[pc + 2]]).cast(returned);
+                        pc += 3;
+                        break;
+                    }
+                    case ARRAY_LOAD: {
+                        int index = getInt(stack[--sp]);
+                        stack[sp] = null;
+                        ArrayValue<?> array = ((Value<?>) stack[sp - 1]).check(ArrayValue.class);
+                        stack[sp - 1] = array.getComponentsType().cast(array.get(index));
+                        pc++;
+                        break;
+                    }
+                    case ARRAY_STORE: {
+                        Value<?> value = (Value<?>) stack[--sp];
+                        int index = getInt(stack[--sp]);
+                        ArrayValue<?> array = ((Value<?>) stack[sp - 1]).check(ArrayValue.class);
+                        stack[sp] = null;
+                        if (code[pc + 1] == 0) {
+                            ClassValue<?> componentsType = array.getComponentsType();
+                            value = frame.getExecutor().convertVariable(componentsType, value);
+                            array.set(index, value);
+                            value = componentsType.cast(value);
+                        } else array.set(index, value);
+                        stack[sp - 1] = value;
+                        pc += 2;
+                        break;
+                    }
+                    case INVOKE: {
+                        Object method = constants[code[pc + 1]];
+                        int size = code[pc + 2];
+                        ParameterValues parameters = popParameters(stack, sp, size);
+                        sp -= size;
+                        Value<?> executor = (Value<?>) stack[sp - 1];
+                        frame.tick();
+                        try {
+                            if (method instanceof Method)
+                                stack[sp - 1] = executor.invokeResolvedMethod((Method) method, parameters);
+                            else stack[sp - 1] = executor.invokeMethod((String) method, parameters);
+                        } catch (VisitorObjectException e) {
+                            throw frame.getExecutor().exceptionWrapper(e);
+                        }
+                        pc += 3;
+                        break;
+                    }
+                    case NEW: {
+                        ClassValue<?> type = (ClassValue<?>) constants[code[pc + 1]];
+                        Object constructor = constants[code[pc + 2]];
+                        int size = code[pc + 3];
+                        ParameterValues parameters = popParameters(stack, sp, size);
+                        sp -= size;
+                        try {
+                            if (constructor == null) stack[sp++] = type.newObject(parameters);
+                            else stack[sp++] = type.newResolvedObject((Constructor<?>) constructor, parameters);
+                        } catch (VisitorObjectException e) {
+                            throw frame.getExecutor().exceptionWrapper(e);
+                        }
+                        pc += 4;
+                        break;
+                    }
+                    case CONCAT: {
+                        int size = code[pc + 1];
+                        Value<?>[] values = new Value<?>[size];
+                        for (int i = size - 1; i >= 0; i--) {
+                            values[i] = (Value<?>) stack[--sp];
+                            stack[sp] = null;
+                        }
+                        stack[sp++] = code[pc + 2] == 1 ?
+                                StringConcatenation.accumulate(values) : StringConcatenation.concatenate(values);
+                        pc += 3;
+                        break;
+                    }
+                    case ITER_INIT: {
+                        stack[sp - 1] = ValueIterator.of((Value<?>) stack[sp - 1]);
+                        pc++;
+                        break;
+                    }
+                    case ITER_NEXT: {
+                        ValueIterator iterator = (ValueIterator) stack[sp - 1];
+                        if (iterator.hasNext()) {
+                            frame.set(code[pc + 1], iterator.next());
+                            pc += 3;
+                        } else pc = code[pc + 2];
+                        break;
+                    }
+                    case FALLBACK:
+                    case FALLBACK_STATEMENT: {
+                        Node node = (Node) constants[code[pc + 1]];
+                        Slot[] slots = (Slot[]) constants[code[pc + 2]];
+                        final Value<?> value;
+                        try {
+                            value = frame.visit(node, slots);
+                        } catch (BreakException e) {
+                            if (code[pc + 3] < 0) throw e;
+                            pc = code[pc + 3];
+                            break;
+                        } catch (ContinueException e) {
+                            if (code[pc + 4] < 0) throw e;
+                            pc = code[pc + 4];
+                            break;
+                        }
+                        if (code[pc] == FALLBACK) stack[sp++] = value;
+                        // Something was returned
+                        else if (!Values.NO_VALUE.equals(value)) return value;
+                        pc += 5;
+                        break;
+                    }
+                    case RETURN: {
+                        Value<?> value = (Value<?>) stack[--sp];
+                        stack[sp] = null;
+                        // Empty returns do not stop the execution, just like in the Executor
+                        if (!Values.NO_VALUE.equals(value)) return value;
+                        pc++;
+                        break;
+                    }
+                    case THROW: {
+                        Value<? extends Throwable> exception = (Value<? extends Throwable>) stack[--sp];
+                        ExecutionListener listener = frame.getExecutor().getListener();
+                        if (listener != null) listener.onExceptionThrown(exception.getValue());
+                        throw new ExceptionWrapper(exception);
+                    }
+                    case GET_FIELD: {
+                        Value<?> owner = (Value<?>) stack[sp - 1];
+                        if (owner.isPrimitive()) owner = owner.toWrapper();
+                        stack[sp - 1] = SlotCompiler.unwrap(owner.getField((Field) constants[code[pc + 1]]));
+                        pc += 2;
+                        break;
+                    }
+                    case NEW_ARRAY:
+                        stack[sp++] = ArrayValue.of((ClassValue<?>) constants[code[pc + 1]], code[pc + 2]);
+                        pc += 3;
+                        break;
+                    case NEW_ARRAY_OF: {
+                        int size = code[pc + 2];
+                        List<Value<Object>> components = new ArrayList<>(size);
+                        for (int i = sp - size; i < sp; i++) {
+                            components.add((Value<Object>) stack[i]);
+                            stack[i] = null;
+                        }
+                        sp -= size;
+                        stack[sp++] = ArrayValue.of((ClassValue<Object>) constants[code[pc + 1]], components);
+                        pc += 3;
+                        break;
+                    }
+                    case SWITCH: {
+                        Value<?> value = (Value<?>) stack[--sp];
+                        stack[sp] = null;
+                        int[] targets = (int[]) constants[code[pc + 2]];
+                        int index = ((SwitchTable) constants[code[pc + 1]]).getCase(value.getValue());
+                        pc = targets[index == SwitchTable.NOT_SUPPORTED ? targets.length - 1 : index];
+                        break;
+                    }
+                    default:
+                        throw new IllegalStateException("Invalid opcode " + code[pc] + " at " + pc);
+                }
+            }
+            return Values.NO_VALUE;
+        } finally {
+            this.executedInstructions.add(executed);
+        }
+    }
+
+    private static int getInt(final @NotNull Object value) {
+        return (Integer) ((Value<?>) value).getValue();
+    }
+
+    private static @NotNull ParameterValues popParameters(final Object @NotNull [] stack, final int sp, final int size) {
+        List<Value<?>> parameters = new ArrayList<>(size);
+        for (int i = sp - size; i < sp; i++) {
+            parameters.add((Value<?>) stack[i]);
+            stack[i] = null;
+        }
+        return new ParameterValues(parameters);
+    }
+
+}
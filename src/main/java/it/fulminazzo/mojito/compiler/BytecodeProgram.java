@@ -0,0 +1,75 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.Values;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link it.fulminazzo.mojito.parser.node.container.JavaProgram} compiled by the {@link BytecodeCompiler}
+ * in a flat sequence of {@link Opcodes} and a constant pool.
+ * It can be executed any number of times, also concurrently,
+ * and counts the instructions executed by all its runs.
+ */
+@Getter(AccessLevel.PACKAGE)
+public final class BytecodeProgram {
+    private final int @NotNull [] code;
+    private final Object @NotNull [] constants;
+    private final int slots;
+    private final int maxStack;
+    private final @NotNull LongAdder instructionCounter;
+
+    /**
+     * Instantiates a new Bytecode program.
+     *
+     * @param code      the instructions
+     * @param constants the constant pool
+     * @param slots     the number of slots required by the program
+     * @param maxStack  the maximum size of the operand stack
+     */
+    BytecodeProgram(final int @NotNull [] code, final Object @NotNull [] constants,
+                    final int slots, final int maxStack) {
+        this.code = code;
+        this.constants = constants;
+        this.slots = slots;
+        this.maxStack = maxStack;
+        this.instructionCounter = new LongAdder();
+    }
+
+    /**
+     * Executes the program.
+     * The given {@link Executor} is used for all the nodes that were not compiled,
+     * and its environment is the one where the variables not declared by the program are searched.
+     *
+     * @param executor the executor
+     * @return an {@link Optional} containing the returned value
+     */
+    public @NotNull Optional<Value<?>> execute(final @NotNull Executor executor) {
+        Value<?> value = new BytecodeInterpreter(this).run(new Frame(executor, this.slots));
+        return Values.NO_VALUE.equals(value) ? Optional.empty() : Optional.of(value);
+    }
+
+    /**
+     * Gets the number of instructions executed by all the runs of the program so far.
+     *
+     * @return the number of instructions
+     */
+    public long getExecutedInstructions() {
+        return this.instructionCounter.sum();
+    }
+
+    /**
+     * Converts the program in a human-readable listing of its instructions.
+     *
+     * @return the listing
+     */
+    public @NotNull String disassemble() {
+        return Disassembler.disassemble(this);
+    }
+
+}
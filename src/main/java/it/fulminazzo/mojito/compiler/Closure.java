@@ -0,0 +1,26 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.values.Value;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A piece of a {@link CompiledProgram}, obtained by compiling a single node.
+ * Differently from the node, it is already linked to its children, variables and members,
+ * so no visit is required to execute it.
+ * <br>
+ * Just like in {@link it.fulminazzo.mojito.executor.Executor},
+ * statements return {@link it.fulminazzo.mojito.executor.values.Values#NO_VALUE}
+ * unless a value was returned.
+ */
+@FunctionalInterface
+public interface Closure {
+
+    /**
+     * Executes the closure in the given frame.
+     *
+     * @param frame the frame
+     * @return the computed value
+     */
+    @NotNull Value<?> execute(final @NotNull Frame frame);
+
+}
@@ -0,0 +1,508 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.BreakException;
+import it.fulminazzo.mojito.executor.ContinueException;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.StringConcatenation;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.ParameterValues;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.ValueIterator;
+import it.fulminazzo.mojito.executor.values.Values;
+import it.fulminazzo.mojito.executor.values.arrays.ArrayValue;
+import it.fulminazzo.mojito.executor.values.primitivevalue.PrimitiveValue;
+import it.fulminazzo.mojito.parser.node.Assignment;
+import it.fulminazzo.mojito.parser.node.MethodCall;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.*;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.*;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.parser.node.values.*;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiles a type checked {@link JavaProgram} in a tree of {@link Closure}s.
+ * <br>
+ * Every variable declared in the program is assigned to a slot of the {@link Frame},
+ * operations are linked to their implementation (with specialized versions for <code>int</code>
+ * and <code>long</code> operands), and the members resolved in the {@link ResolutionTable} are bound directly.
+ * The resulting {@link CompiledProgram} behaves exactly like the {@link Executor}.
+ * <br>
+ * Nodes that are not supported (like switch and try statements) are delegated to the {@link Executor}:
+ * the slots they reference are declared in a new scope of its environment before the visit,
+ * and read back after it.
+ * <br>
+ * A compiler instance is not thread safe, but can compile any number of programs.
+ */
+@SuppressWarnings("unchecked")
+public final class ClosureCompiler extends SlotCompiler {
+    private static final Value<?> ONE = PrimitiveValue.of(1);
+
+    /**
+     * Instantiates a new Closure compiler.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    public ClosureCompiler(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
+        super(executingObject, resolutionTable);
+    }
+
+    /**
+     * Compiles the given program.
+     *
+     * @param program the program
+     * @return the compiled program
+     */
+    public @NotNull CompiledProgram compile(final @NotNull JavaProgram program) {
+        return compile(program, Collections.emptyMap());
+    }
+
+    /**
+     * Compiles the given program, that continues the execution of a program started by the {@link Executor}.
+     * The given variables, already declared in the environment of the executor, are stored in slots:
+     * their values are copied before the execution and written back after it.
+     *
+     * @param program   the program
+     * @param variables the names and the declared types of the variables to import
+     * @return the compiled program
+     */
+    public @NotNull CompiledProgram compile(final @NotNull JavaProgram program,
+                                            final @NotNull Map<String, ClassValue<?>> variables) {
+        reset();
+        enterScope();
+        List<Slot> imports = new ArrayList<>();
+        variables.forEach((name, type) -> imports.add(declare(name, type)));
+        Closure closure = compileBlock(program.getStatements());
+        exitScope();
+        return new CompiledProgram(closure, this.slots, imports.toArray(new Slot[0]));
+    }
+
+    /*
+        STATEMENTS
+     */
+
+    private @NotNull Closure compileBlock(final @NotNull List<Statement> statements) {
+        enterScope();
+        try {
+            Closure[] closures = new Closure[statements.size()];
+            int i = 0;
+            for (Statement statement : statements) closures[i++] = compileStatement(statement);
+            return frame -> {
+                for (Closure closure : closures) {
+                    Value<?> value = closure.execute(frame);
+                    // Something was returned
+                    if (!Values.NO_VALUE.equals(value)) return value;
+                }
+                return Values.NO_VALUE;
+            };
+        } finally {
+            exitScope();
+        }
+    }
+
+    private @NotNull Closure compileStatement(final @NotNull Statement statement) {
+        if (statement.getClass().equals(Statement.class)) {
+            Node expression = statement.getExpression();
+            Closure closure = expression instanceof Assignment ?
+                    compileDeclaration((Assignment) expression) : compileExpression(expression);
+            return frame -> {
+                closure.execute(frame);
+                return Values.NO_VALUE;
+            };
+        } else if (statement instanceof Return) return compileExpression(statement.getExpression());
+        else if (statement instanceof Break) return frame -> {
+            throw new BreakException();
+        };
+        else if (statement instanceof Continue) return frame -> {
+            throw new ContinueException();
+        };
+        else if (statement instanceof IfStatement) return compileIfStatement((IfStatement) statement);
+        else if (statement instanceof WhileStatement) return compileWhileStatement((WhileStatement) statement);
+        else if (statement instanceof DoStatement) return compileDoStatement((DoStatement) statement);
+        else if (statement instanceof ForStatement) return compileForStatement((ForStatement) statement);
+        else if (statement instanceof EnhancedForStatement)
+            return compileEnhancedForStatement((EnhancedForStatement) statement);
+        else return fallback(statement);
+    }
+
+    private @NotNull Closure compileIfStatement(final @NotNull IfStatement statement) {
+        Closure condition = compileExpression(statement.getExpression());
+        Closure then = compileBlock(statement.getThen().getStatements());
+        Node elseBranch = statement.getElseBranch();
+        final Closure otherwise;
+        if (elseBranch instanceof CodeBlock) otherwise = compileBlock(((CodeBlock) elseBranch).getStatements());
+        else if (elseBranch instanceof Statement) otherwise = compileStatement((Statement) elseBranch);
+        else otherwise = compileExpression(elseBranch);
+        return frame -> isTrue(condition.execute(frame)) ? then.execute(frame) : otherwise.execute(frame);
+    }
+
+    private @NotNull Closure compileWhileStatement(final @NotNull WhileStatement statement) {
+        Closure condition = compileExpression(statement.getExpression());
+        Closure code = compileBlock(statement.getCode().getStatements());
+        return frame -> {
+            while (isTrue(condition.execute(frame))) {
+                Value<?> returnedValue = executeLoopCode(code, frame);
+                if (returnedValue != null) return returnedValue;
+            }
+            return Values.NO_VALUE;
+        };
+    }
+
+    private @NotNull Closure compileDoStatement(final @NotNull DoStatement statement) {
+        Closure code = compileBlock(statement.getCode().getStatements());
+        Closure condition = compileExpression(statement.getExpression());
+        return frame -> {
+            do {
+                Value<?> returnedValue = executeLoopCode(code, frame);
+                if (returnedValue != null) return returnedValue;
+            } while (isTrue(condition.execute(frame)));
+            return Values.NO_VALUE;
+        };
+    }
+
+    private @NotNull Closure compileForStatement(final @NotNull ForStatement statement) {
+        enterScope();
+        try {
+            Node assignment = statement.getAssignment();
+            Closure initialization = assignment instanceof Assignment ?
+                    compileDeclaration((Assignment) assignment) : compileExpression(assignment);
+            Closure condition = compileExpression(statement.getExpression());
+            Closure increment = compileExpression(statement.getIncrement());
+            Closure code = compileBlock(statement.getCode().getStatements());
+            return frame -> {
+                for (initialization.execute(frame); isTrue(condition.execute(frame)); increment.execute(frame)) {
+                    Value<?> returnedValue = executeLoopCode(code, frame);
+                    if (returnedValue != null) return returnedValue;
+                }
+                return Values.NO_VALUE;
+            };
+        } finally {
+            exitScope();
+        }
+    }
+
+    private @NotNull Closure compileEnhancedForStatement(final @NotNull EnhancedForStatement statement) {
+        enterScope();
+        try {
+            ClassValue<?> variableType = evaluate(statement.getType()).check(ClassValue.class);
+            Closure expression = compileExpression(statement.getExpression());
+            int slot = declare(((Literal) statement.getVariable()).getLiteral(), variableType).getIndex();
+            Closure code = compileBlock(statement.getCode().getStatements());
+            return frame -> {
+                ValueIterator iterator = ValueIterator.of(expression.execute(frame));
+                while (iterator.hasNext()) {
+                    frame.set(slot, iterator.next());
+                    Value<?> returnedValue = executeLoopCode(code, frame);
+                    if (returnedValue != null) return returnedValue;
+                }
+                return Values.NO_VALUE;
+            };
+        } finally {
+            exitScope();
+        }
+    }
+
+    /**
+     * Executes the code of a loop, handling break and continue statements.
+     * Every iteration is counted as a step of the frame.
+     *
+     * @param code  the code
+     * @param frame the frame
+     * @return null in case nothing was returned, {@link Values#NO_VALUE} in case a break occurred,
+     * otherwise the actual returned value
+     */
+    private static @Nullable Value<?> executeLoopCode(final @NotNull Closure code, final @NotNull Frame frame) {
+        frame.tick();
+        try {
+            Value<?> returnedValue = code.execute(frame);
+            // Return occurred
+            if (!Values.NO_VALUE.equals(returnedValue)) return returnedValue;
+        } catch (BreakException ignored) {
+            return Values.NO_VALUE;
+        } catch (ContinueException ignored) {
+        }
+        return null;
+    }
+
+    /*
+        ASSIGNMENTS
+     */
+
+    private @NotNull Closure compileDeclaration(final @NotNull Assignment assignment) {
+        ClassValue<?> variableType = evaluate(assignment.getType()).checkClass();
+        Node value = assignment.getValue();
+        Closure closure = compileExpression(value);
+        int slot = declare(assignment.getName().getLiteral(), variableType).getIndex();
+        return compileAssignVariable(variableType, slot, value, closure);
+    }
+
+    private @NotNull Closure compileReAssign(final @NotNull ReAssign reAssign) {
+        Node left = reAssign.getLeft();
+        Node value = reAssign.getRight();
+        if (left instanceof ArrayIndex) return compileArrayAssignment((ArrayIndex) left, value);
+        Slot slot = getSlot(left);
+        if (slot == null) return fallback(reAssign);
+        if (this.resolutionTable.isAccumulation(value)) return compileAccumulation(slot.getIndex(), value);
+        return compileAssignVariable(slot.getType(), slot.getIndex(), value, compileExpression(value));
+    }
+
+    /**
+     * Compiles an assignment that appends the other operands of the value to the variable itself,
+     * as marked by the {@link ResolutionTable}.
+     *
+     * @param slot  the slot of the variable
+     * @param value the value node
+     * @return the closure
+     */
+    private @NotNull Closure compileAccumulation(final int slot, final @NotNull Node value) {
+        List<Node> operands = Objects.requireNonNull(StringConcatenation.getOperands(value, this.resolutionTable));
+        Closure[] closures = compileOperands(operands);
+        return frame -> {
+            Value<?>[] values = new Value<?>[closures.length];
+            values[0] = frame.get(slot);
+            for (int i = 1; i < values.length; i++) values[i] = closures[i].execute(frame);
+            Value<?> variable = StringConcatenation.accumulate(values);
+            frame.set(slot, variable);
+            return variable;
+        };
+    }
+
+    /**
+     * Compiles the assignment of a value to a slot.
+     * Like {@link Executor#assignVariable}, the value is converted to the type of the variable
+     * only if it is not marked as exact by the {@link ResolutionTable}.
+     *
+     * @param variableType the type of the variable
+     * @param slot         the slot of the variable
+     * @param value        the value node
+     * @param closure      the compiled value
+     * @return the closure
+     */
+    private @NotNull Closure compileAssignVariable(final @NotNull ClassValue<?> variableType, final int slot,
+                                                  final @NotNull Node value, final @NotNull Closure closure) {
+        if (this.resolutionTable.isExactAssignment(value))
+            return frame -> {
+                Value<?> variable = closure.execute(frame);
+                frame.set(slot, variable);
+                return variable;
+            };
+        else return frame -> {
+            Value<?> variable = frame.getExecutor().convertVariable(variableType, closure.execute(frame));
+            frame.set(slot, variable);
+            return variableType.cast(variable);
+        };
+    }
+
+    private @NotNull Closure compileArrayAssignment(final @NotNull ArrayIndex arrayIndex, final @NotNull Node value) {
+        Closure array = compileExpression(arrayIndex.getLeft());
+        Closure index = compileExpression(arrayIndex.getRight());
+        Closure closure = compileExpression(value);
+        boolean exact = this.resolutionTable.isExactAssignment(value);
+        return frame -> {
+            ArrayValue<?> arrayValue = array.execute(frame).check(ArrayValue.class);
+            int i = (Integer) index.execute(frame).getValue();
+            ClassValue<?> componentsType = arrayValue.getComponentsType();
+            Value<?> variable = closure.execute(frame);
+            if (exact) {
+                arrayValue.set(i, variable);
+                return variable;
+            }
+            variable = frame.getExecutor().convertVariable(componentsType, variable);
+            arrayValue.set(i, variable);
+            return componentsType.cast(variable);
+        };
+    }
+
+    private @NotNull Closure compilePrefixedOperation(final @NotNull UnaryOperation operation, final boolean before,
+                                                      final @NotNull BinaryOperator<Value<?>> actualOperation) {
+        Slot slot = getSlot(operation.getOperand());
+        if (slot == null) return fallback(operation);
+        int index = slot.getIndex();
+        ClassValue<?> type = slot.getType();
+        if (before)
+            return frame -> {
+                Value<?> returned = actualOperation.apply(frame.get(index), ONE);
+                frame.set(index, returned);
+                return type.cast(returned);
+            };
+        else return frame -> {
+            Value<?> returned = frame.get(index);
+            frame.set(index, actualOperation.apply(returned, ONE));
+            return type.cast(returned);
+        };
+    }
+
+    /*
+        EXPRESSIONS
+     */
+
+    private @NotNull Closure compileExpression(final @NotNull Node node) {
+        if (node instanceof ThisLiteral) return frame -> frame.getExecutor().visitThisLiteral();
+        else if (node instanceof ValueLiteral || node instanceof NullLiteral || node instanceof EmptyLiteral) {
+            Value<?> value = evaluate(node);
+            return frame -> value;
+        } else if (node instanceof ArrayLiteral) return fallback(node);
+        else if (node instanceof ArrayIndex) return compileArrayIndex((ArrayIndex) node);
+        else if (node instanceof Literal) return compileLiteral((Literal) node);
+        else if (node instanceof ReAssign) return compileReAssign((ReAssign) node);
+        else if (node instanceof Increment)
+            return compilePrefixedOperation((Increment) node, ((Increment) node).isBefore(), Value::add);
+        else if (node instanceof Decrement)
+            return compilePrefixedOperation((Decrement) node, ((Decrement) node).isBefore(), Value::subtract);
+        else if (BINARY_OPERATIONS.containsKey(node.getClass()))
+            return compileBinaryOperation((BinaryOperation) node);
+        else if (UNARY_OPERATIONS.containsKey(node.getClass())) {
+            UnaryOperator<Value<?>> operation = UNARY_OPERATIONS.get(node.getClass());
+            Closure operand = compileExpression(((UnaryOperation) node).getOperand());
+            return frame -> operation.apply(operand.execute(frame));
+        } else if (node instanceof Cast) return compileCast((Cast) node);
+        else if (node instanceof MethodCall) return compileMethodCall((MethodCall) node);
+        else if (node instanceof NewObject) return compileNewObject((NewObject) node);
+        else return fallback(node);
+    }
+
+    private @NotNull Closure compileLiteral(final @NotNull Literal literal) {
+        Slot slot = getSlot(literal);
+        if (slot != null) {
+            int index = slot.getIndex();
+            return frame -> frame.get(index);
+        }
+        Value<?> constant = getConstantClass(literal);
+        if (constant != null) return frame -> constant;
+        else return fallback(literal);
+    }
+
+    private @NotNull Closure compileBinaryOperation(final @NotNull BinaryOperation operation) {
+        List<Node> operands = operation instanceof Add ?
+                StringConcatenation.getOperands(operation, this.resolutionTable) : null;
+        if (operands != null) return compileConcatenation(operands);
+        Closure left = compileExpression(operation.getLeft());
+        Closure right = compileExpression(operation.getRight());
+        Class<?> leftType = getStaticType(operation.getLeft());
+        Class<?> rightType = getStaticType(operation.getRight());
+        if (leftType != null && leftType.equals(rightType)) {
+            Closure kernel = leftType.equals(Integer.class) ?
+                    IntegerKernels.of(operation.getClass(), left, right) :
+                    LongKernels.of(operation.getClass(), left, right);
+            if (kernel != null) return kernel;
+        }
+        BinaryOperator<Value<?>> actualOperation = BINARY_OPERATIONS.get(operation.getClass());
+        return frame -> actualOperation.apply(left.execute(frame), right.execute(frame));
+    }
+
+    private @NotNull Closure compileConcatenation(final @NotNull List<Node> operands) {
+        Closure[] closures = compileOperands(operands);
+        return frame -> {
+            Value<?>[] values = new Value<?>[closures.length];
+            for (int i = 0; i < values.length; i++) values[i] = closures[i].execute(frame);
+            return StringConcatenation.concatenate(values);
+        };
+    }
+
+    private @NotNull Closure @NotNull [] compileOperands(final @NotNull List<Node> operands) {
+        Closure[] closures = new Closure[operands.size()];
+        for (int i = 0; i < closures.length; i++) closures[i] = compileExpression(operands.get(i));
+        return closures;
+    }
+
+    private @NotNull Closure compileCast(final @NotNull Cast cast) {
+        Value<?> type = getConstantClass(cast.getLeft());
+        if (type == null) return fallback(cast);
+        ClassValue<?> classValue = type.checkClass();
+        Closure value = compileExpression(cast.getRight());
+        return frame -> classValue.cast(value.execute(frame));
+    }
+
+    private @NotNull Closure compileArrayIndex(final @NotNull ArrayIndex arrayIndex) {
+        Closure array = compileExpression(arrayIndex.getLeft());
+        Closure index = compileExpression(arrayIndex.getRight());
+        return frame -> {
+            ArrayValue<?> arrayValue = array.execute(frame).check(ArrayValue.class);
+            Integer value = (Integer) index.execute(frame).getValue();
+            return arrayValue.getComponentsType().cast(arrayValue.get(value));
+        };
+    }
+
+    private @NotNull Closure compileMethodCall(final @NotNull MethodCall methodCall) {
+        Node executorNode = methodCall.getExecutor();
+        Closure executor = executorNode instanceof EmptyLiteral ?
+                frame -> frame.getExecutor().visitThisLiteral() : compileExpression(executorNode);
+        String methodName = methodCall.getMethodName();
+        MethodInvocation invocation = methodCall.getInvocation();
+        Closure[] parameters = compileParameters(invocation);
+        Method method = this.resolutionTable.getMethod(invocation);
+        return frame -> {
+            Value<?> actualExecutor = executor.execute(frame);
+            ParameterValues actualParameters = executeParameters(parameters, frame);
+            frame.tick();
+            try {
+                if (method == null) return actualExecutor.invokeMethod(methodName, actualParameters);
+                else return actualExecutor.invokeResolvedMethod(method, actualParameters);
+            } catch (VisitorObjectException e) {
+                throw frame.getExecutor().exceptionWrapper(e);
+            }
+        };
+    }
+
+    private @NotNull Closure compileNewObject(final @NotNull NewObject newObject) {
+        Value<?> type = getConstantClass(newObject.getLeft());
+        if (type == null || !(newObject.getRight() instanceof MethodInvocation)) return fallback(newObject);
+        ClassValue<?> classValue = type.checkClass();
+        MethodInvocation invocation = (MethodInvocation) newObject.getRight();
+        Closure[] parameters = compileParameters(invocation);
+        Constructor<?> constructor = this.resolutionTable.getConstructor(invocation);
+        return frame -> {
+            ParameterValues actualParameters = executeParameters(parameters, frame);
+            try {
+                if (constructor == null) return classValue.newObject(actualParameters);
+                else return classValue.newResolvedObject(constructor, actualParameters);
+            } catch (VisitorObjectException e) {
+                throw frame.getExecutor().exceptionWrapper(e);
+            }
+        };
+    }
+
+    private @NotNull Closure @NotNull [] compileParameters(final @NotNull MethodInvocation invocation) {
+        List<Node> parameters = invocation.getParameters();
+        Closure[] closures = new Closure[parameters.size()];
+        for (int i = 0; i < closures.length; i++) closures[i] = compileExpression(parameters.get(i));
+        return closures;
+    }
+
+    private static @NotNull ParameterValues executeParameters(final @NotNull Closure @NotNull [] parameters,
+                                                              final @NotNull Frame frame) {
+        List<Value<?>> values = new ArrayList<>(parameters.length);
+        for (Closure parameter : parameters) values.add(parameter.execute(frame));
+        return new ParameterValues(values);
+    }
+
+    /*
+        FALLBACK
+     */
+
+    /**
+     * Delegates the given node to the {@link Executor} of the {@link Frame}.
+     *
+     * @param node the node
+     * @return the closure
+     */
+    private @NotNull Closure fallback(final @NotNull Node node) {
+        Slot[] slots = getReferencedSlots(node);
+        return frame -> frame.visit(node, slots);
+    }
+
+}
@@ -0,0 +1,65 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.exceptions.FormatException;
+import it.fulminazzo.mojito.parser.node.Node;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An exception thrown by the {@link JvmCompiler} when a program cannot be translated to a JVM class.
+ */
+final class CompilationException extends FormatException {
+
+    /**
+     * Instantiates a new Compilation exception.
+     *
+     * @param message the message
+     * @param args    the arguments to add in the message format
+     */
+    private CompilationException(final @NotNull String message, final Object @NotNull ... args) {
+        super(message, args);
+    }
+
+    /**
+     * Generates a {@link CompilationException} with message:
+     * <i>Cannot compile %node%</i>
+     *
+     * @param node the node
+     * @return the compilation exception
+     */
+    static @NotNull CompilationException unsupportedNode(final @NotNull Node node) {
+        return new CompilationException("Cannot compile %s", node.getClass().getSimpleName());
+    }
+
+    /**
+     * Generates a {@link CompilationException} with message:
+     * <i>Class %class% is not accessible from compiled code</i>
+     *
+     * @param clazz the class
+     * @return the compilation exception
+     */
+    static @NotNull CompilationException inaccessibleClass(final @NotNull Class<?> clazz) {
+        return new CompilationException("Class %s is not accessible from compiled code", clazz.getName());
+    }
+
+    /**
+     * Generates a {@link CompilationException} with message:
+     * <i>Could not compile generated source: %diagnostics%</i>
+     *
+     * @param diagnostics the errors reported by the Java compiler
+     * @return the compilation exception
+     */
+    static @NotNull CompilationException compilationFailed(final @NotNull String diagnostics) {
+        return new CompilationException("Could not compile generated source: %s", diagnostics);
+    }
+
+    /**
+     * Generates a {@link CompilationException} with message:
+     * <i>No Java compiler is available in the current runtime</i>
+     *
+     * @return the compilation exception
+     */
+    static @NotNull CompilationException compilerNotAvailable() {
+        return new CompilationException("No Java compiler is available in the current runtime");
+    }
+
+}
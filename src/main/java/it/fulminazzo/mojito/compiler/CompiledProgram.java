@@ -0,0 +1,63 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.environment.Environment;
+import it.fulminazzo.mojito.environment.ScopeException;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.Values;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * A {@link it.fulminazzo.mojito.parser.node.container.JavaProgram} compiled by the {@link ClosureCompiler}.
+ * It can be executed any number of times.
+ */
+public final class CompiledProgram {
+    private final @NotNull Closure program;
+    private final int slots;
+    private final @NotNull Slot @NotNull [] imports;
+
+    /**
+     * Instantiates a new Compiled program.
+     *
+     * @param program the closure of the whole program
+     * @param slots   the number of slots required by the program
+     * @param imports the slots of the variables imported from the environment of the executor
+     */
+    CompiledProgram(final @NotNull Closure program, final int slots, final @NotNull Slot @NotNull [] imports) {
+        this.program = program;
+        this.slots = slots;
+        this.imports = imports;
+    }
+
+    /**
+     * Executes the program.
+     * The given {@link Executor} is used for all the nodes that were not compiled,
+     * and its environment is the one where the variables not declared by the program are searched.
+     * The imported variables are copied from the environment before the execution, and written back after it.
+     *
+     * @param executor the executor
+     * @return an {@link Optional} containing the returned value
+     */
+    public @NotNull Optional<Value<?>> execute(final @NotNull Executor executor) {
+        Frame frame = new Frame(executor, this.slots);
+        Environment<Value<?>> environment = executor.getEnvironment();
+        for (Slot slot : this.imports)
+            environment.search(slot.getName()).ifPresent(v -> frame.set(slot.getIndex(), v));
+        final Value<?> value;
+        try {
+            value = this.program.execute(frame);
+        } finally {
+            for (Slot slot : this.imports)
+                try {
+                    Value<?> imported = frame.get(slot.getIndex());
+                    if (imported != null) environment.update(slot.getName(), imported);
+                } catch (ScopeException e) {
+                    throw executor.exceptionWrapper(e);
+                }
+        }
+        return Values.NO_VALUE.equals(value) ? Optional.empty() : Optional.of(value);
+    }
+
+}
@@ -0,0 +1,28 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.ExecutionMeter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * A program translated to a JVM class by the {@link JvmCompiler}.
+ * Implementations are generated at runtime and should not be written by hand.
+ */
+@FunctionalInterface
+public interface CompiledScript {
+
+    /**
+     * Executes the program.
+     *
+     * @param executingObject the object that <code>this</code> refers to
+     * @param bindings        the variables available to the program
+     * @param meter           the meter that counts the iterations of the loops (null to execute without budget)
+     * @return the returned value ({@link it.fulminazzo.mojito.executor.values.Values#NO_VALUE} if nothing was returned)
+     * @throws Exception any exception thrown by the program
+     */
+    @Nullable Object run(@NotNull Object executingObject, @NotNull Map<String, Object> bindings,
+                         @Nullable ExecutionMeter meter) throws Exception;
+
+}
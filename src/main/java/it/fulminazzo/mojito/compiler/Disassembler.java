@@ -0,0 +1,92 @@
+package it.fulminazzo.mojito.compiler;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static it.fulminazzo.mojito.compiler.Opcodes.*;
+
+/**
+ * Converts a {@link BytecodeProgram} in a human-readable listing.
+ * Every line contains the position of the instruction, its name and its operands,
+ * with the referenced constants in comments.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Disassembler {
+
+    /**
+     * Disassembles the given program.
+     *
+     * @param program the program
+     * @return the listing
+     */
+    static @NotNull String disassemble(final @NotNull BytecodeProgram program) {
+        int[] code = program.getCode();
+        Object[] constants = program.getConstants();
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("; slots: %s, max stack: %s%n", program.getSlots(), program.getMaxStack()));
+        int pc = 0;
+        while (pc < code.length) {
+            int opcode = code[pc];
+            int operands = getOperands(opcode);
+            builder.append(String.format("%04d %s", pc, getName(opcode)));
+            for (int i = 1; i <= operands; i++) builder.append(' ').append(code[pc + i]);
+            String comment = getComment(opcode, code, pc, constants);
+            if (comment != null) builder.append(" ; ").append(comment);
+            builder.append(System.lineSeparator());
+            pc += operands + 1;
+        }
+        return builder.toString();
+    }
+
+    private static String getComment(final int opcode, final int @NotNull [] code, final int pc,
+                                     final Object @NotNull [] constants) {
+        switch (opcode) {
+            case CONST:
+            case BINARY:
+            case UNARY:
+            case CONVERT:
+            case CAST:
+            case INVOKE:
+            case NEW:
+            case FALLBACK:
+            case FALLBACK_STATEMENT:
+            case GET_FIELD:
+            case NEW_ARRAY:
+            case NEW_ARRAY_OF:
+            case SWITCH:
+                return describe(constants[code[pc + 1]]);
+            case PRE_INC:
+            case POST_INC:
+            case PRE_DEC:
+            case POST_DEC:
+                return describe(constants[code[pc + 2]]);
+            default:
+                return null;
+        }
+    }
+
+    private static @NotNull String describe(final Object constant) {
+        if (constant instanceof Method) {
+            Method method = (Method) constant;
+            return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        } else if (constant instanceof Field) {
+            Field field = (Field) constant;
+            return field.getDeclaringClass().getSimpleName() + "#" + field.getName();
+        } else if (constant instanceof Constructor)
+            return ((Constructor<?>) constant).getDeclaringClass().getSimpleName() + "#<init>";
+        else if (constant instanceof Slot[])
+            return Arrays.stream((Slot[]) constant)
+                    .map(s -> s.getName().getName() + "@" + s.getIndex())
+                    .collect(Collectors.joining(", ", "[", "]"));
+        else if (constant instanceof String) return "\"" + constant + "\"";
+        else return String.valueOf(constant);
+    }
+
+}
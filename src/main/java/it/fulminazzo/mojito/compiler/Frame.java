@@ -0,0 +1,98 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.environment.Environment;
+import it.fulminazzo.mojito.environment.ScopeException;
+import it.fulminazzo.mojito.environment.scopetypes.ScopeType;
+import it.fulminazzo.mojito.executor.ExecutionMeter;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.Node;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state of a single execution of a {@link CompiledProgram} or a {@link BytecodeProgram}.
+ * Every variable declared by the program has its own slot, assigned at compile time.
+ * The {@link Executor} is used for the nodes that were not compiled,
+ * and its {@link ExecutionMeter}, if any, counts the steps of the compiled code too.
+ */
+public final class Frame {
+    @Getter
+    private final @NotNull Executor executor;
+    private final Value<?> @NotNull [] slots;
+    private final @Nullable ExecutionMeter meter;
+
+    /**
+     * Instantiates a new Frame.
+     *
+     * @param executor the executor
+     * @param slots    the number of slots
+     */
+    Frame(final @NotNull Executor executor, final int slots) {
+        this.executor = executor;
+        this.slots = new Value<?>[slots];
+        this.meter = executor.getMeter();
+    }
+
+    /**
+     * Counts a step with the {@link ExecutionMeter} of the executor, if present.
+     * Should be called at every back-edge and method invocation.
+     */
+    void tick() {
+        if (this.meter != null) this.meter.tick();
+    }
+
+    /**
+     * Gets the value in the given slot.
+     *
+     * @param slot the slot
+     * @return the value (null if the variable was not declared yet)
+     */
+    Value<?> get(final int slot) {
+        return this.slots[slot];
+    }
+
+    /**
+     * Sets the value in the given slot.
+     *
+     * @param slot  the slot
+     * @param value the value
+     */
+    void set(final int slot, final @NotNull Value<?> value) {
+        this.slots[slot] = value;
+    }
+
+    /**
+     * Visits the given node with the {@link Executor}.
+     * The variables stored in the given slots are declared in a new scope
+     * of its environment for the duration of the visit, and their values are copied back after it.
+     * Variables that are already declared in the environment are updated instead.
+     *
+     * @param node  the node
+     * @param slots the slots referenced by the node
+     * @return the returned value
+     */
+    @NotNull Value<?> visit(final @NotNull Node node, final @NotNull Slot @NotNull [] slots) {
+        if (slots.length == 0) return SlotCompiler.unwrap(node.accept(this.executor));
+        Environment<Value<?>> environment = this.executor.getEnvironment();
+        environment.enterScope(ScopeType.CODE_BLOCK);
+        try {
+            for (Slot slot : slots) {
+                Value<?> value = get(slot.getIndex());
+                if (value == null) continue;
+                // Variables imported from the environment are already declared there
+                if (environment.search(slot.getName()).isPresent()) environment.update(slot.getName(), value);
+                else environment.declare(slot.getType(), slot.getName(), value);
+            }
+            return SlotCompiler.unwrap(node.accept(this.executor));
+        } catch (ScopeException e) {
+            throw this.executor.exceptionWrapper(e);
+        } finally {
+            for (Slot slot : slots)
+                environment.search(slot.getName()).ifPresent(v -> set(slot.getIndex(), v));
+            environment.exitScope();
+        }
+    }
+
+}
@@ -0,0 +1,564 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.BudgetExceededException;
+import it.fulminazzo.mojito.executor.ExecutionMeter;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.Values;
+import it.fulminazzo.mojito.parser.node.Assignment;
+import it.fulminazzo.mojito.parser.node.MethodCall;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.arrays.DynamicArray;
+import it.fulminazzo.mojito.parser.node.arrays.StaticArray;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.*;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.*;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.parser.node.values.StringValueLiteral;
+import it.fulminazzo.mojito.parser.node.values.ValueLiteral;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Translates a type checked {@link JavaProgram} to the Java source of a {@link CompiledScript}.
+ * <br>
+ * Every type is written with its canonical name, <code>this</code> refers to the executing object
+ * and methods invoked without an executor are called on it, using the members resolved by the type checker.
+ * Since <code>&amp;&amp;</code> and <code>||</code> always evaluate both their operands in Mojito,
+ * they are translated to <code>&amp;</code> and <code>|</code>.
+ * Equality is only checked with <code>==</code> between primitives and with <code>null</code>:
+ * every other comparison uses {@link Value#equal(Value)}, just like the interpreter.
+ * <br>
+ * The code of every loop starts by counting a step with the {@link ExecutionMeter} of the execution, if any,
+ * and catch clauses rethrow any {@link BudgetExceededException}, so that the program cannot ignore its budget.
+ * <br>
+ * Any node that cannot be translated with the exact same semantics causes a {@link CompilationException}.
+ */
+final class JavaSourceGenerator extends SlotCompiler {
+    static final String SELF = "mojito$self";
+    static final String BINDINGS = "mojito$bindings";
+    static final String METER = "mojito$meter";
+
+    private static final Map<Class<? extends Node>, String> OPERATORS = new HashMap<>();
+
+    static {
+        OPERATORS.put(Add.class, "+");
+        OPERATORS.put(Subtract.class, "-");
+        OPERATORS.put(Multiply.class, "*");
+        OPERATORS.put(Divide.class, "/");
+        OPERATORS.put(Modulo.class, "%");
+        OPERATORS.put(BitAnd.class, "&");
+        OPERATORS.put(BitOr.class, "|");
+        OPERATORS.put(BitXor.class, "^");
+        OPERATORS.put(LShift.class, "<<");
+        OPERATORS.put(RShift.class, ">>");
+        OPERATORS.put(URShift.class, ">>>");
+        OPERATORS.put(And.class, "&");
+        OPERATORS.put(Or.class, "|");
+        OPERATORS.put(LessThan.class, "<");
+        OPERATORS.put(LessThanEqual.class, "<=");
+        OPERATORS.put(GreaterThan.class, ">");
+        OPERATORS.put(GreaterThanEqual.class, ">=");
+        OPERATORS.put(Minus.class, "-");
+        OPERATORS.put(Not.class, "!");
+    }
+
+    private final @NotNull Class<?> executingClass;
+    private @NotNull StringBuilder source;
+
+    /**
+     * Instantiates a new Java source generator.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    JavaSourceGenerator(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
+        super(executingObject, resolutionTable);
+        this.executingClass = executingObject.getClass();
+        this.source = new StringBuilder();
+    }
+
+    /**
+     * Generates the source of the class.
+     *
+     * @param packageName the package of the class
+     * @param className   the simple name of the class
+     * @param program     the program
+     * @param bindings    the variables available to the program
+     * @return the source
+     * @throws CompilationException in case the program cannot be translated
+     */
+    @NotNull String generate(final @NotNull String packageName, final @NotNull String className,
+                             final @NotNull JavaProgram program,
+                             final @NotNull Map<String, Object> bindings) throws CompilationException {
+        reset();
+        this.source = new StringBuilder();
+        enterScope();
+        this.source.append("package ").append(packageName).append(";\n\n")
+                .append("public final class ").append(className)
+                .append(" implements ").append(CompiledScript.class.getCanonicalName()).append(" {\n\n")
+                .append("@Override\n")
+                .append("public Object run(final Object ").append(SELF)
+                .append(", final java.util.Map<String, Object> ").append(BINDINGS)
+                .append(", final ").append(ExecutionMeter.class.getCanonicalName()).append(' ').append(METER)
+                .append(") throws Exception {\n");
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            String name = binding.getKey();
+            Object value = binding.getValue();
+            String type = value == null ? "Object" : getTypeName(getAccessibleClass(value.getClass()));
+            declare(name, ClassValue.of(value == null ? Object.class : value.getClass()));
+            this.source.append(type).append(' ').append(name).append(" = (").append(type).append(") ")
+                    .append(BINDINGS).append(".get(").append(toJavaLiteral(name)).append(");\n");
+        }
+        // The condition prevents errors for unreachable code after a return statement
+        this.source.append("if (true) ");
+        appendBlock(program.getStatements());
+        this.source.append("return ").append(Values.class.getCanonicalName()).append(".NO_VALUE;\n")
+                .append("}\n\n}\n");
+        exitScope();
+        return this.source.toString();
+    }
+
+    /*
+        STATEMENTS
+     */
+
+    private void appendBlock(final @NotNull List<Statement> statements) throws CompilationException {
+        appendBlock("", statements);
+    }
+
+    private void appendLoopBlock(final @NotNull List<Statement> statements) throws CompilationException {
+        appendBlock("if (" + METER + " != null) " + METER + ".tick();\n", statements);
+    }
+
+    private void appendBlock(final @NotNull String header,
+                             final @NotNull List<Statement> statements) throws CompilationException {
+        enterScope();
+        this.source.append("{\n").append(header);
+        for (Statement statement : statements) appendStatement(statement);
+        this.source.append("}\n");
+        exitScope();
+    }
+
+    private void appendStatement(final @NotNull Statement statement) throws CompilationException {
+        Node expression = statement.getExpression();
+        if (statement.getClass().equals(Statement.class)) {
+            if (expression instanceof Assignment) appendDeclaration((Assignment) expression);
+            else this.source.append(generateStatementExpression(expression));
+            this.source.append(";\n");
+        } else if (statement instanceof Return) {
+            // An empty return does not stop the execution in Mojito
+            if (expression instanceof EmptyLiteral) throw CompilationException.unsupportedNode(statement);
+            this.source.append("return ").append(generateExpression(expression)).append(";\n");
+        } else if (statement instanceof Throw)
+            this.source.append("throw ").append(generateExpression(expression)).append(";\n");
+        else if (statement instanceof Break) this.source.append("break;\n");
+        else if (statement instanceof Continue) this.source.append("continue;\n");
+        else if (statement instanceof IfStatement) appendIfStatement((IfStatement) statement);
+        else if (statement instanceof WhileStatement) {
+            this.source.append("while (").append(generateExpression(expression)).append(") ");
+            appendLoopBlock(((WhileStatement) statement).getCode().getStatements());
+        } else if (statement instanceof DoStatement) {
+            this.source.append("do ");
+            appendLoopBlock(((DoStatement) statement).getCode().getStatements());
+            this.source.append("while (").append(generateExpression(expression)).append(");\n");
+        } else if (statement instanceof ForStatement) appendForStatement((ForStatement) statement);
+        else if (statement instanceof EnhancedForStatement)
+            appendEnhancedForStatement((EnhancedForStatement) statement);
+        else if (statement instanceof TryStatement) appendTryStatement((TryStatement) statement);
+        else if (statement instanceof SwitchStatement) appendSwitchStatement((SwitchStatement) statement);
+        else throw CompilationException.unsupportedNode(statement);
+    }
+
+    private void appendDeclaration(final @NotNull Assignment assignment) throws CompilationException {
+        ClassValue<?> type = evaluate(assignment.getType()).checkClass();
+        String typeName = getTypeName(type.getValue());
+        Node value = assignment.getValue();
+        final String initialization;
+        if (value instanceof EmptyLiteral)
+            initialization = type.isPrimitive() ? toJavaLiteral(type.toObject().getValue()) : "null";
+        else initialization = generateAssignedValue(type, value);
+        declare(assignment.getName().getLiteral(), type);
+        this.source.append(typeName).append(' ').append(assignment.getName().getLiteral())
+                .append(" = ").append(initialization);
+    }
+
+    private void appendIfStatement(final @NotNull IfStatement statement) throws CompilationException {
+        this.source.append("if (").append(generateExpression(statement.getExpression())).append(") ");
+        appendBlock(statement.getThen().getStatements());
+        Node elseBranch = statement.getElseBranch();
+        if (elseBranch instanceof EmptyLiteral) return;
+        this.source.append("else ");
+        if (elseBranch instanceof CodeBlock) appendBlock(((CodeBlock) elseBranch).getStatements());
+        else appendStatement((Statement) elseBranch);
+    }
+
+    private void appendForStatement(final @NotNull ForStatement statement) throws CompilationException {
+        // An empty condition is never true in Mojito
+        if (statement.getExpression() instanceof EmptyLiteral) throw CompilationException.unsupportedNode(statement);
+        enterScope();
+        this.source.append("for (");
+        Node assignment = statement.getAssignment();
+        if (assignment instanceof Assignment) appendDeclaration((Assignment) assignment);
+        else if (!(assignment instanceof EmptyLiteral))
+            this.source.append(generateStatementExpression(assignment));
+        this.source.append("; ").append(generateExpression(statement.getExpression())).append("; ");
+        Node increment = statement.getIncrement();
+        if (!(increment instanceof EmptyLiteral)) this.source.append(generateStatementExpression(increment));
+        this.source.append(") ");
+        appendLoopBlock(statement.getCode().getStatements());
+        exitScope();
+    }
+
+    private void appendEnhancedForStatement(final @NotNull EnhancedForStatement statement) throws CompilationException {
+        enterScope();
+        ClassValue<?> type = evaluate(statement.getType()).check(ClassValue.class);
+        String expression = generateExpression(statement.getExpression());
+        String name = ((Literal) statement.getVariable()).getLiteral();
+        declare(name, type);
+        this.source.append("for (").append(getTypeName(type.getValue())).append(' ').append(name)
+                .append(" : ").append(expression).append(") ");
+        appendLoopBlock(statement.getCode().getStatements());
+        exitScope();
+    }
+
+    private void appendTryStatement(final @NotNull TryStatement statement) throws CompilationException {
+        Node resources = statement.getExpression();
+        if (resources instanceof AssignmentBlock && !((AssignmentBlock) resources).getAssignments().isEmpty())
+            throw CompilationException.unsupportedNode(statement);
+        this.source.append("try ");
+        appendBlock(statement.getBlock().getStatements());
+        for (CatchStatement catchStatement : statement.getCatchBlocks()) {
+            enterScope();
+            StringBuilder types = new StringBuilder();
+            Class<?> commonType = null;
+            boolean catchesBudget = false;
+            for (Literal exception : catchStatement.getExceptions()) {
+                Class<?> type = evaluate(exception).checkClass().getValue();
+                if (types.length() > 0) types.append(" | ");
+                types.append(getTypeName(type));
+                commonType = commonType == null ? type : Throwable.class;
+                catchesBudget |= type.isAssignableFrom(BudgetExceededException.class);
+            }
+            String name = ((Literal) catchStatement.getExpression()).getLiteral();
+            declare(name, ClassValue.of(commonType == null ? Throwable.class : commonType));
+            this.source.append("catch (").append(types).append(' ').append(name).append(") ");
+            if (catchesBudget) {
+                String exception = BudgetExceededException.class.getCanonicalName();
+                appendBlock("if (" + name + " instanceof " + exception + ") throw (" + exception + ") " + name + ";\n",
+                        catchStatement.getBlock().getStatements());
+            } else appendBlock(catchStatement.getBlock().getStatements());
+            exitScope();
+        }
+        List<Statement> finallyBlock = statement.getFinallyBlock().getStatements();
+        if (!finallyBlock.isEmpty() || statement.getCatchBlocks().isEmpty()) {
+            this.source.append("finally ");
+            appendBlock(finallyBlock);
+        }
+    }
+
+    private void appendSwitchStatement(final @NotNull SwitchStatement statement) throws CompilationException {
+        this.source.append("switch (").append(generateExpression(statement.getExpression())).append(") {\n");
+        for (CaseStatement caseStatement : statement.getCases()) {
+            this.source.append("case ").append(generateExpression(caseStatement.getExpression())).append(": ");
+            appendBlock(caseStatement.getBlock().getStatements());
+        }
+        this.source.append("default: ");
+        appendBlock(statement.getDefaultBlock().getStatements());
+        this.source.append("}\n");
+    }
+
+    /*
+        EXPRESSIONS
+     */
+
+    /**
+     * Generates an expression that can be used as a statement.
+     * Differently from {@link #generateExpression(Node)}, assignments are not wrapped in parenthesis.
+     *
+     * @param node the expression
+     * @return the source
+     * @throws CompilationException in case the expression cannot be translated
+     */
+    private @NotNull String generateStatementExpression(final @NotNull Node node) throws CompilationException {
+        String expression = generateExpression(node);
+        if (node instanceof ReAssign || node instanceof Increment || node instanceof Decrement)
+            return expression.substring(1, expression.length() - 1);
+        else return expression;
+    }
+
+    private @NotNull String generateExpression(final @NotNull Node node) throws CompilationException {
+        if (node instanceof ThisLiteral)
+            return "((" + getTypeName(this.executingClass) + ") " + SELF + ")";
+        else if (node instanceof NullLiteral) return "null";
+        else if (node instanceof ValueLiteral) return toJavaLiteral(evaluate(node).getValue());
+        else if (node instanceof ArrayIndex) {
+            ArrayIndex arrayIndex = (ArrayIndex) node;
+            return generateExpression(arrayIndex.getLeft()) + "[" + generateExpression(arrayIndex.getRight()) + "]";
+        } else if (node instanceof Field) {
+            Field field = (Field) node;
+            return generateExpression(field.getLeft()) + "." + ((Literal) field.getRight()).getLiteral();
+        } else if (node instanceof Literal && !(node instanceof ArrayLiteral))
+            return generateLiteral((Literal) node);
+        else if (node instanceof ReAssign) {
+            ReAssign reAssign = (ReAssign) node;
+            Node target = reAssign.getLeft();
+            Slot slot = getSlot(target);
+            String value = slot == null ? generateExpression(reAssign.getRight()) :
+                    generateAssignedValue(slot.getType(), reAssign.getRight());
+            return "(" + generateExpression(target) + " = " + value + ")";
+        } else if (node instanceof Increment)
+            return generatePrefixedOperation((Increment) node, ((Increment) node).isBefore(), "++");
+        else if (node instanceof Decrement)
+            return generatePrefixedOperation((Decrement) node, ((Decrement) node).isBefore(), "--");
+        else if (node instanceof Equal || node instanceof NotEqual)
+            return generateEquality((BinaryOperation) node, node instanceof Equal);
+        else if (node instanceof BinaryOperation && OPERATORS.containsKey(node.getClass())) {
+            BinaryOperation operation = (BinaryOperation) node;
+            return "(" + generateExpression(operation.getLeft()) + " " + OPERATORS.get(node.getClass()) + " " +
+                    generateExpression(operation.getRight()) + ")";
+        } else if (node instanceof UnaryOperation && OPERATORS.containsKey(node.getClass()))
+            return "(" + OPERATORS.get(node.getClass()) + generateExpression(((UnaryOperation) node).getOperand()) + ")";
+        else if (node instanceof Cast) {
+            Cast cast = (Cast) node;
+            return "((" + getTypeName(getClassOf(cast.getLeft())) + ") " + generateExpression(cast.getRight()) + ")";
+        } else if (node instanceof MethodCall) return generateMethodCall((MethodCall) node);
+        else if (node instanceof NewObject) {
+            NewObject newObject = (NewObject) node;
+            if (!(newObject.getRight() instanceof MethodInvocation)) throw CompilationException.unsupportedNode(node);
+            return "new " + getTypeName(getClassOf(newObject.getLeft())) +
+                    generateParameters((MethodInvocation) newObject.getRight());
+        } else if (node instanceof DynamicArray) {
+            DynamicArray array = (DynamicArray) node;
+            StringBuilder builder = new StringBuilder("new ").append(getTypeName(getClassOf(array.getType()))).append("{");
+            for (Node parameter : array.getParameters()) builder.append(generateExpression(parameter)).append(", ");
+            return builder.append("}").toString();
+        } else if (node instanceof StaticArray) {
+            StaticArray array = (StaticArray) node;
+            Node type = array.getType();
+            // Multidimensional arrays store their sizes in the inner arrays
+            if (type instanceof StaticArray) throw CompilationException.unsupportedNode(node);
+            return "new " + getTypeName(getClassOf(type)) + "[" + array.size() + "]";
+        } else throw CompilationException.unsupportedNode(node);
+    }
+
+    private @NotNull String generateLiteral(final @NotNull Literal literal) throws CompilationException {
+        String name = literal.getLiteral();
+        if (lookup(name) != null) return name;
+        if (name.endsWith(".class")) {
+            Class<?> clazz = this.resolutionTable.getLiteralClass(name);
+            if (clazz != null) return getTypeName(clazz) + ".class";
+        }
+        String[] parts = name.split("\\.");
+        if (lookup(parts[0]) != null) return name;
+        // The longest prefix that is a class, followed by its fields
+        for (int i = parts.length; i > 0; i--) {
+            String prefix = String.join(".", Arrays.copyOfRange(parts, 0, i));
+            if (!this.resolutionTable.isLiteralResolved(prefix)) continue;
+            Class<?> clazz = this.resolutionTable.getLiteralClass(prefix);
+            if (clazz == null) continue;
+            StringBuilder builder = new StringBuilder(getTypeName(clazz));
+            for (int j = i; j < parts.length; j++) builder.append('.').append(parts[j]);
+            return builder.toString();
+        }
+        throw CompilationException.unsupportedNode((Node) literal);
+    }
+
+    /**
+     * Generates a comparison with the same semantics of {@link Value#equal(Value)}.
+     * Objects (like boxed numbers or strings) cannot be compared with <code>==</code>,
+     * since it would compare their references.
+     *
+     * @param operation the comparison
+     * @param equal     true for {@link Equal}, false for {@link NotEqual}
+     * @return the source
+     * @throws CompilationException in case the operands cannot be translated
+     */
+    private @NotNull String generateEquality(final @NotNull BinaryOperation operation,
+                                             final boolean equal) throws CompilationException {
+        Node leftNode = operation.getLeft();
+        Node rightNode = operation.getRight();
+        String left = generateExpression(leftNode);
+        String right = generateExpression(rightNode);
+        if (leftNode instanceof NullLiteral || rightNode instanceof NullLiteral ||
+                isPrimitive(leftNode) && isPrimitive(rightNode))
+            return "(" + left + (equal ? " == " : " != ") + right + ")";
+        String value = Value.class.getCanonicalName();
+        return "(" + (equal ? "" : "!") + "((Boolean) " + value + ".of((Object) " + left + ").equal(" +
+                value + ".of((Object) " + right + ")).getValue()).booleanValue())";
+    }
+
+    private @NotNull String generatePrefixedOperation(final @NotNull UnaryOperation operation, final boolean before,
+                                                      final @NotNull String operator) throws CompilationException {
+        String operand = generateExpression(operation.getOperand());
+        return "(" + (before ? operator + operand : operand + operator) + ")";
+    }
+
+    private @NotNull String generateMethodCall(final @NotNull MethodCall methodCall) throws CompilationException {
+        Node executor = methodCall.getExecutor();
+        MethodInvocation invocation = methodCall.getInvocation();
+        String parameters = generateParameters(invocation);
+        if (!(executor instanceof EmptyLiteral))
+            return generateExpression(executor) + "." + methodCall.getMethodName() + parameters;
+        // Methods invoked without executor belong to the executing object
+        Method method = this.resolutionTable.getMethod(invocation);
+        if (method == null || !Modifier.isPublic(method.getModifiers()))
+            throw CompilationException.unsupportedNode(methodCall);
+        String declaringClass = getTypeName(method.getDeclaringClass());
+        if (Modifier.isStatic(method.getModifiers())) return declaringClass + "." + method.getName() + parameters;
+        else return "((" + declaringClass + ") " + SELF + ")." + method.getName() + parameters;
+    }
+
+    private @NotNull String generateParameters(final @NotNull MethodInvocation invocation) throws CompilationException {
+        StringBuilder builder = new StringBuilder("(");
+        List<Node> parameters = invocation.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(generateExpression(parameters.get(i)));
+        }
+        return builder.append(")").toString();
+    }
+
+    /**
+     * Generates the value assigned to a variable of the given type.
+     * Like {@link it.fulminazzo.mojito.executor.Executor#assignVariable}, the value is cast
+     * to the primitive type of the variable, unless it is marked as exact by the {@link ResolutionTable}.
+     *
+     * @param type  the type of the variable
+     * @param value the value
+     * @return the source
+     * @throws CompilationException in case the value cannot be translated
+     */
+    private @NotNull String generateAssignedValue(final @NotNull ClassValue<?> type,
+                                                  final @NotNull Node value) throws CompilationException {
+        String expression = generateExpression(value);
+        if (!type.isPrimitive() || this.resolutionTable.isExactAssignment(value)) return expression;
+        else return "((" + getTypeName(type.getValue()) + ") " + expression + ")";
+    }
+
+    /*
+        UTILS
+     */
+
+    /**
+     * Checks whether the given expression is translated to a primitive value.
+     * Expressions that cannot be proven primitive are considered objects.
+     *
+     * @param node the expression
+     * @return true if it is
+     * @throws CompilationException in case the type of a cast cannot be computed
+     */
+    private boolean isPrimitive(final @NotNull Node node) throws CompilationException {
+        if (node instanceof ValueLiteral) return !(node instanceof StringValueLiteral);
+        else if (node instanceof Literal) {
+            Slot slot = getSlot(node);
+            return slot != null && slot.getType().isPrimitive();
+        } else if (node instanceof ReAssign) return isPrimitive(((ReAssign) node).getLeft());
+        else if (node instanceof Equal || node instanceof NotEqual || node instanceof LessThan ||
+                node instanceof LessThanEqual || node instanceof GreaterThan || node instanceof GreaterThanEqual ||
+                node instanceof And || node instanceof Or || node instanceof Not)
+            return true;
+        else if (node instanceof BinaryOperation && OPERATORS.containsKey(node.getClass()))
+            return isPrimitive(((BinaryOperation) node).getLeft()) && isPrimitive(((BinaryOperation) node).getRight());
+        else if (node instanceof UnaryOperation) return isPrimitive(((UnaryOperation) node).getOperand());
+        else if (node instanceof Cast) return getClassOf(((Cast) node).getLeft()).isPrimitive();
+        else if (node instanceof MethodCall) {
+            Method method = this.resolutionTable.getMethod(((MethodCall) node).getInvocation());
+            return method != null && method.getReturnType().isPrimitive();
+        } else return false;
+    }
+
+    private @NotNull Class<?> getClassOf(final @NotNull Node node) throws CompilationException {
+        Value<?> type = getConstantClass(node);
+        if (type == null) throw CompilationException.unsupportedNode(node);
+        return type.checkClass().getValue();
+    }
+
+    /**
+     * Gets the name to use in the source for the given class.
+     *
+     * @param clazz the class
+     * @return the canonical name
+     * @throws CompilationException in case the class cannot be referenced from the generated class
+     */
+    static @NotNull String getTypeName(final @NotNull Class<?> clazz) throws CompilationException {
+        Class<?> component = clazz;
+        while (component.isArray()) component = component.getComponentType();
+        for (Class<?> c = component; c != null; c = c.getEnclosingClass())
+            if (!c.isPrimitive() && !Modifier.isPublic(c.getModifiers()))
+                throw CompilationException.inaccessibleClass(clazz);
+        String name = clazz.getCanonicalName();
+        if (name == null) throw CompilationException.inaccessibleClass(clazz);
+        return name;
+    }
+
+    /**
+     * Gets the first public class in the hierarchy of the given one.
+     *
+     * @param clazz the class
+     * @return the class itself, or its first public superclass
+     */
+    static @NotNull Class<?> getAccessibleClass(final @NotNull Class<?> clazz) {
+        Class<?> c = clazz;
+        while (c.getSuperclass() != null && (!Modifier.isPublic(c.getModifiers()) || c.getCanonicalName() == null))
+            c = c.getSuperclass();
+        return c;
+    }
+
+    /**
+     * Converts the given constant to a Java literal.
+     *
+     * @param value the value
+     * @return the literal
+     * @throws CompilationException in case the value cannot be represented
+     */
+    static @NotNull String toJavaLiteral(final @Nullable Object value) throws CompilationException {
+        if (value == null) return "null";
+        else if (value instanceof String)
+            return ((String) value).chars().mapToObj(JavaSourceGenerator::escape)
+                    .collect(Collectors.joining("", "\"", "\""));
+        else if (value instanceof Character) return "'" + escape((Character) value) + "'";
+        else if (value instanceof Boolean || value instanceof Integer) return value.toString();
+        else if (value instanceof Long) return value + "L";
+        else if (value instanceof Byte) return "((byte) " + value + ")";
+        else if (value instanceof Short) return "((short) " + value + ")";
+        else if (value instanceof Float) {
+            float f = (Float) value;
+            if (Float.isNaN(f) || Float.isInfinite(f))
+                return "Float.intBitsToFloat(" + Float.floatToRawIntBits(f) + ")";
+            return f + "f";
+        } else if (value instanceof Double) {
+            double d = (Double) value;
+            if (Double.isNaN(d) || Double.isInfinite(d))
+                return "Double.longBitsToDouble(" + Double.doubleToRawLongBits(d) + "L)";
+            return d + "d";
+        } else throw CompilationException.inaccessibleClass(value.getClass());
+    }
+
+    /**
+     * Escapes the given character to be used in a string or character literal.
+     * Unicode escapes are only used outside Latin-1, since they are translated before parsing the source.
+     *
+     * @param c the character
+     * @return the escaped character
+     */
+    private static @NotNull String escape(final int c) {
+        if (c == '\\' || c == '"' || c == '\'') return "\\" + (char) c;
+        else if (c >= ' ' && c <= '~') return String.valueOf((char) c);
+        else if (c < 256) return String.format("\\%03o", c);
+        else return String.format("\\u%04x", c);
+    }
+
+}
@@ -0,0 +1,182 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a type checked {@link JavaProgram} to a JVM class.
+ * <br>
+ * The program is translated to Java source by the {@link JavaSourceGenerator},
+ * compiled in memory with the system {@link JavaCompiler} and loaded by a new {@link ScriptClassLoader}.
+ * From that point, the program is executed by the JVM itself, with no interpretation overhead.
+ * <br>
+ * Compilation is best effort: if the program uses anything that cannot be translated with the same semantics,
+ * or no Java compiler is available in the current runtime, no program is returned
+ * and the caller is expected to fall back to interpretation.
+ */
+public final class JvmCompiler {
+    private static final String PACKAGE = "it.fulminazzo.mojito.compiler.generated";
+    private static final String CLASS_PREFIX = "MojitoScript";
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    private final @NotNull Object executingObject;
+    private final @NotNull ResolutionTable resolutionTable;
+
+    /**
+     * Instantiates a new Jvm compiler.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    public JvmCompiler(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
+        this.executingObject = executingObject;
+        this.resolutionTable = resolutionTable;
+    }
+
+    /**
+     * Compiles the given program.
+     *
+     * @param program  the program
+     * @param bindings the variables that will be available to the program
+     * @return an {@link Optional} containing the compiled program, if it could be compiled
+     */
+    public @NotNull Optional<JvmProgram> compile(final @NotNull JavaProgram program,
+                                                 final @NotNull Map<String, Object> bindings) {
+        try {
+            return Optional.of(compileOrThrow(program, bindings));
+        } catch (CompilationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compiles the given program.
+     *
+     * @param program  the program
+     * @param bindings the variables that will be available to the program
+     * @return the compiled program
+     * @throws CompilationException in case the program could not be compiled
+     */
+    @NotNull JvmProgram compileOrThrow(final @NotNull JavaProgram program,
+                                       final @NotNull Map<String, Object> bindings) throws CompilationException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) throw CompilationException.compilerNotAvailable();
+
+        String className = CLASS_PREFIX + CLASS_COUNTER.incrementAndGet();
+        String binaryName = PACKAGE + "." + className;
+        String source = new JavaSourceGenerator(this.executingObject, this.resolutionTable)
+                .generate(PACKAGE, className, program, bindings);
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> classes = new HashMap<>();
+        try (MemoryFileManager fileManager = new MemoryFileManager(
+                compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8), classes)) {
+            List<String> options = Arrays.asList("-proc:none", "-classpath", getClassPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    Collections.singletonList(new SourceFile(binaryName, source)));
+            if (!task.call()) throw CompilationException.compilationFailed(diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                    .map(d -> d.getLineNumber() + ": " + d.getMessage(Locale.ROOT))
+                    .collect(Collectors.joining(", ")));
+        } catch (IOException e) {
+            throw CompilationException.compilationFailed(e.getMessage());
+        }
+
+        try {
+            ClassLoader parent = this.executingObject.getClass().getClassLoader();
+            if (parent == null) parent = JvmCompiler.class.getClassLoader();
+            Class<?> clazz = new ScriptClassLoader(parent, classes).loadClass(binaryName);
+            return new JvmProgram((CompiledScript) clazz.getConstructor().newInstance(), source);
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            throw CompilationException.compilationFailed(e.toString());
+        }
+    }
+
+    /**
+     * Gets the class path used to compile the generated classes.
+     * Other than the class path of the JVM, it contains the locations of Mojito and of the executing object.
+     *
+     * @return the class path
+     */
+    private @NotNull String getClassPath() {
+        Set<String> classPath = new LinkedHashSet<>(Arrays.asList(
+                System.getProperty("java.class.path", "").split(File.pathSeparator)));
+        for (Class<?> clazz : Arrays.asList(CompiledScript.class, this.executingObject.getClass()))
+            try {
+                CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+                if (codeSource != null) classPath.add(new File(codeSource.getLocation().toURI()).getPath());
+            } catch (Exception ignored) {
+                // The location is not a file, the class path of the JVM will be used
+            }
+        classPath.remove("");
+        return String.join(File.pathSeparator, classPath);
+    }
+
+    /**
+     * The source of a generated class, kept in memory.
+     */
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final @NotNull String source;
+
+        private SourceFile(final @NotNull String binaryName, final @NotNull String source) {
+            super(URI.create("string:///" + binaryName.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public @NotNull CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return this.source;
+        }
+
+    }
+
+    /**
+     * A {@link JavaFileManager} that writes the compiled classes in memory.
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final @NotNull Map<String, byte[]> classes;
+
+        private MemoryFileManager(final @NotNull StandardJavaFileManager fileManager,
+                                  final @NotNull Map<String, byte[]> classes) {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        @Override
+        public @NotNull JavaFileObject getJavaFileForOutput(final @NotNull Location location, final @NotNull String className,
+                                                            final JavaFileObject.@NotNull Kind kind, final FileObject sibling) {
+            URI uri = URI.create("bytes:///" + className.replace('.', '/') + kind.extension);
+            return new SimpleJavaFileObject(uri, kind) {
+
+                @Override
+                public @NotNull OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+
+                        @Override
+                        public void close() throws IOException {
+                            super.close();
+                            classes.put(className, toByteArray());
+                        }
+
+                    };
+                }
+
+            };
+        }
+
+    }
+
+}
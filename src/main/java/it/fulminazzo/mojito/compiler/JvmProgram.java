@@ -0,0 +1,58 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.BudgetExceededException;
+import it.fulminazzo.mojito.executor.ExceptionWrapper;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.Values;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link it.fulminazzo.mojito.parser.node.container.JavaProgram} compiled to a JVM class by the {@link JvmCompiler}.
+ * It can be executed any number of times.
+ */
+public final class JvmProgram {
+    private final @NotNull CompiledScript script;
+    @Getter
+    private final @NotNull String source;
+
+    /**
+     * Instantiates a new Jvm program.
+     *
+     * @param script the instance of the generated class
+     * @param source the source of the generated class
+     */
+    JvmProgram(final @NotNull CompiledScript script, final @NotNull String source) {
+        this.script = script;
+        this.source = source;
+    }
+
+    /**
+     * Executes the program.
+     * Any exception thrown by the program is wrapped in an {@link ExceptionWrapper},
+     * just like a throw statement during interpretation.
+     * If the executor has an {@link it.fulminazzo.mojito.executor.ExecutionMeter},
+     * every iteration of the loops of the program is counted as a step.
+     *
+     * @param executor the executor, whose executing object is referenced by the program
+     * @param bindings the variables available to the program
+     * @return an {@link Optional} containing the returned value
+     */
+    public @NotNull Optional<Value<?>> execute(final @NotNull Executor executor,
+                                               final @NotNull Map<String, Object> bindings) {
+        final Object result;
+        try {
+            result = this.script.run(executor.getExecutingObject(), bindings, executor.getMeter());
+        } catch (BudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExceptionWrapper(Value.of(e));
+        }
+        return Values.NO_VALUE.equals(result) ? Optional.empty() : Optional.of(Value.of(result));
+    }
+
+}
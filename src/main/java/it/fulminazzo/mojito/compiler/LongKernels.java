@@ -0,0 +1,45 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Specialized implementations of the binary operations between two <code>long</code>s.
+ * They compute the same results of {@link Value}, without any conversion or comparison
+ * through {@link java.math.BigDecimal}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LongKernels {
+
+    /**
+     * Gets the kernel of the given operation.
+     *
+     * @param operation the class of the operation
+     * @param left      the left operand
+     * @param right     the right operand
+     * @return the kernel (null if the operation is not supported)
+     */
+    static @Nullable Closure of(final @NotNull Class<? extends Node> operation,
+                                final @NotNull Closure left, final @NotNull Closure right) {
+        if (operation.equals(Add.class)) return f -> Value.of(get(left, f) + get(right, f));
+        else if (operation.equals(Subtract.class)) return f -> Value.of(get(left, f) - get(right, f));
+        else if (operation.equals(Multiply.class)) return f -> Value.of(get(left, f) * get(right, f));
+        else if (operation.equals(Equal.class)) return f -> Value.of(get(left, f) == get(right, f));
+        else if (operation.equals(NotEqual.class)) return f -> Value.of(get(left, f) != get(right, f));
+        else if (operation.equals(LessThan.class)) return f -> Value.of(get(left, f) < get(right, f));
+        else if (operation.equals(LessThanEqual.class)) return f -> Value.of(get(left, f) <= get(right, f));
+        else if (operation.equals(GreaterThan.class)) return f -> Value.of(get(left, f) > get(right, f));
+        else if (operation.equals(GreaterThanEqual.class)) return f -> Value.of(get(left, f) >= get(right, f));
+        else return null;
+    }
+
+    private static long get(final @NotNull Closure closure, final @NotNull Frame frame) {
+        return (Long) closure.execute(frame).getValue();
+    }
+
+}
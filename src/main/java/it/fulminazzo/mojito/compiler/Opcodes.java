@@ -0,0 +1,227 @@
+package it.fulminazzo.mojito.compiler;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The instructions of a {@link BytecodeProgram}.
+ * Every instruction is an opcode followed by a fixed number of <code>int</code> operands:
+ * constants are referenced by their index in the constant pool, variables by their slot in the {@link Frame}
+ * and jumps by the absolute position of their target.
+ * The values are pushed on and popped from an operand stack.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Opcodes {
+    /**
+     * <code>CONST constant</code>: pushes the constant.
+     */
+    static final int CONST = 0;
+    /**
+     * <code>LOAD slot</code>: pushes the value of the slot.
+     */
+    static final int LOAD = 1;
+    /**
+     * <code>STORE slot</code>: pops a value and stores it in the slot.
+     */
+    static final int STORE = 2;
+    /**
+     * <code>DUP</code>: duplicates the value on top of the stack.
+     */
+    static final int DUP = 3;
+    /**
+     * <code>POP</code>: discards the value on top of the stack.
+     */
+    static final int POP = 4;
+    /**
+     * <code>THIS</code>: pushes the executing object.
+     */
+    static final int THIS = 5;
+    /**
+     * <code>BINARY operation</code>: pops the right and the left operands and pushes the result of the operation.
+     */
+    static final int BINARY = 6;
+    /**
+     * <code>UNARY operation</code>: pops the operand and pushes the result of the operation.
+     */
+    static final int UNARY = 7;
+    /**
+     * <code>IADD</code>: adds two <code>int</code>s.
+     */
+    static final int IADD = 8;
+    /**
+     * <code>ISUB</code>: subtracts two <code>int</code>s.
+     */
+    static final int ISUB = 9;
+    /**
+     * <code>IMUL</code>: multiplies two <code>int</code>s.
+     */
+    static final int IMUL = 10;
+    /**
+     * <code>IEQ</code>: checks if two <code>int</code>s are equal.
+     */
+    static final int IEQ = 11;
+    /**
+     * <code>INE</code>: checks if two <code>int</code>s are not equal.
+     */
+    static final int INE = 12;
+    /**
+     * <code>ILT</code>: checks if an <code>int</code> is less than another.
+     */
+    static final int ILT = 13;
+    /**
+     * <code>ILE</code>: checks if an <code>int</code> is less than or equal to another.
+     */
+    static final int ILE = 14;
+    /**
+     * <code>IGT</code>: checks if an <code>int</code> is greater than another.
+     */
+    static final int IGT = 15;
+    /**
+     * <code>IGE</code>: checks if an <code>int</code> is greater than or equal to another.
+     */
+    static final int IGE = 16;
+    /**
+     * <code>CONVERT type</code>: pops a value and pushes it converted for an assignment to the type.
+     */
+    static final int CONVERT = 17;
+    /**
+     * <code>CAST type</code>: pops a value and pushes it cast to the type.
+     */
+    static final int CAST = 18;
+    /**
+     * <code>JUMP target</code>: continues from the target.
+     */
+    static final int JUMP = 19;
+    /**
+     * <code>JUMP_IF_FALSE target</code>: pops a value and continues from the target if it is not <code>true</code>.
+     */
+    static final int JUMP_IF_FALSE = 20;
+    /**
+     * <code>PRE_INC slot type</code>: increments the slot and pushes the new value.
+     */
+    static final int PRE_INC = 21;
+    /**
+     * <code>POST_INC slot type</code>: increments the slot and pushes the old value.
+     */
+    static final int POST_INC = 22;
+    /**
+     * <code>PRE_DEC slot type</code>: decrements the slot and pushes the new value.
+     */
+    static final int PRE_DEC = 23;
+    /**
+     * <code>POST_DEC slot type</code>: decrements the slot and pushes the old value.
+     */
+    static final int POST_DEC = 24;
+    /**
+     * <code>ARRAY_LOAD</code>: pops the index and the array and pushes the element.
+     */
+    static final int ARRAY_LOAD = 25;
+    /**
+     * <code>ARRAY_STORE exact</code>: pops the value, the index and the array, stores the value
+     * (converting it if exact is 0) and pushes it.
+     */
+    static final int ARRAY_STORE = 26;
+    /**
+     * <code>INVOKE method parameters</code>: pops the parameters and the executor and pushes the returned value.
+     * The method is either a resolved {@link java.lang.reflect.Method} or its name.
+     */
+    static final int INVOKE = 27;
+    /**
+     * <code>NEW type constructor parameters</code>: pops the parameters and pushes the new object.
+     * The constructor is the resolved {@link java.lang.reflect.Constructor}, or the <code>null</code> constant.
+     */
+    static final int NEW = 28;
+    /**
+     * <code>ITER_INIT</code>: pops an array or an iterable and pushes its iterator.
+     */
+    static final int ITER_INIT = 29;
+    /**
+     * <code>ITER_NEXT slot target</code>: stores the next element of the iterator on top of the stack in the slot,
+     * or continues from the target if there are no more elements.
+     */
+    static final int ITER_NEXT = 30;
+    /**
+     * <code>FALLBACK node slots break continue</code>: visits the node with the {@link it.fulminazzo.mojito.executor.Executor}
+     * and pushes the result.
+     * If a break or continue occurs, it continues from the respective target.
+     */
+    static final int FALLBACK = 31;
+    /**
+     * <code>FALLBACK_STATEMENT node slots break continue</code>: like {@link #FALLBACK},
+     * but returns the result of the visit if something was returned.
+     */
+    static final int FALLBACK_STATEMENT = 32;
+    /**
+     * <code>RETURN</code>: pops a value and returns it, unless it is {@link it.fulminazzo.mojito.executor.values.Values#NO_VALUE}.
+     */
+    static final int RETURN = 33;
+    /**
+     * <code>CONCAT count accumulate</code>: pops the given number of values and pushes their concatenation.
+     * If accumulate is 1, the first value is the current value of a variable, and the others are appended to it.
+     */
+    static final int CONCAT = 34;
+    /**
+     * <code>THROW</code>: pops an exception and throws it.
+     */
+    static final int THROW = 35;
+    /**
+     * <code>GET_FIELD field</code>: pops an object and pushes the value of the resolved {@link java.lang.reflect.Field}.
+     */
+    static final int GET_FIELD = 36;
+    /**
+     * <code>NEW_ARRAY type size</code>: pushes a new array of the given size, with components of the given type.
+     */
+    static final int NEW_ARRAY = 37;
+    /**
+     * <code>NEW_ARRAY_OF type count</code>: pops the given number of values and pushes a new array containing them,
+     * with components of the given type.
+     */
+    static final int NEW_ARRAY_OF = 38;
+    /**
+     * <code>SWITCH table targets</code>: pops a value, looks up its case in the
+     * {@link it.fulminazzo.mojito.typechecker.SwitchTable} and continues from the target of the case.
+     * The last target is the one of the default block.
+     */
+    static final int SWITCH = 39;
+
+    private static final String[] NAMES = {
+            "CONST", "LOAD", "STORE", "DUP", "POP", "THIS", "BINARY", "UNARY",
+            "IADD", "ISUB", "IMUL", "IEQ", "INE", "ILT", "ILE", "IGT", "IGE",
+            "CONVERT", "CAST", "JUMP", "JUMP_IF_FALSE",
+            "PRE_INC", "POST_INC", "PRE_DEC", "POST_DEC",
+            "ARRAY_LOAD", "ARRAY_STORE", "INVOKE", "NEW", "ITER_INIT", "ITER_NEXT",
+            "FALLBACK", "FALLBACK_STATEMENT", "RETURN", "CONCAT",
+            "THROW", "GET_FIELD", "NEW_ARRAY", "NEW_ARRAY_OF", "SWITCH"
+    };
+    private static final int[] OPERANDS = {
+            1, 1, 1, 0, 0, 0, 1, 1,
+            0, 0, 0, 0, 0, 0, 0, 0, 0,
+            1, 1, 1, 1,
+            2, 2, 2, 2,
+            0, 1, 2, 3, 0, 2,
+            4, 4, 0, 2,
+            0, 1, 2, 2, 2
+    };
+
+    /**
+     * Gets the name of the given opcode.
+     *
+     * @param opcode the opcode
+     * @return the name
+     */
+    static @NotNull String getName(final int opcode) {
+        return NAMES[opcode];
+    }
+
+    /**
+     * Gets the number of operands of the given opcode.
+     *
+     * @param opcode the opcode
+     * @return the number of operands
+     */
+    static int getOperands(final int opcode) {
+        return OPERANDS[opcode];
+    }
+
+}
@@ -0,0 +1,50 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.ExecutionMode;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes the promotion of a {@link TieredProgram} (or of one of its loops) to a faster execution mode.
+ */
+@Getter
+public final class PromotionEvent {
+    private final @NotNull ExecutionMode from;
+    private final @NotNull ExecutionMode to;
+    private final boolean loop;
+    private final boolean successful;
+    private final long invocations;
+    private final long backEdges;
+    private final long compilationTime;
+
+    /**
+     * Instantiates a new Promotion event.
+     *
+     * @param from            the execution mode before the promotion
+     * @param to              the requested execution mode
+     * @param loop            true if only a loop was compiled, to replace it at its next back-edge
+     * @param successful      false if the compilation failed, so the mode was not changed
+     * @param invocations     the invocations of the program when the promotion was requested
+     * @param backEdges       the back-edges of the program (or of the loop) when the promotion was requested
+     * @param compilationTime the time spent compiling, in nanoseconds
+     */
+    PromotionEvent(final @NotNull ExecutionMode from, final @NotNull ExecutionMode to,
+                   final boolean loop, final boolean successful,
+                   final long invocations, final long backEdges, final long compilationTime) {
+        this.from = from;
+        this.to = to;
+        this.loop = loop;
+        this.successful = successful;
+        this.invocations = invocations;
+        this.backEdges = backEdges;
+        this.compilationTime = compilationTime;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s %s -> %s%s after %s invocations and %s back-edges (%sus)",
+                this.loop ? "Loop" : "Program", this.from, this.to, this.successful ? "" : " failed",
+                this.invocations, this.backEdges, this.compilationTime / 1000);
+    }
+
+}
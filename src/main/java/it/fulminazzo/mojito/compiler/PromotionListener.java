@@ -0,0 +1,19 @@
+package it.fulminazzo.mojito.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the {@link PromotionEvent}s of the {@link TieredProgram}s.
+ * It is called from the thread that compiled the program.
+ */
+@FunctionalInterface
+public interface PromotionListener {
+
+    /**
+     * Called after a program or one of its loops was compiled.
+     *
+     * @param event the event
+     */
+    void onPromotion(final @NotNull PromotionEvent event);
+
+}
@@ -0,0 +1,34 @@
+package it.fulminazzo.mojito.compiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * The {@link ClassLoader} of the classes generated by the {@link JvmCompiler}.
+ * Every compiled program has its own loader, so that its classes can be collected
+ * as soon as the program is not referenced anymore.
+ */
+final class ScriptClassLoader extends ClassLoader {
+    private final @NotNull Map<String, byte[]> classes;
+
+    /**
+     * Instantiates a new Script class loader.
+     *
+     * @param parent  the parent loader
+     * @param classes the bytecode of the generated classes, indexed by their binary name
+     */
+    ScriptClassLoader(final @Nullable ClassLoader parent, final @NotNull Map<String, byte[]> classes) {
+        super(parent);
+        this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(final @NotNull String name) throws ClassNotFoundException {
+        byte[] bytes = this.classes.get(name);
+        if (bytes == null) return super.findClass(name);
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+}
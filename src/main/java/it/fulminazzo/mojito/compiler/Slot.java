@@ -0,0 +1,30 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.environment.NamedEntity;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The slot of a variable in a {@link Frame}, assigned by a {@link SlotCompiler}.
+ */
+@Getter
+final class Slot {
+    private final int index;
+    private final @NotNull NamedEntity name;
+    private final @NotNull ClassValue<?> type;
+
+    /**
+     * Instantiates a new Slot.
+     *
+     * @param index the index in the frame
+     * @param name  the name of the variable
+     * @param type  the declared type of the variable
+     */
+    Slot(final int index, final @NotNull String name, final @NotNull ClassValue<?> type) {
+        this.index = index;
+        this.name = NamedEntity.of(name);
+        this.type = type;
+    }
+
+}
@@ -0,0 +1,265 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.PrimitiveClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.primitivevalue.BooleanValue;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.literals.ArrayLiteral;
+import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.Minus;
+import it.fulminazzo.mojito.parser.node.operators.unary.Not;
+import it.fulminazzo.mojito.parser.node.values.LongValueLiteral;
+import it.fulminazzo.mojito.parser.node.values.NumberValueLiteral;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.visitors.visitorobjects.variables.VariableContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * The common base of the compilers that store the variables declared by a program
+ * in the slots of a {@link Frame}.
+ * It keeps track of the scopes of the program being compiled,
+ * and provides the information that can be computed at compile time.
+ */
+@SuppressWarnings("unchecked")
+abstract class SlotCompiler {
+    static final Map<Class<? extends Node>, BinaryOperator<Value<?>>> BINARY_OPERATIONS = new HashMap<>();
+    static final Map<Class<? extends Node>, UnaryOperator<Value<?>>> UNARY_OPERATIONS = new HashMap<>();
+
+    static {
+        BINARY_OPERATIONS.put(Add.class, Value::add);
+        BINARY_OPERATIONS.put(Subtract.class, Value::subtract);
+        BINARY_OPERATIONS.put(Multiply.class, Value::multiply);
+        BINARY_OPERATIONS.put(Divide.class, Value::divide);
+        BINARY_OPERATIONS.put(Modulo.class, Value::modulo);
+        BINARY_OPERATIONS.put(BitAnd.class, Value::bitAnd);
+        BINARY_OPERATIONS.put(BitOr.class, Value::bitOr);
+        BINARY_OPERATIONS.put(BitXor.class, Value::bitXor);
+        BINARY_OPERATIONS.put(LShift.class, Value::lshift);
+        BINARY_OPERATIONS.put(RShift.class, Value::rshift);
+        BINARY_OPERATIONS.put(URShift.class, Value::urshift);
+        BINARY_OPERATIONS.put(And.class, Value::and);
+        BINARY_OPERATIONS.put(Or.class, Value::or);
+        BINARY_OPERATIONS.put(Equal.class, Value::equal);
+        BINARY_OPERATIONS.put(NotEqual.class, Value::notEqual);
+        BINARY_OPERATIONS.put(LessThan.class, Value::lessThan);
+        BINARY_OPERATIONS.put(LessThanEqual.class, Value::lessThanEqual);
+        BINARY_OPERATIONS.put(GreaterThan.class, Value::greaterThan);
+        BINARY_OPERATIONS.put(GreaterThanEqual.class, Value::greaterThanEqual);
+
+        UNARY_OPERATIONS.put(Minus.class, Value::minus);
+        UNARY_OPERATIONS.put(Not.class, Value::not);
+    }
+
+    final @NotNull Executor executor;
+    final @NotNull ResolutionTable resolutionTable;
+    private final @NotNull LinkedList<Map<String, Slot>> scopes;
+    int slots;
+
+    /**
+     * Instantiates a new Slot compiler.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    SlotCompiler(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
+        this.executor = new Executor(executingObject, resolutionTable);
+        this.resolutionTable = resolutionTable;
+        this.scopes = new LinkedList<>();
+    }
+
+    /**
+     * Resets the state of the compiler before compiling a new program.
+     */
+    void reset() {
+        this.scopes.clear();
+        this.slots = 0;
+    }
+
+    /**
+     * Enters a new scope.
+     */
+    void enterScope() {
+        this.scopes.push(new HashMap<>());
+    }
+
+    /**
+     * Exits the current scope.
+     */
+    void exitScope() {
+        this.scopes.pop();
+    }
+
+    /**
+     * Assigns a new slot to the given variable, in the current scope.
+     *
+     * @param name the name of the variable
+     * @param type the declared type of the variable
+     * @return the slot
+     */
+    @NotNull Slot declare(final @NotNull String name, final @NotNull ClassValue<?> type) {
+        Slot slot = new Slot(this.slots++, name, type);
+        this.scopes.getFirst().put(name, slot);
+        return slot;
+    }
+
+    /**
+     * Searches the slot of the given variable, starting from the current scope.
+     *
+     * @param name the name of the variable
+     * @return the slot (null if the variable is not declared by the program)
+     */
+    @Nullable Slot lookup(final @NotNull String name) {
+        for (Map<String, Slot> scope : this.scopes) {
+            Slot slot = scope.get(name);
+            if (slot != null) return slot;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the slot of the variable represented by the given node.
+     *
+     * @param node the node
+     * @return the slot (null if the node is not a variable stored in a slot)
+     */
+    @Nullable Slot getSlot(final @NotNull Node node) {
+        if (!(node instanceof Literal) || node instanceof ArrayLiteral) return null;
+        return lookup(((Literal) node).getLiteral());
+    }
+
+    /**
+     * Gets all the slots referenced by the given node and its children.
+     *
+     * @param node the node
+     * @return the slots
+     */
+    @NotNull Slot @NotNull [] getReferencedSlots(final @NotNull Node node) {
+        Map<String, Slot> referenced = new LinkedHashMap<>();
+        for (String name : getReferencedNames(node)) {
+            Slot slot = lookup(name);
+            if (slot != null) referenced.put(name, slot);
+        }
+        return referenced.values().toArray(new Slot[0]);
+    }
+
+    /**
+     * Gets the names of all the variables that may be referenced by the given node and its children.
+     * For every literal, only the first part before a dot is considered.
+     *
+     * @param node the node
+     * @return the names
+     */
+    static @NotNull Set<String> getReferencedNames(final @NotNull Node node) {
+        Set<String> names = new LinkedHashSet<>();
+        walk(node, n -> {
+            if (n instanceof Literal && !(n instanceof ArrayLiteral))
+                names.add(((Literal) n).getLiteral().split("\\.")[0]);
+        });
+        return names;
+    }
+
+    /**
+     * Applies the given function to the node and all its children, in depth-first order.
+     *
+     * @param node     the node
+     * @param function the function
+     */
+    static void walk(final @NotNull Node node, final @NotNull Consumer<Node> function) {
+        function.accept(node);
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) walk((Node) object, function);
+            else if (object instanceof List)
+                for (Object element : (List<Object>) object)
+                    if (element instanceof Node) walk((Node) element, function);
+        }
+    }
+
+    /**
+     * Computes the given constant node at compile time.
+     *
+     * @param node the node
+     * @return the value
+     */
+    @NotNull Value<?> evaluate(final @NotNull Node node) {
+        return node.accept(this.executor);
+    }
+
+    /**
+     * Gets the class represented by the given node, if it can be computed at compile time.
+     *
+     * @param node the node
+     * @return the class value (null if it is not constant)
+     */
+    @Nullable Value<?> getConstantClass(final @NotNull Node node) {
+        if (node instanceof ArrayLiteral) {
+            Node type = ((ArrayLiteral) node).getType();
+            if (getConstantClass(type) == null) return null;
+        } else if (!(node instanceof Literal)) return null;
+        else {
+            String literal = ((Literal) node).getLiteral();
+            if (lookup(literal.split("\\.")[0]) != null) return null;
+            if (this.resolutionTable.getLiteralClass(literal) == null) return null;
+        }
+        Value<?> value = evaluate(node);
+        return value.is(ClassValue.class) ? value : null;
+    }
+
+    /**
+     * Gets the class of the values that the given expression is guaranteed to compute.
+     * Only <code>int</code> and <code>long</code> are supported.
+     *
+     * @param node the expression
+     * @return {@link Integer}, {@link Long} or null if unknown
+     */
+    @Nullable Class<?> getStaticType(final @NotNull Node node) {
+        if (node instanceof NumberValueLiteral) return Integer.class;
+        else if (node instanceof LongValueLiteral) return Long.class;
+        else if (node instanceof Literal) {
+            Slot slot = getSlot(node);
+            if (slot == null) return null;
+            else if (slot.getType().is(PrimitiveClassValue.INT)) return Integer.class;
+            else if (slot.getType().is(PrimitiveClassValue.LONG)) return Long.class;
+            else return null;
+        } else if (node instanceof Add || node instanceof Subtract || node instanceof Multiply) {
+            BinaryOperation operation = (BinaryOperation) node;
+            Class<?> left = getStaticType(operation.getLeft());
+            return left != null && left.equals(getStaticType(operation.getRight())) ? left : null;
+        } else if (node instanceof Minus) return getStaticType(((Minus) node).getOperand());
+        else return null;
+    }
+
+    /**
+     * Checks whether the given value is <code>true</code>.
+     *
+     * @param value the value
+     * @return true if it is
+     */
+    static boolean isTrue(final @NotNull Value<?> value) {
+        return value == BooleanValue.TRUE || value.is(BooleanValue.TRUE);
+    }
+
+    /**
+     * Gets the actual value of a variable container returned by the {@link Executor}.
+     *
+     * @param value the value
+     * @return the variable, if the value is a container, otherwise the value itself
+     */
+    static @NotNull Value<?> unwrap(final @NotNull Value<?> value) {
+        if (value instanceof VariableContainer) return (Value<?>) ((VariableContainer<?, ?, ?, ?>) value).getVariable();
+        else return value;
+    }
+
+}
@@ -0,0 +1,101 @@
+package it.fulminazzo.mojito.compiler;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The thresholds used by a {@link TieredProgram} to decide when to promote a program to a faster execution mode.
+ * Instances are immutable: every <code>with</code> method returns a copy.
+ */
+@Getter
+public final class TierPolicy {
+    private static final ExecutorService DEFAULT_COMPILER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "mojito-compiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long compileThreshold;
+    private final long jvmThreshold;
+    private final long backEdgeThreshold;
+    private final @NotNull Executor compiler;
+    private final @NotNull PromotionListener listener;
+
+    /**
+     * Instantiates a new Tier policy with the default thresholds.
+     * Programs are compiled by the {@link ClosureCompiler} at their second invocation,
+     * and by the {@link JvmCompiler} at their thousandth.
+     * Loops are compiled after ten thousand back-edges.
+     */
+    public TierPolicy() {
+        this(2, 1000, 10_000, DEFAULT_COMPILER, e -> {
+        });
+    }
+
+    private TierPolicy(final long compileThreshold, final long jvmThreshold, final long backEdgeThreshold,
+                       final @NotNull Executor compiler, final @NotNull PromotionListener listener) {
+        this.compileThreshold = compileThreshold;
+        this.jvmThreshold = jvmThreshold;
+        this.backEdgeThreshold = backEdgeThreshold;
+        this.compiler = compiler;
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the number of invocations after which the program is compiled by the {@link ClosureCompiler}.
+     * A program whose loops reached {@link #getBackEdgeThreshold()} back-edges is compiled at its next invocation too.
+     *
+     * @param compileThreshold the threshold
+     * @return a copy of this policy
+     */
+    public @NotNull TierPolicy withCompileThreshold(final long compileThreshold) {
+        return new TierPolicy(compileThreshold, this.jvmThreshold, this.backEdgeThreshold, this.compiler, this.listener);
+    }
+
+    /**
+     * Sets the number of invocations after which the program is compiled by the {@link JvmCompiler}.
+     * Use {@link Long#MAX_VALUE} to never compile it.
+     *
+     * @param jvmThreshold the threshold
+     * @return a copy of this policy
+     */
+    public @NotNull TierPolicy withJvmThreshold(final long jvmThreshold) {
+        return new TierPolicy(this.compileThreshold, jvmThreshold, this.backEdgeThreshold, this.compiler, this.listener);
+    }
+
+    /**
+     * Sets the number of back-edges after which a loop is compiled, to replace its remaining iterations.
+     *
+     * @param backEdgeThreshold the threshold
+     * @return a copy of this policy
+     */
+    public @NotNull TierPolicy withBackEdgeThreshold(final long backEdgeThreshold) {
+        return new TierPolicy(this.compileThreshold, this.jvmThreshold, backEdgeThreshold, this.compiler, this.listener);
+    }
+
+    /**
+     * Sets the executor that compiles the programs in background.
+     * By default, a single daemon thread shared by all the programs is used.
+     *
+     * @param compiler the executor
+     * @return a copy of this policy
+     */
+    public @NotNull TierPolicy withCompiler(final @NotNull Executor compiler) {
+        return new TierPolicy(this.compileThreshold, this.jvmThreshold, this.backEdgeThreshold, compiler, this.listener);
+    }
+
+    /**
+     * Sets the listener notified of every promotion.
+     *
+     * @param listener the listener
+     * @return a copy of this policy
+     */
+    public @NotNull TierPolicy withListener(final @NotNull PromotionListener listener) {
+        return new TierPolicy(this.compileThreshold, this.jvmThreshold, this.backEdgeThreshold, this.compiler, listener);
+    }
+
+}
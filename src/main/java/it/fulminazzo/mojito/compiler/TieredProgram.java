@@ -0,0 +1,271 @@
+package it.fulminazzo.mojito.compiler;
+
+import it.fulminazzo.mojito.ExecutionMode;
+import it.fulminazzo.mojito.environment.NamedEntity;
+import it.fulminazzo.mojito.environment.ScopeException;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.LoopObserver;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.EmptyLiteral;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A type checked {@link JavaProgram} that starts in the {@link Executor}
+ * and is promoted to faster execution modes as it gets hot.
+ * <br>
+ * The invocations of the program and the back-edges of each of its loops are counted.
+ * When they reach the thresholds of the {@link TierPolicy}, the program is compiled in background,
+ * first by the {@link ClosureCompiler} and then by the {@link JvmCompiler}:
+ * the compiled program replaces the previous one at the next invocation, without blocking the callers.
+ * <br>
+ * A hot loop does not need to wait for the next invocation: the rest of its iterations
+ * are compiled together with the variables declared around it, and replace the loop at its next back-edge.
+ * <br>
+ * An instance can be executed by many threads at once, each one with its own {@link Executor}.
+ */
+public final class TieredProgram implements LoopObserver {
+    private final @NotNull Object executingObject;
+    private final @NotNull ResolutionTable resolutionTable;
+    private final @NotNull JavaProgram program;
+    private final @NotNull TierPolicy policy;
+    private final @NotNull Map<CodeBlock, LoopProfile> loops;
+
+    private final @NotNull AtomicLong invocations;
+    private final @NotNull AtomicBoolean promoting;
+    private volatile @Nullable CompiledProgram compiledProgram;
+    private volatile @Nullable JvmProgram jvmProgram;
+    private volatile boolean failed;
+
+    /**
+     * Instantiates a new Tiered program.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     * @param program         the program
+     * @param policy          the policy
+     */
+    public TieredProgram(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable,
+                         final @NotNull JavaProgram program, final @NotNull TierPolicy policy) {
+        this.executingObject = executingObject;
+        this.resolutionTable = resolutionTable;
+        this.program = program;
+        this.policy = policy;
+        this.loops = new IdentityHashMap<>();
+        this.invocations = new AtomicLong();
+        this.promoting = new AtomicBoolean();
+        SlotCompiler.walk(program, node -> {
+            if (node instanceof ForStatement) {
+                ForStatement statement = (ForStatement) node;
+                // The increment is the first thing executed after the back-edge
+                this.loops.put(statement.getCode(), new LoopProfile(
+                        new Statement(statement.getIncrement()),
+                        new ForStatement(new EmptyLiteral(), statement.getExpression(),
+                                statement.getIncrement(), statement.getCode())
+                ));
+            } else if (node instanceof WhileStatement) {
+                WhileStatement statement = (WhileStatement) node;
+                this.loops.put(statement.getCode(), new LoopProfile(statement));
+            } else if (node instanceof DoStatement) {
+                DoStatement statement = (DoStatement) node;
+                // After the back-edge, a do statement behaves like a while statement
+                this.loops.put(statement.getCode(), new LoopProfile(
+                        new WhileStatement(statement.getExpression(), statement.getCode())
+                ));
+            } else if (node instanceof EnhancedForStatement)
+                // The state of the iterator cannot be transferred, so the loop is only counted
+                this.loops.put(((EnhancedForStatement) node).getCode(), new LoopProfile());
+        });
+    }
+
+    /**
+     * Executes the program in the current execution mode.
+     *
+     * @param executor  the executor, with the given variables already declared
+     * @param variables the variables available to the program
+     * @return an {@link Optional} containing the returned value
+     */
+    public @NotNull Optional<Value<?>> execute(final @NotNull Executor executor,
+                                               final @NotNull Map<String, Object> variables) {
+        long invocations = this.invocations.incrementAndGet();
+
+        JvmProgram jvmProgram = this.jvmProgram;
+        if (jvmProgram != null) return jvmProgram.execute(executor, variables);
+
+        CompiledProgram compiledProgram = this.compiledProgram;
+        if (compiledProgram != null) {
+            if (invocations >= this.policy.getJvmThreshold())
+                promote(ExecutionMode.COMPILED, new HashMap<>(variables));
+            return compiledProgram.execute(executor);
+        }
+
+        if (invocations >= this.policy.getCompileThreshold() || getBackEdges() >= this.policy.getBackEdgeThreshold())
+            promote(ExecutionMode.INTERPRETED, variables);
+        executor.setLoopObserver(this);
+        try {
+            return executor.visitProgram(this.program);
+        } finally {
+            executor.setLoopObserver(null);
+        }
+    }
+
+    /**
+     * Compiles the program in background, to the execution mode that follows the given one.
+     *
+     * @param from      the current execution mode
+     * @param variables the variables available to the program
+     */
+    private void promote(final @NotNull ExecutionMode from, final @NotNull Map<String, Object> variables) {
+        if (this.failed || !this.promoting.compareAndSet(false, true)) return;
+        final long invocations = getInvocations();
+        final long backEdges = getBackEdges();
+        submit(() -> {
+            long start = System.nanoTime();
+            ExecutionMode to = from == ExecutionMode.INTERPRETED ? ExecutionMode.COMPILED : ExecutionMode.JVM;
+            boolean successful = false;
+            try {
+                if (to == ExecutionMode.COMPILED)
+                    this.compiledProgram = new ClosureCompiler(this.executingObject, this.resolutionTable)
+                            .compile(this.program);
+                else this.jvmProgram = new JvmCompiler(this.executingObject, this.resolutionTable)
+                        .compile(this.program, variables).orElse(null);
+                successful = getExecutionMode() == to;
+            } catch (RuntimeException ignored) {
+                // The program will keep running in the current mode
+            } finally {
+                // A failed promotion is not retried
+                this.failed = !successful;
+                this.promoting.set(false);
+            }
+            this.policy.getListener().onPromotion(new PromotionEvent(from, to, false, successful,
+                    invocations, backEdges, System.nanoTime() - start));
+        }, () -> this.promoting.set(false));
+    }
+
+    @Override
+    public @Nullable Continuation backEdge(final @NotNull Executor executor, final @NotNull CodeBlock loop) {
+        LoopProfile profile = this.loops.get(loop);
+        if (profile == null) return null;
+        long backEdges = profile.backEdges.incrementAndGet();
+        Continuation continuation = profile.continuation;
+        if (continuation == null && backEdges >= this.policy.getBackEdgeThreshold() && profile.statements != null &&
+                profile.compiling.compareAndSet(false, true)) {
+            Map<String, ClassValue<?>> variables = getLiveVariables(executor, profile.statements);
+            final long invocations = getInvocations();
+            submit(() -> {
+                long start = System.nanoTime();
+                boolean successful = false;
+                try {
+                    CompiledProgram compiled = new ClosureCompiler(this.executingObject, this.resolutionTable)
+                            .compile(profile.statements, variables);
+                    profile.continuation = compiled::execute;
+                    successful = true;
+                } catch (RuntimeException ignored) {
+                    // The loop will keep being interpreted, and it will not be compiled again
+                }
+                this.policy.getListener().onPromotion(new PromotionEvent(ExecutionMode.INTERPRETED,
+                        ExecutionMode.COMPILED, true, successful, invocations, backEdges, System.nanoTime() - start));
+            }, () -> profile.compiling.set(false));
+            // With a synchronous compiler, the loop is replaced immediately
+            continuation = profile.continuation;
+        }
+        return continuation;
+    }
+
+    /**
+     * Gets the variables referenced by the given program that are declared in the environment of the executor.
+     *
+     * @param executor the executor
+     * @param program  the program
+     * @return the names and the declared types of the variables
+     */
+    private static @NotNull Map<String, ClassValue<?>> getLiveVariables(final @NotNull Executor executor,
+                                                                       final @NotNull JavaProgram program) {
+        Map<String, ClassValue<?>> variables = new LinkedHashMap<>();
+        for (String name : SlotCompiler.getReferencedNames(program))
+            try {
+                variables.put(name, (ClassValue<?>) executor.getEnvironment().lookupInfo(NamedEntity.of(name)));
+            } catch (ScopeException ignored) {
+                // Not a variable, or declared by the program itself
+            }
+        return variables;
+    }
+
+    private void submit(final @NotNull Runnable task, final @NotNull Runnable onRejection) {
+        try {
+            this.policy.getCompiler().execute(task);
+        } catch (RejectedExecutionException e) {
+            onRejection.run();
+        }
+    }
+
+    /**
+     * Gets the current execution mode of the program.
+     *
+     * @return the execution mode
+     */
+    public @NotNull ExecutionMode getExecutionMode() {
+        if (this.jvmProgram != null) return ExecutionMode.JVM;
+        else if (this.compiledProgram != null) return ExecutionMode.COMPILED;
+        else return ExecutionMode.INTERPRETED;
+    }
+
+    /**
+     * Gets the number of times the program was executed.
+     *
+     * @return the invocations
+     */
+    public long getInvocations() {
+        return this.invocations.get();
+    }
+
+    /**
+     * Gets the number of back-edges of all the loops of the program,
+     * counted while the program was interpreted.
+     *
+     * @return the back-edges
+     */
+    public long getBackEdges() {
+        long backEdges = 0;
+        for (LoopProfile profile : this.loops.values()) backEdges += profile.backEdges.get();
+        return backEdges;
+    }
+
+    /**
+     * Gets the number of loops that were compiled to replace their remaining iterations.
+     *
+     * @return the compiled loops
+     */
+    public long getCompiledLoops() {
+        return this.loops.values().stream().filter(p -> p.continuation != null).count();
+    }
+
+    /**
+     * The counters and the compiled continuation of a loop.
+     */
+    private static final class LoopProfile {
+        private final @Nullable JavaProgram statements;
+        private final @NotNull AtomicLong backEdges;
+        private final @NotNull AtomicBoolean compiling;
+        private volatile @Nullable Continuation continuation;
+
+        private LoopProfile(final @NotNull Statement @NotNull ... statements) {
+            this.statements = statements.length == 0 ? null : new JavaProgram(new LinkedList<>(Arrays.asList(statements)));
+            this.backEdges = new AtomicLong();
+            this.compiling = new AtomicBoolean();
+        }
+
+    }
+
+}
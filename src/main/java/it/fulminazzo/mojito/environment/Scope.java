@@ -62,7 +62,9 @@ class Scope<T> implements Scoped<T> {
      * @return an optional containing the data (if found)
      */
     public @NotNull Optional<ObjectData> getKey(@NotNull NamedEntity name) {
-        return this.internalMap.keySet().stream().filter(d -> d.getName().equals(name.getName())).findFirst();
+        for (ObjectData data : this.internalMap.keySet())
+            if (data.getName().equals(name.getName())) return Optional.of(data);
+        return Optional.empty();
     }
 
     /**
@@ -5,6 +5,6 @@ import it.fulminazzo.mojito.parser.node.Node;
 /**
  * Represents the exception thrown by {@link Executor#visitBreak(Node)}.
  */
-final class BreakException extends RuntimeException {
+public final class BreakException extends RuntimeException {
 
 }
@@ -0,0 +1,79 @@
+package it.fulminazzo.mojito.executor;
+
+import it.fulminazzo.mojito.exceptions.FormatRuntimeException;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An exception thrown by an {@link ExecutionMeter} when the {@link ExecutionBudget} of a program is exceeded.
+ * Differently from the exceptions thrown by the program, it cannot be caught by the program itself.
+ */
+@Getter
+public final class BudgetExceededException extends FormatRuntimeException {
+    private final @NotNull Reason reason;
+
+    /**
+     * Instantiates a new Budget exceeded exception.
+     *
+     * @param reason  the reason
+     * @param message the message
+     * @param args    the arguments to add in the message format
+     */
+    private BudgetExceededException(final @NotNull Reason reason, final @NotNull String message,
+                                    final Object @NotNull ... args) {
+        super(message, args);
+        this.reason = reason;
+    }
+
+    /**
+     * Generates a {@link BudgetExceededException} with message:
+     * <i>Execution exceeded the budget of %maxSteps% steps</i>
+     *
+     * @param maxSteps the maximum number of steps
+     * @return the budget exceeded exception
+     */
+    public static @NotNull BudgetExceededException steps(final long maxSteps) {
+        return new BudgetExceededException(Reason.STEPS, "Execution exceeded the budget of %s steps", maxSteps);
+    }
+
+    /**
+     * Generates a {@link BudgetExceededException} with message:
+     * <i>Execution exceeded the timeout of %timeout%ms</i>
+     *
+     * @param timeout the timeout in milliseconds
+     * @return the budget exceeded exception
+     */
+    public static @NotNull BudgetExceededException timeout(final long timeout) {
+        return new BudgetExceededException(Reason.TIMEOUT, "Execution exceeded the timeout of %sms", timeout);
+    }
+
+    /**
+     * Generates a {@link BudgetExceededException} with message:
+     * <i>Execution was interrupted</i>
+     *
+     * @return the budget exceeded exception
+     */
+    public static @NotNull BudgetExceededException interrupted() {
+        return new BudgetExceededException(Reason.INTERRUPTED, "Execution was interrupted");
+    }
+
+    /**
+     * The limit of the budget that was exceeded.
+     */
+    public enum Reason {
+        /**
+         * The maximum number of steps was reached.
+         */
+        STEPS,
+        /**
+         * The timeout expired.
+         */
+        TIMEOUT,
+        /**
+         * The thread running the program was interrupted.
+         */
+        INTERRUPTED
+
+    }
+
+}
@@ -5,6 +5,6 @@ import it.fulminazzo.mojito.parser.node.Node;
 /**
  * Represents the exception thrown by {@link Executor#visitContinue(Node)}.
  */
-final class ContinueException extends RuntimeException {
+public final class ContinueException extends RuntimeException {
 
 }
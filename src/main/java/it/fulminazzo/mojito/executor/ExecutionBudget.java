@@ -0,0 +1,79 @@
+package it.fulminazzo.mojito.executor;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The limits of a single execution of a program.
+ * <br>
+ * A budget limits the number of steps executed by the program, where a step is an iteration of a loop
+ * or the invocation of a method, and the time it is allowed to run for.
+ * Since compiled programs count their steps at different points,
+ * the number of steps of the same program may slightly differ between execution modes.
+ * A program run with a budget also stops when its thread is interrupted.
+ * <br>
+ * Instances are immutable: every <code>with</code> method returns a copy,
+ * and every execution counts its steps with the {@link ExecutionMeter} returned by {@link #start()}.
+ */
+@Getter
+public final class ExecutionBudget {
+    private static final ExecutionBudget UNLIMITED = new ExecutionBudget(Long.MAX_VALUE, 0);
+
+    private final long maxSteps;
+    private final long timeout;
+
+    private ExecutionBudget(final long maxSteps, final long timeout) {
+        this.maxSteps = maxSteps;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets the maximum number of steps the program is allowed to execute.
+     *
+     * @param maxSteps the maximum number of steps
+     * @return a copy of this budget
+     */
+    public @NotNull ExecutionBudget withMaxSteps(final long maxSteps) {
+        if (maxSteps < 0) throw new IllegalArgumentException("Steps cannot be negative: " + maxSteps);
+        return new ExecutionBudget(maxSteps, this.timeout);
+    }
+
+    /**
+     * Sets the maximum time the program is allowed to run for.
+     *
+     * @param timeout the timeout (zero or less to run indefinitely)
+     * @param unit    the unit of the timeout
+     * @return a copy of this budget
+     */
+    public @NotNull ExecutionBudget withTimeout(final long timeout, final @NotNull TimeUnit unit) {
+        return new ExecutionBudget(this.maxSteps, unit.toMillis(Math.max(timeout, 0)));
+    }
+
+    /**
+     * Starts a new execution with this budget.
+     * If a timeout is set, it is measured from this moment.
+     *
+     * @return the meter of the execution
+     */
+    public @NotNull ExecutionMeter start() {
+        return new ExecutionMeter(this, System.nanoTime());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(maxSteps: %s, timeout: %sms)", getClass().getSimpleName(),
+                this.maxSteps == Long.MAX_VALUE ? "unlimited" : this.maxSteps, this.timeout);
+    }
+
+    /**
+     * Gets a budget without limits, that only stops the program when its thread is interrupted.
+     *
+     * @return the budget
+     */
+    public static @NotNull ExecutionBudget unlimited() {
+        return UNLIMITED;
+    }
+
+}
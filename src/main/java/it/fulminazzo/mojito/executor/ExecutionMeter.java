@@ -0,0 +1,77 @@
+package it.fulminazzo.mojito.executor;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the steps of a single execution of a program, stopping it when its {@link ExecutionBudget} is exceeded.
+ * <br>
+ * Steps are counted by decrementing a local counter, so that {@link #tick()} is cheap enough
+ * to be called at every back-edge and method invocation.
+ * Only when the counter runs out, every {@link #CHECK_INTERVAL} steps, the clock and
+ * the interrupted flag of the current thread are checked.
+ * <br>
+ * Once exceeded, the budget stays exceeded: every following step throws again,
+ * so the program cannot keep running by catching the exception.
+ * A meter should only be used by the thread running the execution.
+ */
+public final class ExecutionMeter {
+    /**
+     * The number of steps between two checks of the clock and of the interrupted flag.
+     */
+    static final int CHECK_INTERVAL = 1024;
+
+    @Getter
+    private final @NotNull ExecutionBudget budget;
+    private final long start;
+    private final long timeout;
+    private long steps;
+    private int countdown;
+
+    /**
+     * Instantiates a new Execution meter.
+     *
+     * @param budget the budget
+     * @param start  the time the execution started at, as returned by {@link System#nanoTime()}
+     */
+    ExecutionMeter(final @NotNull ExecutionBudget budget, final long start) {
+        this.budget = budget;
+        this.start = start;
+        // Saturated to Long.MAX_VALUE for huge timeouts, which are never reached
+        this.timeout = TimeUnit.MILLISECONDS.toNanos(budget.getTimeout());
+        this.steps = budget.getMaxSteps();
+    }
+
+    /**
+     * Counts a step of the execution.
+     *
+     * @throws BudgetExceededException in case the budget was exceeded
+     */
+    public void tick() {
+        if (--this.countdown < 0) check();
+    }
+
+    /**
+     * Gets the number of steps executed until now.
+     *
+     * @return the steps
+     */
+    public long getExecutedSteps() {
+        return this.budget.getMaxSteps() - this.steps - Math.max(this.countdown, 0);
+    }
+
+    private void check() {
+        if (this.steps <= 0) throw BudgetExceededException.steps(this.budget.getMaxSteps());
+        if (Thread.currentThread().isInterrupted()) throw BudgetExceededException.interrupted();
+        // Comparing the elapsed time, instead of computing a deadline, avoids overflows
+        if (this.budget.getTimeout() > 0 && System.nanoTime() - this.start > this.timeout)
+            throw BudgetExceededException.timeout(this.budget.getTimeout());
+        int window = (int) Math.min(this.steps, CHECK_INTERVAL);
+        this.steps -= window;
+        // The current step is part of the window
+        this.countdown = window - 1;
+    }
+
+}
@@ -1,8 +1,10 @@
 package it.fulminazzo.mojito.executor;
 
+import it.fulminazzo.fulmicollection.objects.Refl;
 import it.fulminazzo.fulmicollection.structures.tuples.Tuple;
 import it.fulminazzo.mojito.environment.Environment;
 import it.fulminazzo.mojito.environment.scopetypes.ScopeType;
+import it.fulminazzo.mojito.executor.specialization.SpecializingNode;
 import it.fulminazzo.mojito.executor.values.ClassValue;
 import it.fulminazzo.mojito.executor.values.*;
 import it.fulminazzo.mojito.executor.values.arrays.ArrayClassValue;
@@ -13,18 +15,32 @@ import it.fulminazzo.mojito.executor.values.primitivevalue.BooleanValue;
 import it.fulminazzo.mojito.executor.values.primitivevalue.PrimitiveValue;
 import it.fulminazzo.mojito.executor.values.variables.ArrayValueVariableContainer;
 import it.fulminazzo.mojito.executor.values.variables.ValueLiteralVariableContainer;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
 import it.fulminazzo.mojito.parser.node.literals.Literal;
 import it.fulminazzo.mojito.parser.node.statements.CaseStatement;
 import it.fulminazzo.mojito.parser.node.statements.CatchStatement;
-import it.fulminazzo.mojito.utils.MapUtils;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import it.fulminazzo.mojito.profiler.InteropProfiler;
+import it.fulminazzo.mojito.profiler.NodeProfiler;
+import it.fulminazzo.mojito.typechecker.CatchTable;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import it.fulminazzo.mojito.typechecker.SwitchTable;
 import it.fulminazzo.mojito.visitors.Visitor;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import it.fulminazzo.mojito.visitors.visitorobjects.variables.LiteralVariableContainer;
 import it.fulminazzo.mojito.visitors.visitorobjects.variables.VariableContainer;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * A {@link Visitor} that executes all the objects of the parsed code.
@@ -34,6 +50,12 @@ import java.util.*;
 public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValues> {
     private final @NotNull Object executingObject;
     private final @NotNull Environment<Value<?>> environment;
+    private final @NotNull ResolutionTable resolutionTable;
+    private @Nullable LoopObserver loopObserver;
+    private @Nullable ExecutionMeter meter;
+    private @Nullable NodeProfiler profiler;
+    private @Nullable InteropProfiler interopProfiler;
+    private @Nullable ExecutionListener listener;
 
     /**
      * Instantiates a new Executor.
@@ -41,13 +63,93 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
      * @param executingObject the executing object
      */
     public Executor(final @NotNull Object executingObject) {
+        this(executingObject, new ResolutionTable());
+    }
+
+    /**
+     * Instantiates a new Executor that reuses the results of a
+     * {@link it.fulminazzo.mojito.typechecker.TypeChecker}.
+     *
+     * @param executingObject the executing object
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    public Executor(final @NotNull Object executingObject, final @NotNull ResolutionTable resolutionTable) {
         this.executingObject = executingObject;
         this.environment = new Environment<>();
+        this.resolutionTable = resolutionTable;
+    }
+
+    /**
+     * Sets the {@link LoopObserver} notified at every back-edge of the loops visited by this executor.
+     *
+     * @param loopObserver the loop observer (null to remove it)
+     */
+    public void setLoopObserver(final @Nullable LoopObserver loopObserver) {
+        this.loopObserver = loopObserver;
+    }
+
+    /**
+     * Sets the {@link ExecutionMeter} that counts the loop iterations and the method invocations
+     * of the program executed by this executor.
+     *
+     * @param meter the meter (null to execute without budget)
+     */
+    public void setMeter(final @Nullable ExecutionMeter meter) {
+        this.meter = meter;
+    }
+
+    /**
+     * Sets the {@link NodeProfiler} that measures the statements executed by this executor.
+     *
+     * @param profiler the profiler (null to execute without profiling)
+     */
+    public void setProfiler(final @Nullable NodeProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the {@link InteropProfiler} that measures the Java methods and fields accessed by this executor.
+     *
+     * @param interopProfiler the profiler (null to execute without profiling)
+     */
+    public void setInteropProfiler(final @Nullable InteropProfiler interopProfiler) {
+        this.interopProfiler = interopProfiler;
+    }
+
+    /**
+     * Sets the {@link ExecutionListener} notified of the statements, the Java methods,
+     * the exceptions and the scopes executed by this executor.
+     *
+     * @param listener the listener (null to execute without listener)
+     */
+    public void setListener(final @Nullable ExecutionListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public @NotNull Value<?> visitUnscopedCodeBlock(final @NotNull LinkedList<Statement> statements) {
+        NodeProfiler profiler = this.profiler;
+        ExecutionListener listener = this.listener;
+        if (profiler == null && listener == null) return Visitor.super.visitUnscopedCodeBlock(statements);
+        for (Statement statement : statements) {
+            if (listener != null) listener.onStatement(statement);
+            if (profiler != null) profiler.enter(statement);
+            final Value<?> value;
+            try {
+                value = statement.accept(this);
+            } finally {
+                if (profiler != null) profiler.exit();
+            }
+            // Something was returned
+            if (!value.is(Values.NO_VALUE)) return value;
+        }
+        return Values.NO_VALUE;
     }
 
     @Override
     public @NotNull Value<?> visitThrow(@NotNull Node expression) {
         Value<? extends Throwable> value = (Value<? extends Throwable>) expression.accept(this);
+        if (this.listener != null) this.listener.onExceptionThrown(value.getValue());
         throw new ExceptionWrapper(value);
     }
 
@@ -67,12 +169,10 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
         return visitScoped(ScopeType.TRY, () -> {
             assignments.accept(this);
 
-            Map<ExceptionTuple, CodeBlock> exceptionsMap = new HashMap<>();
-            for (CatchStatement catchStatement : catchBlocks) {
-                TupleValue<List<ExceptionTuple>, CodeBlock> catchExceptions = (TupleValue<List<ExceptionTuple>, CodeBlock>)
-                        catchStatement.accept(this);
-                for (ExceptionTuple tuple : catchExceptions.getKey())
-                    exceptionsMap.put(tuple, catchExceptions.getValue());
+            CatchTable catchTable = this.resolutionTable.getCatchTable(catchBlocks);
+            if (catchTable == null) {
+                catchTable = createCatchTable(catchBlocks);
+                this.resolutionTable.setCatchTable(catchBlocks, catchTable);
             }
 
             Value<?> returnedValue;
@@ -80,11 +180,14 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
                 returnedValue = block.accept(this);
             } catch (ExceptionWrapper e) {
                 Value<? extends Throwable> exception = e.getActualException();
-                Tuple<ExceptionTuple, CodeBlock> keyAndValue = MapUtils.getKeyAndValue(exceptionsMap, exception.toClass());
+                CatchTable.Handler handler = catchTable.getHandler(exception.getValue().getClass());
+                if (handler == null) throw e;
+                CatchStatement catchStatement = catchBlocks.get(handler.getIndex());
                 returnedValue = visitScoped(ScopeType.CATCH, () -> {
-                    ExceptionTuple key = keyAndValue.getKey();
-                    this.environment.declare(key.getExceptionType(), key.getExceptionName().namedEntity(), exception);
-                    return keyAndValue.getValue().accept(this);
+                    ValueLiteralVariableContainer<?> exceptionName = catchStatement.getExpression().accept(this)
+                            .check(ValueLiteralVariableContainer.class);
+                    this.environment.declare(ClassValue.of(handler.getType()), exceptionName.namedEntity(), exception);
+                    return catchStatement.getBlock().accept(this);
                 });
             } finally {
                 Value<?> finalValue = finallyBlock.accept(this);
@@ -95,32 +198,70 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
     }
 
     /**
-     * Parses all the exceptions in a list of {@link ExceptionTuple}s
-     * with the expression as associated name.
-     * Then, returns a {@link TupleValue} containing the block as value.
+     * Creates the {@link CatchTable} of a try statement that was not type checked,
+     * by resolving the caught exceptions.
+     * The table is then stored in the {@link ResolutionTable}, so this only happens at the first entry.
+     *
+     * @param catchBlocks the catch blocks
+     * @return the table
+     */
+    private @NotNull CatchTable createCatchTable(final @NotNull List<CatchStatement> catchBlocks) {
+        List<List<Class<?>>> catchTypes = new ArrayList<>();
+        for (CatchStatement catchStatement : catchBlocks) {
+            List<Class<?>> types = new ArrayList<>();
+            for (Literal literal : catchStatement.getExceptions())
+                types.add(literal.accept(this).checkClass().getValue());
+            catchTypes.add(types);
+        }
+        return new CatchTable(catchTypes);
+    }
+
+    /**
+     * Catch statements are executed by {@link #visitTryStatement(CodeBlock, List, CodeBlock, Node)},
+     * through the {@link CatchTable} of their try statement, so they are never visited on their own.
      *
      * @param exceptions the exceptions
      * @param block      the block
      * @param expression the expression
-     * @return the catch statement
+     * @return nothing, as an exception is always thrown
      */
     @Override
     public @NotNull Value<?> visitCatchStatement(@NotNull List<Literal> exceptions, @NotNull CodeBlock block,
                                                  @NotNull Node expression) {
-        List<ExceptionTuple> exceptionTuples = new ArrayList<>();
-        for (Literal literal : exceptions)
-            exceptionTuples.add(new ExceptionTuple(
-                    literal.accept(this).checkClass(),
-                    expression.accept(this).check(ValueLiteralVariableContainer.class)
-            ));
-        return new TupleValue<>(exceptionTuples, block);
+        throw new UnsupportedOperationException("Catch statements are executed by their try statement");
     }
 
+    /**
+     * If the type checker created a {@link SwitchTable} for the statement,
+     * the matching case is looked up in it.
+     * Otherwise, the value is compared with the label of every case.
+     *
+     * @param cases        the cases
+     * @param defaultBlock the default block
+     * @param expression   the expression
+     * @return the returned value
+     */
     @Override
     public @NotNull Value<?> visitSwitchStatement(@NotNull List<CaseStatement> cases, @NotNull CodeBlock defaultBlock,
                                                   @NotNull Node expression) {
         return visitScoped(ScopeType.SWITCH, () -> {
             Value<?> compared = expression.accept(this);
+            SwitchTable table = this.resolutionTable.getSwitchTable(getOriginal(expression));
+            int start = table == null ? SwitchTable.NOT_SUPPORTED : table.getCase(compared.getValue());
+            if (start != SwitchTable.NOT_SUPPORTED) {
+                // The matching case is found without comparisons, then the following ones are executed
+                for (ListIterator<CaseStatement> iterator = cases.listIterator(start); iterator.hasNext(); ) {
+                    CodeBlock block = iterator.next().getBlock();
+                    try {
+                        Value<?> returned = visitScoped(ScopeType.CASE, () -> block.accept(this));
+                        if (!returned.is(Values.NO_VALUE)) return returned;
+                    } catch (BreakException ignored) {
+                        return Values.NO_VALUE;
+                    }
+                }
+                return defaultBlock.accept(this);
+            }
+
             boolean switched = false;
             for (CaseStatement caseStatement : cases) {
                 TupleValue<Node, CodeBlock> cs = (TupleValue<Node, CodeBlock>) caseStatement.accept(this);
@@ -171,19 +312,16 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
         return visitScoped(ScopeType.FOR, () -> {
             ClassValue<?> variableType = type.accept(this).check(ClassValue.class);
             ValueLiteralVariableContainer<?> variableName = variable.accept(this).check(ValueLiteralVariableContainer.class);
-            Value<?> iterable = expression.accept(this);
-
-            final Iterator<?> iterator;
-            if (iterable.is(ArrayValue.class))
-                iterator = iterable.check(ArrayValue.class).getValues().stream().map(v -> ((Value<?>) v).getValue()).iterator();
-            else iterator = ((Iterable<?>) iterable.getValue()).iterator();
+            ValueIterator iterator = ValueIterator.of(expression.accept(this));
 
+            // The variable is declared with the first element, then updated with the next ones
+            boolean declared = false;
             while (iterator.hasNext()) {
-                Value<?> next = Value.of(iterator.next());
-                try {
-                    variableName.set(next);
-                } catch (ExecutorException ignored) {
+                Value<?> next = iterator.next();
+                if (declared) variableName.set(next);
+                else {
                     this.environment.declare(variableType, variableName.namedEntity(), next);
+                    declared = true;
                 }
                 Optional<Value<?>> returnedValue = visitLoopCodeBlock(code);
                 if (returnedValue.isPresent()) return returnedValue.get();
@@ -221,6 +359,69 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
         else return elseBranch.accept(this);
     }
 
+    /**
+     * If the {@link ResolutionTable} marked the assignment as exact,
+     * the value is set as is, skipping {@link #convertVariable(ClassValue, Value)}.
+     *
+     * @param variableType the type of the variable
+     * @param variableName the variable
+     * @param value        the value
+     * @return the assigned value
+     */
+    @Override
+    public @NotNull Value<?> assignVariable(@NotNull ClassValue<?> variableType,
+                                           @NotNull VariableContainer<ClassValue<?>, Value<?>, ParameterValues, ?> variableName,
+                                           @NotNull Node value) {
+        if (!this.resolutionTable.isExactAssignment(getOriginal(value)))
+            return Visitor.super.assignVariable(variableType, variableName, value);
+        Value<?> variable = value.accept(this);
+        variableName.set(variable);
+        return variable;
+    }
+
+    /**
+     * If the {@link ResolutionTable} marked the value as an accumulation,
+     * the other operands are appended to the current value of the variable
+     * through {@link StringConcatenation#accumulate(Value[])}.
+     *
+     * @param name  the name
+     * @param value the value
+     * @return the assigned value
+     */
+    @Override
+    public @NotNull Value<?> visitReAssign(@NotNull Node name, @NotNull Node value) {
+        Node original = getOriginal(value);
+        List<Node> operands = this.resolutionTable.isAccumulation(original) ?
+                StringConcatenation.getOperands(original, this.resolutionTable) : null;
+        if (operands == null) return Visitor.super.visitReAssign(name, value);
+        VariableContainer<ClassValue<?>, Value<?>, ParameterValues, ?> variableName =
+                name.accept(this).check(VariableContainer.class);
+        Value<?>[] values = new Value<?>[operands.size()];
+        values[0] = variableName.getVariable();
+        for (int i = 1; i < values.length; i++) values[i] = operands.get(i).accept(this);
+        Value<?> variable = StringConcatenation.accumulate(values);
+        variableName.set(variable);
+        return variable;
+    }
+
+    /**
+     * If the {@link ResolutionTable} marked the addition as a concatenation,
+     * all the operands of the chain are concatenated at once
+     * through {@link StringConcatenation#concatenate(Value[])}.
+     *
+     * @param left  the left
+     * @param right the right
+     * @return the result
+     */
+    @Override
+    public @NotNull Value<?> visitAdd(@NotNull Node left, @NotNull Node right) {
+        List<Node> operands = StringConcatenation.getOperands(left, right, this.resolutionTable);
+        if (operands == null) return Visitor.super.visitAdd(left, right);
+        Value<?>[] values = new Value<?>[operands.size()];
+        for (int i = 0; i < values.length; i++) values[i] = operands.get(i).accept(this);
+        return StringConcatenation.concatenate(values);
+    }
+
     @Override
     public @NotNull Value<?> convertVariable(@NotNull ClassValue<?> variableType, @NotNull Value<?> variable) {
         // Test for uninitialized
@@ -253,7 +454,7 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
         ArrayValue<?> arrayValue = container.getVariable().check(ArrayValue.class);
         ClassValue<?> componentsType = arrayValue.getComponentsType();
         Integer value = (Integer) index.accept(this).getValue();
-        return new ArrayValueVariableContainer<>(container, componentsType, value.toString(), componentsType.cast(arrayValue.get(value)));
+        return new ArrayValueVariableContainer<>(container, componentsType, value, componentsType.cast(arrayValue.get(value)));
     }
 
     @Override
@@ -262,6 +463,155 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
         return ArrayClassValue.of(classValue);
     }
 
+    /**
+     * Uses the constructor resolved by the type checker, if present.
+     *
+     * @param left  the left
+     * @param right the right
+     * @return the new object
+     */
+    @Override
+    public @NotNull Value<?> visitNewObject(@NotNull Node left, @NotNull Node right) {
+        Constructor<?> constructor = this.resolutionTable.getConstructor(right);
+        if (constructor == null) return Visitor.super.visitNewObject(left, right);
+        try {
+            Value<?> type = left.accept(this);
+            ParameterValues parameters = right.accept(this).check(ParameterValues.class);
+            return type.checkClass().newResolvedObject(constructor, parameters);
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Uses the method resolved by the type checker, if present.
+     *
+     * @param executor   the executor
+     * @param methodName the method name
+     * @param invocation the invocation
+     * @return the method call
+     */
+    @Override
+    public @NotNull Value<?> visitMethodCall(@NotNull Node executor, @NotNull String methodName,
+                                             @NotNull MethodInvocation invocation) {
+        if (this.meter != null) this.meter.tick();
+        Method method = this.resolutionTable.getMethod(invocation);
+        if (this.interopProfiler != null) return visitProfiledMethodCall(executor, methodName, invocation, method);
+        ExecutionListener listener = this.listener;
+        if (method == null && listener == null) return Visitor.super.visitMethodCall(executor, methodName, invocation);
+        try {
+            Value<?> actualExecutor = executor.accept(this);
+            if (actualExecutor.equals(visitEmptyLiteral())) actualExecutor = visitThisLiteral();
+            ParameterValues parameters = invocation.accept(this).check(ParameterValues.class);
+            if (listener == null) return actualExecutor.invokeResolvedMethod(method, parameters);
+
+            if (method == null) method = actualExecutor.resolveMethod(methodName, parameters);
+            long start = System.nanoTime();
+            Value<?> value = actualExecutor.invokeResolvedMethod(method, parameters);
+            listener.onJavaMethodInvoked(method, System.nanoTime() - start);
+            return value;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Uses the field resolved by the type checker, if present.
+     *
+     * @param executor  the executor
+     * @param fieldName the field name
+     * @return the field
+     */
+    @Override
+    public @NotNull Value<?> visitField(@NotNull Node executor, @NotNull Node fieldName) {
+        Field field = this.resolutionTable.getField(fieldName);
+        if (this.interopProfiler != null) return visitProfiledField(executor, fieldName, field);
+        if (field == null) return Visitor.super.visitField(executor, fieldName);
+        try {
+            Value<?> actualExecutor = executor.accept(this);
+            fieldName.accept(this).check(LiteralVariableContainer.class);
+            if (actualExecutor.isPrimitive()) actualExecutor = actualExecutor.toWrapper();
+            return (Value<?>) actualExecutor.getField(field);
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Invokes the given method, measuring every phase of the invocation with the {@link InteropProfiler}.
+     *
+     * @param executor   the executor
+     * @param methodName the method name
+     * @param invocation the invocation
+     * @param method     the method resolved by the type checker (null if it should be resolved now)
+     * @return the returned value
+     */
+    private @NotNull Value<?> visitProfiledMethodCall(final @NotNull Node executor, final @NotNull String methodName,
+                                                      final @NotNull MethodInvocation invocation,
+                                                      @Nullable Method method) {
+        try {
+            Value<?> actualExecutor = executor.accept(this);
+            if (actualExecutor.equals(visitEmptyLiteral())) actualExecutor = visitThisLiteral();
+            if (actualExecutor.isPrimitive()) actualExecutor = actualExecutor.toWrapper();
+            ParameterValues parameters = invocation.accept(this).check(ParameterValues.class);
+
+            long start = System.nanoTime();
+            if (method == null) method = actualExecutor.resolveMethod(methodName, parameters);
+            long resolved = System.nanoTime();
+            Object[] arguments = Value.toJavaArguments(method, parameters);
+            long marshalled = System.nanoTime();
+            final Object returned;
+            try {
+                returned = new Refl<>(actualExecutor.getValue())
+                        .invokeMethod(method.getReturnType(), method.getName(), arguments);
+            } catch (IllegalArgumentException e) {
+                throw actualExecutor.methodNotFound(getLookupClass(actualExecutor), methodName, parameters);
+            }
+            long invoked = System.nanoTime();
+            Value<?> value = Value.ofReturned(method, returned);
+            long wrapped = System.nanoTime();
+
+            this.interopProfiler.record(invocation, methodName, true, getReceiverClass(actualExecutor), method,
+                    resolved - start, marshalled - resolved, invoked - marshalled, wrapped - invoked);
+            return value;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Reads the given field, measuring every phase of the access with the {@link InteropProfiler}.
+     *
+     * @param executor  the executor
+     * @param fieldName the field name
+     * @param field     the field resolved by the type checker (null if it should be resolved now)
+     * @return the field
+     */
+    private @NotNull Value<?> visitProfiledField(final @NotNull Node executor, final @NotNull Node fieldName,
+                                                 @Nullable Field field) {
+        try {
+            Value<?> actualExecutor = executor.accept(this);
+            String name = fieldName.accept(this).check(LiteralVariableContainer.class).getName();
+            if (actualExecutor.isPrimitive()) actualExecutor = actualExecutor.toWrapper();
+            // Fields of arrays are not Java fields
+            if (actualExecutor.is(ArrayValue.class)) return (Value<?>) actualExecutor.getField(name);
+
+            long start = System.nanoTime();
+            if (field == null) field = actualExecutor.resolveField(name);
+            long resolved = System.nanoTime();
+            Object read = new Refl<>(actualExecutor.getValue()).getFieldObject(field);
+            long invoked = System.nanoTime();
+            Value<?> value = Value.ofField(actualExecutor, field, read);
+            long wrapped = System.nanoTime();
+
+            this.interopProfiler.record(fieldName, name, false, getReceiverClass(actualExecutor), field,
+                    resolved - start, 0, invoked - resolved, wrapped - invoked);
+            return value;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
     @Override
     public @NotNull ParameterValues visitMethodInvocation(@NotNull List<Node> parameters) {
         List<Value<?>> parameterValues = new LinkedList<>();
@@ -317,6 +667,15 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
 
     @Override
     public @NotNull Tuple<ClassValue<?>, Value<?>> getObjectFromLiteral(@NotNull String literal) {
+        if (this.resolutionTable.isLiteralResolved(literal)) {
+            Class<?> literalClass = this.resolutionTable.getLiteralClass(literal);
+            if (literalClass == null) return Visitor.super.getObjectFromLiteral(literal);
+            Tuple<ClassValue<?>, Value<?>> tuple = new Tuple<>();
+            ClassValue<?> type = ClassValue.of(literalClass);
+            if (literal.endsWith(".class")) tuple.set(type.toClass(), type.toClass());
+            else tuple.set(type, type);
+            return tuple;
+        }
         try {
             Tuple<ClassValue<?>, Value<?>> tuple = new Tuple<>();
             if (literal.endsWith(".class")) {
@@ -344,11 +703,14 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
 
     /**
      * Support method for many break and continue supported statements.
+     * If a {@link LoopObserver} is set, it is notified when the code completes.
+     * If an {@link ExecutionMeter} is set, every iteration is counted as a step.
      *
      * @param code the code
      * @return null in case nothing was returned, {@link Values#NO_VALUE} in case a {@link #visitBreak(Node)} occurred, otherwise the actual returned type of the codeblock
      */
     @NotNull Optional<Value<?>> visitLoopCodeBlock(final @NotNull CodeBlock code) {
+        if (this.meter != null) this.meter.tick();
         try {
             Value<?> returnedValue = code.accept(this);
             // Return occurred
@@ -357,11 +719,63 @@ public class Executor implements Visitor<ClassValue<?>, Value<?>, ParameterValue
             return Optional.of(Values.NO_VALUE);
         } catch (ContinueException ignored) {
         }
+        if (this.loopObserver != null) {
+            LoopObserver.Continuation continuation = this.loopObserver.backEdge(this, code);
+            // The rest of the loop was executed by the continuation
+            if (continuation != null) return Optional.of(continuation.resume(this).orElse(Values.NO_VALUE));
+        }
         return Optional.empty();
     }
 
+    /**
+     * Gets the class the members are looked up in for the given value.
+     *
+     * @param value the value
+     * @return the class
+     */
+    private static @NotNull ClassValue<?> getLookupClass(final @NotNull Value<?> value) {
+        return value.is(ClassValue.class) ? (ClassValue<?>) value : value.toClass();
+    }
+
+    /**
+     * Gets the class of the object the members of the given value are accessed on.
+     * For classes, it is the class itself, since only static members can be accessed.
+     *
+     * @param value the value
+     * @return the class (null if the value is null)
+     */
+    private static @Nullable Class<?> getReceiverClass(final @NotNull Value<?> value) {
+        Object object = value.getValue();
+        if (object == null) return null;
+        else if (value.is(ClassValue.class)) return (Class<?>) object;
+        else return object.getClass();
+    }
+
+    /**
+     * Gets the node that was type checked, in case the given one was replaced by a {@link SpecializingNode}.
+     *
+     * @param node the node
+     * @return the original node
+     */
+    private static @NotNull Node getOriginal(final @NotNull Node node) {
+        return node instanceof SpecializingNode ? ((SpecializingNode) node).getGeneric() : node;
+    }
+
+    @Override
+    public @NotNull Value<?> visitScoped(final @NotNull ScopeType scope, final @NotNull Callable<Value<?>> function) {
+        ExecutionListener listener = this.listener;
+        if (listener == null) return Visitor.super.visitScoped(scope, function);
+        listener.onScopeEnter(scope);
+        try {
+            return Visitor.super.visitScoped(scope, function);
+        } finally {
+            listener.onScopeExit(scope);
+        }
+    }
+
     @Override
     public @NotNull RuntimeException exceptionWrapper(@NotNull Exception exception) {
+        if (this.listener != null) this.listener.onExceptionThrown(exception);
         return ExecutorException.of(exception);
     }
 
@@ -0,0 +1,44 @@
+package it.fulminazzo.mojito.executor;
+
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Receives the back-edges of the loops visited by an {@link Executor},
+ * that is every time the code of a loop completes without breaking or returning.
+ * <br>
+ * At each back-edge, the observer can replace the remaining iterations of the loop with a {@link Continuation}.
+ */
+@FunctionalInterface
+public interface LoopObserver {
+
+    /**
+     * Called at every back-edge of a loop.
+     *
+     * @param executor the executor visiting the loop
+     * @param loop     the code of the loop, that identifies it
+     * @return the continuation that will execute the rest of the loop (null to keep visiting it)
+     */
+    @Nullable Continuation backEdge(final @NotNull Executor executor, final @NotNull CodeBlock loop);
+
+    /**
+     * Executes the remaining iterations of a loop, starting from its back-edge.
+     */
+    @FunctionalInterface
+    interface Continuation {
+
+        /**
+         * Resumes the execution of the loop.
+         *
+         * @param executor the executor that was visiting the loop
+         * @return an {@link Optional} containing the value returned from inside the loop
+         */
+        @NotNull Optional<Value<?>> resume(final @NotNull Executor executor);
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package it.fulminazzo.mojito.executor;
+
+import it.fulminazzo.mojito.executor.specialization.SpecializingNode;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.objects.ObjectValue;
+import it.fulminazzo.mojito.executor.values.objects.StringBuilderValue;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.operators.binary.Add;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formattable;
+import java.util.List;
+
+/**
+ * A collection of utilities to execute chains of {@link String} concatenations.
+ * <br>
+ * A chain like <i>a + b + c + d</i> is parsed as nested {@link Add} operations,
+ * which would create a new intermediate {@link String} for every operation.
+ * Instead, the operands of the chain are evaluated first and then appended to a single {@link StringBuilder},
+ * sized to fit all of them.
+ * <br>
+ * Only the operations recorded as concatenations in the {@link ResolutionTable} are considered,
+ * so that the static types guarantee the same result of the nested operations.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StringConcatenation {
+
+    /**
+     * Gets the operands of the concatenation chain ending with the given operation.
+     *
+     * @param operation the last {@link Add} operation of the chain
+     * @param table     the resolution table filled by the type checker
+     * @return the operands, in the order of evaluation (null if the operation is not a concatenation)
+     */
+    public static @Nullable List<Node> getOperands(final @NotNull Node operation,
+                                                   final @NotNull ResolutionTable table) {
+        Node original = getOriginal(operation);
+        if (!(original instanceof Add)) return null;
+        Add add = (Add) original;
+        return getOperands(add.getLeft(), add.getRight(), table);
+    }
+
+    /**
+     * Gets the operands of the concatenation chain ending with the operation between the given nodes.
+     * Operations on the left are part of the chain as long as they are concatenations too.
+     *
+     * @param left  the left operand of the last operation
+     * @param right the right operand of the last operation
+     * @param table the resolution table filled by the type checker
+     * @return the operands, in the order of evaluation (null if the operation is not a concatenation)
+     */
+    public static @Nullable List<Node> getOperands(final @NotNull Node left, final @NotNull Node right,
+                                                   final @NotNull ResolutionTable table) {
+        if (!table.isConcatenation(getOriginal(left))) return null;
+        List<Node> operands = new ArrayList<>();
+        operands.add(right);
+        Node node = left;
+        Node original = getOriginal(node);
+        while (original instanceof Add && table.isConcatenation(getOriginal(((Add) original).getLeft()))) {
+            operands.add(((Add) original).getRight());
+            node = ((Add) original).getLeft();
+            original = getOriginal(node);
+        }
+        operands.add(node);
+        Collections.reverse(operands);
+        return operands;
+    }
+
+    /**
+     * Concatenates the given values.
+     *
+     * @param values the values
+     * @return the concatenated {@link String}
+     */
+    public static @NotNull Value<?> concatenate(final @NotNull Value<?> @NotNull ... values) {
+        String[] strings = toStrings(values, 0);
+        int capacity = 0;
+        for (String string : strings) capacity += string.length();
+        StringBuilder builder = new StringBuilder(capacity);
+        for (String string : strings) builder.append(string);
+        return ObjectValue.of(builder.toString());
+    }
+
+    /**
+     * Appends the given values to the first one, as done by a variable that accumulates a {@link String}.
+     * The result keeps the builder, so that the next appends do not copy the previous content.
+     *
+     * @param values the values, where the first one is the current value of the variable
+     * @return the new value of the variable
+     */
+    public static @NotNull StringBuilderValue accumulate(final @NotNull Value<?> @NotNull ... values) {
+        Value<?> current = values[0];
+        StringBuilderValue builder = current instanceof StringBuilderValue ?
+                (StringBuilderValue) current : StringBuilderValue.of(valueOf(current.getValue()));
+        return builder.append(toStrings(values, 1));
+    }
+
+    /**
+     * Converts the given object to the {@link String} used in concatenations.
+     * {@link Formattable} objects are converted like {@link String#format(String, Object...)} would.
+     *
+     * @param object the object
+     * @return the string
+     */
+    public static @NotNull String valueOf(final @Nullable Object object) {
+        if (object instanceof Formattable) return String.format("%s", object);
+        else return String.valueOf(object);
+    }
+
+    private static @NotNull String @NotNull [] toStrings(final @NotNull Value<?> @NotNull [] values, final int start) {
+        String[] strings = new String[values.length - start];
+        for (int i = start; i < values.length; i++) strings[i - start] = valueOf(values[i].getValue());
+        return strings;
+    }
+
+    private static @NotNull Node getOriginal(final @NotNull Node node) {
+        return node instanceof SpecializingNode ? ((SpecializingNode) node).getGeneric() : node;
+    }
+
+}
@@ -0,0 +1,236 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.objects.ObjectValue;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Formattable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+/**
+ * The specializations of arithmetic and comparison operations.
+ * <ul>
+ *     <li>between two <code>int</code>s, they are computed directly, without going through {@link java.math.BigDecimal};</li>
+ *     <li>between a {@link String} and any object, they are concatenated without {@link String#format(String, Object...)}.</li>
+ * </ul>
+ */
+abstract class BinaryOperationSpecialization extends Specialization {
+    private static final Map<Class<? extends Node>, BinaryOperator<Value<?>>> OPERATIONS = new HashMap<>();
+    private static final Map<Class<? extends Node>, IntKernel> INT_KERNELS = new HashMap<>();
+
+    static {
+        OPERATIONS.put(Add.class, Value::add);
+        OPERATIONS.put(Subtract.class, Value::subtract);
+        OPERATIONS.put(Multiply.class, Value::multiply);
+        OPERATIONS.put(Equal.class, Value::equal);
+        OPERATIONS.put(NotEqual.class, Value::notEqual);
+        OPERATIONS.put(LessThan.class, Value::lessThan);
+        OPERATIONS.put(LessThanEqual.class, Value::lessThanEqual);
+        OPERATIONS.put(GreaterThan.class, Value::greaterThan);
+        OPERATIONS.put(GreaterThanEqual.class, Value::greaterThanEqual);
+
+        INT_KERNELS.put(Add.class, (a, b) -> Value.of(a + b));
+        INT_KERNELS.put(Subtract.class, (a, b) -> Value.of(a - b));
+        INT_KERNELS.put(Multiply.class, (a, b) -> Value.of(a * b));
+        INT_KERNELS.put(Equal.class, (a, b) -> Value.of(a == b));
+        INT_KERNELS.put(NotEqual.class, (a, b) -> Value.of(a != b));
+        INT_KERNELS.put(LessThan.class, (a, b) -> Value.of(a < b));
+        INT_KERNELS.put(LessThanEqual.class, (a, b) -> Value.of(a <= b));
+        INT_KERNELS.put(GreaterThan.class, (a, b) -> Value.of(a > b));
+        INT_KERNELS.put(GreaterThanEqual.class, (a, b) -> Value.of(a >= b));
+    }
+
+    final @NotNull Node left;
+    final @NotNull Node right;
+    final @NotNull BinaryOperator<Value<?>> operation;
+
+    private BinaryOperationSpecialization(final @NotNull BinaryOperationSpecialization other) {
+        this(other.left, other.right, other.operation);
+    }
+
+    private BinaryOperationSpecialization(final @NotNull Node left, final @NotNull Node right,
+                                          final @NotNull BinaryOperator<Value<?>> operation) {
+        this.left = left;
+        this.right = right;
+        this.operation = operation;
+    }
+
+    /**
+     * Creates the uninitialized specialization of the given operation.
+     *
+     * @param operation the operation
+     * @return the specialization (null if the operation is not supported)
+     */
+    static @Nullable Specialization of(final @NotNull BinaryOperation operation) {
+        BinaryOperator<Value<?>> function = OPERATIONS.get(operation.getClass());
+        if (function == null) return null;
+        return new Uninitialized(operation.getLeft(), operation.getRight(), function,
+                INT_KERNELS.get(operation.getClass()), operation.getClass().equals(Add.class));
+    }
+
+    @Override
+    @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+        Value<?> left = this.left.accept(executor);
+        Value<?> right = this.right.accept(executor);
+        return execute(node, left, right);
+    }
+
+    /**
+     * Computes the operation on the given operands.
+     *
+     * @param node  the node
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the result
+     */
+    abstract @NotNull Value<?> execute(final @NotNull SpecializingNode node,
+                                       final @NotNull Value<?> left, final @NotNull Value<?> right);
+
+    /**
+     * Deoptimizes the node, then computes the operation on the given operands.
+     *
+     * @param node  the node
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the result
+     */
+    @NotNull Value<?> deoptimize(final @NotNull SpecializingNode node,
+                                 final @NotNull Value<?> left, final @NotNull Value<?> right) {
+        node.deoptimize(new Generic(this));
+        return this.operation.apply(left, right);
+    }
+
+    private static boolean isInt(final @NotNull Value<?> value) {
+        return value.isPrimitive() && value.getValue() instanceof Integer;
+    }
+
+    private static boolean isConcatenation(final @Nullable Object first, final @Nullable Object second) {
+        // Formattable objects may be printed differently by String.format
+        return (first instanceof String || second instanceof String) &&
+                !(first instanceof Formattable) && !(second instanceof Formattable);
+    }
+
+    /**
+     * Computes the result of an operation between two <code>int</code>s.
+     */
+    @FunctionalInterface
+    private interface IntKernel {
+
+        @NotNull Value<?> apply(final int a, final int b);
+
+    }
+
+    /**
+     * Chooses the specialization at the first execution.
+     */
+    private static final class Uninitialized extends BinaryOperationSpecialization {
+        private final @Nullable IntKernel intKernel;
+        private final boolean add;
+
+        private Uninitialized(final @NotNull Node left, final @NotNull Node right,
+                              final @NotNull BinaryOperator<Value<?>> operation,
+                              final @Nullable IntKernel intKernel, final boolean add) {
+            super(left, right, operation);
+            this.intKernel = intKernel;
+            this.add = add;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node,
+                                  final @NotNull Value<?> left, final @NotNull Value<?> right) {
+            if (this.intKernel != null && isInt(left) && isInt(right))
+                node.replace(new IntOperation(this, this.intKernel));
+            else if (this.add && isConcatenation(left.getValue(), right.getValue()))
+                node.replace(new Concatenation(this));
+            else node.replace(new Generic(this));
+            return this.operation.apply(left, right);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "uninitialized";
+        }
+
+    }
+
+    /**
+     * Computes the operation with the methods of {@link Value}.
+     * Still, it is faster than visiting the original node, since no reflection is involved.
+     */
+    private static final class Generic extends BinaryOperationSpecialization {
+
+        private Generic(final @NotNull BinaryOperationSpecialization other) {
+            super(other);
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node,
+                                  final @NotNull Value<?> left, final @NotNull Value<?> right) {
+            return this.operation.apply(left, right);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "generic";
+        }
+
+    }
+
+    /**
+     * Operation between two <code>int</code>s.
+     */
+    private static final class IntOperation extends BinaryOperationSpecialization {
+        private final @NotNull IntKernel kernel;
+
+        private IntOperation(final @NotNull BinaryOperationSpecialization other, final @NotNull IntKernel kernel) {
+            super(other);
+            this.kernel = kernel;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node,
+                                  final @NotNull Value<?> left, final @NotNull Value<?> right) {
+            if (isInt(left) && isInt(right))
+                return this.kernel.apply((Integer) left.getValue(), (Integer) right.getValue());
+            else return deoptimize(node, left, right);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "int";
+        }
+
+    }
+
+    /**
+     * Concatenation of a {@link String} with any other object.
+     */
+    private static final class Concatenation extends BinaryOperationSpecialization {
+
+        private Concatenation(final @NotNull BinaryOperationSpecialization other) {
+            super(other);
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node,
+                                  final @NotNull Value<?> left, final @NotNull Value<?> right) {
+            Object first = left.getValue();
+            Object second = right.getValue();
+            if (isConcatenation(first, second)) return ObjectValue.of(String.valueOf(first) + second);
+            else return deoptimize(node, left, right);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "string";
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.StringConcatenation;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The specialization of a chain of {@link String} concatenations with more than two operands.
+ * Since the type checker already proved that the chain results in a {@link String},
+ * all the operands are concatenated at once, without any guard.
+ */
+final class ConcatenationSpecialization extends Specialization {
+    private final @NotNull Node @NotNull [] operands;
+
+    /**
+     * Instantiates a new Concatenation specialization.
+     *
+     * @param operands the operands of the chain
+     */
+    ConcatenationSpecialization(final @NotNull List<Node> operands) {
+        this.operands = operands.toArray(new Node[0]);
+    }
+
+    @Override
+    @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+        Value<?>[] values = new Value<?>[this.operands.length];
+        for (int i = 0; i < values.length; i++) values[i] = this.operands[i].accept(executor);
+        return StringConcatenation.concatenate(values);
+    }
+
+    @Override
+    @NotNull String getName() {
+        return "concatenation";
+    }
+
+}
@@ -0,0 +1,195 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.ExecutionMeter;
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.ParameterValues;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import it.fulminazzo.mojito.parser.node.MethodCall;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * The specializations of method calls that were not resolved by the type checker.
+ * At the first execution, the method is resolved and cached together with the classes of the executor and the parameters:
+ * as long as they do not change, the method is invoked directly.
+ */
+abstract class MethodCallSpecialization extends Specialization {
+    final @NotNull MethodCall call;
+
+    private MethodCallSpecialization(final @NotNull MethodCall call) {
+        this.call = call;
+    }
+
+    /**
+     * Creates the uninitialized specialization of the given method call.
+     *
+     * @param call the method call
+     * @return the specialization
+     */
+    static @NotNull Specialization of(final @NotNull MethodCall call) {
+        return new Uninitialized(call);
+    }
+
+    @Override
+    @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+        // The executor notifies its listener of the invoked method
+        if (executor.getListener() != null)
+            return executor.visitMethodCall(this.call.getExecutor(), this.call.getMethodName(),
+                    this.call.getInvocation());
+        ExecutionMeter meter = executor.getMeter();
+        if (meter != null) meter.tick();
+        try {
+            Value<?> actualExecutor = this.call.getExecutor().accept(executor);
+            if (actualExecutor.equals(executor.visitEmptyLiteral())) actualExecutor = executor.visitThisLiteral();
+            ParameterValues parameters = this.call.getInvocation().accept(executor).check(ParameterValues.class);
+            return execute(node, actualExecutor, parameters);
+        } catch (VisitorObjectException e) {
+            throw executor.exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Invokes the method.
+     *
+     * @param node       the node
+     * @param executor   the value the method is invoked on
+     * @param parameters the parameters
+     * @return the returned value
+     * @throws VisitorObjectException the exception thrown in case of errors
+     */
+    abstract @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Value<?> executor,
+                                       final @NotNull ParameterValues parameters) throws VisitorObjectException;
+
+    /**
+     * Gets the object that identifies the method resolution for the given value.
+     * For classes, it is the class itself, since only static methods can be invoked;
+     * otherwise, it is the class of the value.
+     *
+     * @param value the value
+     * @return the object (null if the value is null)
+     */
+    static @Nullable Object getReceiverType(final @NotNull Value<?> value) {
+        Object object = value.getValue();
+        if (object == null) return null;
+        else if (value.is(ClassValue.class)) return object;
+        else return object.getClass();
+    }
+
+    /**
+     * Gets the classes of the given parameters.
+     *
+     * @param parameters the parameters
+     * @return the classes (null for null values)
+     */
+    static @Nullable Class<?> @NotNull [] getParameterTypes(final @NotNull ParameterValues parameters) {
+        List<Value<?>> values = parameters.getValue();
+        Class<?>[] types = new Class<?>[values.size()];
+        for (int i = 0; i < types.length; i++) {
+            Object object = values.get(i).getValue();
+            if (object != null) types[i] = object.getClass();
+        }
+        return types;
+    }
+
+    /**
+     * Checks which of the given parameters are primitive values.
+     * Together with {@link #getParameterTypes(ParameterValues)}, they identify the method resolution.
+     *
+     * @param parameters the parameters
+     * @return an array with true for every primitive parameter
+     */
+    static boolean @NotNull [] getPrimitiveParameters(final @NotNull ParameterValues parameters) {
+        List<Value<?>> values = parameters.getValue();
+        boolean[] primitives = new boolean[values.size()];
+        for (int i = 0; i < primitives.length; i++) primitives[i] = values.get(i).isPrimitive();
+        return primitives;
+    }
+
+    /**
+     * Resolves the method at the first execution.
+     */
+    private static final class Uninitialized extends MethodCallSpecialization {
+
+        private Uninitialized(final @NotNull MethodCall call) {
+            super(call);
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Value<?> executor,
+                                  final @NotNull ParameterValues parameters) throws VisitorObjectException {
+            Object receiverType = getReceiverType(executor);
+            if (receiverType == null) {
+                node.replace(Specialization.GENERIC);
+                return executor.invokeMethod(this.call.getMethodName(), parameters);
+            }
+            Method method = executor.resolveMethod(this.call.getMethodName(), parameters);
+            node.replace(new Monomorphic(this.call, receiverType, executor.is(ClassValue.class),
+                    getParameterTypes(parameters), getPrimitiveParameters(parameters), method));
+            return executor.invokeResolvedMethod(method, parameters);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "uninitialized";
+        }
+
+    }
+
+    /**
+     * Invokes the cached method, as long as the types of the executor and of the parameters do not change.
+     */
+    private static final class Monomorphic extends MethodCallSpecialization {
+        private final @NotNull Object receiverType;
+        private final boolean staticCall;
+        private final @Nullable Class<?> @NotNull [] parameterTypes;
+        private final boolean @NotNull [] primitiveParameters;
+        private final @NotNull Method method;
+
+        private Monomorphic(final @NotNull MethodCall call, final @NotNull Object receiverType, final boolean staticCall,
+                            final @Nullable Class<?> @NotNull [] parameterTypes, final boolean @NotNull [] primitiveParameters,
+                            final @NotNull Method method) {
+            super(call);
+            this.receiverType = receiverType;
+            this.staticCall = staticCall;
+            this.parameterTypes = parameterTypes;
+            this.primitiveParameters = primitiveParameters;
+            this.method = method;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Value<?> executor,
+                                  final @NotNull ParameterValues parameters) throws VisitorObjectException {
+            if (matches(executor, parameters)) return executor.invokeResolvedMethod(this.method, parameters);
+            ScriptEvents.cacheMiss("inline-cache", this.call.getMethodName());
+            node.deoptimize(Specialization.GENERIC);
+            return executor.invokeMethod(this.call.getMethodName(), parameters);
+        }
+
+        private boolean matches(final @NotNull Value<?> executor, final @NotNull ParameterValues parameters) {
+            if (this.receiverType != getReceiverType(executor) || this.staticCall != executor.is(ClassValue.class))
+                return false;
+            List<Value<?>> values = parameters.getValue();
+            if (values.size() != this.parameterTypes.length) return false;
+            for (int i = 0; i < this.parameterTypes.length; i++) {
+                Value<?> value = values.get(i);
+                Object object = value.getValue();
+                if ((object == null ? null : object.getClass()) != this.parameterTypes[i] ||
+                        value.isPrimitive() != this.primitiveParameters[i]) return false;
+            }
+            return true;
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "monomorphic " + this.method.getDeclaringClass().getSimpleName() + "." + this.method.getName();
+        }
+
+    }
+
+}
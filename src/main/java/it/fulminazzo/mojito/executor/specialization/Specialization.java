@@ -0,0 +1,51 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The current behaviour of a {@link SpecializingNode}.
+ * Every specialization computes the same result of the original node in the {@link Executor},
+ * as long as its guards hold.
+ */
+abstract class Specialization {
+    /**
+     * Visits the original node with the {@link Executor}.
+     */
+    static final Specialization GENERIC = new Specialization() {
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+            return node.getGeneric().accept(executor);
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "generic";
+        }
+
+    };
+
+    /**
+     * Executes the node.
+     *
+     * @param node     the node
+     * @param executor the executor
+     * @return the computed value
+     */
+    abstract @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor);
+
+    /**
+     * Gets the name of this specialization.
+     *
+     * @return the name
+     */
+    abstract @NotNull String getName();
+
+    @Override
+    public @NotNull String toString() {
+        return getName();
+    }
+
+}
@@ -0,0 +1,136 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.executor.StringConcatenation;
+import it.fulminazzo.mojito.parser.node.MethodCall;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.arrays.DynamicArray;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.parser.node.operators.binary.Add;
+import it.fulminazzo.mojito.parser.node.operators.binary.BinaryOperation;
+import it.fulminazzo.mojito.parser.node.operators.binary.Field;
+import it.fulminazzo.mojito.parser.node.operators.binary.ReAssign;
+import it.fulminazzo.mojito.parser.node.operators.unary.Decrement;
+import it.fulminazzo.mojito.parser.node.operators.unary.Increment;
+import it.fulminazzo.mojito.typechecker.ResolutionTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Prepares a type checked program for the {@link it.fulminazzo.mojito.executor.Executor},
+ * by replacing the nodes that can specialize themselves with {@link SpecializingNode}s:
+ * <ul>
+ *     <li>arithmetic and comparison operations;</li>
+ *     <li>chains of {@link String} concatenations;</li>
+ *     <li>method calls not resolved by the type checker;</li>
+ *     <li>fields read from a class.</li>
+ * </ul>
+ * Since the other execution engines do not recognize {@link SpecializingNode}s,
+ * the program should only be executed by the executor afterwards.
+ */
+@SuppressWarnings("unchecked")
+public final class Specializer {
+    private final @NotNull ResolutionTable resolutionTable;
+
+    /**
+     * Instantiates a new Specializer.
+     *
+     * @param resolutionTable the resolution table filled by the type checker
+     */
+    public Specializer(final @NotNull ResolutionTable resolutionTable) {
+        this.resolutionTable = resolutionTable;
+    }
+
+    /**
+     * Replaces the nodes of the given program in place.
+     *
+     * @param program the program
+     * @return the same program
+     */
+    public @NotNull JavaProgram specialize(final @NotNull JavaProgram program) {
+        rewrite(program);
+        return program;
+    }
+
+    private @NotNull Node rewrite(final @NotNull Node node) {
+        if (node instanceof SpecializingNode) return node;
+        Refl<?> refl = new Refl<>(node);
+        for (java.lang.reflect.Field field : refl.getNonStaticFields()) {
+            if (isAssigned(node, field.getName())) continue;
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) {
+                Node rewritten = rewrite((Node) object);
+                if (rewritten != object && field.getType().isInstance(rewritten))
+                    refl.setFieldObject(field.getName(), rewritten);
+            } else if (object instanceof List) {
+                ListIterator<Object> iterator = ((List<Object>) object).listIterator();
+                while (iterator.hasNext()) {
+                    Object element = iterator.next();
+                    if (!(element instanceof Node)) continue;
+                    Node rewritten = rewrite((Node) element);
+                    // Only lists of parameters accept any node
+                    if (rewritten != element && hasParameters(node)) iterator.set(rewritten);
+                }
+            }
+        }
+        Specialization specialization = getSpecialization(node);
+        return specialization == null ? node : new SpecializingNode(node, specialization);
+    }
+
+    /**
+     * Gets the uninitialized specialization of the given node.
+     *
+     * @param node the node
+     * @return the specialization (null if the node cannot specialize)
+     */
+    private @Nullable Specialization getSpecialization(final @NotNull Node node) {
+        if (node instanceof Field) {
+            Node owner = ((Field) node).getLeft();
+            if (owner instanceof Literal && !(owner instanceof Field) &&
+                    this.resolutionTable.getLiteralClass(((Literal) owner).getLiteral()) != null)
+                return StaticFieldSpecialization.of((Field) node);
+            else return null;
+        } else if (node instanceof Add) {
+            List<Node> operands = StringConcatenation.getOperands(node, this.resolutionTable);
+            // Concatenations of two operands are still specialized, to skip the reflective visit
+            if (operands != null && operands.size() > 2) return new ConcatenationSpecialization(operands);
+            else return BinaryOperationSpecialization.of((BinaryOperation) node);
+        } else if (node instanceof BinaryOperation) return BinaryOperationSpecialization.of((BinaryOperation) node);
+        else if (node instanceof MethodCall) {
+            MethodCall call = (MethodCall) node;
+            // Resolved methods are already invoked directly
+            if (this.resolutionTable.getMethod(call.getInvocation()) != null) return null;
+            return MethodCallSpecialization.of(call);
+        } else return null;
+    }
+
+    /**
+     * Checks whether the lists of the given node are lists of parameters, that can contain any node.
+     *
+     * @param node the node
+     * @return true if they are
+     */
+    private static boolean hasParameters(final @NotNull Node node) {
+        return node instanceof MethodInvocation || node instanceof DynamicArray;
+    }
+
+    /**
+     * Checks whether the given field of the node contains a node that is assigned,
+     * and so must not be replaced.
+     *
+     * @param node  the node
+     * @param field the name of the field
+     * @return true if it is
+     */
+    private static boolean isAssigned(final @NotNull Node node, final @NotNull String field) {
+        if (node instanceof ReAssign || node instanceof Field) return field.equals(node instanceof Field ? "right" : "left");
+        else if (node instanceof Increment || node instanceof Decrement) return field.equals("operand");
+        else return false;
+    }
+
+}
@@ -0,0 +1,100 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.NodeImpl;
+import it.fulminazzo.mojito.visitors.Visitor;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObject;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A node that rewrites itself while it is executed by the {@link Executor}.
+ * <br>
+ * At its first execution, the node observes the types of its operands and replaces its
+ * {@link Specialization} with one optimized for them.
+ * Every specialization guards its assumptions: when one of them fails, the node is deoptimized,
+ * and it specializes again at its next execution.
+ * After {@link #MAX_DEOPTIMIZATIONS} deoptimizations, the generic specialization is kept forever.
+ * <br>
+ * Any other {@link Visitor} only sees the original node.
+ */
+public final class SpecializingNode extends NodeImpl {
+    /**
+     * The maximum number of deoptimizations before the node stops specializing.
+     */
+    public static final int MAX_DEOPTIMIZATIONS = 3;
+
+    @Getter
+    private final @NotNull Node generic;
+    private final transient @NotNull Specialization uninitialized;
+    private transient volatile @NotNull Specialization specialization;
+    @Getter
+    private transient volatile int deoptimizations;
+
+    /**
+     * Instantiates a new Specializing node.
+     *
+     * @param generic       the original node
+     * @param uninitialized the specialization that chooses the first actual specialization
+     */
+    SpecializingNode(final @NotNull Node generic, final @NotNull Specialization uninitialized) {
+        this.generic = generic;
+        this.uninitialized = uninitialized;
+        this.specialization = uninitialized;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends VisitorObject<?, T, ?>> T accept(final @NotNull Visitor<?, T, ?> visitor) {
+        if (visitor instanceof Executor) return (T) this.specialization.execute(this, (Executor) visitor);
+        else return this.generic.accept(visitor);
+    }
+
+    /**
+     * Replaces the current specialization.
+     *
+     * @param specialization the new specialization
+     */
+    void replace(final @NotNull Specialization specialization) {
+        this.specialization = specialization;
+    }
+
+    /**
+     * Called by a specialization when one of its guards fails.
+     * The node goes back to its uninitialized state, or to the generic one
+     * if it was deoptimized too many times.
+     *
+     * @param generic the generic specialization of the node
+     */
+    void deoptimize(final @NotNull Specialization generic) {
+        int deoptimizations = ++this.deoptimizations;
+        replace(deoptimizations >= MAX_DEOPTIMIZATIONS ? generic : this.uninitialized);
+    }
+
+    /**
+     * Gets the name of the current specialization.
+     *
+     * @return the name
+     */
+    public @NotNull String getSpecialization() {
+        return this.specialization.getName();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        return o instanceof SpecializingNode && this.generic.equals(((SpecializingNode) o).generic);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.generic.hashCode();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.generic.toString();
+    }
+
+}
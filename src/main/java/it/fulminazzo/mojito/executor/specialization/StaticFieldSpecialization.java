@@ -0,0 +1,126 @@
+package it.fulminazzo.mojito.executor.specialization;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.parser.node.operators.binary.Field;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import it.fulminazzo.mojito.visitors.visitorobjects.variables.VariableContainer;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * The specializations of fields read from a class.
+ * At the first execution, the field is resolved: if it is a constant, its value is cached,
+ * otherwise the field itself is cached and read directly at every execution.
+ * Since the class is known from its literal, no guard is required.
+ */
+abstract class StaticFieldSpecialization extends Specialization {
+
+    /**
+     * Creates the uninitialized specialization of the given field.
+     * The field should be read from a literal resolved as a class by the type checker.
+     *
+     * @param field the field
+     * @return the specialization
+     */
+    static @NotNull Specialization of(final @NotNull Field field) {
+        return new Uninitialized(field);
+    }
+
+    /**
+     * Resolves the field at the first execution.
+     */
+    private static final class Uninitialized extends StaticFieldSpecialization {
+        private final @NotNull Field field;
+
+        private Uninitialized(final @NotNull Field field) {
+            this.field = field;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+            Value<?> value = node.getGeneric().accept(executor);
+            node.replace(specialize(value, executor));
+            return value;
+        }
+
+        private @NotNull Specialization specialize(final @NotNull Value<?> value, final @NotNull Executor executor) {
+            try {
+                Value<?> owner = this.field.getLeft().accept(executor);
+                if (!owner.is(ClassValue.class)) return Specialization.GENERIC;
+                java.lang.reflect.Field field = owner.resolveField(((Literal) this.field.getRight()).getLiteral());
+                int modifiers = field.getModifiers();
+                Class<?> type = field.getType();
+                if (!Modifier.isStatic(modifiers)) return Specialization.GENERIC;
+                else if (Modifier.isFinal(modifiers) && (type.isPrimitive() || type.equals(String.class)))
+                    return new Constant(value instanceof VariableContainer ?
+                            (Value<?>) ((VariableContainer<?, ?, ?, ?>) value).getVariable() : value);
+                field.setAccessible(true);
+                return new Cached(field);
+            } catch (VisitorObjectException | RuntimeException e) {
+                // Not a field, or not accessible
+                return Specialization.GENERIC;
+            }
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "uninitialized";
+        }
+
+    }
+
+    /**
+     * Returns the value of a constant.
+     */
+    private static final class Constant extends StaticFieldSpecialization {
+        private final @NotNull Value<?> value;
+
+        private Constant(final @NotNull Value<?> value) {
+            this.value = value;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+            return this.value;
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "constant";
+        }
+
+    }
+
+    /**
+     * Reads the value of a static field.
+     */
+    private static final class Cached extends StaticFieldSpecialization {
+        private final java.lang.reflect.@NotNull Field field;
+
+        private Cached(final java.lang.reflect.@NotNull Field field) {
+            this.field = field;
+        }
+
+        @Override
+        @NotNull Value<?> execute(final @NotNull SpecializingNode node, final @NotNull Executor executor) {
+            try {
+                Value<?> value = Value.of(this.field.get(null));
+                if (this.field.getType().isPrimitive()) value = value.toPrimitive();
+                return value;
+            } catch (IllegalAccessException e) {
+                throw executor.exceptionWrapper(e);
+            }
+        }
+
+        @Override
+        @NotNull String getName() {
+            return "static field";
+        }
+
+    }
+
+}
@@ -2,6 +2,7 @@ package it.fulminazzo.mojito.executor.values;
 
 import it.fulminazzo.fulmicollection.objects.Refl;
 import it.fulminazzo.mojito.executor.ExecutorException;
+import it.fulminazzo.mojito.executor.StringConcatenation;
 import it.fulminazzo.mojito.executor.values.arrays.ArrayValue;
 import it.fulminazzo.mojito.executor.values.objects.ObjectValue;
 import it.fulminazzo.mojito.executor.values.primitivevalue.PrimitiveValue;
@@ -115,18 +116,26 @@ public interface Value<V> extends VisitorObject<ClassValue<?>, Value<?>, Paramet
 
     @Override
     default @NotNull ValueFieldContainer<V> getField(final @NotNull Field field) {
-        Refl<?> refl = new Refl<>(getValue());
-        Object object = refl.getFieldObject(field);
-        ClassValue<?> classValue = ClassValue.of(field.getType());
-        Value<?> value = of(object);
-        if (classValue.isPrimitive()) value = value.toPrimitive();
-        return new ValueFieldContainer<>(this, classValue, field.getName(), value);
+        return ofField(this, field, new Refl<>(getValue()).getFieldObject(field));
     }
 
     @Override
     default @NotNull Value<?> invokeMethod(final @NotNull Method method,
                                            final @NotNull ParameterValues parameters) throws ValueException {
-        Refl<V> executor = new Refl<>(getValue());
+        Object[] arguments = toJavaArguments(method, parameters);
+        Object returned = new Refl<>(getValue()).invokeMethod(method.getReturnType(), method.getName(), arguments);
+        return ofReturned(method, returned);
+    }
+
+    /**
+     * Converts the given parameters to the arguments passed to the given Java method.
+     * The parameters in excess are grouped in an array for the last argument.
+     *
+     * @param method     the method
+     * @param parameters the parameters
+     * @return the arguments
+     */
+    static Object @NotNull [] toJavaArguments(final @NotNull Method method, final @NotNull ParameterValues parameters) {
         List<Object> parametersList = new ArrayList<>();
         Class<?>[] parametersTypes = method.getParameterTypes();
         List<Value<?>> parametersValues = parameters.getValue();
@@ -141,13 +150,38 @@ public interface Value<V> extends VisitorObject<ClassValue<?>, Value<?>, Paramet
                         .toArray());
             } else parametersList.add(parametersValues.get(i).getValue());
         }
+        return parametersList.toArray();
+    }
+
+    /**
+     * Converts the object returned by the given Java method to a {@link Value}.
+     *
+     * @param method   the method
+     * @param returned the returned object
+     * @return the value ({@link Values#NO_VALUE} for <code>void</code> methods)
+     */
+    static @NotNull Value<?> ofReturned(final @NotNull Method method, final @Nullable Object returned) {
         Class<?> returnType = method.getReturnType();
-        Object returned = executor.invokeMethod(returnType, method.getName(), parametersList.toArray());
-        final Value<?> returnedValue;
-        if (Void.TYPE.equals(returnType)) returnedValue = Values.NO_VALUE;
-        else if (returnType.isPrimitive()) returnedValue = PrimitiveValue.of(returned);
-        else returnedValue = of(returned);
-        return returnedValue;
+        if (Void.TYPE.equals(returnType)) return Values.NO_VALUE;
+        else if (returnType.isPrimitive()) return PrimitiveValue.of(returned);
+        else return of(returned);
+    }
+
+    /**
+     * Converts the object read from the given Java field to a {@link ValueFieldContainer}.
+     *
+     * @param <V>   the type of the owner
+     * @param owner the value the field was read from
+     * @param field the field
+     * @param read  the object read
+     * @return the field container
+     */
+    static <V> @NotNull ValueFieldContainer<V> ofField(final @NotNull Value<V> owner, final @NotNull Field field,
+                                                       final @Nullable Object read) {
+        ClassValue<?> classValue = ClassValue.of(field.getType());
+        Value<?> value = of(read);
+        if (classValue.isPrimitive()) value = value.toPrimitive();
+        return new ValueFieldContainer<>(owner, classValue, field.getName(), value);
     }
 
     @Override
@@ -257,7 +291,7 @@ public interface Value<V> extends VisitorObject<ClassValue<?>, Value<?>, Paramet
     @SuppressWarnings("unchecked")
     static <T> @NotNull Value<T> of(final @Nullable T value) {
         if (value == null) return (Value<T>) Values.NULL_VALUE;
-        else if (value.getClass().isArray()) return ArrayValue.of(value);
+        else if (value.getClass().isArray()) return ArrayValue.view(value);
         else return ObjectValue.of(value);
     }
 
@@ -399,11 +433,8 @@ public interface Value<V> extends VisitorObject<ClassValue<?>, Value<?>, Paramet
 
     @Override
     default @NotNull Value<?> add(final @NotNull Value<?> other) {
-        if (isString() || other.isString()) {
-            Object first = getValue();
-            Object second = other.getValue();
-            return ObjectValue.of(String.format("%s%s", first, second));
-        } else return OperationUtils.executeBinaryOperationDecimal(this, other,
+        if (isString() || other.isString()) return StringConcatenation.concatenate(this, other);
+        else return OperationUtils.executeBinaryOperationDecimal(this, other,
                 Double::sum, Float::sum,
                 Long::sum, Integer::sum
         );
@@ -0,0 +1,52 @@
+package it.fulminazzo.mojito.executor.values;
+
+import it.fulminazzo.mojito.executor.values.arrays.ArrayValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the elements of an array or an {@link Iterable} {@link Value},
+ * as done by the enhanced for statement.
+ * <br>
+ * Arrays are iterated by index over their storage, so their components are returned as they are stored,
+ * without being converted to Java objects and back.
+ * Elements of iterables are converted to {@link Value}s only once.
+ */
+public final class ValueIterator implements Iterator<Value<?>> {
+    private final @Nullable ArrayValue<?> array;
+    private final @Nullable Iterator<?> iterator;
+    private int index;
+
+    private ValueIterator(final @Nullable ArrayValue<?> array, final @Nullable Iterator<?> iterator) {
+        this.array = array;
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.array != null) return this.index < this.array.size();
+        else return this.iterator.hasNext();
+    }
+
+    @Override
+    public @NotNull Value<?> next() {
+        if (this.array == null) return Value.of(this.iterator.next());
+        else if (this.index >= this.array.size()) throw new NoSuchElementException();
+        else return this.array.get(this.index++);
+    }
+
+    /**
+     * Creates a new iterator over the given value.
+     *
+     * @param iterable the value (should be an array or an {@link Iterable})
+     * @return the iterator
+     */
+    public static @NotNull ValueIterator of(final @NotNull Value<?> iterable) {
+        if (iterable.is(ArrayValue.class)) return new ValueIterator(iterable.check(ArrayValue.class), null);
+        else return new ValueIterator(null, ((Iterable<?>) iterable.getValue()).iterator());
+    }
+
+}
@@ -0,0 +1,477 @@
+package it.fulminazzo.mojito.executor.values.arrays;
+
+import it.fulminazzo.mojito.executor.values.ClassValue;
+import it.fulminazzo.mojito.executor.values.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * The contiguous storage of the components of an {@link ArrayValue}.
+ * <br>
+ * Arrays with primitive components are backed by a Java array of the same primitive type,
+ * so that their components are not kept as {@link Value}s, but created only when read.
+ * Arrays with object components are backed by an array of {@link Value}s.
+ * In both cases, reading and writing a component takes constant time.
+ * <br>
+ * A storage may also be a view of a Java array received from Java code:
+ * in that case, the array is not copied and the changes are visible from both sides.
+ *
+ * @param <A> the type of the components
+ */
+@SuppressWarnings("unchecked")
+abstract class ArrayStorage<A> extends AbstractList<Value<A>> implements RandomAccess {
+
+    /**
+     * Writes the given value at the given index.
+     * Differently from {@link #set(int, Value)}, the previous value is not returned.
+     *
+     * @param index the index
+     * @param value the value
+     */
+    abstract void store(final int index, final @NotNull Value<?> value);
+
+    /**
+     * Gets the backing Java array.
+     *
+     * @return the array
+     */
+    abstract @NotNull Object array();
+
+    /**
+     * Gets a Java array with the components, to be passed to Java code.
+     * If possible, the backing array itself is returned,
+     * so that the changes made by Java code are reflected in the storage.
+     *
+     * @param componentsType the class of the components of the array
+     * @return the array
+     */
+    @NotNull Object export(final @NotNull Class<?> componentsType) {
+        Object array = array();
+        if (array.getClass().getComponentType().equals(componentsType)) return array;
+        Object copy = Array.newInstance(componentsType, size());
+        for (int i = 0; i < size(); i++) Array.set(copy, i, get(i).getValue());
+        return copy;
+    }
+
+    @Override
+    public @NotNull Value<A> set(final int index, final @NotNull Value<A> element) {
+        Value<A> previous = get(index);
+        store(index, element);
+        return previous;
+    }
+
+    /**
+     * Creates a new storage for the given amount of components, initialized with their default value.
+     *
+     * @param <A>            the type of the components
+     * @param componentsType the type of the components
+     * @param size           the size
+     * @return the storage
+     */
+    static <A> @NotNull ArrayStorage<A> of(final @NotNull ClassValue<A> componentsType, final int size) {
+        Class<?> type = componentsType.getValue();
+        if (type.isPrimitive()) return wrap(Array.newInstance(type, size));
+        Value<?>[] values = new Value<?>[size];
+        for (int i = 0; i < size; i++) values[i] = componentsType.toValue();
+        return (ArrayStorage<A>) new ObjectStorage(values);
+    }
+
+    /**
+     * Creates a new storage with the given components.
+     *
+     * @param <A>            the type of the components
+     * @param componentsType the type of the components
+     * @param values         the components
+     * @return the storage
+     */
+    static <A> @NotNull ArrayStorage<A> of(final @NotNull ClassValue<A> componentsType,
+                                           final @NotNull Collection<? extends Value<?>> values) {
+        Class<?> type = componentsType.getValue();
+        if (!type.isPrimitive()) return (ArrayStorage<A>) new ObjectStorage(values.toArray(new Value<?>[0]));
+        ArrayStorage<A> storage = wrap(Array.newInstance(type, values.size()));
+        int i = 0;
+        for (Value<?> value : values) storage.store(i++, value);
+        return storage;
+    }
+
+    /**
+     * Creates a new storage with a copy of the components of the given Java array.
+     *
+     * @param <A>   the type of the components
+     * @param array the array
+     * @return the storage
+     */
+    static <A> @NotNull ArrayStorage<A> copyOf(final @NotNull Object array) {
+        if (array.getClass().getComponentType().isPrimitive()) return wrap(cloneArray(array));
+        Object[] objects = (Object[]) array;
+        Value<?>[] values = new Value<?>[objects.length];
+        for (int i = 0; i < objects.length; i++) values[i] = Value.of(objects[i]);
+        return (ArrayStorage<A>) new ObjectStorage(values);
+    }
+
+    /**
+     * Creates a new storage backed by the given Java array, without copying it.
+     *
+     * @param <A>   the type of the components
+     * @param array the array
+     * @return the storage
+     */
+    static <A> @NotNull ArrayStorage<A> view(final @NotNull Object array) {
+        if (array.getClass().getComponentType().isPrimitive()) return wrap(array);
+        else return (ArrayStorage<A>) new ObjectStorage((Object[]) array);
+    }
+
+    /**
+     * Creates a new storage backed by the given Java array of primitives.
+     *
+     * @param <A>   the type of the components
+     * @param array the array
+     * @return the storage
+     */
+    private static <A> @NotNull ArrayStorage<A> wrap(final @NotNull Object array) {
+        final ArrayStorage<?> storage;
+        if (array instanceof int[]) storage = new IntStorage((int[]) array);
+        else if (array instanceof long[]) storage = new LongStorage((long[]) array);
+        else if (array instanceof double[]) storage = new DoubleStorage((double[]) array);
+        else if (array instanceof boolean[]) storage = new BooleanStorage((boolean[]) array);
+        else if (array instanceof char[]) storage = new CharStorage((char[]) array);
+        else if (array instanceof byte[]) storage = new ByteStorage((byte[]) array);
+        else if (array instanceof short[]) storage = new ShortStorage((short[]) array);
+        else storage = new FloatStorage((float[]) array);
+        return (ArrayStorage<A>) storage;
+    }
+
+    private static @NotNull Object cloneArray(final @NotNull Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Gets the number represented by the given value,
+     * which may also be a character.
+     *
+     * @param value the value
+     * @return the number
+     */
+    static @NotNull Number toNumber(final @NotNull Value<?> value) {
+        Object object = value.getValue();
+        if (object instanceof Character) return (int) (Character) object;
+        else return (Number) object;
+    }
+
+    /**
+     * A storage of <code>int</code>s.
+     */
+    static final class IntStorage extends ArrayStorage<Integer> {
+        final int @NotNull [] values;
+
+        IntStorage(final int @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Integer> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).intValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>long</code>s.
+     */
+    static final class LongStorage extends ArrayStorage<Long> {
+        final long @NotNull [] values;
+
+        LongStorage(final long @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Long> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).longValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>double</code>s.
+     */
+    static final class DoubleStorage extends ArrayStorage<Double> {
+        final double @NotNull [] values;
+
+        DoubleStorage(final double @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Double> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).doubleValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>float</code>s.
+     */
+    static final class FloatStorage extends ArrayStorage<Float> {
+        final float @NotNull [] values;
+
+        FloatStorage(final float @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Float> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).floatValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>short</code>s.
+     */
+    static final class ShortStorage extends ArrayStorage<Short> {
+        final short @NotNull [] values;
+
+        ShortStorage(final short @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Short> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).shortValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>byte</code>s.
+     */
+    static final class ByteStorage extends ArrayStorage<Byte> {
+        final byte @NotNull [] values;
+
+        ByteStorage(final byte @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Byte> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = toNumber(value).byteValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>char</code>s.
+     */
+    static final class CharStorage extends ArrayStorage<Character> {
+        final char @NotNull [] values;
+
+        CharStorage(final char @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Character> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = (char) toNumber(value).intValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of <code>boolean</code>s.
+     */
+    static final class BooleanStorage extends ArrayStorage<Boolean> {
+        final boolean @NotNull [] values;
+
+        BooleanStorage(final boolean @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        public @NotNull Value<Boolean> get(final int index) {
+            return Value.of(this.values[index]);
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            this.values[index] = (Boolean) value.getValue();
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.values;
+        }
+
+    }
+
+    /**
+     * A storage of objects.
+     * The objects are kept as {@link Value}s, until the storage is exported to Java code:
+     * from that point, they are kept in the exported Java array, which is shared with Java code.
+     */
+    static final class ObjectStorage extends ArrayStorage<Object> {
+        Value<?> @Nullable [] values;
+        Object @Nullable [] objects;
+
+        ObjectStorage(final Value<?> @NotNull [] values) {
+            this.values = values;
+        }
+
+        ObjectStorage(final Object @NotNull [] objects) {
+            this.objects = objects;
+        }
+
+        @Override
+        public @NotNull Value<Object> get(final int index) {
+            if (this.objects != null) return Value.of(this.objects[index]);
+            return (Value<Object>) this.values[index];
+        }
+
+        @Override
+        void store(final int index, final @NotNull Value<?> value) {
+            if (this.objects != null) this.objects[index] = value.getValue();
+            else this.values[index] = value;
+        }
+
+        @Override
+        public int size() {
+            return this.objects != null ? this.objects.length : this.values.length;
+        }
+
+        @Override
+        @NotNull Object array() {
+            return this.objects != null ? this.objects : this.values;
+        }
+
+        @Override
+        @NotNull Object export(final @NotNull Class<?> componentsType) {
+            if (this.objects == null) {
+                Object[] objects = (Object[]) Array.newInstance(componentsType, this.values.length);
+                for (int i = 0; i < objects.length; i++) objects[i] = this.values[i].getValue();
+                this.objects = objects;
+                this.values = null;
+            }
+            return super.export(componentsType);
+        }
+
+    }
+
+}
@@ -1,6 +1,5 @@
 package it.fulminazzo.mojito.executor.values.arrays;
 
-import it.fulminazzo.fulmicollection.objects.Refl;
 import it.fulminazzo.mojito.executor.values.ClassValue;
 import it.fulminazzo.mojito.executor.values.ParameterValues;
 import it.fulminazzo.mojito.executor.values.Value;
@@ -12,13 +11,17 @@ import it.fulminazzo.mojito.wrappers.ObjectWrapper;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Array;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Represents a general array {@link Value}.
+ * Its components are kept in a contiguous {@link ArrayStorage}, so they are accessed in constant time.
+ * <br>
+ * Arrays exchanged with Java code are not copied:
+ * arrays returned by Java are wrapped with {@link #view(Object)},
+ * while {@link #getValue()} passes the backing array to Java,
+ * so that the changes made on either side are visible to the other one.
  *
  * @param <A> the type of the components
  */
@@ -34,9 +37,8 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
      * @param size           the size of the array
      */
     ArrayValue(final @NotNull ClassValue<A> componentsType, final int size) {
-        super(new LinkedList<>());
+        super(ArrayStorage.of(componentsType, size));
         this.componentsType = componentsType;
-        for (int i = 0; i < size; i++) this.object.add(componentsType.toValue());
     }
 
     /**
@@ -46,10 +48,19 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
      * @param values         the values of the array
      */
     ArrayValue(final @NotNull ClassValue<A> componentsType, final @NotNull Collection<Value<A>> values) {
-        super(new LinkedList<>());
+        super(ArrayStorage.of(componentsType, values));
+        this.componentsType = componentsType;
+    }
+
+    /**
+     * Instantiates an Array value with the given storage.
+     *
+     * @param componentsType the components type
+     * @param storage        the storage
+     */
+    ArrayValue(final @NotNull ClassValue<A> componentsType, final @NotNull ArrayStorage<A> storage) {
+        super(storage);
         this.componentsType = componentsType;
-        List<Value<A>> list = new LinkedList<>(values);
-        for (int i = 0; i < values.size(); i++) this.object.add(list.get(i));
     }
 
     /**
@@ -69,7 +80,16 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
      * @param value the value
      */
     public void set(final int index, final Value<?> value) {
-        this.object.set(index, (Value<A>) value);
+        ((ArrayStorage<A>) this.object).store(index, value);
+    }
+
+    /**
+     * Gets the number of components of the array.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.object.size();
     }
 
     @Override
@@ -93,13 +113,15 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
         return this.object;
     }
 
+    /**
+     * Gets the Java array backing this value.
+     * Changes made to the returned array are reflected in this value, and vice versa.
+     *
+     * @return the array
+     */
     @Override
     public @NotNull A getValue() {
-        Class<A> componentsType = this.componentsType.getValue();
-        A array = (A) Array.newInstance(componentsType, this.object.size());
-        for (int i = 0; i < this.object.size(); i++)
-            Array.set(array, i, this.object.get(i).getValue());
-        return array;
+        return (A) ((ArrayStorage<A>) this.object).export(this.componentsType.getValue());
     }
 
     @Override
@@ -134,8 +156,8 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
     }
 
     /**
-     * Uses {@link ArrayUtils} to create the most appropriate array value
-     * from the given raw object (useful for arrays with primitive components).
+     * Creates an array value with a copy of the components of the given raw object.
+     * Arrays with primitive components keep them unboxed.
      *
      * @param <V>    the type of the components
      * @param <T>    the type of the object
@@ -144,11 +166,21 @@ public class ArrayValue<A> extends ObjectWrapper<List<Value<A>>> implements Valu
      */
     public static <V, T> @NotNull ArrayValue<V> of(final @NotNull T object) {
         Class<V> componentType = (Class<V>) object.getClass().getComponentType();
-        final Collection<Value<V>> values;
-        Refl<?> arrayUtils = new Refl<>(ArrayUtils.class);
-        if (componentType.isPrimitive()) values = arrayUtils.invokeMethod("toValueCollection", object);
-        else values = arrayUtils.invokeMethod("toValueCollection", new Class[]{Object[].class}, object);
-        return of(ClassValue.of(componentType), values);
+        return new ArrayValue<>(ClassValue.of(componentType), ArrayStorage.copyOf(object));
+    }
+
+    /**
+     * Creates an array value backed by the given raw object, without copying it.
+     * Changes made to the array value are reflected in the object, and vice versa.
+     *
+     * @param <V>    the type of the components
+     * @param <T>    the type of the object
+     * @param object the object (should be an array)
+     * @return the array value
+     */
+    public static <V, T> @NotNull ArrayValue<V> view(final @NotNull T object) {
+        Class<V> componentType = (Class<V>) object.getClass().getComponentType();
+        return new ArrayValue<>(ClassValue.of(componentType), ArrayStorage.view(object));
     }
 
 }
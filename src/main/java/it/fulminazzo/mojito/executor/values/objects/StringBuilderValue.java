@@ -0,0 +1,67 @@
+package it.fulminazzo.mojito.executor.values.objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link String} value accumulated in a {@link StringBuilder},
+ * used by the statements that append to the same variable in a loop.
+ * <br>
+ * Every value represents the first characters of the builder, up to its length.
+ * Since characters are only ever appended, the builder is shared by all the values created from it:
+ * only the most recent one appends to it directly, while the others copy it first.
+ * The actual {@link String} is created only when the value is read.
+ */
+public final class StringBuilderValue extends StringObjectValue {
+    private final @NotNull StringBuilder builder;
+    private final int length;
+    private volatile @Nullable String string;
+
+    private StringBuilderValue(final @NotNull StringBuilder builder, final int length) {
+        super("");
+        this.builder = builder;
+        this.length = length;
+    }
+
+    /**
+     * Creates a new value with the given strings appended.
+     *
+     * @param strings the strings
+     * @return the new value
+     */
+    public @NotNull StringBuilderValue append(final @NotNull String @NotNull ... strings) {
+        synchronized (this.builder) {
+            StringBuilder builder = this.builder;
+            if (builder.length() != this.length) {
+                int capacity = this.length;
+                for (String string : strings) capacity += string.length();
+                builder = new StringBuilder(capacity * 2).append(this.builder, 0, this.length);
+            }
+            for (String string : strings) builder.append(string);
+            return new StringBuilderValue(builder, builder.length());
+        }
+    }
+
+    @Override
+    public @NotNull String getValue() {
+        String string = this.string;
+        if (string == null)
+            synchronized (this.builder) {
+                string = this.builder.substring(0, this.length);
+                this.string = string;
+            }
+        return string;
+    }
+
+    /**
+     * Creates a new value starting with the given string.
+     *
+     * @param string the string
+     * @return the value
+     */
+    public static @NotNull StringBuilderValue of(final @NotNull String string) {
+        StringBuilder builder = new StringBuilder(Math.max(16, string.length() * 2)).append(string);
+        return new StringBuilderValue(builder, builder.length());
+    }
+
+}
@@ -27,4 +27,15 @@ class StringObjectValue extends ObjectValue<String> {
         return ObjectClassValue.STRING;
     }
 
+    @Override
+    public int hashCode() {
+        return StringObjectValue.class.hashCode() ^ getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        // Strings are equal regardless of how they are stored
+        return o instanceof StringObjectValue && getValue().equals(((StringObjectValue) o).getValue());
+    }
+
 }
@@ -90,9 +90,9 @@ public abstract class PrimitiveValue<V> extends ObjectWrapper<V> implements Valu
             if (Boolean.TRUE.equals(value)) primitiveValue = BooleanValue.TRUE;
             else primitiveValue = BooleanValue.FALSE;
         else if (value instanceof Character) primitiveValue = new CharValue((Character) value);
-        else if (value instanceof Byte) primitiveValue = new ByteValue(Byte.parseByte(value.toString()));
-        else if (value instanceof Short) primitiveValue = new ShortValue(Short.parseShort(value.toString()));
-        else if (value instanceof Integer) primitiveValue = new IntValue(Integer.parseInt(value.toString()));
+        else if (value instanceof Byte) primitiveValue = new ByteValue((Byte) value);
+        else if (value instanceof Short) primitiveValue = new ShortValue((Short) value);
+        else if (value instanceof Integer) primitiveValue = new IntValue((Integer) value);
         else throw ExecutorException.invalidPrimitiveValue(value);
         return (PrimitiveValue<V>) primitiveValue;
     }
@@ -15,6 +15,7 @@ import org.jetbrains.annotations.NotNull;
 public final class ArrayValueVariableContainer<V>
         extends VariableContainer<ClassValue<?>, Value<?>, ParameterValues, VariableContainer<ClassValue<?>, Value<?>, ParameterValues, ?>>
         implements ValueVariableContainer<V> {
+    private final int index;
 
     /**
      * Instantiates a new Array value variable container.
@@ -26,15 +27,35 @@ public final class ArrayValueVariableContainer<V>
      */
     public ArrayValueVariableContainer(@NotNull VariableContainer<ClassValue<?>, Value<?>, ParameterValues, ?> container,
                                        @NotNull ClassValue<?> type, @NotNull String index, @NotNull Value<?> variable) {
-        super(container, type, index, variable);
+        this(container, type, Integer.parseInt(index), variable);
     }
 
+    /**
+     * Instantiates a new Array value variable container.
+     *
+     * @param container the actual array
+     * @param type      the class value of the components
+     * @param index     the index of the current component
+     * @param variable  the value returned by the current component
+     */
+    public ArrayValueVariableContainer(@NotNull VariableContainer<ClassValue<?>, Value<?>, ParameterValues, ?> container,
+                                       @NotNull ClassValue<?> type, int index, @NotNull Value<?> variable) {
+        super(container, type, String.valueOf(index), variable);
+        this.index = index;
+    }
+
+    /**
+     * Sets the component in the array.
+     * Arrays read from fields are views of the actual Java arrays,
+     * so the array is always modified in place.
+     *
+     * @param newValue the new value
+     * @return the new value
+     */
     @Override
     public @NotNull Value<?> set(@NotNull Value<?> newValue) {
-        int index = Integer.parseInt(this.name);
         ArrayValue<?> array = (ArrayValue<?>) this.container.getVariable();
-        array.set(index, newValue);
-        this.container.set(array);
+        array.set(this.index, newValue);
         return newValue;
     }
 
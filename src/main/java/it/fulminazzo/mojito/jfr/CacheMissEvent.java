@@ -0,0 +1,23 @@
+package it.fulminazzo.mojito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a value is not found in one of the caches of Mojito and has to be computed.
+ */
+@Name("it.fulminazzo.mojito.CacheMiss")
+@Label("Cache Miss")
+@Category("Mojito")
+@Description("A value was not found in a cache of Mojito")
+final class CacheMissEvent extends Event {
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+}
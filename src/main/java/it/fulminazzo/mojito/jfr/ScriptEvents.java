@@ -0,0 +1,259 @@
+package it.fulminazzo.mojito.jfr;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.ExecutionMode;
+import it.fulminazzo.mojito.listener.ExecutionListener;
+import it.fulminazzo.mojito.parser.Parser;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import jdk.jfr.EventType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JDK Flight Recorder events of a single run of a script.
+ * <br>
+ * The events are recorded by notifying the phases of the run to this object, which is an {@link ExecutionListener}.
+ * A new instance is only created by {@link #start(ExecutionMode)} while a recording of at least one of the events
+ * is running, so that nothing is done at all otherwise.
+ * <br>
+ * If the <code>jdk.jfr</code> module is not available in the JVM, no event is ever recorded.
+ */
+public final class ScriptEvents implements ExecutionListener {
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private static volatile long slowInteropThreshold = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final @NotNull ExecutionMode mode;
+    private final boolean interop;
+    private @Nullable ScriptParsedEvent parsed;
+    private @Nullable ScriptTypeCheckedEvent typeChecked;
+    private @Nullable ScriptExecutedEvent executed;
+    private @Nullable JavaProgram program;
+    private long nodes = -1;
+    private long allocated;
+
+    private ScriptEvents(final @NotNull ExecutionMode mode) {
+        this.mode = mode;
+        this.interop = Types.SLOW_INTEROP_CALL.isEnabled();
+    }
+
+    /**
+     * Checks whether the Java methods invoked by the script should be notified to this object.
+     * Since being notified of them has a cost, this is true only while {@link SlowInteropCallEvent}s are recorded.
+     *
+     * @return true if they should
+     */
+    public boolean isRecordingInterop() {
+        return this.interop;
+    }
+
+    /**
+     * Records the end of the parsing of the script.
+     * Should be invoked right after the {@link Phase#PARSE} phase.
+     *
+     * @param parser  the parser that read the script
+     * @param program the parsed program
+     */
+    public void parsed(final @NotNull Parser parser, final @NotNull JavaProgram program) {
+        this.program = program;
+        ScriptParsedEvent event = this.parsed;
+        if (event != null && event.shouldCommit()) {
+            event.sourceLength = parser.getReadCharacters();
+            event.tokens = parser.getReadTokens();
+            event.commit();
+        }
+        this.parsed = null;
+    }
+
+    /**
+     * Sets the number of nodes of the program that is going to be executed,
+     * when it was not {@link #parsed(Parser, JavaProgram)} in this run.
+     * Programs executed many times should count their nodes once, with {@link #countNodes(Node)}.
+     *
+     * @param nodes the number of nodes
+     */
+    public void setNodes(final long nodes) {
+        this.nodes = nodes;
+    }
+
+    @Override
+    public void onPhaseStart(final @NotNull Phase phase) {
+        if (phase == Phase.PARSE && Types.PARSED.isEnabled()) {
+            this.parsed = new ScriptParsedEvent();
+            this.parsed.begin();
+        } else if (phase == Phase.TYPE_CHECK && Types.TYPE_CHECKED.isEnabled()) {
+            this.typeChecked = new ScriptTypeCheckedEvent();
+            this.typeChecked.begin();
+        } else if (phase == Phase.EXECUTE && Types.EXECUTED.isEnabled()) {
+            this.executed = new ScriptExecutedEvent();
+            this.allocated = getAllocatedBytes();
+            this.executed.begin();
+        }
+    }
+
+    @Override
+    public void onPhaseEnd(final @NotNull Phase phase, final long duration) {
+        if (phase == Phase.PARSE && this.parsed != null) this.parsed.end();
+        else if (phase == Phase.TYPE_CHECK && this.typeChecked != null) {
+            this.typeChecked.commit();
+            this.typeChecked = null;
+        } else if (phase == Phase.EXECUTE && this.executed != null) {
+            ScriptExecutedEvent event = this.executed;
+            event.end();
+            if (event.shouldCommit()) {
+                long allocated = getAllocatedBytes();
+                event.mode = this.mode.name();
+                if (this.nodes < 0) this.nodes = this.program == null ? 0 : countNodes(this.program);
+                event.nodes = this.nodes;
+                event.allocated = allocated < 0 || this.allocated < 0 ? 0 : allocated - this.allocated;
+                event.commit();
+            }
+            this.executed = null;
+        }
+    }
+
+    @Override
+    public void onJavaMethodInvoked(final @NotNull Method method, final long duration) {
+        if (duration < slowInteropThreshold) return;
+        SlowInteropCallEvent event = new SlowInteropCallEvent();
+        if (event.shouldCommit()) {
+            event.declaringClass = method.getDeclaringClass();
+            event.method = method.getName();
+            event.invocationTime = duration;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts recording the events of a new run of a script.
+     *
+     * @param mode the execution mode of the script
+     * @return the object recording the events (null if none of them is currently recorded)
+     */
+    public static @Nullable ScriptEvents start(final @NotNull ExecutionMode mode) {
+        if (!AVAILABLE) return null;
+        else if (Types.PARSED.isEnabled() || Types.TYPE_CHECKED.isEnabled() ||
+                Types.EXECUTED.isEnabled() || Types.SLOW_INTEROP_CALL.isEnabled())
+            return new ScriptEvents(mode);
+        else return null;
+    }
+
+    /**
+     * Records that a value was not found in a cache.
+     *
+     * @param cache the name of the cache
+     * @param key   the key of the value
+     */
+    public static void cacheMiss(final @NotNull String cache, final @Nullable Object key) {
+        if (!AVAILABLE || !Types.CACHE_MISS.isEnabled()) return;
+        CacheMissEvent event = new CacheMissEvent();
+        event.cache = cache;
+        event.key = String.valueOf(key);
+        event.commit();
+    }
+
+    /**
+     * Gets the minimum time a Java method should take for its invocation to be recorded, in nanoseconds.
+     *
+     * @return the threshold
+     */
+    public static long getSlowInteropThreshold() {
+        return slowInteropThreshold;
+    }
+
+    /**
+     * Sets the minimum time a Java method should take for its invocation to be recorded.
+     * By default, it is one millisecond.
+     *
+     * @param threshold the threshold
+     * @param unit      the unit of the threshold
+     */
+    public static void setSlowInteropThreshold(final long threshold, final @NotNull TimeUnit unit) {
+        slowInteropThreshold = unit.toNanos(threshold);
+    }
+
+    /**
+     * Creates a listener that notifies both the given listener and the given events.
+     *
+     * @param listener the listener (may be null)
+     * @param events   the events (may be null)
+     * @return the listener (null if both are null)
+     */
+    public static @Nullable ExecutionListener combine(final @Nullable ExecutionListener listener,
+                                                      final @Nullable ScriptEvents events) {
+        if (events == null) return listener;
+        else if (listener == null) return events;
+        else return ExecutionListener.of(listener, events);
+    }
+
+    /**
+     * Checks whether the events can be recorded, that is if the <code>jdk.jfr</code> module is available.
+     *
+     * @return true if they can
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ScriptEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the memory allocated by the current thread until now.
+     *
+     * @return the bytes (-1 if not supported by the JVM)
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Counts the nodes of the given tree.
+     * Just like {@link it.fulminazzo.mojito.parser.node.NodeImpl}, the children of every node
+     * are obtained from its non-static fields.
+     *
+     * @param node the root of the tree
+     * @return the nodes
+     */
+    public static long countNodes(final @NotNull Node node) {
+        long count = 1;
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) count += countNodes((Node) object);
+            else if (object instanceof Collection)
+                for (Object element : (Collection<?>) object)
+                    if (element instanceof Node) count += countNodes((Node) element);
+        }
+        return count;
+    }
+
+    /**
+     * Holds the types of the events, so that they are only loaded if the events are {@link #isAvailable()}.
+     */
+    private static final class Types {
+        private static final EventType PARSED = EventType.getEventType(ScriptParsedEvent.class);
+        private static final EventType TYPE_CHECKED = EventType.getEventType(ScriptTypeCheckedEvent.class);
+        private static final EventType EXECUTED = EventType.getEventType(ScriptExecutedEvent.class);
+        private static final EventType SLOW_INTEROP_CALL = EventType.getEventType(SlowInteropCallEvent.class);
+        private static final EventType CACHE_MISS = EventType.getEventType(CacheMissEvent.class);
+
+    }
+
+}
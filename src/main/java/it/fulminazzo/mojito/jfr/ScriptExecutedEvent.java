@@ -0,0 +1,33 @@
+package it.fulminazzo.mojito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when a script is executed.
+ */
+@Name("it.fulminazzo.mojito.ScriptExecuted")
+@Label("Script Executed")
+@Category("Mojito")
+@Description("A checked script was executed")
+@StackTrace(false)
+final class ScriptExecutedEvent extends Event {
+    @Label("Mode")
+    @Description("The execution mode")
+    String mode;
+
+    @Label("Nodes")
+    @Description("The number of nodes of the executed program")
+    long nodes;
+
+    @Label("Allocated")
+    @Description("The memory allocated by the thread during the execution, if supported by the JVM")
+    @DataAmount
+    long allocated;
+
+}
@@ -0,0 +1,27 @@
+package it.fulminazzo.mojito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when the code of a script is parsed.
+ */
+@Name("it.fulminazzo.mojito.ScriptParsed")
+@Label("Script Parsed")
+@Category("Mojito")
+@Description("The code of a script was read and parsed")
+@StackTrace(false)
+final class ScriptParsedEvent extends Event {
+    @Label("Source Length")
+    @Description("The number of characters of the code")
+    long sourceLength;
+
+    @Label("Tokens")
+    @Description("The number of tokens read, including spaces")
+    long tokens;
+
+}
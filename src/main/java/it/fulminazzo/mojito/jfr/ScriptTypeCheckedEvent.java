@@ -0,0 +1,20 @@
+package it.fulminazzo.mojito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when the types of a parsed script are checked.
+ */
+@Name("it.fulminazzo.mojito.ScriptTypeChecked")
+@Label("Script Type Checked")
+@Category("Mojito")
+@Description("The types of a parsed script were checked and its members resolved")
+@StackTrace(false)
+final class ScriptTypeCheckedEvent extends Event {
+
+}
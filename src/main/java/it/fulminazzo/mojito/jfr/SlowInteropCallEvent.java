@@ -0,0 +1,30 @@
+package it.fulminazzo.mojito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded when a Java method invoked by a script takes longer than
+ * {@link ScriptEvents#getSlowInteropThreshold()}.
+ */
+@Name("it.fulminazzo.mojito.SlowInteropCall")
+@Label("Slow Interop Call")
+@Category("Mojito")
+@Description("A Java method invoked by a script took longer than the threshold")
+final class SlowInteropCallEvent extends Event {
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Method")
+    String method;
+
+    @Label("Invocation Time")
+    @Description("The time spent in the invocation, including the conversion of arguments and result")
+    @Timespan(Timespan.NANOSECONDS)
+    long invocationTime;
+
+}
@@ -0,0 +1,54 @@
+package it.fulminazzo.mojito.listener;
+
+import it.fulminazzo.mojito.environment.scopetypes.ScopeType;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * An {@link ExecutionListener} that notifies many listeners, in order.
+ */
+final class CompositeListener implements ExecutionListener {
+    private final @NotNull ExecutionListener @NotNull [] listeners;
+
+    CompositeListener(final @NotNull ExecutionListener @NotNull [] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void onPhaseStart(final @NotNull Phase phase) {
+        for (ExecutionListener listener : this.listeners) listener.onPhaseStart(phase);
+    }
+
+    @Override
+    public void onPhaseEnd(final @NotNull Phase phase, final long duration) {
+        for (ExecutionListener listener : this.listeners) listener.onPhaseEnd(phase, duration);
+    }
+
+    @Override
+    public void onStatement(final @NotNull Statement statement) {
+        for (ExecutionListener listener : this.listeners) listener.onStatement(statement);
+    }
+
+    @Override
+    public void onJavaMethodInvoked(final @NotNull Method method, final long duration) {
+        for (ExecutionListener listener : this.listeners) listener.onJavaMethodInvoked(method, duration);
+    }
+
+    @Override
+    public void onExceptionThrown(final @NotNull Throwable exception) {
+        for (ExecutionListener listener : this.listeners) listener.onExceptionThrown(exception);
+    }
+
+    @Override
+    public void onScopeEnter(final @NotNull ScopeType scope) {
+        for (ExecutionListener listener : this.listeners) listener.onScopeEnter(scope);
+    }
+
+    @Override
+    public void onScopeExit(final @NotNull ScopeType scope) {
+        for (ExecutionListener listener : this.listeners) listener.onScopeExit(scope);
+    }
+
+}
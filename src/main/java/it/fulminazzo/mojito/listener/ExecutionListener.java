@@ -0,0 +1,120 @@
+package it.fulminazzo.mojito.listener;
+
+import it.fulminazzo.mojito.environment.scopetypes.ScopeType;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * Receives the events of the programs run by a {@link it.fulminazzo.mojito.Runner},
+ * to connect them to tracing and metrics systems.
+ * Every method does nothing by default, so implementations only need to override the events they need.
+ * <br>
+ * The {@link Phase}s are notified in every {@link it.fulminazzo.mojito.ExecutionMode},
+ * while the other events are only notified for the code run by the
+ * {@link it.fulminazzo.mojito.executor.Executor}, meaning interpreted programs and tiers.
+ * <br>
+ * Since a runner may be used by many threads at once, a listener may be notified concurrently
+ * and should be thread-safe.
+ * No event object is created when notifying a listener, and nothing is done at all when there is none.
+ */
+public interface ExecutionListener {
+
+    /**
+     * Called when a phase of a run starts.
+     *
+     * @param phase the phase
+     */
+    default void onPhaseStart(final @NotNull Phase phase) {
+    }
+
+    /**
+     * Called when a phase of a run ends, even if it failed.
+     *
+     * @param phase    the phase
+     * @param duration the duration of the phase, in nanoseconds
+     */
+    default void onPhaseEnd(final @NotNull Phase phase, final long duration) {
+    }
+
+    /**
+     * Called before executing a statement.
+     *
+     * @param statement the statement
+     */
+    default void onStatement(final @NotNull Statement statement) {
+    }
+
+    /**
+     * Called after a Java method returned.
+     *
+     * @param method   the method
+     * @param duration the duration of the invocation, in nanoseconds
+     */
+    default void onJavaMethodInvoked(final @NotNull Method method, final long duration) {
+    }
+
+    /**
+     * Called when an exception is thrown by the program or by its execution.
+     *
+     * @param exception the exception
+     */
+    default void onExceptionThrown(final @NotNull Throwable exception) {
+    }
+
+    /**
+     * Called when a new scope is entered.
+     *
+     * @param scope the type of the scope
+     */
+    default void onScopeEnter(final @NotNull ScopeType scope) {
+    }
+
+    /**
+     * Called when a scope is exited, even if its execution failed.
+     *
+     * @param scope the type of the scope
+     */
+    default void onScopeExit(final @NotNull ScopeType scope) {
+    }
+
+    /**
+     * Creates a listener that notifies all the given ones, in order.
+     *
+     * @param listeners the listeners
+     * @return the listener
+     */
+    static @NotNull ExecutionListener of(final @NotNull ExecutionListener @NotNull ... listeners) {
+        if (listeners.length == 1) return listeners[0];
+        return new CompositeListener(listeners.clone());
+    }
+
+    /**
+     * The phases of a run.
+     */
+    enum Phase {
+        /**
+         * The parsing of the code, which also reads its tokens.
+         */
+        PARSE,
+        /**
+         * The check of the types of the parsed program.
+         */
+        TYPE_CHECK,
+        /**
+         * The optimization of the checked program.
+         */
+        OPTIMIZE,
+        /**
+         * The compilation of the program to a JVM class, in {@link it.fulminazzo.mojito.ExecutionMode#JVM}.
+         * The other execution modes compile the program during {@link #EXECUTE}.
+         */
+        COMPILE,
+        /**
+         * The execution of the program.
+         */
+        EXECUTE
+    }
+
+}
@@ -0,0 +1,123 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.mojito.executor.Executor;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.NodeException;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.Minus;
+import it.fulminazzo.mojito.parser.node.operators.unary.Not;
+import it.fulminazzo.mojito.parser.node.operators.unary.UnaryOperation;
+import it.fulminazzo.mojito.parser.node.values.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces operations whose operands are all constants with their result.
+ * Arithmetic, bitwise, logical, comparison operations and string concatenations are supported.
+ * The result is computed by an {@link Executor}, so that it is always the same as the one at runtime.
+ * Operations that would throw (like a division by zero) are left untouched.
+ */
+public final class ConstantFolding extends NodeRewriter {
+    public static final String NAME = "constant-folding";
+
+    private static final List<Class<? extends Node>> FOLDABLE_OPERATIONS = Arrays.asList(
+            Add.class, Subtract.class, Multiply.class, Divide.class, Modulo.class,
+            BitAnd.class, BitOr.class, BitXor.class, LShift.class, RShift.class, URShift.class,
+            And.class, Or.class, Equal.class, NotEqual.class,
+            LessThan.class, LessThanEqual.class, GreaterThan.class, GreaterThanEqual.class,
+            Minus.class, Not.class
+    );
+
+    private final @NotNull Executor executor = new Executor(new Object());
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull Node rewriteNode(final @NotNull Node node) {
+        if (!FOLDABLE_OPERATIONS.contains(node.getClass()) || isConstant(node)) return node;
+        if (node instanceof BinaryOperation) {
+            BinaryOperation operation = (BinaryOperation) node;
+            if (!isConstant(operation.getLeft()) || !isConstant(operation.getRight())) return node;
+        } else if (!isConstant(((UnaryOperation) node).getOperand())) return node;
+
+        final Value<?> result;
+        try {
+            result = node.accept(this.executor);
+        } catch (RuntimeException e) {
+            // Will be thrown at runtime
+            return node;
+        }
+        Node folded = toNode(result);
+        if (folded == null) return node;
+        record("Folded %s into %s", node, folded);
+        return folded;
+    }
+
+    /**
+     * Checks whether the given node is a constant.
+     * Negative numbers are represented by a {@link Minus} on a {@link ValueLiteral}.
+     *
+     * @param node the node
+     * @return true if it is
+     */
+    static boolean isConstant(final @NotNull Node node) {
+        if (node instanceof ValueLiteral) return true;
+        else return node instanceof Minus && ((Minus) node).getOperand() instanceof ValueLiteral;
+    }
+
+    /**
+     * Converts the given value to the node representing it.
+     *
+     * @param value the value
+     * @return the node (null if the value cannot be represented)
+     */
+    static @Nullable Node toNode(final @NotNull Value<?> value) {
+        Object object = value.getValue();
+        try {
+            if (value.isPrimitive()) {
+                if (object instanceof Boolean) return new BooleanValueLiteral(object.toString());
+                else if (object instanceof Character) {
+                    char c = (char) object;
+                    // Escaped characters would be unescaped again
+                    if (c == '\\') return null;
+                    return new CharValueLiteral("'" + c + "'");
+                } else if (object instanceof Integer) {
+                    int i = (int) object;
+                    if (i == Integer.MIN_VALUE) return null;
+                    else if (i < 0) return new Minus(new NumberValueLiteral(String.valueOf(-i)));
+                    else return new NumberValueLiteral(String.valueOf(i));
+                } else if (object instanceof Long) {
+                    long l = (long) object;
+                    if (l == Long.MIN_VALUE) return null;
+                    else if (l < 0) return new Minus(new LongValueLiteral(-l + "L"));
+                    else return new LongValueLiteral(l + "L");
+                } else if (object instanceof Float) {
+                    float f = (float) object;
+                    if (Float.isNaN(f) || Float.isInfinite(f)) return null;
+                    else if (f < 0 || 1 / f < 0) return new Minus(new FloatValueLiteral(-f + "f"));
+                    else return new FloatValueLiteral(f + "f");
+                } else if (object instanceof Double) {
+                    double d = (double) object;
+                    if (Double.isNaN(d) || Double.isInfinite(d)) return null;
+                    else if (d < 0 || 1 / d < 0) return new Minus(new DoubleValueLiteral(-d + "d"));
+                    else return new DoubleValueLiteral(d + "d");
+                }
+            } else if (object instanceof String) {
+                String string = (String) object;
+                // Escaped characters would be unescaped again
+                if (string.contains("\\")) return null;
+                return new StringValueLiteral("\"" + string + "\"");
+            }
+        } catch (NodeException ignored) {
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,114 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.NodeException;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.literals.EmptyLiteral;
+import it.fulminazzo.mojito.parser.node.statements.IfStatement;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import it.fulminazzo.mojito.parser.node.statements.WhileStatement;
+import it.fulminazzo.mojito.parser.node.values.BooleanValueLiteral;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedList;
+
+/**
+ * Removes the branches of {@link IfStatement}s and {@link WhileStatement}s that can never be executed
+ * because of a constant condition.
+ * The statements of the branch that is always executed are moved in the enclosing block,
+ * unless they declare variables, in which case the branch is kept to preserve its scope.
+ */
+public final class DeadBranchElimination extends NodeRewriter {
+    public static final String NAME = "dead-branch-elimination";
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull LinkedList<Statement> rewriteStatements(final @NotNull LinkedList<Statement> statements) {
+        LinkedList<Statement> rewritten = new LinkedList<>();
+        boolean changed = false;
+        for (Statement statement : statements)
+            changed |= rewriteStatement(statement, rewritten);
+        return changed ? rewritten : statements;
+    }
+
+    /**
+     * Adds the given statement, or the statements replacing it, to the given list.
+     *
+     * @param statement the statement
+     * @param rewritten the list of rewritten statements
+     * @return true if the statement was changed
+     */
+    private boolean rewriteStatement(final @NotNull Statement statement,
+                                     final @NotNull LinkedList<Statement> rewritten) {
+        Boolean condition = getConstantCondition(statement);
+        if (condition == null) {
+            rewritten.add(statement);
+            return false;
+        }
+
+        if (statement instanceof WhileStatement) {
+            if (condition) {
+                rewritten.add(statement);
+                return false;
+            }
+            record("Removed %s", statement);
+            return true;
+        } else if (statement instanceof IfStatement) {
+            IfStatement ifStatement = (IfStatement) statement;
+            Node branch = condition ? ifStatement.getThen() : ifStatement.getElseBranch();
+            if (branch instanceof EmptyLiteral) {
+                record("Removed %s", statement);
+                return true;
+            } else if (branch instanceof IfStatement) {
+                record("Replaced %s with its else branch", statement);
+                rewriteStatement((IfStatement) branch, rewritten);
+                return true;
+            }
+
+            CodeBlock block = (CodeBlock) branch;
+            if (!declaresVariables(block.getStatements())) {
+                record("Inlined %s branch of %s", condition ? "then" : "else", statement);
+                rewritten.addAll(block.getStatements());
+            } else if (!condition || !(ifStatement.getElseBranch() instanceof EmptyLiteral)) {
+                record("Removed unreachable branch of %s", statement);
+                rewritten.add(new IfStatement(newTrueLiteral(), block, new EmptyLiteral()));
+            } else {
+                rewritten.add(statement);
+                return false;
+            }
+            return true;
+        } else {
+            rewritten.add(statement);
+            return false;
+        }
+    }
+
+    private static @NotNull BooleanValueLiteral newTrueLiteral() {
+        try {
+            return new BooleanValueLiteral("true");
+        } catch (NodeException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the constant condition of the given statement, if it is an {@link IfStatement}
+     * or a {@link WhileStatement}.
+     *
+     * @param statement the statement
+     * @return the condition (null if it is not constant or the statement is not supported)
+     */
+    private static @Nullable Boolean getConstantCondition(final @NotNull Statement statement) {
+        if (!(statement instanceof IfStatement) && !(statement instanceof WhileStatement)) return null;
+        Node condition = statement.getExpression();
+        if (condition instanceof BooleanValueLiteral)
+            return Boolean.parseBoolean(((BooleanValueLiteral) condition).getRawValue());
+        return null;
+    }
+
+}
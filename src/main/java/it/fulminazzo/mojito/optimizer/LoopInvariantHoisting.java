@@ -0,0 +1,351 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.parser.node.Assignment;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.NodeException;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.literals.EmptyLiteral;
+import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.*;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.parser.node.values.ValueLiteral;
+import it.fulminazzo.mojito.typechecker.TypeChecker;
+import it.fulminazzo.mojito.typechecker.types.ClassType;
+import it.fulminazzo.mojito.typechecker.types.PrimitiveType;
+import it.fulminazzo.mojito.typechecker.types.Type;
+import it.fulminazzo.mojito.typechecker.types.TypeException;
+import it.fulminazzo.mojito.typechecker.types.objects.ObjectType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Moves the expressions that compute the same value at every iteration of a loop
+ * in a new variable declared right before it.
+ * <br>
+ * To guarantee that the behaviour of the program does not change, only pure operations
+ * on constants and primitive local variables that are never written inside the loop are considered.
+ * Divisions and modulos are excluded, since they might throw an exception
+ * in a loop that would have never been executed.
+ */
+@SuppressWarnings("unchecked")
+public final class LoopInvariantHoisting implements OptimizationPass {
+    public static final String NAME = "loop-invariant-hoisting";
+    private static final String VARIABLE_PREFIX = "__mojito_hoisted_";
+
+    private static final List<Class<? extends Node>> PURE_OPERATIONS = Arrays.asList(
+            Add.class, Subtract.class, Multiply.class,
+            BitAnd.class, BitOr.class, BitXor.class, LShift.class, RShift.class, URShift.class,
+            And.class, Or.class, Equal.class, NotEqual.class,
+            LessThan.class, LessThanEqual.class, GreaterThan.class, GreaterThanEqual.class,
+            Minus.class, Not.class
+    );
+
+    private OptimizationReport report;
+    private Set<String> usedNames;
+    private int counter;
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void optimize(final @NotNull JavaProgram program, final @NotNull OptimizationReport report) {
+        this.report = report;
+        this.usedNames = new HashSet<>();
+        this.counter = 0;
+        try {
+            collectLiterals(program, this.usedNames);
+            optimizeStatements(program.getStatements(), new HashMap<>());
+        } finally {
+            this.report = null;
+            this.usedNames = null;
+        }
+    }
+
+    /**
+     * Hoists the invariants of all the loops in the given statements and in their children.
+     *
+     * @param statements the statements
+     * @param variables  the primitive variables visible from the statements, mapped to their type
+     */
+    private void optimizeStatements(final @NotNull LinkedList<Statement> statements,
+                                    final @NotNull Map<String, String> variables) {
+        Map<String, String> scope = new HashMap<>(variables);
+        LinkedList<Statement> rewritten = new LinkedList<>();
+        boolean changed = false;
+        for (Statement statement : statements) {
+            optimizeChildren(statement, scope);
+            if (isLoop(statement)) {
+                List<Statement> hoisted = hoistInvariants(statement, scope);
+                changed |= !hoisted.isEmpty();
+                rewritten.addAll(hoisted);
+            } else {
+                Assignment declaration = getPrimitiveDeclaration(statement);
+                if (declaration != null)
+                    scope.put(declaration.getName().getLiteral(), ((Literal) declaration.getType()).getLiteral());
+            }
+            rewritten.add(statement);
+        }
+        if (changed) {
+            statements.clear();
+            statements.addAll(rewritten);
+        }
+    }
+
+    /**
+     * Looks for all the {@link CodeBlock}s in the children of the given node
+     * and optimizes their statements.
+     *
+     * @param node      the node
+     * @param variables the primitive variables visible from the node
+     */
+    private void optimizeChildren(final @NotNull Node node, final @NotNull Map<String, String> variables) {
+        Map<String, String> scope = variables;
+        if (node instanceof ForStatement) {
+            Node assignment = ((ForStatement) node).getAssignment();
+            if (assignment instanceof Assignment && isPrimitiveDeclaration((Assignment) assignment)) {
+                scope = new HashMap<>(variables);
+                Assignment declaration = (Assignment) assignment;
+                scope.put(declaration.getName().getLiteral(), ((Literal) declaration.getType()).getLiteral());
+            }
+        }
+
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof List) {
+                for (Object element : (List<Object>) object)
+                    if (element instanceof Node) optimizeChild((Node) element, scope);
+            } else if (object instanceof Node) optimizeChild((Node) object, scope);
+        }
+    }
+
+    private void optimizeChild(final @NotNull Node child, final @NotNull Map<String, String> variables) {
+        if (child instanceof CodeBlock) optimizeStatements(((CodeBlock) child).getStatements(), variables);
+        else optimizeChildren(child, variables);
+    }
+
+    /**
+     * Replaces the invariant expressions of the given loop with new variables.
+     *
+     * @param loop      the loop
+     * @param variables the primitive variables visible from the loop
+     * @return the declarations of the new variables, that should be placed before the loop
+     */
+    private @NotNull List<Statement> hoistInvariants(final @NotNull Statement loop,
+                                                     final @NotNull Map<String, String> variables) {
+        Set<String> written = new HashSet<>();
+        collectWrittenVariables(loop, written);
+        Map<String, String> invariants = new HashMap<>(variables);
+        invariants.keySet().removeAll(written);
+        if (invariants.isEmpty()) return Collections.emptyList();
+
+        List<Statement> hoisted = new LinkedList<>();
+        Refl<?> refl = new Refl<>(loop);
+        for (Field field : refl.getNonStaticFields()) {
+            String name = field.getName();
+            // The iterable of an enhanced for and the initialization of a for are evaluated only once
+            if (loop instanceof EnhancedForStatement && !name.equals("code")) continue;
+            if (loop instanceof ForStatement && name.equals("assignment")) continue;
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) {
+                Node replaced = replaceInvariants(loop, (Node) object, invariants, hoisted);
+                if (replaced != object) refl.setFieldObject(name, replaced);
+            }
+        }
+        return hoisted;
+    }
+
+    /**
+     * Replaces the greatest invariant expressions in the given node with new variables.
+     *
+     * @param loop       the loop containing the node
+     * @param node       the node
+     * @param invariants the primitive variables that are not written by the loop
+     * @param hoisted    the list where the declarations of the new variables will be added
+     * @return the node itself or the variable that replaces it
+     */
+    private @NotNull Node replaceInvariants(final @NotNull Statement loop, final @NotNull Node node,
+                                            final @NotNull Map<String, String> invariants,
+                                            final @NotNull List<Statement> hoisted) {
+        if (PURE_OPERATIONS.contains(node.getClass()) && isInvariant(node, invariants)) {
+            String type = computeType(node, invariants);
+            if (type != null)
+                try {
+                    String variable = newVariableName();
+                    hoisted.add(new Statement(new Assignment(Literal.of(type), Literal.of(variable), node)));
+                    this.report.record(NAME, String.format("Hoisted %s out of %s into %s",
+                            node, loop.getClass().getSimpleName(), variable));
+                    return Literal.of(variable);
+                } catch (NodeException ignored) {
+                }
+        }
+
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) {
+                Node replaced = replaceInvariants(loop, (Node) object, invariants, hoisted);
+                if (replaced != object) refl.setFieldObject(field.getName(), replaced);
+            } else if (object instanceof List) {
+                ListIterator<Object> iterator = ((List<Object>) object).listIterator();
+                while (iterator.hasNext()) {
+                    Object element = iterator.next();
+                    if (element instanceof Node) {
+                        Node replaced = replaceInvariants(loop, (Node) element, invariants, hoisted);
+                        if (replaced != element) iterator.set(replaced);
+                    }
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Checks whether the given expression is composed only of pure operations,
+     * constants and invariant variables, with at least one variable.
+     * Expressions of only constants are left to {@link ConstantFolding}.
+     *
+     * @param node       the expression
+     * @param invariants the invariant variables
+     * @return true if it is
+     */
+    private static boolean isInvariant(final @NotNull Node node, final @NotNull Map<String, String> invariants) {
+        return isPure(node, invariants) && referencesVariables(node, invariants);
+    }
+
+    private static boolean isPure(final @NotNull Node node, final @NotNull Map<String, String> invariants) {
+        if (node instanceof ValueLiteral) return true;
+        else if (node instanceof Literal) return invariants.containsKey(((Literal) node).getLiteral());
+        else if (!PURE_OPERATIONS.contains(node.getClass())) return false;
+        else if (node instanceof BinaryOperation) {
+            BinaryOperation operation = (BinaryOperation) node;
+            return isPure(operation.getLeft(), invariants) && isPure(operation.getRight(), invariants);
+        } else return isPure(((UnaryOperation) node).getOperand(), invariants);
+    }
+
+    private static boolean referencesVariables(final @NotNull Node node, final @NotNull Map<String, String> invariants) {
+        if (node instanceof Literal) return invariants.containsKey(((Literal) node).getLiteral());
+        else if (node instanceof BinaryOperation) {
+            BinaryOperation operation = (BinaryOperation) node;
+            return referencesVariables(operation.getLeft(), invariants) ||
+                    referencesVariables(operation.getRight(), invariants);
+        } else if (node instanceof UnaryOperation)
+            return referencesVariables(((UnaryOperation) node).getOperand(), invariants);
+        else return false;
+    }
+
+    /**
+     * Computes the name of the type of the given expression using a {@link TypeChecker}.
+     *
+     * @param expression the expression
+     * @param invariants the variables referenced by the expression
+     * @return the name of the type (null if it is not a primitive or a string)
+     */
+    private static @Nullable String computeType(final @NotNull Node expression,
+                                                final @NotNull Map<String, String> invariants) {
+        try {
+            TypeChecker typeChecker = new TypeChecker(new Object());
+            for (Map.Entry<String, String> variable : invariants.entrySet())
+                new Assignment(Literal.of(variable.getValue()), Literal.of(variable.getKey()), new EmptyLiteral())
+                        .accept(typeChecker);
+            Type type = expression.accept(typeChecker);
+            if (type instanceof PrimitiveType) return ((PrimitiveType) type).name().toLowerCase();
+            else if (type.equals(ObjectType.STRING)) return "String";
+        } catch (NodeException | RuntimeException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Collects the names of all the variables assigned, re-assigned,
+     * incremented or decremented in the given node.
+     *
+     * @param node    the node
+     * @param written the set where the names will be added
+     */
+    private static void collectWrittenVariables(final @NotNull Node node, final @NotNull Set<String> written) {
+        if (node instanceof Assignment) written.add(((Assignment) node).getName().getLiteral());
+        else if (node instanceof EnhancedForStatement) {
+            Node variable = ((EnhancedForStatement) node).getVariable();
+            if (variable instanceof Literal) written.add(((Literal) variable).getLiteral());
+        } else if (node instanceof ReAssign) {
+            Node left = ((ReAssign) node).getLeft();
+            if (left instanceof Literal) written.add(((Literal) left).getLiteral());
+        } else if (node instanceof Increment || node instanceof Decrement) {
+            Node operand = ((UnaryOperation) node).getOperand();
+            if (operand instanceof Literal) written.add(((Literal) operand).getLiteral());
+        }
+
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) collectWrittenVariables((Node) object, written);
+            else if (object instanceof List)
+                for (Object element : (List<Object>) object)
+                    if (element instanceof Node) collectWrittenVariables((Node) element, written);
+        }
+    }
+
+    /**
+     * Collects the names of all the {@link Literal}s in the given node.
+     *
+     * @param node     the node
+     * @param literals the set where the names will be added
+     */
+    private static void collectLiterals(final @NotNull Node node, final @NotNull Set<String> literals) {
+        if (node instanceof Literal) literals.add(((Literal) node).getLiteral());
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) collectLiterals((Node) object, literals);
+            else if (object instanceof List)
+                for (Object element : (List<Object>) object)
+                    if (element instanceof Node) collectLiterals((Node) element, literals);
+        }
+    }
+
+    private @NotNull String newVariableName() {
+        String name;
+        do name = VARIABLE_PREFIX + this.counter++;
+        while (!this.usedNames.add(name));
+        return name;
+    }
+
+    private static boolean isLoop(final @NotNull Statement statement) {
+        return statement instanceof WhileStatement || statement instanceof DoStatement ||
+                statement instanceof ForStatement || statement instanceof EnhancedForStatement;
+    }
+
+    /**
+     * Gets the declaration of the given statement,
+     * if it declares and initializes a variable of a primitive type.
+     *
+     * @param statement the statement
+     * @return the declaration (null if not found)
+     */
+    private static @Nullable Assignment getPrimitiveDeclaration(final @NotNull Statement statement) {
+        if (!statement.getClass().equals(Statement.class)) return null;
+        Node expression = statement.getExpression();
+        if (expression instanceof Assignment && isPrimitiveDeclaration((Assignment) expression))
+            return (Assignment) expression;
+        else return null;
+    }
+
+    private static boolean isPrimitiveDeclaration(final @NotNull Assignment assignment) {
+        if (!assignment.isInitialized() || !(assignment.getType() instanceof Literal)) return false;
+        try {
+            return ClassType.of(((Literal) assignment.getType()).getLiteral()).isPrimitive();
+        } catch (TypeException e) {
+            return false;
+        }
+    }
+
+}
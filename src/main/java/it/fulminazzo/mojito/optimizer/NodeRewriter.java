@@ -0,0 +1,118 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.parser.node.Assignment;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * An {@link OptimizationPass} that rewrites the program bottom-up.
+ * Just like {@link it.fulminazzo.mojito.parser.node.NodeImpl}, the children of every node
+ * are obtained from its non-static fields, and they are replaced in place.
+ * Implementations only need to override {@link #rewriteNode(Node)} and {@link #rewriteStatements(LinkedList)}.
+ */
+@SuppressWarnings("unchecked")
+abstract class NodeRewriter implements OptimizationPass {
+    private OptimizationReport report;
+
+    @Override
+    public void optimize(final @NotNull JavaProgram program, final @NotNull OptimizationReport report) {
+        this.report = report;
+        try {
+            rewrite(program);
+        } finally {
+            this.report = null;
+        }
+    }
+
+    /**
+     * Rewrites all the children of the given node, then the node itself.
+     *
+     * @param node the node
+     * @return the node that should replace the given one
+     */
+    @NotNull Node rewrite(final @NotNull Node node) {
+        Refl<?> refl = new Refl<>(node);
+        for (Field field : refl.getNonStaticFields()) {
+            Object object = refl.getFieldObject(field);
+            if (object instanceof Node) {
+                Node rewritten = rewrite((Node) object);
+                if (rewritten != object) refl.setFieldObject(field.getName(), rewritten);
+            } else if (object instanceof List) {
+                ListIterator<Object> iterator = ((List<Object>) object).listIterator();
+                while (iterator.hasNext()) {
+                    Object element = iterator.next();
+                    if (element instanceof Node) {
+                        Node rewritten = rewrite((Node) element);
+                        if (rewritten != element) iterator.set(rewritten);
+                    }
+                }
+            }
+        }
+        if (node instanceof CodeBlock || node instanceof JavaProgram) {
+            LinkedList<Statement> statements = node instanceof CodeBlock ?
+                    ((CodeBlock) node).getStatements() : ((JavaProgram) node).getStatements();
+            LinkedList<Statement> rewritten = rewriteStatements(statements);
+            if (rewritten != statements) {
+                statements.clear();
+                statements.addAll(rewritten);
+            }
+        }
+        return rewriteNode(node);
+    }
+
+    /**
+     * Rewrites a single node, after all its children have been rewritten.
+     * The returned node must be compatible with the field containing the original one.
+     *
+     * @param node the node
+     * @return the node itself or its replacement
+     */
+    @NotNull Node rewriteNode(final @NotNull Node node) {
+        return node;
+    }
+
+    /**
+     * Rewrites the statements of a {@link CodeBlock} or {@link JavaProgram},
+     * after all of them have been rewritten.
+     *
+     * @param statements the statements
+     * @return the statements themselves or a new list to replace them
+     */
+    @NotNull LinkedList<Statement> rewriteStatements(final @NotNull LinkedList<Statement> statements) {
+        return statements;
+    }
+
+    /**
+     * Records a change in the current {@link OptimizationReport}.
+     *
+     * @param description the description of the change
+     * @param args        the arguments to add in the description format
+     */
+    void record(final @NotNull String description, final Object @NotNull ... args) {
+        this.report.record(getName(), String.format(description, args));
+    }
+
+    /**
+     * Checks whether any of the statements directly declares a variable
+     * in the scope of the block containing it.
+     *
+     * @param statements the statements
+     * @return true if at least one does
+     */
+    static boolean declaresVariables(final @NotNull List<Statement> statements) {
+        for (Statement statement : statements)
+            if (statement.getClass().equals(Statement.class) && statement.getExpression().is(Assignment.class))
+                return true;
+        return false;
+    }
+
+}
@@ -0,0 +1,28 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single transformation applied by the {@link Optimizer} to a type checked {@link JavaProgram}.
+ * Passes rewrite the program in place and must preserve its semantics.
+ */
+public interface OptimizationPass {
+
+    /**
+     * Gets the name of the pass, used to identify it in the {@link Optimizer}.
+     *
+     * @return the name
+     */
+    @NotNull String getName();
+
+    /**
+     * Optimizes the given program.
+     * Every change should be recorded in the given report.
+     *
+     * @param program the program
+     * @param report  the report
+     */
+    void optimize(final @NotNull JavaProgram program, final @NotNull OptimizationReport report);
+
+}
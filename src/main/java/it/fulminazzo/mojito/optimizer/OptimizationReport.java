@@ -0,0 +1,72 @@
+package it.fulminazzo.mojito.optimizer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Collects all the changes applied by the {@link OptimizationPass}es of an {@link Optimizer}.
+ */
+public final class OptimizationReport {
+    private final @NotNull Map<String, List<String>> changes;
+
+    /**
+     * Instantiates a new empty Optimization report.
+     */
+    public OptimizationReport() {
+        this.changes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Records a change applied by the given pass.
+     *
+     * @param pass        the name of the pass
+     * @param description the description of the change
+     */
+    public void record(final @NotNull String pass, final @NotNull String description) {
+        this.changes.computeIfAbsent(pass, p -> new LinkedList<>()).add(description);
+    }
+
+    /**
+     * Gets all the changes applied by the given pass.
+     *
+     * @param pass the name of the pass
+     * @return the changes
+     */
+    public @NotNull List<String> getChanges(final @NotNull String pass) {
+        return Collections.unmodifiableList(this.changes.getOrDefault(pass, Collections.emptyList()));
+    }
+
+    /**
+     * Gets the number of changes applied by the given pass.
+     *
+     * @param pass the name of the pass
+     * @return the number of changes
+     */
+    public int count(final @NotNull String pass) {
+        return getChanges(pass).size();
+    }
+
+    /**
+     * Checks whether no change was applied.
+     *
+     * @return true if no change was recorded
+     */
+    public boolean isEmpty() {
+        return this.changes.isEmpty();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        if (isEmpty()) return "No optimization applied";
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : this.changes.entrySet()) {
+            if (builder.length() > 0) builder.append(System.lineSeparator());
+            builder.append(String.format("%s (%s changes)", entry.getKey(), entry.getValue().size()));
+            for (String change : entry.getValue())
+                builder.append(System.lineSeparator()).append(" - ").append(change);
+        }
+        return builder.toString();
+    }
+
+}
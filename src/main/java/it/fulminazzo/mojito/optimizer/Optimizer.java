@@ -0,0 +1,121 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A pipeline of {@link OptimizationPass}es applied, in order, to a type checked {@link JavaProgram}
+ * before it is executed.
+ * Every pass can be enabled or disabled by its name.
+ */
+public final class Optimizer {
+    private final @NotNull Map<String, OptimizationPass> passes;
+    private final @NotNull Set<String> disabled;
+
+    /**
+     * Instantiates a new Optimizer with all the available passes:
+     * {@link ConstantFolding}, {@link DeadBranchElimination}, {@link LoopInvariantHoisting}
+     * and {@link ScopeElision}.
+     * These passes rewrite the structure of the program, so they are not applied unless requested
+     * (see {@link #none()} for the default of the runners).
+     */
+    public Optimizer() {
+        this(new ConstantFolding(), new DeadBranchElimination(), new LoopInvariantHoisting(), new ScopeElision());
+    }
+
+    /**
+     * Instantiates a new Optimizer with the given passes.
+     *
+     * @param passes the passes
+     */
+    public Optimizer(final OptimizationPass @NotNull ... passes) {
+        this.passes = new LinkedHashMap<>();
+        this.disabled = new HashSet<>();
+        for (OptimizationPass pass : passes) addPass(pass);
+    }
+
+    /**
+     * Creates a new Optimizer without any pass, which leaves the programs as they are written.
+     * This is the optimizer used by the runners unless another one is given.
+     *
+     * @return the optimizer
+     */
+    public static @NotNull Optimizer none() {
+        return new Optimizer(new OptimizationPass[0]);
+    }
+
+    /**
+     * Adds the given pass at the end of the pipeline.
+     *
+     * @param pass the pass
+     * @return this optimizer
+     */
+    public @NotNull Optimizer addPass(final @NotNull OptimizationPass pass) {
+        this.passes.put(pass.getName(), pass);
+        return this;
+    }
+
+    /**
+     * Enables the pass with the given name.
+     *
+     * @param pass the name of the pass
+     * @return this optimizer
+     */
+    public @NotNull Optimizer enable(final @NotNull String pass) {
+        this.disabled.remove(checkPass(pass));
+        return this;
+    }
+
+    /**
+     * Disables the pass with the given name.
+     *
+     * @param pass the name of the pass
+     * @return this optimizer
+     */
+    public @NotNull Optimizer disable(final @NotNull String pass) {
+        this.disabled.add(checkPass(pass));
+        return this;
+    }
+
+    /**
+     * Checks whether the pass with the given name is enabled.
+     *
+     * @param pass the name of the pass
+     * @return true if it is
+     */
+    public boolean isEnabled(final @NotNull String pass) {
+        return this.passes.containsKey(pass) && !this.disabled.contains(pass);
+    }
+
+    /**
+     * Gets the names of all the passes, in the order they are applied.
+     *
+     * @return the names
+     */
+    public @NotNull List<String> getPasses() {
+        return new ArrayList<>(this.passes.keySet());
+    }
+
+    /**
+     * Applies all the enabled passes to the given program.
+     * The program is rewritten in place.
+     *
+     * @param program the program
+     * @return the report of all the applied changes
+     */
+    public @NotNull OptimizationReport optimize(final @NotNull JavaProgram program) {
+        OptimizationReport report = new OptimizationReport();
+        for (OptimizationPass pass : this.passes.values())
+            if (!this.disabled.contains(pass.getName()))
+                pass.optimize(program, report);
+        return report;
+    }
+
+    private @NotNull String checkPass(final @NotNull String pass) {
+        if (!this.passes.containsKey(pass)) throw new IllegalArgumentException("Unknown optimization pass: " + pass);
+        return pass;
+    }
+
+}
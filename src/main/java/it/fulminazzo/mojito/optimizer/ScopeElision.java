@@ -0,0 +1,30 @@
+package it.fulminazzo.mojito.optimizer;
+
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.UnscopedCodeBlock;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Replaces every {@link CodeBlock} that does not declare any variable with an {@link UnscopedCodeBlock},
+ * so that no scope is entered and exited every time it is visited.
+ * This is particularly effective on the bodies of loops.
+ */
+public final class ScopeElision extends NodeRewriter {
+    public static final String NAME = "scope-elision";
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull Node rewriteNode(final @NotNull Node node) {
+        if (!node.getClass().equals(CodeBlock.class)) return node;
+        CodeBlock block = (CodeBlock) node;
+        if (declaresVariables(block.getStatements())) return node;
+        record("Removed scope of %s", block);
+        return new UnscopedCodeBlock(block.getStatements());
+    }
+
+}
@@ -34,6 +34,7 @@ import static it.fulminazzo.mojito.tokenizer.TokenType.*;
  */
 @NoArgsConstructor
 public class JavaParser extends Parser {
+    private @NotNull SourceMap sourceMap = new SourceMap();
 
     /**
      * Instantiates a new Java parser.
@@ -44,6 +45,32 @@ public class JavaParser extends Parser {
         super(input);
     }
 
+    @Override
+    public void setInput(final @NotNull InputStream input) {
+        super.setInput(input);
+        this.sourceMap = new SourceMap();
+    }
+
+    /**
+     * Gets the positions of the statements, method calls and field accesses
+     * read since the last {@link #setInput(InputStream)}.
+     *
+     * @return the source map
+     */
+    public @NotNull SourceMap getSourceMap() {
+        return this.sourceMap;
+    }
+
+    /**
+     * Gets the position of the first character of the last token read.
+     *
+     * @return the position
+     */
+    protected @NotNull SourcePosition currentPosition() {
+        Tokenizer tokenizer = getTokenizer();
+        return new SourcePosition(tokenizer.line(), Math.max(tokenizer.column() - tokenizer.lastRead().length() + 1, 1));
+    }
+
     /**
      * JAVA_PROGRAM := SINGLE_STMT*
      *
@@ -96,10 +123,12 @@ public class JavaParser extends Parser {
             return parseSingleStatement();
         }
 
+        SourcePosition position = currentPosition();
         if (lastToken() == SEMICOLON) {
             consume(SEMICOLON);
             statement = new Statement();
         } else statement = parseStatement();
+        this.sourceMap.setPosition(statement, position);
         return statement;
     }
 
@@ -784,6 +813,7 @@ public class JavaParser extends Parser {
      * @return the node
      */
     protected @NotNull Node parseMethodCall() {
+        SourcePosition position = currentPosition();
         Node node = parseAtom();
         if (node.is(Literal.class) && lastToken() == OPEN_PAR) {
             Literal literalNode = (Literal) node;
@@ -798,16 +828,30 @@ public class JavaParser extends Parser {
                 methodName = literal;
             }
             node = new MethodCall(executor, methodName, parseMethodInvocation());
+            setPosition((MethodCall) node, position);
         }
         while (lastToken() == DOT) {
+            position = currentPosition();
             Literal methodName = parseLiteralNoDot();
-            if (lastToken() == OPEN_PAR)
+            if (lastToken() == OPEN_PAR) {
                 node = new MethodCall(node, methodName.getLiteral(), parseMethodInvocation());
-            else node = new Field(node, methodName);
+                setPosition((MethodCall) node, position);
+            } else {
+                node = new Field(node, methodName);
+                this.sourceMap.setPosition(node, position);
+                // The type checker resolves the field by its name
+                this.sourceMap.setPosition(methodName, position);
+            }
         }
         return node;
     }
 
+    private void setPosition(final @NotNull MethodCall methodCall, final @NotNull SourcePosition position) {
+        // The type checker resolves the method by its invocation
+        this.sourceMap.setPosition(methodCall, position);
+        this.sourceMap.setPosition(methodCall.getInvocation(), position);
+    }
+
     /**
      * METHOD_INVOCATION := \( (EXPR)? (, EXPR)* \)
      *
@@ -869,7 +913,8 @@ public class JavaParser extends Parser {
      */
     protected @NotNull Literal parseLiteral() {
         final String literal = getTokenizer().lastRead();
-        Literal l = getLiteralFromString(literal);
+        // The token was already validated by the tokenizer
+        Literal l = lastToken() == LITERAL ? Literal.fromToken(literal) : getLiteralFromString(literal);
         consume(LITERAL);
         return l;
     }
@@ -911,32 +956,15 @@ public class JavaParser extends Parser {
         final String read = getTokenizer().lastRead();
         final ValueLiteral literal;
         switch (lastToken()) {
-            case NUMBER_VALUE: {
-                literal = createLiteral(NumberValueLiteral.class, read);
-                break;
-            }
-            case LONG_VALUE: {
-                literal = createLiteral(LongValueLiteral.class, read);
-                break;
-            }
-            case DOUBLE_VALUE: {
-                literal = createLiteral(DoubleValueLiteral.class, read);
-                break;
-            }
-            case FLOAT_VALUE: {
-                literal = createLiteral(FloatValueLiteral.class, read);
-                break;
-            }
-            case BOOLEAN_VALUE: {
-                literal = createLiteral(BooleanValueLiteral.class, read);
-                break;
-            }
-            case CHAR_VALUE: {
-                literal = createLiteral(CharValueLiteral.class, read);
-                break;
-            }
+            case NUMBER_VALUE:
+            case LONG_VALUE:
+            case DOUBLE_VALUE:
+            case FLOAT_VALUE:
+            case BOOLEAN_VALUE:
+            case CHAR_VALUE:
             case STRING_VALUE: {
-                literal = createLiteral(StringValueLiteral.class, read);
+                // The token was already validated by the tokenizer
+                literal = ValueLiteral.fromToken(lastToken(), read);
                 break;
             }
             default:
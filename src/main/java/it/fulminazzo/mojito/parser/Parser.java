@@ -95,6 +95,24 @@ public abstract class Parser {
         this.tokenizer = new Tokenizer(input);
     }
 
+    /**
+     * Gets the number of characters read from the current input.
+     *
+     * @return the characters
+     */
+    public long getReadCharacters() {
+        return getTokenizer().characters();
+    }
+
+    /**
+     * Gets the number of tokens read from the current input.
+     *
+     * @return the tokens
+     */
+    public long getReadTokens() {
+        return getTokenizer().tokens();
+    }
+
     /**
      * Gets the current tokenizer.
      * If none was set, a {@link ParserException} will be thrown.
@@ -0,0 +1,58 @@
+package it.fulminazzo.mojito.parser;
+
+import it.fulminazzo.mojito.parser.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The positions of the nodes read by a {@link JavaParser}.
+ * <br>
+ * Positions are not stored in the nodes themselves, since nodes are compared and visited by their fields:
+ * two equal nodes at different positions must still be equal.
+ * For this reason, the nodes are identified by their identity,
+ * and nodes created after parsing (for example, by the {@link it.fulminazzo.mojito.optimizer.Optimizer})
+ * have no position.
+ */
+public final class SourceMap {
+    private final @NotNull Map<Node, SourcePosition> positions;
+
+    /**
+     * Instantiates a new empty Source map.
+     */
+    public SourceMap() {
+        this.positions = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets the position of the given node.
+     *
+     * @param node the node
+     * @return the position (null if the node was not read by the parser)
+     */
+    public @Nullable SourcePosition getPosition(final @NotNull Node node) {
+        return this.positions.get(node);
+    }
+
+    /**
+     * Sets the position of the given node.
+     *
+     * @param node     the node
+     * @param position the position
+     */
+    void setPosition(final @NotNull Node node, final @NotNull SourcePosition position) {
+        this.positions.put(node, position);
+    }
+
+    /**
+     * Gets the number of nodes with a position.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.positions.size();
+    }
+
+}
@@ -0,0 +1,44 @@
+package it.fulminazzo.mojito.parser;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The position of a node in the parsed code, identified by the line and the column of its first token.
+ * Both start from <code>1</code>.
+ */
+@Getter
+public final class SourcePosition {
+    private final int line;
+    private final int column;
+
+    /**
+     * Instantiates a new Source position.
+     *
+     * @param line   the line
+     * @param column the column
+     */
+    public SourcePosition(final int line, final int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.line + this.column;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (!(o instanceof SourcePosition)) return false;
+        SourcePosition other = (SourcePosition) o;
+        return this.line == other.line && this.column == other.column;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.line + ":" + this.column;
+    }
+
+}
@@ -0,0 +1,478 @@
+package it.fulminazzo.mojito.parser.arena;
+
+import it.fulminazzo.fulmicollection.objects.Refl;
+import it.fulminazzo.mojito.parser.node.*;
+import it.fulminazzo.mojito.parser.node.arrays.DynamicArray;
+import it.fulminazzo.mojito.parser.node.arrays.StaticArray;
+import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.container.JavaProgram;
+import it.fulminazzo.mojito.parser.node.container.UnscopedCodeBlock;
+import it.fulminazzo.mojito.parser.node.literals.*;
+import it.fulminazzo.mojito.parser.node.operators.binary.*;
+import it.fulminazzo.mojito.parser.node.operators.unary.Decrement;
+import it.fulminazzo.mojito.parser.node.operators.unary.Increment;
+import it.fulminazzo.mojito.parser.node.operators.unary.Minus;
+import it.fulminazzo.mojito.parser.node.operators.unary.Not;
+import it.fulminazzo.mojito.parser.node.statements.*;
+import it.fulminazzo.mojito.parser.node.values.*;
+import it.fulminazzo.mojito.tokenizer.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A compact representation of a tree of {@link Node}s, stored in a few primitive arrays.
+ * <br>
+ * The nodes are numbered in pre-order, starting from the root at index <code>0</code>.
+ * Every node has a kind, which is the index of its class in a table shared by the whole tree,
+ * and a contiguous range of slots, one for each one of its fields in the order they are visited by
+ * {@link it.fulminazzo.mojito.parser.node.NodeImpl}:
+ * <ul>
+ *     <li>a node field holds the index of the child (<code>-1</code> if null);</li>
+ *     <li>a list field holds the offset of the list in the lists array, where the kind of the list
+ *     is followed by its size and by the indices of its elements (<code>-1</code> if null);</li>
+ *     <li>a string field holds the index of the string in a pool of constants,
+ *     where equal strings are stored only once (<code>-1</code> if null);</li>
+ *     <li><code>int</code> and <code>boolean</code> fields hold their value.</li>
+ * </ul>
+ * The tree can be walked with a {@link TreeCursor}, and converted back to an equal tree of {@link Node}s.
+ * <br>
+ * Only the nodes created by the parser can be stored: each one of their types is restored
+ * by a factory that passes the values of its fields to one of its constructors.
+ */
+public final class FlatTree {
+    private static final Map<Class<?>, Factory> FACTORIES = new HashMap<>();
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    static {
+        binary(Add.class, Add::new);
+        binary(And.class, And::new);
+        binary(ArrayIndex.class, ArrayIndex::new);
+        binary(BitAnd.class, BitAnd::new);
+        binary(BitOr.class, BitOr::new);
+        binary(BitXor.class, BitXor::new);
+        binary(Cast.class, Cast::new);
+        binary(Divide.class, Divide::new);
+        binary(Equal.class, Equal::new);
+        binary(GreaterThan.class, GreaterThan::new);
+        binary(GreaterThanEqual.class, GreaterThanEqual::new);
+        binary(LShift.class, LShift::new);
+        binary(LessThan.class, LessThan::new);
+        binary(LessThanEqual.class, LessThanEqual::new);
+        binary(Modulo.class, Modulo::new);
+        binary(Multiply.class, Multiply::new);
+        binary(NewObject.class, NewObject::new);
+        binary(NotEqual.class, NotEqual::new);
+        binary(Or.class, Or::new);
+        binary(RShift.class, RShift::new);
+        binary(ReAssign.class, ReAssign::new);
+        binary(Subtract.class, Subtract::new);
+        binary(URShift.class, URShift::new);
+        // Not to be confused with the reflection field used by the layouts
+        FACTORIES.put(it.fulminazzo.mojito.parser.node.operators.binary.Field.class, v ->
+                new it.fulminazzo.mojito.parser.node.operators.binary.Field(v.get("left"), v.<Literal>get("right")));
+
+        unary(Minus.class, Minus::new);
+        unary(Not.class, Not::new);
+        FACTORIES.put(Increment.class, v -> new Increment(v.get("operand"), v.<Boolean>get("before")));
+        FACTORIES.put(Decrement.class, v -> new Decrement(v.get("operand"), v.<Boolean>get("before")));
+
+        value(NumberValueLiteral.class, TokenType.NUMBER_VALUE);
+        value(LongValueLiteral.class, TokenType.LONG_VALUE);
+        value(DoubleValueLiteral.class, TokenType.DOUBLE_VALUE);
+        value(FloatValueLiteral.class, TokenType.FLOAT_VALUE);
+        value(BooleanValueLiteral.class, TokenType.BOOLEAN_VALUE);
+        value(CharValueLiteral.class, TokenType.CHAR_VALUE);
+        value(StringValueLiteral.class, TokenType.STRING_VALUE);
+
+        FACTORIES.put(Literal.fromToken("_").getClass(), v -> Literal.fromToken(v.get("value")));
+        FACTORIES.put(ArrayLiteral.class, v -> new ArrayLiteral(v.get("type")));
+        FACTORIES.put(EmptyLiteral.class, v -> new EmptyLiteral());
+        FACTORIES.put(NullLiteral.class, v -> new NullLiteral());
+        FACTORIES.put(ThisLiteral.class, v -> new ThisLiteral());
+
+        FACTORIES.put(DynamicArray.class, v -> new DynamicArray(v.get("type"), v.get("parameters")));
+        FACTORIES.put(StaticArray.class, v -> new StaticArray(v.get("type"), (NumberValueLiteral)
+                ValueLiteral.fromToken(TokenType.NUMBER_VALUE, String.valueOf(v.<Integer>get("size")))));
+
+        FACTORIES.put(Assignment.class, v -> new Assignment(v.get("type"), v.<Literal>get("name"), v.get("value")));
+        FACTORIES.put(AssignmentBlock.class, v -> new AssignmentBlock(v.get("assignments")));
+        FACTORIES.put(MethodCall.class, v -> new MethodCall(v.get("executor"), v.get("methodName"),
+                v.<MethodInvocation>get("invocation")));
+        FACTORIES.put(MethodInvocation.class, v -> new MethodInvocation(v.get("parameters")));
+
+        FACTORIES.put(JavaProgram.class, v -> new JavaProgram(v.get("statements")));
+        FACTORIES.put(CodeBlock.class, v -> new CodeBlock(v.<LinkedList<Statement>>get("statements")));
+        FACTORIES.put(UnscopedCodeBlock.class, v -> new UnscopedCodeBlock(v.get("statements")));
+
+        FACTORIES.put(Statement.class, v -> new Statement(v.get("expression")));
+        FACTORIES.put(Return.class, v -> new Return(v.get("expression")));
+        FACTORIES.put(Throw.class, v -> new Throw(v.get("expression")));
+        FACTORIES.put(Break.class, v -> new Break());
+        FACTORIES.put(Continue.class, v -> new Continue());
+        FACTORIES.put(CaseStatement.class, v -> new CaseStatement(v.get("expression"), v.get("block")));
+        FACTORIES.put(CatchStatement.class, v -> new CatchStatement(v.get("exceptions"),
+                v.<Literal>get("expression"), v.get("block")));
+        FACTORIES.put(DoStatement.class, v -> new DoStatement(v.get("expression"), v.get("code")));
+        FACTORIES.put(WhileStatement.class, v -> new WhileStatement(v.get("expression"), v.get("code")));
+        FACTORIES.put(EnhancedForStatement.class, v -> new EnhancedForStatement(v.get("type"), v.get("variable"),
+                v.get("expression"), v.get("code")));
+        FACTORIES.put(ForStatement.class, v -> new ForStatement(v.get("assignment"), v.get("expression"),
+                v.get("increment"), v.get("code")));
+        FACTORIES.put(IfStatement.class, v -> new IfStatement(v.get("expression"), v.get("then"),
+                v.get("elseBranch")));
+        FACTORIES.put(SwitchStatement.class, v -> new SwitchStatement(v.get("expression"), v.get("cases"),
+                v.get("defaultBlock")));
+        FACTORIES.put(TryStatement.class, v -> new TryStatement(v.<AssignmentBlock>get("expression"),
+                v.get("block"), v.get("catchBlocks"), v.get("finallyBlock")));
+    }
+
+    final @NotNull Class<?> @NotNull [] types;
+    final @Nullable Layout @NotNull [] layouts;
+    final int @NotNull [] kinds;
+    final int @NotNull [] offsets;
+    final int @NotNull [] slots;
+    final int @NotNull [] lists;
+    final @NotNull String @NotNull [] constants;
+
+    private FlatTree(final @NotNull Builder builder) {
+        this.types = builder.types.toArray(new Class<?>[0]);
+        this.layouts = new Layout[this.types.length];
+        for (int i = 0; i < this.types.length; i++)
+            if (Node.class.isAssignableFrom(this.types[i])) this.layouts[i] = getLayout(this.types[i]);
+        this.kinds = builder.kinds.toArray();
+        builder.offsets.add(builder.slots.size());
+        this.offsets = builder.offsets.toArray();
+        this.slots = builder.slots.toArray();
+        this.lists = builder.lists.toArray();
+        this.constants = builder.constants.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Gets the number of nodes in the tree.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.kinds.length;
+    }
+
+    /**
+     * Gets the number of distinct strings in the tree.
+     *
+     * @return the constants
+     */
+    public int getConstantCount() {
+        return this.constants.length;
+    }
+
+    /**
+     * Creates a new cursor positioned on the root of the tree.
+     *
+     * @return the cursor
+     */
+    public @NotNull TreeCursor cursor() {
+        return new TreeCursor(this);
+    }
+
+    /**
+     * Converts the tree back to {@link Node}s.
+     * Every call returns new nodes, equal to the ones the tree was created from.
+     *
+     * @param <N> the type of the root
+     * @return the root
+     */
+    @SuppressWarnings("unchecked")
+    public <N extends Node> @NotNull N toNode() {
+        return (N) toNode(0);
+    }
+
+    /**
+     * Converts the subtree starting at the given node back to {@link Node}s.
+     *
+     * @param node the index of the node
+     * @return the node
+     */
+    @NotNull Node toNode(final int node) {
+        Layout layout = getLayout(node);
+        Object[] values = new Object[layout.fields.length];
+        int offset = this.offsets[node];
+        for (int i = 0; i < values.length; i++) {
+            int slot = this.slots[offset + i];
+            switch (layout.slotTypes[i]) {
+                case NODE:
+                    values[i] = slot < 0 ? null : toNode(slot);
+                    break;
+                case LIST:
+                    values[i] = slot < 0 ? null : toList(slot);
+                    break;
+                case STRING:
+                    values[i] = slot < 0 ? null : this.constants[slot];
+                    break;
+                case BOOLEAN:
+                    values[i] = slot != 0;
+                    break;
+                default:
+                    values[i] = slot;
+            }
+        }
+        return layout.factory.create(new Values(layout, values));
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull List<Object> toList(final int offset) {
+        Class<?> type = this.types[this.lists[offset]];
+        int size = this.lists[offset + 1];
+        List<Object> list;
+        try {
+            list = (List<Object>) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // Lists without a public constructor (like unmodifiable ones) are restored as array lists
+            list = new ArrayList<>(size);
+        }
+        for (int i = 0; i < size; i++) {
+            int element = this.lists[offset + 2 + i];
+            list.add(element < 0 ? null : toNode(element));
+        }
+        return list;
+    }
+
+    /**
+     * Gets the layout of the given node.
+     *
+     * @param node the index of the node
+     * @return the layout
+     */
+    @NotNull Layout getLayout(final int node) {
+        return Objects.requireNonNull(this.layouts[this.kinds[node]]);
+    }
+
+    /**
+     * Creates a new flat tree from the given node and all its children.
+     *
+     * @param root the root
+     * @return the tree
+     * @throws IllegalArgumentException in case a node has a field that cannot be stored in the tree
+     */
+    public static @NotNull FlatTree of(final @NotNull Node root) {
+        Builder builder = new Builder();
+        builder.add(root);
+        return new FlatTree(builder);
+    }
+
+    private static @NotNull Layout getLayout(final @NotNull Class<?> type) {
+        return LAYOUTS.computeIfAbsent(type, Layout::new);
+    }
+
+    private static <N extends Node> void binary(final @NotNull Class<N> type,
+                                                final @NotNull BiFunction<Node, Node, N> constructor) {
+        FACTORIES.put(type, v -> constructor.apply(v.get("left"), v.get("right")));
+    }
+
+    private static <N extends Node> void unary(final @NotNull Class<N> type,
+                                               final @NotNull Function<Node, N> constructor) {
+        FACTORIES.put(type, v -> constructor.apply(v.get("operand")));
+    }
+
+    /**
+     * Registers the factory of a {@link ValueLiteral}.
+     * Its raw value was already unescaped, so the token passed back to the parser
+     * escapes the backslashes again and restores the suffixes and quotes removed from it.
+     *
+     * @param type      the type of the literal
+     * @param tokenType the type of its token
+     */
+    private static void value(final @NotNull Class<? extends ValueLiteral> type, final @NotNull TokenType tokenType) {
+        FACTORIES.put(type, v -> {
+            String rawValue = v.get("rawValue");
+            final String token;
+            if (tokenType == TokenType.LONG_VALUE) token = rawValue + "L";
+            else if (tokenType == TokenType.CHAR_VALUE) token = "'" + rawValue.replace("\\", "\\\\") + "'";
+            else if (tokenType == TokenType.STRING_VALUE) token = '"' + rawValue.replace("\\", "\\\\") + '"';
+            else token = rawValue;
+            return ValueLiteral.fromToken(tokenType, token);
+        });
+    }
+
+    /**
+     * Creates a node of a given type from the values of its fields.
+     */
+    @FunctionalInterface
+    interface Factory {
+
+        /**
+         * Creates the node.
+         *
+         * @param values the values of the fields
+         * @return the node
+         */
+        @NotNull Node create(final @NotNull Values values);
+
+    }
+
+    /**
+     * The values of the fields of a node being restored.
+     */
+    static final class Values {
+        private final @NotNull Layout layout;
+        private final @Nullable Object @NotNull [] values;
+
+        private Values(final @NotNull Layout layout, final @Nullable Object @NotNull [] values) {
+            this.layout = layout;
+            this.values = values;
+        }
+
+        /**
+         * Gets the value of the field with the given name.
+         *
+         * @param <T>  the type of the value
+         * @param name the name of the field
+         * @return the value
+         */
+        @SuppressWarnings("unchecked")
+        <T> T get(final @NotNull String name) {
+            for (int i = 0; i < this.layout.fields.length; i++)
+                if (this.layout.fields[i].getName().equals(name)) return (T) this.values[i];
+            throw new IllegalArgumentException(String.format("Nodes of type %s have no field %s",
+                    this.layout.type.getSimpleName(), name));
+        }
+
+    }
+
+    /**
+     * The type of value held by a slot.
+     */
+    enum SlotType {
+        NODE, LIST, STRING, INT, BOOLEAN;
+
+        static @NotNull SlotType of(final @NotNull Field field) {
+            Class<?> type = field.getType();
+            if (Node.class.isAssignableFrom(type)) return NODE;
+            else if (List.class.isAssignableFrom(type)) return LIST;
+            else if (type == String.class) return STRING;
+            else if (type == int.class) return INT;
+            else if (type == boolean.class) return BOOLEAN;
+            else throw new IllegalArgumentException(String.format("Field %s of %s cannot be stored in a %s",
+                        field.getName(), field.getDeclaringClass().getSimpleName(), FlatTree.class.getSimpleName()));
+        }
+
+    }
+
+    /**
+     * The fields of a type of node, in the order they are visited, and the factory used to restore it.
+     */
+    static final class Layout {
+        final @NotNull Class<?> type;
+        final @NotNull Field @NotNull [] fields;
+        final @NotNull SlotType @NotNull [] slotTypes;
+        final @NotNull Factory factory;
+
+        private Layout(final @NotNull Class<?> type) {
+            Factory factory = FACTORIES.get(type);
+            if (factory == null)
+                throw new IllegalArgumentException(String.format("Nodes of type %s cannot be stored in a %s",
+                        type.getSimpleName(), FlatTree.class.getSimpleName()));
+            this.type = type;
+            this.factory = factory;
+            this.fields = new Refl<>(type).getNonStaticFields().toArray(new Field[0]);
+            this.slotTypes = new SlotType[this.fields.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                this.fields[i].setAccessible(true);
+                this.slotTypes[i] = SlotType.of(this.fields[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Fills the arrays of a tree while visiting its nodes.
+     */
+    private static final class Builder {
+        private final @NotNull List<Class<?>> types = new ArrayList<>();
+        private final @NotNull Map<Class<?>, Integer> typeIndices = new HashMap<>();
+        private final @NotNull Map<String, Integer> constants = new LinkedHashMap<>();
+        private final @NotNull IntArray kinds = new IntArray();
+        private final @NotNull IntArray offsets = new IntArray();
+        private final @NotNull IntArray slots = new IntArray();
+        private final @NotNull IntArray lists = new IntArray();
+
+        private int add(final @NotNull Node node) {
+            Layout layout = getLayout(node.getClass());
+            int index = this.kinds.size();
+            this.kinds.add(getKind(node.getClass()));
+            int offset = this.slots.size();
+            this.offsets.add(offset);
+            this.slots.reserve(layout.fields.length);
+            try {
+                for (int i = 0; i < layout.fields.length; i++)
+                    this.slots.set(offset + i, toSlot(layout.slotTypes[i], layout.fields[i].get(node)));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not read node of type " + node.getClass().getSimpleName(), e);
+            }
+            return index;
+        }
+
+        private int toSlot(final @NotNull SlotType slotType, final @Nullable Object value) {
+            if (slotType == SlotType.BOOLEAN) return (Boolean) value ? 1 : 0;
+            else if (slotType == SlotType.INT) return (Integer) value;
+            else if (value == null) return -1;
+            else if (slotType == SlotType.NODE) return add((Node) value);
+            else if (slotType == SlotType.STRING)
+                return this.constants.computeIfAbsent((String) value, k -> this.constants.size());
+            List<?> list = (List<?>) value;
+            int offset = this.lists.size();
+            this.lists.reserve(list.size() + 2);
+            this.lists.set(offset, getKind(list.getClass()));
+            this.lists.set(offset + 1, list.size());
+            int i = offset + 2;
+            for (Object element : list) this.lists.set(i++, element == null ? -1 : add((Node) element));
+            return offset;
+        }
+
+        private int getKind(final @NotNull Class<?> type) {
+            return this.typeIndices.computeIfAbsent(type, t -> {
+                this.types.add(t);
+                return this.types.size() - 1;
+            });
+        }
+
+    }
+
+    /**
+     * A growable array of <code>int</code>s.
+     */
+    private static final class IntArray {
+        private int @NotNull [] values = new int[16];
+        private int size;
+
+        void add(final int value) {
+            reserve(1);
+            this.values[this.size - 1] = value;
+        }
+
+        void reserve(final int amount) {
+            if (this.size + amount > this.values.length)
+                this.values = Arrays.copyOf(this.values, Math.max(this.values.length * 2, this.size + amount));
+            this.size += amount;
+        }
+
+        void set(final int index, final int value) {
+            this.values[index] = value;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int @NotNull [] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+
+    }
+
+}
@@ -0,0 +1,215 @@
+package it.fulminazzo.mojito.parser.arena;
+
+import it.fulminazzo.mojito.parser.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A cursor that walks a {@link FlatTree} without converting it back to {@link Node}s.
+ * <br>
+ * The cursor is positioned on a node at a time: its fields can be read by their index,
+ * in the same order they are passed to the <code>visit</code> methods of a
+ * {@link it.fulminazzo.mojito.visitors.Visitor}.
+ * The cursor can then {@link #enter(int)} a child and {@link #exit()} back to the parent.
+ */
+public final class TreeCursor {
+    private final @NotNull FlatTree tree;
+    private int node;
+    private int @NotNull [] parents;
+    private int depth;
+
+    TreeCursor(final @NotNull FlatTree tree) {
+        this.tree = tree;
+        this.parents = new int[16];
+    }
+
+    /**
+     * Gets the index of the current node.
+     *
+     * @return the index
+     */
+    public int getNode() {
+        return this.node;
+    }
+
+    /**
+     * Gets the number of parents of the current node that were entered by this cursor.
+     *
+     * @return the depth
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the class of the current node.
+     *
+     * @return the class
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull Class<? extends Node> getType() {
+        return (Class<? extends Node>) this.tree.types[this.tree.kinds[this.node]];
+    }
+
+    /**
+     * Checks whether the current node is of the given type.
+     *
+     * @param type the type
+     * @return true if it is
+     */
+    public boolean is(final @NotNull Class<? extends Node> type) {
+        return type.isAssignableFrom(getType());
+    }
+
+    /**
+     * Gets the number of fields of the current node.
+     *
+     * @return the fields
+     */
+    public int getFieldCount() {
+        return this.tree.getLayout(this.node).fields.length;
+    }
+
+    /**
+     * Gets the name of the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the name
+     */
+    public @NotNull String getFieldName(final int field) {
+        return this.tree.getLayout(this.node).fields[field].getName();
+    }
+
+    /**
+     * Gets the index of the node held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the index of the child (-1 if null)
+     */
+    public int getChild(final int field) {
+        return slot(field, FlatTree.SlotType.NODE);
+    }
+
+    /**
+     * Gets the size of the list held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the size (-1 if null)
+     */
+    public int getChildCount(final int field) {
+        int offset = slot(field, FlatTree.SlotType.LIST);
+        return offset < 0 ? -1 : this.tree.lists[offset + 1];
+    }
+
+    /**
+     * Gets the index of the element at the given position of the list held by the given field of the current node.
+     *
+     * @param field   the index of the field
+     * @param element the position of the element in the list
+     * @return the index of the child (-1 if null)
+     */
+    public int getChild(final int field, final int element) {
+        int offset = slot(field, FlatTree.SlotType.LIST);
+        if (offset < 0 || element < 0 || element >= this.tree.lists[offset + 1])
+            throw new IndexOutOfBoundsException("Invalid element " + element + " for field " + getFieldName(field));
+        return this.tree.lists[offset + 2 + element];
+    }
+
+    /**
+     * Gets the string held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the string
+     */
+    public @Nullable String getString(final int field) {
+        int constant = slot(field, FlatTree.SlotType.STRING);
+        return constant < 0 ? null : this.tree.constants[constant];
+    }
+
+    /**
+     * Gets the <code>int</code> held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the value
+     */
+    public int getInt(final int field) {
+        return slot(field, FlatTree.SlotType.INT);
+    }
+
+    /**
+     * Gets the <code>boolean</code> held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return the value
+     */
+    public boolean getBoolean(final int field) {
+        return slot(field, FlatTree.SlotType.BOOLEAN) != 0;
+    }
+
+    /**
+     * Moves the cursor to the node held by the given field of the current node.
+     *
+     * @param field the index of the field
+     * @return this cursor
+     */
+    public @NotNull TreeCursor enter(final int field) {
+        return enterNode(getChild(field));
+    }
+
+    /**
+     * Moves the cursor to the element at the given position of the list held by the given field of the current node.
+     *
+     * @param field   the index of the field
+     * @param element the position of the element in the list
+     * @return this cursor
+     */
+    public @NotNull TreeCursor enter(final int field, final int element) {
+        return enterNode(getChild(field, element));
+    }
+
+    /**
+     * Moves the cursor back to the node it was on before the last {@link #enter(int)}.
+     *
+     * @return this cursor
+     */
+    public @NotNull TreeCursor exit() {
+        if (this.depth == 0) throw new IllegalStateException("Cannot exit from the first node of the cursor");
+        this.node = this.parents[--this.depth];
+        return this;
+    }
+
+    /**
+     * Converts the current node and its children back to {@link Node}s.
+     *
+     * @param <N> the type of the node
+     * @return the node
+     */
+    @SuppressWarnings("unchecked")
+    public <N extends Node> @NotNull N toNode() {
+        return (N) this.tree.toNode(this.node);
+    }
+
+    private @NotNull TreeCursor enterNode(final int child) {
+        if (child < 0) throw new IllegalStateException("Cannot enter a null node");
+        if (this.depth == this.parents.length) this.parents = Arrays.copyOf(this.parents, this.depth * 2);
+        this.parents[this.depth++] = this.node;
+        this.node = child;
+        return this;
+    }
+
+    private int slot(final int field, final @NotNull FlatTree.SlotType expected) {
+        FlatTree.Layout layout = this.tree.getLayout(this.node);
+        if (layout.slotTypes[field] != expected)
+            throw new IllegalArgumentException(String.format("Field %s of %s does not hold a %s",
+                    getFieldName(field), getType().getSimpleName(), expected.name().toLowerCase()));
+        return this.tree.slots[this.tree.offsets[this.node] + field];
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s#%s)", getClass().getSimpleName(), getType().getSimpleName(), this.node);
+    }
+
+}
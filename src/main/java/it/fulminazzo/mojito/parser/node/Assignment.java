@@ -8,10 +8,9 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Represents an assignment statement.
  */
+@Getter
 public class Assignment extends NodeImpl {
-    @Getter
     private final @NotNull Node type;
-    @Getter
     private final @NotNull Literal name;
     private final @NotNull Node value;
 
@@ -1,5 +1,6 @@
 package it.fulminazzo.mojito.parser.node;
 
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
  * Represents a collection of {@link Assignment}s separated by
  * {@link it.fulminazzo.mojito.tokenizer.TokenType#SEMICOLON}.
  */
+@Getter
 public class AssignmentBlock extends NodeImpl {
     private final @NotNull List<Assignment> assignments;
 
@@ -1,10 +1,12 @@
 package it.fulminazzo.mojito.parser.node;
 
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a method call invocation.
  */
+@Getter
 public class MethodCall extends NodeImpl {
     private final @NotNull Node executor;
     private final @NotNull String methodName;
@@ -8,6 +8,9 @@ import org.jetbrains.annotations.NotNull;
  * Represents a {@link Node} associated with a {@link TokenType}.
  * The node will compare the raw value given with the regex associated with the token,
  * and throw a {@link NodeException} in case of error.
+ * <br>
+ * Nodes created by the parser from a token already classified by the tokenizer
+ * are not validated again.
  */
 @Getter
 public abstract class TokenizedNode extends NodeImpl {
@@ -25,4 +28,10 @@ public abstract class TokenizedNode extends NodeImpl {
             throw new NodeException("Invalid value %s for token %s(%s)", rawValue, type, type.regex());
     }
 
+    /**
+     * Instantiates a new Tokenized node from a value that was already validated.
+     */
+    protected TokenizedNode() {
+    }
+
 }
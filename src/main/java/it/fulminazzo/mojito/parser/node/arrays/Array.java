@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.arrays;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.NodeImpl;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a general array declaration.
  */
+@Getter
 abstract class Array extends NodeImpl {
     protected @NotNull Node type;
 
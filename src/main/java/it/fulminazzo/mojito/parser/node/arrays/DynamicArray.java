@@ -1,6 +1,7 @@
 package it.fulminazzo.mojito.parser.node.arrays;
 
 import it.fulminazzo.mojito.parser.node.Node;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
 /**
  * Represents an array dynamically typed.
  */
+@Getter
 public class DynamicArray extends Array {
     private final @NotNull List<Node> parameters;
 
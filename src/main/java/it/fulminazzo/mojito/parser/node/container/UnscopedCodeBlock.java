@@ -0,0 +1,24 @@
+package it.fulminazzo.mojito.parser.node.container;
+
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedList;
+
+/**
+ * Represents a {@link CodeBlock} that does not declare any variable.
+ * Since there is nothing to isolate, visitors do not need to create a new scope for it.
+ * It is never produced by the parser, but only by the optimizer.
+ */
+public class UnscopedCodeBlock extends CodeBlock {
+
+    /**
+     * Instantiates a new Unscoped code block.
+     *
+     * @param statements the statements
+     */
+    public UnscopedCodeBlock(final @NotNull LinkedList<Statement> statements) {
+        super(statements);
+    }
+
+}
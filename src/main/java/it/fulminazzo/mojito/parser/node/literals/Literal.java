@@ -28,4 +28,16 @@ public interface Literal extends Node {
         return new LiteralImpl(value);
     }
 
+    /**
+     * Creates a new {@link Literal} from a token already classified as {@link TokenType#LITERAL} by the tokenizer.
+     * Differently from {@link #of(String)}, the token is not validated again:
+     * this should only be used by the parser.
+     *
+     * @param token the token
+     * @return the literal
+     */
+    static @NotNull Literal fromToken(final @NotNull String token) {
+        return new LiteralImpl(token, 0, token.length());
+    }
+
 }
@@ -21,6 +21,18 @@ class LiteralImpl extends TokenizedNode implements Literal {
         this.value = rawValue;
     }
 
+    /**
+     * Instantiates a new Literal from the span of a token, already classified as {@link TokenType#LITERAL}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the literal in the token
+     * @param end   the index after the last character of the literal in the token
+     */
+    LiteralImpl(final @NotNull String token, final int start, final int end) {
+        this.value = start == 0 && end == token.length() ? token : token.substring(start, end);
+    }
+
     @Override
     public @NotNull String getLiteral() {
         return this.value;
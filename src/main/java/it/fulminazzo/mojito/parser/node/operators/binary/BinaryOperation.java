@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.operators.binary;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.operators.Operation;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents an {@link Operation} with two operands.
  */
+@Getter
 public abstract class BinaryOperation extends Operation {
     protected final @NotNull Node left;
     protected final @NotNull Node right;
@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.operators.unary;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.operators.Operation;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents an {@link Operation} with one operand.
  */
+@Getter
 public abstract class UnaryOperation extends Operation {
     protected final @NotNull Node operand;
 
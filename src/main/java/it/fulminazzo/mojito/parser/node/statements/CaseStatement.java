@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents the code block associated with {@link it.fulminazzo.mojito.tokenizer.TokenType#CASE}.
  */
+@Getter
 public class CaseStatement extends Statement {
     private final @NotNull CodeBlock block;
 
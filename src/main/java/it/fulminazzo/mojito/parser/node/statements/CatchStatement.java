@@ -2,6 +2,7 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
 import it.fulminazzo.mojito.parser.node.literals.Literal;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.List;
 /**
  * Represents the statement associated with {@link it.fulminazzo.mojito.tokenizer.TokenType#CATCH}.
  */
+@Getter
 public class CatchStatement extends Statement {
     private final @NotNull List<Literal> exceptions;
     private final @NotNull CodeBlock block;
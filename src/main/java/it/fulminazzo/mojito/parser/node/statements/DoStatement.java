@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a do statement.
  */
+@Getter
 public class DoStatement extends Statement {
     private final @NotNull CodeBlock code;
 
@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a for statement in an enhanced form.
  */
+@Getter
 public class EnhancedForStatement extends Statement {
     private final @NotNull Node type;
     private final @NotNull Node variable;
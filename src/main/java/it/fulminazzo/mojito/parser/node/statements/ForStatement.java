@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a for statement.
  */
+@Getter
 public class ForStatement extends Statement {
     private final @NotNull Node assignment;
     private final @NotNull Node increment;
@@ -2,11 +2,13 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents an if statement.
  */
+@Getter
 public class IfStatement extends Statement {
     private final @NotNull CodeBlock then;
     private final @NotNull Node elseBranch;
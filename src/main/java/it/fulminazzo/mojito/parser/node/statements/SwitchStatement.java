@@ -2,6 +2,7 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.List;
 /**
  * Represents a switch statement.
  */
+@Getter
 public class SwitchStatement extends Statement {
     private final @NotNull List<CaseStatement> cases;
     private final @NotNull CodeBlock defaultBlock;
@@ -2,6 +2,7 @@ package it.fulminazzo.mojito.parser.node.statements;
 
 import it.fulminazzo.mojito.parser.node.AssignmentBlock;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.List;
 /**
  * Represents the statement associated with {@link it.fulminazzo.mojito.tokenizer.TokenType#TRY}.
  */
+@Getter
 public class TryStatement extends Statement {
     private final @NotNull CodeBlock block;
     private final @NotNull List<CatchStatement> catchBlocks;
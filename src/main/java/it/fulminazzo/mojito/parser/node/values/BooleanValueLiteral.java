@@ -19,4 +19,17 @@ public class BooleanValueLiteral extends ValueLiteral {
         super(rawValue, TokenType.BOOLEAN_VALUE);
     }
 
+    /**
+     * Instantiates a new Boolean literal from the span of a token,
+     * already classified as {@link TokenType#BOOLEAN_VALUE}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the value in the token
+     * @param end   the index after the last character of the value in the token
+     */
+    BooleanValueLiteral(final @NotNull String token, final int start, final int end) {
+        super(substring(token, start, end));
+    }
+
 }
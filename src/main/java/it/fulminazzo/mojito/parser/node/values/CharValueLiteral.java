@@ -19,6 +19,18 @@ public class CharValueLiteral extends ValueLiteral {
         super(prepareString(rawValue), TokenType.CHAR_VALUE);
     }
 
+    /**
+     * Instantiates a new Char literal from the span of a token, already classified as {@link TokenType#CHAR_VALUE}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the value in the token
+     * @param end   the index after the last character of the value in the token
+     */
+    CharValueLiteral(final @NotNull String token, final int start, final int end) {
+        super(unescapeString(token, start, end));
+    }
+
     /**
      * Because of conflicts that may arise from the character <code>'\\'</code>,
      * this function removes the quotes, invokes {@link #unescapeString(String)} on
@@ -19,4 +19,16 @@ public class DoubleValueLiteral extends ValueLiteral {
         super(rawValue, TokenType.DOUBLE_VALUE);
     }
 
+    /**
+     * Instantiates a new Double literal from the span of a token, already classified as {@link TokenType#DOUBLE_VALUE}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the value in the token
+     * @param end   the index after the last character of the value in the token
+     */
+    DoubleValueLiteral(final @NotNull String token, final int start, final int end) {
+        super(substring(token, start, end));
+    }
+
 }
@@ -19,4 +19,16 @@ public class FloatValueLiteral extends ValueLiteral {
         super(rawValue, TokenType.FLOAT_VALUE);
     }
 
+    /**
+     * Instantiates a new Float literal from the span of a token, already classified as {@link TokenType#FLOAT_VALUE}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the value in the token
+     * @param end   the index after the last character of the value in the token
+     */
+    FloatValueLiteral(final @NotNull String token, final int start, final int end) {
+        super(substring(token, start, end));
+    }
+
 }
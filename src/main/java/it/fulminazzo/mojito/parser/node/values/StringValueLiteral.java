@@ -19,4 +19,16 @@ public class StringValueLiteral extends ValueLiteral {
         super(unescapeString(rawValue), TokenType.STRING_VALUE);
     }
 
+    /**
+     * Instantiates a new String literal from the span of a token, already classified as {@link TokenType#STRING_VALUE}.
+     * The value is not validated again.
+     *
+     * @param token the token
+     * @param start the index of the first character of the value in the token
+     * @param end   the index after the last character of the value in the token
+     */
+    StringValueLiteral(final @NotNull String token, final int start, final int end) {
+        super(unescapeString(token, start, end));
+    }
+
 }
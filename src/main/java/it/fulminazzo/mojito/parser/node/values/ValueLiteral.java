@@ -6,26 +6,13 @@ import it.fulminazzo.mojito.tokenizer.TokenType;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents a literal which holds a raw value from the TYPE_VALUE directive.
  */
 @Getter
 public abstract class ValueLiteral extends TokenizedNode {
-    private static final Map<String, String> ESCAPE_CHARACTERS = new HashMap<String, String>() {{
-        put("\\t", "\t");
-        put("\\r", "\r");
-        put("\\n", "\n");
-        put("\\f", "\f");
-        put("\\b", "\b");
-        put("\\'", "'");
-        put("\\\"", "\"");
-        put("\\\\", "\\");
-    }};
     protected final @NotNull String rawValue;
 
     /**
@@ -38,20 +25,121 @@ public abstract class ValueLiteral extends TokenizedNode {
     public ValueLiteral(final @NotNull String rawValue,
                         final @NotNull TokenType type) throws NodeException {
         super(rawValue, type);
-        Matcher matcher = Pattern.compile(type.regex()).matcher(rawValue);
+        Matcher matcher = type.pattern().matcher(rawValue);
         matcher.find();
         this.rawValue = matcher.group(matcher.groupCount());
     }
 
     /**
-     * Replaces all the {@link #ESCAPE_CHARACTERS} in the string with their actual values.
+     * Instantiates a new Value literal from a value already extracted from a validated token.
+     *
+     * @param rawValue the raw value
+     */
+    protected ValueLiteral(final @NotNull String rawValue) {
+        this.rawValue = rawValue;
+    }
+
+    /**
+     * Creates a new {@link ValueLiteral} from a token already classified by the tokenizer.
+     * Differently from the constructors, the token is not validated again
+     * and its value is extracted without using the {@link TokenType#regex()}:
+     * this should only be used by the parser.
+     *
+     * @param type  the type of the token
+     * @param token the token
+     * @return the literal
+     */
+    public static @NotNull ValueLiteral fromToken(final @NotNull TokenType type, final @NotNull String token) {
+        final int length = token.length();
+        switch (type) {
+            case NUMBER_VALUE:
+                return new NumberValueLiteral(token, 0, length);
+            case LONG_VALUE: {
+                char last = token.charAt(length - 1);
+                return new LongValueLiteral(token, 0, last == 'L' || last == 'l' ? length - 1 : length);
+            }
+            case DOUBLE_VALUE:
+                return new DoubleValueLiteral(token, 0, length);
+            case FLOAT_VALUE:
+                return new FloatValueLiteral(token, 0, length);
+            case BOOLEAN_VALUE:
+                return new BooleanValueLiteral(token, 0, length);
+            case CHAR_VALUE:
+                return new CharValueLiteral(token, 1, length - 1);
+            case STRING_VALUE:
+                return new StringValueLiteral(token, 1, length - 1);
+            default:
+                throw new IllegalArgumentException("Not a value token: " + type);
+        }
+    }
+
+    /**
+     * Gets the given part of the token, without copying it if it is the whole token.
+     *
+     * @param token the token
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @return the part
+     */
+    static @NotNull String substring(final @NotNull String token, final int start, final int end) {
+        return start == 0 && end == token.length() ? token : token.substring(start, end);
+    }
+
+    /**
+     * Replaces all the escape sequences in the string with their actual values.
      *
      * @param string the string
      * @return the replaced string
      */
-    static @NotNull String unescapeString(@NotNull String string) {
-        for (String key : ESCAPE_CHARACTERS.keySet())
-            string = string.replace(key, ESCAPE_CHARACTERS.get(key));
-        return string;
+    static @NotNull String unescapeString(final @NotNull String string) {
+        return unescapeString(string, 0, string.length());
+    }
+
+    /**
+     * Replaces all the escape sequences in the given part of the string with their actual values, in a single pass.
+     * Backslashes not followed by a known escape character are kept as they are.
+     *
+     * @param string the string
+     * @param start  the index of the first character
+     * @param end    the index after the last character
+     * @return the replaced part
+     */
+    static @NotNull String unescapeString(final @NotNull String string, final int start, final int end) {
+        int backslash = string.indexOf('\\', start);
+        if (backslash < 0 || backslash >= end) return substring(string, start, end);
+        StringBuilder builder = new StringBuilder(end - start);
+        builder.append(string, start, backslash);
+        for (int i = backslash; i < end; i++) {
+            char c = string.charAt(i);
+            char escaped = c == '\\' && i + 1 < end ? unescape(string.charAt(i + 1)) : 0;
+            if (escaped == 0) builder.append(c);
+            else {
+                builder.append(escaped);
+                i++;
+            }
+        }
+        return builder.toString();
     }
+
+    private static char unescape(final char c) {
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            case 'b':
+                return '\b';
+            case '\'':
+            case '"':
+            case '\\':
+                return c;
+            default:
+                return 0;
+        }
+    }
+
 }
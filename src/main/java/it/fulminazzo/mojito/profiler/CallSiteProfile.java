@@ -0,0 +1,82 @@
+package it.fulminazzo.mojito.profiler;
+
+import it.fulminazzo.mojito.parser.SourcePosition;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The accesses to Java members recorded by an {@link InteropProfiler} for a single method call or field access.
+ */
+@Getter
+public final class CallSiteProfile {
+    private final @NotNull String name;
+    private final @Nullable SourcePosition position;
+    private final long count;
+    @Getter(AccessLevel.NONE)
+    private final long @NotNull [] times;
+    /**
+     * The classes of the objects the member was accessed on, up to {@link InteropProfiler#MAX_RECEIVER_TYPES}.
+     */
+    private final @NotNull List<Class<?>> receiverTypes;
+
+    CallSiteProfile(final @NotNull String name, final @Nullable SourcePosition position, final long count,
+                    final long @NotNull [] times, final @NotNull List<Class<?>> receiverTypes) {
+        this.name = name;
+        this.position = position;
+        this.count = count;
+        this.times = times;
+        this.receiverTypes = Collections.unmodifiableList(receiverTypes);
+    }
+
+    /**
+     * Gets the time spent in the given phase, in nanoseconds.
+     *
+     * @param phase the phase
+     * @return the time
+     */
+    public long getTime(final @NotNull InteropProfiler.Phase phase) {
+        return this.times[phase.ordinal()];
+    }
+
+    /**
+     * Gets the time spent in all the phases, in nanoseconds.
+     *
+     * @return the time
+     */
+    public long getTotalTime() {
+        long total = 0;
+        for (long time : this.times) total += time;
+        return total;
+    }
+
+    /**
+     * Checks whether the site was reached with at least {@link InteropProfiler#MEGAMORPHIC_THRESHOLD}
+     * receiver classes, so that caching the resolved member for a single class would not help.
+     *
+     * @return true if it was
+     */
+    public boolean isMegamorphic() {
+        return this.receiverTypes.size() >= InteropProfiler.MEGAMORPHIC_THRESHOLD;
+    }
+
+    /**
+     * Gets the name of the member followed by the position of the site, if known.
+     *
+     * @return the label
+     */
+    public @NotNull String getLabel() {
+        return this.position == null ? this.name : this.name + "@" + this.position;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s, count: %s, total: %sns)",
+                getClass().getSimpleName(), getLabel(), this.count, getTotalTime());
+    }
+
+}
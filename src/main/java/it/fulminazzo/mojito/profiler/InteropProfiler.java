@@ -0,0 +1,165 @@
+package it.fulminazzo.mojito.profiler;
+
+import it.fulminazzo.mojito.parser.SourceMap;
+import it.fulminazzo.mojito.parser.SourcePosition;
+import it.fulminazzo.mojito.parser.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the calls to Java methods and the accesses to Java fields made by the
+ * {@link it.fulminazzo.mojito.executor.Executor}, for every site of the program.
+ * <br>
+ * The time of every access is split in {@link Phase}s, to tell whether it is spent looking up the member,
+ * converting the arguments, in the member itself or converting the result.
+ * Sites are identified by their {@link SourcePosition}, so the executions of the same code
+ * parsed more than once are added together.
+ * <br>
+ * A profiler is not thread-safe: it should be used by one execution at a time.
+ */
+public final class InteropProfiler {
+    /**
+     * The number of receiver classes from which a site is considered megamorphic.
+     */
+    public static final int MEGAMORPHIC_THRESHOLD = 3;
+    /**
+     * The maximum number of receiver classes remembered for every site.
+     */
+    static final int MAX_RECEIVER_TYPES = 8;
+
+    private final @NotNull Map<Object, Site> sites;
+    private final @NotNull Map<Member, long[]> members;
+    private @NotNull SourceMap sourceMap;
+
+    /**
+     * Instantiates a new Interop profiler.
+     */
+    public InteropProfiler() {
+        this.sites = new HashMap<>();
+        this.members = new HashMap<>();
+        this.sourceMap = new SourceMap();
+    }
+
+    /**
+     * Starts profiling a new execution of a program.
+     *
+     * @param sourceMap the positions of the nodes of the program
+     */
+    public void start(final @NotNull SourceMap sourceMap) {
+        this.sourceMap = sourceMap;
+    }
+
+    /**
+     * Records an access to a Java member.
+     *
+     * @param node     the node of the site (the invocation of a method call or the name of a field)
+     * @param name     the name of the method or field
+     * @param method   true if the member is a method
+     * @param receiver the class of the object the member was accessed on (null if unknown)
+     * @param member   the member accessed
+     * @param resolve  the time spent in {@link Phase#RESOLVE}, in nanoseconds
+     * @param marshal  the time spent in {@link Phase#MARSHAL}, in nanoseconds
+     * @param invoke   the time spent in {@link Phase#INVOKE}, in nanoseconds
+     * @param wrap     the time spent in {@link Phase#WRAP}, in nanoseconds
+     */
+    public void record(final @NotNull Node node, final @NotNull String name, final boolean method,
+                       final @Nullable Class<?> receiver, final @NotNull Member member,
+                       final long resolve, final long marshal, final long invoke, final long wrap) {
+        SourcePosition position = this.sourceMap.getPosition(node);
+        Object key = position == null ? node : position;
+        Site site = this.sites.get(key);
+        if (site == null) {
+            site = new Site(method ? name + "()" : name, position);
+            this.sites.put(key, site);
+        }
+        site.count++;
+        site.times[Phase.RESOLVE.ordinal()] += resolve;
+        site.times[Phase.MARSHAL.ordinal()] += marshal;
+        site.times[Phase.INVOKE.ordinal()] += invoke;
+        site.times[Phase.WRAP.ordinal()] += wrap;
+        if (receiver != null && site.receivers.size() < MAX_RECEIVER_TYPES) site.receivers.add(receiver);
+
+        long[] stats = this.members.get(member);
+        if (stats == null) {
+            stats = new long[2];
+            this.members.put(member, stats);
+        }
+        stats[0]++;
+        stats[1] += invoke;
+    }
+
+    /**
+     * Discards all the recorded accesses.
+     */
+    public void reset() {
+        this.sites.clear();
+        this.members.clear();
+    }
+
+    /**
+     * Creates a report of the accesses recorded until now.
+     *
+     * @return the report
+     */
+    public @NotNull InteropReport getReport() {
+        List<CallSiteProfile> sites = new ArrayList<>();
+        for (Site site : this.sites.values())
+            sites.add(new CallSiteProfile(site.name, site.position, site.count, site.times.clone(),
+                    new ArrayList<>(site.receivers)));
+        List<MemberProfile> members = new ArrayList<>();
+        for (Map.Entry<Member, long[]> entry : this.members.entrySet())
+            members.add(new MemberProfile(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        return new InteropReport(sites, members);
+    }
+
+    /**
+     * The phases of an access to a Java member.
+     */
+    public enum Phase {
+        /**
+         * The lookup of the member among the ones of the receiver class.
+         * It is almost free for the members already resolved by the type checker.
+         */
+        RESOLVE,
+        /**
+         * The conversion of the parameters to Java arguments.
+         */
+        MARSHAL,
+        /**
+         * The invocation of the method or the read of the field.
+         */
+        INVOKE,
+        /**
+         * The conversion of the returned object to a value.
+         */
+        WRAP
+    }
+
+    /**
+     * The accesses recorded for a single site.
+     */
+    private static final class Site {
+        private final @NotNull String name;
+        private final @Nullable SourcePosition position;
+        private final long @NotNull [] times;
+        private final @NotNull Set<Class<?>> receivers;
+        private long count;
+
+        private Site(final @NotNull String name, final @Nullable SourcePosition position) {
+            this.name = name;
+            this.position = position;
+            this.times = new long[Phase.values().length];
+            this.receivers = new LinkedHashSet<>();
+        }
+
+    }
+
+}
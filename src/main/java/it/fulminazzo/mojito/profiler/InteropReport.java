@@ -0,0 +1,93 @@
+package it.fulminazzo.mojito.profiler;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The report of the accesses to Java members recorded by an {@link InteropProfiler}.
+ */
+@Getter
+public final class InteropReport {
+    /**
+     * The profiles of every site, sorted by total time, from the highest.
+     */
+    private final @NotNull List<CallSiteProfile> sites;
+    /**
+     * The profiles of every member, sorted by number of accesses, from the highest.
+     */
+    private final @NotNull List<MemberProfile> members;
+
+    InteropReport(final @NotNull List<CallSiteProfile> sites, final @NotNull List<MemberProfile> members) {
+        List<CallSiteProfile> sortedSites = new ArrayList<>(sites);
+        sortedSites.sort(Comparator.comparingLong(CallSiteProfile::getTotalTime).reversed()
+                .thenComparing(CallSiteProfile::getLabel));
+        List<MemberProfile> sortedMembers = new ArrayList<>(members);
+        sortedMembers.sort(Comparator.comparingLong(MemberProfile::getCount).reversed()
+                .thenComparing(MemberProfile::getLabel));
+        this.sites = Collections.unmodifiableList(sortedSites);
+        this.members = Collections.unmodifiableList(sortedMembers);
+    }
+
+    /**
+     * Gets the profiles of the megamorphic sites, sorted by total time, from the highest.
+     *
+     * @return the profiles
+     */
+    public @NotNull List<CallSiteProfile> getMegamorphicSites() {
+        return this.sites.stream().filter(CallSiteProfile::isMegamorphic).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the profiles of the members declared by the JDK, sorted by number of accesses, from the highest.
+     *
+     * @return the profiles
+     */
+    public @NotNull List<MemberProfile> getJdkMembers() {
+        return this.members.stream().filter(MemberProfile::isJdk).collect(Collectors.toList());
+    }
+
+    /**
+     * Converts the report to a table of the sites, followed by the megamorphic sites
+     * and the most accessed members of the JDK.
+     *
+     * @param limit the maximum number of rows of every table
+     * @return the tables
+     */
+    public @NotNull String toText(final int limit) {
+        StringBuilder builder = new StringBuilder(String.format("%-32s %10s %12s %12s %12s %12s%n",
+                "site", "count", "resolve (ns)", "marshal (ns)", "invoke (ns)", "wrap (ns)"));
+        for (CallSiteProfile site : limit(this.sites, limit))
+            builder.append(String.format("%-32s %10d %12d %12d %12d %12d%n", site.getLabel(), site.getCount(),
+                    site.getTime(InteropProfiler.Phase.RESOLVE), site.getTime(InteropProfiler.Phase.MARSHAL),
+                    site.getTime(InteropProfiler.Phase.INVOKE), site.getTime(InteropProfiler.Phase.WRAP)));
+
+        List<CallSiteProfile> megamorphic = getMegamorphicSites();
+        if (!megamorphic.isEmpty()) {
+            builder.append(String.format("%nmegamorphic sites:%n"));
+            for (CallSiteProfile site : limit(megamorphic, limit))
+                builder.append(String.format("%-32s %s%n", site.getLabel(), site.getReceiverTypes().stream()
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(", "))));
+        }
+
+        List<MemberProfile> jdkMembers = getJdkMembers();
+        if (!jdkMembers.isEmpty()) {
+            builder.append(String.format("%n%-32s %10s %12s%n", "jdk member", "count", "invoke (ns)"));
+            for (MemberProfile member : limit(jdkMembers, limit))
+                builder.append(String.format("%-32s %10d %12d%n",
+                        member.getLabel(), member.getCount(), member.getInvokeTime()));
+        }
+        return builder.toString();
+    }
+
+    private static <T> @NotNull List<T> limit(final @NotNull List<T> list, final int limit) {
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+}
@@ -0,0 +1,57 @@
+package it.fulminazzo.mojito.profiler;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+/**
+ * The accesses to a single Java member recorded by an {@link InteropProfiler}, from every site.
+ */
+@Getter
+public final class MemberProfile {
+    private static final String[] JDK_PACKAGES = new String[]{"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private final @NotNull Member member;
+    private final long count;
+    /**
+     * The time spent in the member itself, in nanoseconds.
+     */
+    private final long invokeTime;
+
+    MemberProfile(final @NotNull Member member, final long count, final long invokeTime) {
+        this.member = member;
+        this.count = count;
+        this.invokeTime = invokeTime;
+    }
+
+    /**
+     * Checks whether the member is declared by a class of the JDK.
+     *
+     * @return true if it is
+     */
+    public boolean isJdk() {
+        String className = this.member.getDeclaringClass().getName();
+        for (String jdkPackage : JDK_PACKAGES)
+            if (className.startsWith(jdkPackage)) return true;
+        return false;
+    }
+
+    /**
+     * Gets the simple name of the declaring class followed by the name of the member.
+     *
+     * @return the label
+     */
+    public @NotNull String getLabel() {
+        String label = this.member.getDeclaringClass().getSimpleName() + "." + this.member.getName();
+        return this.member instanceof Method ? label + "()" : label;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s, count: %s, invoke: %sns)",
+                getClass().getSimpleName(), getLabel(), this.count, this.invokeTime);
+    }
+
+}
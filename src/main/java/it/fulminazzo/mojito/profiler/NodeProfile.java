@@ -0,0 +1,56 @@
+package it.fulminazzo.mojito.profiler;
+
+import it.fulminazzo.mojito.parser.SourcePosition;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The executions of a single statement recorded by a {@link NodeProfiler}.
+ */
+@Getter
+public final class NodeProfile {
+    private final @NotNull String name;
+    private final @Nullable SourcePosition position;
+    private final long count;
+    private final long inclusiveTime;
+    private final long exclusiveTime;
+
+    NodeProfile(final @NotNull String name, final @Nullable SourcePosition position,
+                final long count, final long inclusiveTime, final long exclusiveTime) {
+        this.name = name;
+        this.position = position;
+        this.count = count;
+        this.inclusiveTime = inclusiveTime;
+        this.exclusiveTime = exclusiveTime;
+    }
+
+    /**
+     * Adds the given executions of the same statement, reached from another stack.
+     *
+     * @param count         the number of executions
+     * @param inclusiveTime the time spent in the statement and in its children, in nanoseconds
+     * @param exclusiveTime the time spent in the statement only, in nanoseconds
+     * @return the merged profile
+     */
+    @NotNull NodeProfile merge(final long count, final long inclusiveTime, final long exclusiveTime) {
+        return new NodeProfile(this.name, this.position, this.count + count,
+                this.inclusiveTime + inclusiveTime, this.exclusiveTime + exclusiveTime);
+    }
+
+    /**
+     * Gets the name of the statement followed by its position, if known.
+     *
+     * @return the label
+     */
+    public @NotNull String getLabel() {
+        return this.position == null ? this.name : this.name + "@" + this.position;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s, count: %s, inclusive: %sns, exclusive: %sns)",
+                getClass().getSimpleName(), getLabel(), this.count, this.inclusiveTime, this.exclusiveTime);
+    }
+
+}
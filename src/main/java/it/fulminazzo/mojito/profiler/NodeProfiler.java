@@ -0,0 +1,160 @@
+package it.fulminazzo.mojito.profiler;
+
+import it.fulminazzo.mojito.parser.SourceMap;
+import it.fulminazzo.mojito.parser.SourcePosition;
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.parser.node.statements.Statement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the time spent by the {@link it.fulminazzo.mojito.executor.Executor} in every statement of a program.
+ * <br>
+ * Statements are recorded in a tree of calling contexts: the same statement reached from two different
+ * enclosing statements is recorded twice, so that the report can show both the time of every statement
+ * and the stacks that lead to it.
+ * Statements are identified by their {@link SourcePosition}, so the executions of the same code
+ * parsed more than once are added together.
+ * <br>
+ * Every statement costs two reads of {@link System#nanoTime()} and a hash lookup.
+ * A profiler is not thread-safe: it should be used by one execution at a time.
+ */
+public final class NodeProfiler {
+    private final @NotNull Frame root;
+    private @NotNull Frame current;
+    private @NotNull SourceMap sourceMap;
+
+    /**
+     * Instantiates a new Node profiler.
+     */
+    public NodeProfiler() {
+        this.root = new Frame(null, "root", null);
+        this.current = this.root;
+        this.sourceMap = new SourceMap();
+    }
+
+    /**
+     * Starts profiling a new execution of a program.
+     *
+     * @param sourceMap the positions of the nodes of the program
+     */
+    public void start(final @NotNull SourceMap sourceMap) {
+        this.sourceMap = sourceMap;
+        this.current = this.root;
+    }
+
+    /**
+     * Records the start of the execution of the given node.
+     * Every invocation must be followed by {@link #exit()}, even if the execution fails.
+     *
+     * @param node the node
+     */
+    public void enter(final @NotNull Node node) {
+        SourcePosition position = this.sourceMap.getPosition(node);
+        Object key = position == null ? node : position;
+        Frame frame = this.current.children.get(key);
+        if (frame == null) {
+            frame = new Frame(this.current, getName(node), position);
+            this.current.children.put(key, frame);
+        }
+        this.current = frame;
+        frame.childrenTime = 0;
+        frame.start = System.nanoTime();
+    }
+
+    /**
+     * Records the end of the execution of the last entered node.
+     */
+    public void exit() {
+        Frame frame = this.current;
+        long elapsed = System.nanoTime() - frame.start;
+        frame.count++;
+        frame.inclusiveTime += elapsed;
+        frame.exclusiveTime += elapsed - frame.childrenTime;
+        Frame parent = frame.parent;
+        if (parent != null) {
+            parent.childrenTime += elapsed;
+            this.current = parent;
+        }
+    }
+
+    /**
+     * Discards all the recorded executions.
+     */
+    public void reset() {
+        this.root.children.clear();
+        this.current = this.root;
+    }
+
+    /**
+     * Creates a report of the executions recorded until now.
+     *
+     * @return the report
+     */
+    public @NotNull ProfileReport getReport() {
+        Map<Object, NodeProfile> nodes = new HashMap<>();
+        List<String> stacks = new ArrayList<>();
+        for (Frame child : this.root.children.values()) collect(child, "", nodes, stacks);
+        return new ProfileReport(new ArrayList<>(nodes.values()), stacks);
+    }
+
+    private static void collect(final @NotNull Frame frame, final @NotNull String stack,
+                                final @NotNull Map<Object, NodeProfile> nodes, final @NotNull List<String> stacks) {
+        String label = frame.getLabel();
+        String path = stack.isEmpty() ? label : stack + ";" + label;
+        stacks.add(path + " " + frame.exclusiveTime);
+        // The same statement may be reached from different stacks
+        Object key = frame.position == null ? label : frame.position;
+        NodeProfile profile = nodes.get(key);
+        nodes.put(key, profile == null ?
+                new NodeProfile(frame.name, frame.position, frame.count, frame.inclusiveTime, frame.exclusiveTime) :
+                profile.merge(frame.count, frame.inclusiveTime, frame.exclusiveTime));
+        for (Frame child : frame.children.values()) collect(child, path, nodes, stacks);
+    }
+
+    /**
+     * Gets the name of the given node:
+     * statements that only contain an expression are named after the expression.
+     *
+     * @param node the node
+     * @return the name
+     */
+    static @NotNull String getName(final @NotNull Node node) {
+        if (node.getClass().equals(Statement.class)) return ((Statement) node).getExpression().getClass().getSimpleName();
+        return node.getClass().getSimpleName();
+    }
+
+    /**
+     * A node in a calling context.
+     */
+    private static final class Frame {
+        private final @Nullable Frame parent;
+        private final @NotNull String name;
+        private final @Nullable SourcePosition position;
+        private final @NotNull Map<Object, Frame> children;
+
+        private long count;
+        private long inclusiveTime;
+        private long exclusiveTime;
+        private long childrenTime;
+        private long start;
+
+        private Frame(final @Nullable Frame parent, final @NotNull String name, final @Nullable SourcePosition position) {
+            this.parent = parent;
+            this.name = name;
+            this.position = position;
+            this.children = new HashMap<>();
+        }
+
+        private @NotNull String getLabel() {
+            return this.position == null ? this.name : this.name + "@" + this.position;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package it.fulminazzo.mojito.profiler;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The report of the executions recorded by a {@link NodeProfiler}.
+ * It can be exported as a table of the hot spots, as JSON
+ * or as collapsed stacks, accepted by most flame graph tools.
+ */
+public final class ProfileReport {
+    /**
+     * The profiles of every statement, sorted by exclusive time, from the highest.
+     */
+    @Getter
+    private final @NotNull List<NodeProfile> nodes;
+    private final @NotNull List<String> stacks;
+
+    ProfileReport(final @NotNull List<NodeProfile> nodes, final @NotNull List<String> stacks) {
+        List<NodeProfile> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingLong(NodeProfile::getExclusiveTime).reversed()
+                .thenComparing(NodeProfile::getLabel));
+        this.nodes = Collections.unmodifiableList(sorted);
+        this.stacks = Collections.unmodifiableList(new ArrayList<>(stacks));
+    }
+
+    /**
+     * Gets the total time spent in the profiled statements, in nanoseconds.
+     *
+     * @return the time
+     */
+    public long getTotalTime() {
+        long total = 0;
+        for (NodeProfile node : this.nodes) total += node.getExclusiveTime();
+        return total;
+    }
+
+    /**
+     * Converts the report to a table of the statements, from the one with the highest exclusive time.
+     *
+     * @return the table
+     */
+    public @NotNull String toText() {
+        long total = getTotalTime();
+        StringBuilder builder = new StringBuilder(String.format("%-40s %12s %16s %16s %7s%n",
+                "statement", "count", "inclusive (ns)", "exclusive (ns)", "%"));
+        for (NodeProfile node : this.nodes)
+            builder.append(String.format("%-40s %12d %16d %16d %6.2f%%%n",
+                    node.getLabel(), node.getCount(), node.getInclusiveTime(), node.getExclusiveTime(),
+                    total == 0 ? 0D : node.getExclusiveTime() * 100D / total));
+        return builder.toString();
+    }
+
+    /**
+     * Converts the report to a JSON array of the statements, from the one with the highest exclusive time.
+     *
+     * @return the JSON
+     */
+    public @NotNull String toJson() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.nodes.size(); i++) {
+            NodeProfile node = this.nodes.get(i);
+            if (i > 0) builder.append(",");
+            builder.append("{\"name\":\"").append(escape(node.getName())).append("\"");
+            if (node.getPosition() != null)
+                builder.append(",\"line\":").append(node.getPosition().getLine())
+                        .append(",\"column\":").append(node.getPosition().getColumn());
+            builder.append(",\"count\":").append(node.getCount())
+                    .append(",\"inclusiveNanos\":").append(node.getInclusiveTime())
+                    .append(",\"exclusiveNanos\":").append(node.getExclusiveTime())
+                    .append("}");
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * Converts the report to collapsed stacks: one line for every stack of statements,
+     * separated by semicolons, followed by the exclusive time of the last one in nanoseconds.
+     *
+     * @return the collapsed stacks
+     */
+    public @NotNull String toCollapsedStacks() {
+        StringBuilder builder = new StringBuilder();
+        for (String stack : this.stacks) builder.append(stack).append("\n");
+        return builder.toString();
+    }
+
+    private static @NotNull String escape(final @NotNull String string) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\') builder.append('\\').append(c);
+            else if (c < ' ') builder.append(String.format("\\u%04x", (int) c));
+            else builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
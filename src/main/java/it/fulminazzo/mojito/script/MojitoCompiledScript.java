@@ -0,0 +1,59 @@
+package it.fulminazzo.mojito.script;
+
+import it.fulminazzo.mojito.PreparedScript;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.script.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A script compiled by the {@link MojitoScriptEngine}.
+ * <br>
+ * The code is backed by a {@link PreparedScript}, so it is parsed and checked only once
+ * for every combination of types of the variables it is evaluated with.
+ * The variables are taken from the global and engine bindings of the context, where the latter take precedence.
+ */
+final class MojitoCompiledScript extends CompiledScript {
+    private final @NotNull MojitoScriptEngine engine;
+    private final @NotNull PreparedScript script;
+
+    /**
+     * Instantiates a new Mojito compiled script.
+     *
+     * @param engine the engine that compiled the script
+     * @param script the prepared script
+     */
+    MojitoCompiledScript(final @NotNull MojitoScriptEngine engine, final @NotNull PreparedScript script) {
+        this.engine = engine;
+        this.script = script;
+    }
+
+    @Override
+    public @Nullable Object eval(final @NotNull ScriptContext context) throws ScriptException {
+        ScriptOutput.redirect(context.getWriter(), context.getErrorWriter());
+        try {
+            return MojitoScriptEngine.unwrap(this.script.run(getVariables(context)).orElse(null));
+        } catch (RuntimeException e) {
+            throw MojitoScriptEngine.scriptException(e);
+        } finally {
+            ScriptOutput.restore();
+        }
+    }
+
+    @Override
+    public @NotNull ScriptEngine getEngine() {
+        return this.engine;
+    }
+
+    private static @NotNull Map<String, Object> getVariables(final @NotNull ScriptContext context) {
+        Map<String, Object> variables = new HashMap<>();
+        Bindings global = context.getBindings(ScriptContext.GLOBAL_SCOPE);
+        if (global != null) variables.putAll(global);
+        Bindings engine = context.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (engine != null) variables.putAll(engine);
+        return variables;
+    }
+
+}
@@ -0,0 +1,186 @@
+package it.fulminazzo.mojito.script;
+
+import it.fulminazzo.mojito.ExecutionMode;
+import it.fulminazzo.mojito.Mojito;
+import it.fulminazzo.mojito.PreparedScript;
+import it.fulminazzo.mojito.Runner;
+import it.fulminazzo.mojito.executor.values.ParameterValues;
+import it.fulminazzo.mojito.executor.values.Value;
+import it.fulminazzo.mojito.executor.values.Values;
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.script.*;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * A {@link ScriptEngine} that executes Java code with Mojito.
+ * <br>
+ * Scripts are compiled with {@link Runner#compile(String)} in the {@link ExecutionMode#TIERED} mode,
+ * so they can be evaluated any number of times, even by many threads at once.
+ * The most recently used ones are kept by their source, so evaluating the same code again
+ * does not parse and check it again.
+ * The bindings of the {@link ScriptContext} are injected as variables, and the output of the scripts
+ * is written to the writers of the context.
+ * <br>
+ * Since scripts do not declare functions, the functions invoked through {@link Invocable}
+ * are the methods of the executing object, the same ones that scripts can call without a receiver.
+ */
+public final class MojitoScriptEngine extends AbstractScriptEngine implements Compilable, Invocable {
+    /**
+     * The maximum number of compiled scripts kept by an engine.
+     */
+    static final int MAX_CACHED_SCRIPTS = 256;
+
+    private final @NotNull MojitoScriptEngineFactory factory;
+    @Getter
+    private final @NotNull Object executingObject;
+    private final @NotNull Runner runner;
+    private final @NotNull Map<String, PreparedScript> scripts;
+
+    /**
+     * Instantiates a new Mojito script engine.
+     *
+     * @param factory         the factory that created the engine
+     * @param executingObject the object that <code>this</code> refers to in the scripts
+     */
+    MojitoScriptEngine(final @NotNull MojitoScriptEngineFactory factory, final @NotNull Object executingObject) {
+        this.factory = factory;
+        this.executingObject = executingObject;
+        this.runner = Mojito.newRunner(executingObject, ExecutionMode.TIERED);
+        this.scripts = Collections.synchronizedMap(new LinkedHashMap<String, PreparedScript>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, PreparedScript> eldest) {
+                return size() > MAX_CACHED_SCRIPTS;
+            }
+        });
+    }
+
+    @Override
+    public @Nullable Object eval(final @NotNull String script, final @NotNull ScriptContext context) throws ScriptException {
+        return compile(script).eval(context);
+    }
+
+    @Override
+    public @Nullable Object eval(final @NotNull Reader reader, final @NotNull ScriptContext context) throws ScriptException {
+        return eval(read(reader), context);
+    }
+
+    @Override
+    public @NotNull CompiledScript compile(final @NotNull String script) throws ScriptException {
+        PreparedScript prepared = this.scripts.get(script);
+        if (prepared == null) {
+            ScriptEvents.cacheMiss("engine-scripts", script);
+            try {
+                // Syntax errors are reported immediately, type errors at the first evaluation
+                prepared = this.runner.compile(script).checkSyntax();
+            } catch (RuntimeException e) {
+                throw scriptException(e);
+            }
+            this.scripts.put(script, prepared);
+        }
+        return new MojitoCompiledScript(this, prepared);
+    }
+
+    @Override
+    public @NotNull CompiledScript compile(final @NotNull Reader script) throws ScriptException {
+        return compile(read(script));
+    }
+
+    @Override
+    public @Nullable Object invokeMethod(final @Nullable Object thiz, final @NotNull String name,
+                                         final @Nullable Object @Nullable ... args)
+            throws ScriptException, NoSuchMethodException {
+        if (thiz == null) throw new IllegalArgumentException("Cannot invoke method on null object");
+        List<Value<?>> values = new ArrayList<>();
+        if (args != null) for (Object arg : args) values.add(Value.of(arg));
+        ParameterValues parameters = new ParameterValues(values);
+        Value<?> receiver = Value.of(thiz);
+
+        final Method method;
+        try {
+            method = receiver.resolveMethod(name, parameters);
+        } catch (VisitorObjectException e) {
+            throw new NoSuchMethodException(e.getMessage());
+        }
+        try {
+            return unwrap(receiver.invokeResolvedMethod(method, parameters));
+        } catch (VisitorObjectException | RuntimeException e) {
+            throw scriptException(e);
+        }
+    }
+
+    @Override
+    public @Nullable Object invokeFunction(final @NotNull String name, final @Nullable Object @Nullable ... args)
+            throws ScriptException, NoSuchMethodException {
+        return invokeMethod(this.executingObject, name, args);
+    }
+
+    @Override
+    public <T> @NotNull T getInterface(final @NotNull Class<T> clasz) {
+        return getInterface(this.executingObject, clasz);
+    }
+
+    @Override
+    public <T> @NotNull T getInterface(final @Nullable Object thiz, final @NotNull Class<T> clasz) {
+        if (thiz == null) throw new IllegalArgumentException("Cannot implement interface with null object");
+        if (!clasz.isInterface()) throw new IllegalArgumentException(clasz.getCanonicalName() + " is not an interface");
+        if (clasz.isInstance(thiz)) return clasz.cast(thiz);
+        return clasz.cast(Proxy.newProxyInstance(clasz.getClassLoader(), new Class<?>[]{clasz},
+                (proxy, method, args) -> invokeMethod(thiz, method.getName(), args)));
+    }
+
+    @Override
+    public @NotNull Bindings createBindings() {
+        return new SimpleBindings();
+    }
+
+    @Override
+    public @NotNull ScriptEngineFactory getFactory() {
+        return this.factory;
+    }
+
+    /**
+     * Converts the value returned by Mojito to the corresponding Java object.
+     *
+     * @param value the value
+     * @return the object
+     */
+    static @Nullable Object unwrap(final @Nullable Object value) {
+        if (value == null || Values.NO_VALUE.equals(value)) return null;
+        else if (value instanceof Value) return ((Value<?>) value).getValue();
+        else return value;
+    }
+
+    /**
+     * Converts the given exception to a {@link ScriptException}.
+     *
+     * @param exception the exception
+     * @return the script exception
+     */
+    static @NotNull ScriptException scriptException(final @NotNull Exception exception) {
+        ScriptException scriptException = new ScriptException(String.valueOf(exception.getMessage()));
+        scriptException.initCause(exception);
+        return scriptException;
+    }
+
+    private static @NotNull String read(final @NotNull Reader reader) throws ScriptException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[8192];
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) builder.append(buffer, 0, read);
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+        return builder.toString();
+    }
+
+}
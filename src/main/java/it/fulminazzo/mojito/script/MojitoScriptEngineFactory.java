@@ -0,0 +1,122 @@
+package it.fulminazzo.mojito.script;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link ScriptEngineFactory} of the {@link MojitoScriptEngine}.
+ * It is registered as a service, so that the engine can be obtained from a {@link javax.script.ScriptEngineManager}
+ * by one of its {@link #getNames()}.
+ */
+public final class MojitoScriptEngineFactory implements ScriptEngineFactory {
+    private static final String ENGINE_NAME = "Mojito";
+    private static final String LANGUAGE_NAME = "Java";
+    private static final String LANGUAGE_VERSION = "8";
+    private static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList("mojito", "Mojito"));
+    private static final List<String> EXTENSIONS = Collections.singletonList("java");
+    private static final List<String> MIME_TYPES = Collections.unmodifiableList(
+            Arrays.asList("text/x-java-source", "text/x-java")
+    );
+
+    @Override
+    public @NotNull String getEngineName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public @NotNull String getEngineVersion() {
+        String version = getClass().getPackage().getImplementationVersion();
+        return version == null ? "unknown" : version;
+    }
+
+    @Override
+    public @NotNull List<String> getExtensions() {
+        return EXTENSIONS;
+    }
+
+    @Override
+    public @NotNull List<String> getMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public @NotNull List<String> getNames() {
+        return NAMES;
+    }
+
+    @Override
+    public @NotNull String getLanguageName() {
+        return LANGUAGE_NAME;
+    }
+
+    @Override
+    public @NotNull String getLanguageVersion() {
+        return LANGUAGE_VERSION;
+    }
+
+    @Override
+    public @Nullable Object getParameter(final @NotNull String key) {
+        switch (key) {
+            case ScriptEngine.ENGINE:
+                return getEngineName();
+            case ScriptEngine.ENGINE_VERSION:
+                return getEngineVersion();
+            case ScriptEngine.NAME:
+                return NAMES.get(0);
+            case ScriptEngine.LANGUAGE:
+                return getLanguageName();
+            case ScriptEngine.LANGUAGE_VERSION:
+                return getLanguageVersion();
+            case "THREADING":
+                // Compiled scripts can be evaluated concurrently, but bindings are shared
+                return "MULTITHREADED";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public @NotNull String getMethodCallSyntax(final @NotNull String obj, final @NotNull String m,
+                                               final @NotNull String @NotNull ... args) {
+        return String.format("%s.%s(%s)", obj, m, String.join(", ", args));
+    }
+
+    @Override
+    public @NotNull String getOutputStatement(final @NotNull String toDisplay) {
+        String escaped = toDisplay.replace("\\", "\\\\").replace("\"", "\\\"");
+        return String.format("System.out.print(\"%s\")", escaped);
+    }
+
+    @Override
+    public @NotNull String getProgram(final @NotNull String @NotNull ... statements) {
+        StringBuilder program = new StringBuilder();
+        for (String statement : statements) {
+            program.append(statement);
+            if (!statement.trim().endsWith(";")) program.append(';');
+            program.append('\n');
+        }
+        return program.toString();
+    }
+
+    @Override
+    public @NotNull ScriptEngine getScriptEngine() {
+        return getScriptEngine(new Object());
+    }
+
+    /**
+     * Creates a new engine, whose scripts are executed by the given object.
+     *
+     * @param executingObject the object that <code>this</code> refers to in the scripts
+     * @return the engine
+     */
+    public @NotNull MojitoScriptEngine getScriptEngine(final @NotNull Object executingObject) {
+        return new MojitoScriptEngine(this, executingObject);
+    }
+
+}
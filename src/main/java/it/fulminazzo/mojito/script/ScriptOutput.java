@@ -0,0 +1,127 @@
+package it.fulminazzo.mojito.script;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.Charset;
+
+/**
+ * Redirects the output of the scripts to the writers of their {@link javax.script.ScriptContext}.
+ * <br>
+ * Scripts print through {@link System#out} and {@link System#err}, which are shared by the whole JVM.
+ * While at least one script is evaluated, both streams are replaced by streams that write to the writers
+ * of the script running in the current thread, or to the original streams in the other threads.
+ * This way, scripts running at the same time in different threads do not mix their outputs.
+ * When the last script completes, the original streams are set back.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScriptOutput {
+    private static final ThreadLocal<Writer> OUT = new ThreadLocal<>();
+    private static final ThreadLocal<Writer> ERR = new ThreadLocal<>();
+    private static int running;
+    private static @Nullable PrintStream originalOut;
+    private static @Nullable PrintStream originalErr;
+    private static @Nullable PrintStream installedOut;
+    private static @Nullable PrintStream installedErr;
+
+    /**
+     * Redirects the output of the current thread to the given writers, until {@link #restore()} is called.
+     *
+     * @param out the writer of the standard output (null to keep the original one)
+     * @param err the writer of the standard error (null to keep the original one)
+     */
+    static void redirect(final @Nullable Writer out, final @Nullable Writer err) {
+        OUT.set(out);
+        ERR.set(err);
+        synchronized (ScriptOutput.class) {
+            if (running++ == 0) install();
+        }
+    }
+
+    /**
+     * Flushes the output of the current thread and stops redirecting it.
+     * If no other script is running, the original streams are set back.
+     */
+    static void restore() {
+        System.out.flush();
+        System.err.flush();
+        OUT.remove();
+        ERR.remove();
+        synchronized (ScriptOutput.class) {
+            if (--running == 0) uninstall();
+        }
+    }
+
+    private static void install() {
+        originalOut = System.out;
+        originalErr = System.err;
+        installedOut = new PrintStream(new ThreadOutputStream(originalOut, OUT), true);
+        installedErr = new PrintStream(new ThreadOutputStream(originalErr, ERR), true);
+        System.setOut(installedOut);
+        System.setErr(installedErr);
+    }
+
+    private static void uninstall() {
+        // The streams may have been replaced again in the meantime
+        if (System.out == installedOut) System.setOut(originalOut);
+        if (System.err == installedErr) System.setErr(originalErr);
+        originalOut = null;
+        originalErr = null;
+        installedOut = null;
+        installedErr = null;
+    }
+
+    /**
+     * Writes to the writer of the current thread, decoding the bytes with the default charset.
+     * Bytes are buffered until the stream is flushed, so that characters are never split.
+     */
+    private static final class ThreadOutputStream extends OutputStream {
+        private final @NotNull OutputStream original;
+        private final @NotNull ThreadLocal<Writer> writer;
+        private final @NotNull ThreadLocal<ByteArrayOutputStream> buffer;
+
+        private ThreadOutputStream(final @NotNull OutputStream original, final @NotNull ThreadLocal<Writer> writer) {
+            this.original = original;
+            this.writer = writer;
+            this.buffer = ThreadLocal.withInitial(ByteArrayOutputStream::new);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (this.writer.get() == null) this.original.write(b);
+            else this.buffer.get().write(b);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            if (this.writer.get() == null) this.original.write(b, off, len);
+            else this.buffer.get().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            Writer writer = this.writer.get();
+            if (writer == null) {
+                this.original.flush();
+                return;
+            }
+            ByteArrayOutputStream buffer = this.buffer.get();
+            // The writer may itself write to System.out, as the default one of the contexts does
+            this.writer.remove();
+            try {
+                if (buffer.size() > 0) {
+                    writer.write(new String(buffer.toByteArray(), Charset.defaultCharset()));
+                    buffer.reset();
+                }
+                writer.flush();
+            } finally {
+                this.writer.set(writer);
+            }
+        }
+
+    }
+
+}
@@ -2,6 +2,8 @@ package it.fulminazzo.mojito.tokenizer;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.regex.Pattern;
+
 /**
  * Contains all the tokens utilized by {@link it.fulminazzo.mojito.parser.JavaParser}.
  */
@@ -94,9 +96,11 @@ public enum TokenType {
     ;
 
     private final @NotNull String regex;
+    private final @NotNull Pattern pattern;
 
     TokenType(final @NotNull String regex) {
         this.regex = regex;
+        this.pattern = Pattern.compile(regex);
     }
 
     /**
@@ -108,6 +112,15 @@ public enum TokenType {
         return this.regex;
     }
 
+    /**
+     * Gets the compiled {@link #regex()}.
+     *
+     * @return the pattern
+     */
+    public @NotNull Pattern pattern() {
+        return this.pattern;
+    }
+
     /**
      * Checks whether the current token is declared after <b>token</b> (NON-INCLUSIVE).
      *
@@ -136,7 +149,7 @@ public enum TokenType {
      * @return true if it matches
      */
     public boolean matches(final @NotNull String token) {
-        return token.matches(this.regex);
+        return this.pattern.matcher(token).matches();
     }
 
     /**
@@ -21,6 +21,8 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
     private @NotNull String previousRead = "";
     private int line = -1;
     private int column = -1;
+    private long characters;
+    private long tokens;
 
     /**
      * Instantiates a new Tokenizer.
@@ -66,7 +68,7 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
         try {
             StringBuilder read = new StringBuilder(getPreviousRead());
             while (this.input.available() > 0 && !read.toString().matches("(.|\n)*" + tokenType.regex() + "$"))
-                read.append(updateLineCount(this.input.read()));
+                read.append(updateLineCount(read()));
             this.lastRead = read.toString();
             this.previousRead = "";
             return nextSpaceless();
@@ -125,7 +127,7 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
             String read = getPreviousRead();
             if (isTokenType(read) || regexMatches(regex, read)) return readTokenType(read, regex);
             while (this.input.available() > 0) {
-                read += updateLineCount(this.input.read());
+                read += updateLineCount(read());
                 if (isTokenType(read) || regexMatches(regex, read)) return readTokenType(read, regex);
             }
             return eof();
@@ -139,7 +141,7 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
         while (this.input.available() > 0) {
             int previousLine = this.line;
             int previousColumn = this.column;
-            char c = updateLineCount(this.input.read());
+            char c = updateLineCount(read());
             read += c;
             String subString = read.substring(0, read.length() - 1);
             boolean regexMatch = regexMatches(regex, read);
@@ -170,6 +172,12 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
         return this.previousRead;
     }
 
+    private int read() throws IOException {
+        int c = this.input.read();
+        if (c != -1) this.characters++;
+        return c;
+    }
+
     private char updateLineCount(int c) {
         if (c == '\n') {
             this.line++;
@@ -181,6 +189,7 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
     private @NotNull TokenType updateTokenType(final @NotNull String read) {
         this.lastRead = read;
         this.lastToken = TokenType.fromString(read);
+        this.tokens++;
         return this.lastToken;
     }
 
@@ -246,4 +255,22 @@ public class Tokenizer implements Iterable<TokenType>, Iterator<TokenType> {
         return this.column;
     }
 
+    /**
+     * Gets the number of characters read from the input.
+     *
+     * @return the characters
+     */
+    public long characters() {
+        return this.characters;
+    }
+
+    /**
+     * Gets the number of tokens read from the input, including spaces.
+     *
+     * @return the tokens
+     */
+    public long tokens() {
+        return this.tokens;
+    }
+
 }
@@ -0,0 +1,82 @@
+package it.fulminazzo.mojito.typechecker;
+
+import it.fulminazzo.mojito.jfr.ScriptEvents;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ordered dispatch table of the catch clauses of a try statement.
+ * <br>
+ * A thrown exception is handled by the first clause that catches a superclass of it.
+ * Since the clauses never change, the handler found for every thrown class is remembered,
+ * so that the clauses are only scanned the first time an exception of that class is thrown.
+ */
+public final class CatchTable {
+    private static final Handler NO_HANDLER = new Handler(Throwable.class, -1);
+
+    private final @NotNull List<Handler> handlers;
+    private final @NotNull Map<Class<?>, Handler> matches;
+
+    /**
+     * Instantiates a new Catch table.
+     *
+     * @param catchTypes the exception classes caught by every catch clause, in the order of declaration
+     */
+    @SuppressWarnings("unchecked")
+    public CatchTable(final @NotNull List<? extends Collection<Class<?>>> catchTypes) {
+        this.handlers = new ArrayList<>();
+        for (int i = 0; i < catchTypes.size(); i++)
+            for (Class<?> type : catchTypes.get(i))
+                this.handlers.add(new Handler((Class<? extends Throwable>) type, i));
+        this.matches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the handler of the given thrown class.
+     *
+     * @param thrown the class of the thrown exception
+     * @return the handler (null if no clause catches it)
+     */
+    public @Nullable Handler getHandler(final @NotNull Class<?> thrown) {
+        Handler handler = this.matches.computeIfAbsent(thrown, c -> {
+            ScriptEvents.cacheMiss("catch-handlers", c.getName());
+            for (Handler h : this.handlers)
+                if (h.type.isAssignableFrom(c)) return h;
+            return NO_HANDLER;
+        });
+        return handler == NO_HANDLER ? null : handler;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s)", getClass().getSimpleName(), this.handlers);
+    }
+
+    /**
+     * A single exception class caught by a catch clause.
+     */
+    @Getter
+    public static final class Handler {
+        private final @NotNull Class<? extends Throwable> type;
+        private final int index;
+
+        private Handler(final @NotNull Class<? extends Throwable> type, final int index) {
+            this.type = type;
+            this.index = index;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return this.type.getSimpleName() + " -> " + this.index;
+        }
+
+    }
+
+}
@@ -0,0 +1,274 @@
+package it.fulminazzo.mojito.typechecker;
+
+import it.fulminazzo.mojito.parser.node.Node;
+import it.fulminazzo.mojito.typechecker.types.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * A side table filled by the {@link TypeChecker} while visiting a program.
+ * It holds the static {@link Type} of the visited expressions,
+ * the {@link Method}s, {@link Constructor}s and {@link Field}s resolved for each call site,
+ * the assignments that do not require any conversion,
+ * the {@link String} concatenations and the variables accumulating them in loops,
+ * the {@link SwitchTable}s of the switch statements with constant labels
+ * and the {@link CatchTable}s of the try statements.
+ * <br>
+ * Nodes are compared by <b>identity</b>, so the table is only meaningful
+ * for the same program instance that was type checked.
+ * Members are stored only when the static types make the resolution exact,
+ * meaning that the runtime lookup would necessarily pick the same one.
+ * <br>
+ * The table is only written by the type checker, and by the executors that store the {@link CatchTable}s
+ * of the try statements that were not type checked, which are synchronized.
+ * Otherwise, it is only read, so it can be shared by all the threads executing the same program.
+ */
+public final class ResolutionTable {
+    private final @NotNull Map<Node, Type> types;
+    private final @NotNull Map<Node, Method> methods;
+    private final @NotNull Map<Node, Constructor<?>> constructors;
+    private final @NotNull Map<Node, Field> fields;
+    private final @NotNull Set<Node> exactAssignments;
+    private final @NotNull Set<Node> concatenations;
+    private final @NotNull Set<Node> accumulations;
+    private final @NotNull Map<Node, SwitchTable> switchTables;
+    private final @NotNull Map<List<?>, CatchTable> catchTables;
+    private final @NotNull Map<String, Class<?>> literalClasses;
+
+    /**
+     * Instantiates a new empty Resolution table.
+     */
+    public ResolutionTable() {
+        this.types = new IdentityHashMap<>();
+        this.methods = new IdentityHashMap<>();
+        this.constructors = new IdentityHashMap<>();
+        this.fields = new IdentityHashMap<>();
+        this.exactAssignments = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.concatenations = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.accumulations = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.switchTables = new IdentityHashMap<>();
+        this.catchTables = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.literalClasses = new HashMap<>();
+    }
+
+    /**
+     * Gets the static type of the given expression.
+     *
+     * @param expression the expression
+     * @return the type (null if it was not recorded)
+     */
+    public @Nullable Type getType(final @NotNull Node expression) {
+        return this.types.get(expression);
+    }
+
+    /**
+     * Sets the static type of the given expression.
+     *
+     * @param expression the expression
+     * @param type       the type
+     */
+    public void setType(final @NotNull Node expression, final @NotNull Type type) {
+        this.types.put(expression, type);
+    }
+
+    /**
+     * Gets the method resolved for the given invocation.
+     *
+     * @param invocation the invocation
+     * @return the method (null if it was not resolved)
+     */
+    public @Nullable Method getMethod(final @NotNull Node invocation) {
+        return this.methods.get(invocation);
+    }
+
+    /**
+     * Sets the method resolved for the given invocation.
+     *
+     * @param invocation the invocation
+     * @param method     the method
+     */
+    public void setMethod(final @NotNull Node invocation, final @NotNull Method method) {
+        this.methods.put(invocation, method);
+    }
+
+    /**
+     * Gets the constructor resolved for the given invocation.
+     *
+     * @param invocation the invocation
+     * @return the constructor (null if it was not resolved)
+     */
+    public @Nullable Constructor<?> getConstructor(final @NotNull Node invocation) {
+        return this.constructors.get(invocation);
+    }
+
+    /**
+     * Sets the constructor resolved for the given invocation.
+     *
+     * @param invocation  the invocation
+     * @param constructor the constructor
+     */
+    public void setConstructor(final @NotNull Node invocation, final @NotNull Constructor<?> constructor) {
+        this.constructors.put(invocation, constructor);
+    }
+
+    /**
+     * Gets the field resolved for the given field name.
+     *
+     * @param fieldName the node of the field name
+     * @return the field (null if it was not resolved)
+     */
+    public @Nullable Field getField(final @NotNull Node fieldName) {
+        return this.fields.get(fieldName);
+    }
+
+    /**
+     * Sets the field resolved for the given field name.
+     *
+     * @param fieldName the node of the field name
+     * @param field     the field
+     */
+    public void setField(final @NotNull Node fieldName, final @NotNull Field field) {
+        this.fields.put(fieldName, field);
+    }
+
+    /**
+     * Checks whether the given value of an assignment already has the type of the variable,
+     * so that no conversion is required.
+     *
+     * @param value the value
+     * @return true if it does
+     */
+    public boolean isExactAssignment(final @NotNull Node value) {
+        return this.exactAssignments.contains(value);
+    }
+
+    /**
+     * Marks the given value of an assignment as not requiring any conversion.
+     *
+     * @param value the value
+     */
+    public void setExactAssignment(final @NotNull Node value) {
+        this.exactAssignments.add(value);
+    }
+
+    /**
+     * Checks whether the addition with the given left operand is a {@link String} concatenation.
+     * Since visitors receive the operands of an operation, and not the operation itself,
+     * the left operand is used to identify it.
+     *
+     * @param left the left operand
+     * @return true if it is
+     */
+    public boolean isConcatenation(final @NotNull Node left) {
+        return this.concatenations.contains(left);
+    }
+
+    /**
+     * Marks the addition with the given left operand as a {@link String} concatenation.
+     *
+     * @param left the left operand
+     */
+    public void setConcatenation(final @NotNull Node left) {
+        this.concatenations.add(left);
+    }
+
+    /**
+     * Checks whether the given value of an assignment in a loop appends to the assigned variable,
+     * like in <i>s += a</i> or <i>s = s + a + b</i>.
+     *
+     * @param value the value
+     * @return true if it does
+     */
+    public boolean isAccumulation(final @NotNull Node value) {
+        return this.accumulations.contains(value);
+    }
+
+    /**
+     * Marks the given value of an assignment in a loop as appending to the assigned variable.
+     *
+     * @param value the value
+     */
+    public void setAccumulation(final @NotNull Node value) {
+        this.accumulations.add(value);
+    }
+
+    /**
+     * Gets the table of the switch statement with the given expression.
+     *
+     * @param expression the expression of the switch statement
+     * @return the table (null if not all the labels are constants)
+     */
+    public @Nullable SwitchTable getSwitchTable(final @NotNull Node expression) {
+        return this.switchTables.get(expression);
+    }
+
+    /**
+     * Sets the table of the switch statement with the given expression.
+     *
+     * @param expression the expression of the switch statement
+     * @param table      the table
+     */
+    public void setSwitchTable(final @NotNull Node expression, final @NotNull SwitchTable table) {
+        this.switchTables.put(expression, table);
+    }
+
+    /**
+     * Gets the table of the try statement with the given catch clauses.
+     * Just like nodes, the list is compared by identity.
+     *
+     * @param catchBlocks the catch clauses of the try statement
+     * @return the table (null if it was not recorded)
+     */
+    public @Nullable CatchTable getCatchTable(final @NotNull List<?> catchBlocks) {
+        return this.catchTables.get(catchBlocks);
+    }
+
+    /**
+     * Sets the table of the try statement with the given catch clauses.
+     * Executors also set the tables of the try statements that were not type checked,
+     * so this method can be called by more threads at the same time.
+     *
+     * @param catchBlocks the catch clauses of the try statement
+     * @param table       the table
+     */
+    public void setCatchTable(final @NotNull List<?> catchBlocks, final @NotNull CatchTable table) {
+        this.catchTables.put(catchBlocks, table);
+    }
+
+    /**
+     * Checks whether the given literal was already looked up as a class.
+     *
+     * @param literal the literal
+     * @return true if it was
+     */
+    public boolean isLiteralResolved(final @NotNull String literal) {
+        return this.literalClasses.containsKey(literal);
+    }
+
+    /**
+     * Gets the class resolved from the given literal.
+     * The trailing <i>.class</i> is not considered.
+     *
+     * @param literal the literal
+     * @return the class (null if the literal does not represent one)
+     */
+    public @Nullable Class<?> getLiteralClass(final @NotNull String literal) {
+        return this.literalClasses.get(literal);
+    }
+
+    /**
+     * Sets the class resolved from the given literal.
+     *
+     * @param literal the literal
+     * @param clazz   the class (null if the literal does not represent one)
+     */
+    public void setLiteralClass(final @NotNull String literal, final @Nullable Class<?> clazz) {
+        this.literalClasses.put(literal, clazz);
+    }
+
+}
@@ -0,0 +1,162 @@
+package it.fulminazzo.mojito.typechecker;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the constant labels of a switch statement to the index of their case,
+ * so that the matching case can be found without comparing the value with every label.
+ * <br>
+ * Dense <code>int</code> and <code>char</code> labels are stored in a table indexed by the value itself,
+ * while sparse and {@link String} labels are stored in a hash map.
+ */
+public abstract class SwitchTable {
+    /**
+     * Returned by {@link #getCase(Object)} when the value cannot be looked up in the table.
+     */
+    public static final int NOT_SUPPORTED = -1;
+    /**
+     * The maximum ratio between the range of the labels and their number for a table to be dense.
+     */
+    static final int MAX_DENSITY = 2;
+
+    final int size;
+
+    private SwitchTable(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the index of the case matching the given value.
+     *
+     * @param value the value
+     * @return the index of the case, the number of cases if no case matches
+     * (meaning that the default block should be executed)
+     * or {@link #NOT_SUPPORTED} if the value cannot be looked up
+     */
+    public abstract int getCase(final @Nullable Object value);
+
+    /**
+     * Gets the name of the lookup strategy.
+     *
+     * @return the name
+     */
+    public abstract @NotNull String getName();
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s(%s cases)", getName(), this.size);
+    }
+
+    /**
+     * Creates a new table for <code>int</code> labels.
+     * Values of type <code>char</code>, <code>short</code> and <code>byte</code> are looked up
+     * by their numeric value.
+     *
+     * @param labels the labels, each one at the index of its case
+     * @return the table
+     */
+    static @NotNull SwitchTable ofInts(final int @NotNull [] labels) {
+        if (labels.length == 0) return new HashTable(new HashMap<>(), 0, true);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int label : labels) {
+            min = Math.min(min, label);
+            max = Math.max(max, label);
+        }
+        long range = (long) max - min + 1;
+        if (range <= (long) labels.length * MAX_DENSITY) return new DenseTable(labels, min, (int) range);
+        Map<Object, Integer> cases = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) cases.putIfAbsent(labels[i], i);
+        return new HashTable(cases, labels.length, true);
+    }
+
+    /**
+     * Creates a new table for {@link String} labels.
+     *
+     * @param labels the labels, each one at the index of its case
+     * @return the table
+     */
+    static @NotNull SwitchTable ofStrings(final @NotNull String @NotNull [] labels) {
+        Map<Object, Integer> cases = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) cases.putIfAbsent(labels[i], i);
+        return new HashTable(cases, labels.length, false);
+    }
+
+    /**
+     * Converts the given value to the <code>int</code> it represents.
+     *
+     * @param value the value
+     * @return the <code>int</code> (null if the value is not an integral number or a character)
+     */
+    static @Nullable Integer toInt(final @Nullable Object value) {
+        if (value instanceof Integer) return (Integer) value;
+        else if (value instanceof Character) return (int) (Character) value;
+        else if (value instanceof Short || value instanceof Byte) return ((Number) value).intValue();
+        else return null;
+    }
+
+    /**
+     * A table indexed by the values of the labels, starting from the lowest one.
+     */
+    private static final class DenseTable extends SwitchTable {
+        private final int @NotNull [] cases;
+        private final int offset;
+
+        private DenseTable(final int @NotNull [] labels, final int offset, final int range) {
+            super(labels.length);
+            this.cases = new int[range];
+            this.offset = offset;
+            Arrays.fill(this.cases, labels.length);
+            // Iterating backwards, the first case wins in case of duplicates
+            for (int i = labels.length - 1; i >= 0; i--) this.cases[labels[i] - offset] = i;
+        }
+
+        @Override
+        public int getCase(final @Nullable Object value) {
+            Integer actual = toInt(value);
+            if (actual == null) return NOT_SUPPORTED;
+            long index = (long) actual - this.offset;
+            if (index < 0 || index >= this.cases.length) return this.size;
+            return this.cases[(int) index];
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return "table";
+        }
+
+    }
+
+    /**
+     * A table that looks up the labels by their hash code.
+     */
+    private static final class HashTable extends SwitchTable {
+        private final @NotNull Map<Object, Integer> cases;
+        private final boolean integral;
+
+        private HashTable(final @NotNull Map<Object, Integer> cases, final int size, final boolean integral) {
+            super(size);
+            this.cases = cases;
+            this.integral = integral;
+        }
+
+        @Override
+        public int getCase(final @Nullable Object value) {
+            Object key = this.integral ? toInt(value) : value instanceof String ? value : null;
+            if (key == null) return NOT_SUPPORTED;
+            return this.cases.getOrDefault(key, this.size);
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return "hash";
+        }
+
+    }
+
+}
@@ -4,12 +4,20 @@ import it.fulminazzo.fulmicollection.structures.tuples.Tuple;
 import it.fulminazzo.mojito.environment.Environment;
 import it.fulminazzo.mojito.environment.ScopeException;
 import it.fulminazzo.mojito.environment.scopetypes.ScopeType;
+import it.fulminazzo.mojito.parser.node.MethodInvocation;
 import it.fulminazzo.mojito.parser.node.Node;
 import it.fulminazzo.mojito.parser.node.container.CodeBlock;
+import it.fulminazzo.mojito.parser.node.literals.EmptyLiteral;
 import it.fulminazzo.mojito.parser.node.literals.Literal;
+import it.fulminazzo.mojito.parser.node.literals.ThisLiteral;
 import it.fulminazzo.mojito.parser.node.statements.CaseStatement;
 import it.fulminazzo.mojito.parser.node.statements.CatchStatement;
+import it.fulminazzo.mojito.parser.node.operators.binary.Add;
+import it.fulminazzo.mojito.parser.node.operators.binary.BinaryOperation;
+import it.fulminazzo.mojito.parser.node.operators.unary.Minus;
+import it.fulminazzo.mojito.parser.node.values.CharValueLiteral;
 import it.fulminazzo.mojito.parser.node.values.NumberValueLiteral;
+import it.fulminazzo.mojito.parser.node.values.StringValueLiteral;
 import it.fulminazzo.mojito.typechecker.types.*;
 import it.fulminazzo.mojito.typechecker.types.arrays.ArrayClassType;
 import it.fulminazzo.mojito.typechecker.types.arrays.ArrayType;
@@ -18,15 +26,23 @@ import it.fulminazzo.mojito.typechecker.types.objects.ObjectType;
 import it.fulminazzo.mojito.typechecker.types.variables.ArrayTypeVariableContainer;
 import it.fulminazzo.mojito.typechecker.types.variables.TypeLiteralVariableContainer;
 import it.fulminazzo.mojito.visitors.Visitor;
+import it.fulminazzo.mojito.visitors.visitorobjects.VisitorObjectException;
 import it.fulminazzo.mojito.visitors.visitorobjects.variables.LiteralVariableContainer;
 import it.fulminazzo.mojito.visitors.visitorobjects.variables.VariableContainer;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * A {@link Visitor} that checks and verifies all the types of the parsed code.
@@ -43,6 +59,7 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
 
     private final @NotNull Object executingObject;
     private final @NotNull Environment<Type> environment;
+    private final @NotNull ResolutionTable resolutionTable;
 
     /**
      * Instantiates a new Type checker.
@@ -52,6 +69,7 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
     public TypeChecker(final @NotNull Object executingObject) {
         this.executingObject = executingObject;
         this.environment = new Environment<>();
+        this.resolutionTable = new ResolutionTable();
     }
 
     @Override
@@ -100,8 +118,10 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
 
             Type returnType = null;
             LinkedHashSet<ClassType> caughtExceptions = new LinkedHashSet<>();
+            List<List<Class<?>>> catchTypes = new ArrayList<>();
             for (CatchStatement catchStatement : catchBlocks) {
                 TupleType<Set<ClassType>, Type> tuple = catchStatement.accept(this).check(TupleType.class);
+                catchTypes.add(tuple.getKey().stream().map(ClassType::toJavaClass).collect(Collectors.toList()));
 
                 Type catchType = tuple.getValue();
                 if (returnType == null) returnType = catchType;
@@ -114,6 +134,8 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
                 }
             }
 
+            this.resolutionTable.setCatchTable(catchBlocks, new CatchTable(catchTypes));
+
             Type visitedType = visitScoped(ScopeType.tryScope(caughtExceptions.stream()
                     .map(ClassType::toJavaClass)
                     .map(c -> (Class<Throwable>) c)), () -> block.accept(this));
@@ -191,10 +213,64 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
             Type defaultType = defaultBlock.accept(this);
             if (returnType == null) returnType = defaultType;
             else if (!defaultType.is(returnType)) returnType = Types.NO_TYPE;
+            SwitchTable table = createSwitchTable(expressionType, cases);
+            if (table != null) this.resolutionTable.setSwitchTable(expression, table);
             return returnType;
         });
     }
 
+    /**
+     * Creates the {@link SwitchTable} of a switch statement,
+     * if all of its labels are constants.
+     * Only <code>int</code>, <code>char</code>, <code>short</code>, <code>byte</code>
+     * (and their wrappers) and {@link String} switches are supported.
+     *
+     * @param expressionType the type of the expression of the switch
+     * @param cases          the cases
+     * @return the table (null if the labels are not constants or the type is not supported)
+     */
+    static @Nullable SwitchTable createSwitchTable(final @NotNull Type expressionType,
+                                                   final @NotNull List<CaseStatement> cases) {
+        if (expressionType.is(PrimitiveType.INT, PrimitiveType.CHAR, PrimitiveType.SHORT, PrimitiveType.BYTE,
+                ObjectType.INTEGER, ObjectType.CHARACTER, ObjectType.SHORT, ObjectType.BYTE)) {
+            int[] labels = new int[cases.size()];
+            for (int i = 0; i < labels.length; i++) {
+                Integer label = getIntLabel(cases.get(i).getExpression());
+                if (label == null) return null;
+                labels[i] = label;
+            }
+            return SwitchTable.ofInts(labels);
+        } else if (expressionType.is(ObjectType.STRING)) {
+            String[] labels = new String[cases.size()];
+            for (int i = 0; i < labels.length; i++) {
+                Node label = cases.get(i).getExpression();
+                if (!(label instanceof StringValueLiteral)) return null;
+                labels[i] = ((StringValueLiteral) label).getRawValue();
+            }
+            return SwitchTable.ofStrings(labels);
+        } else return null;
+    }
+
+    /**
+     * Gets the value of the given case label, if it is an <code>int</code> or <code>char</code> constant.
+     *
+     * @param label the label
+     * @return the value (null if the label is not constant)
+     */
+    private static @Nullable Integer getIntLabel(final @NotNull Node label) {
+        try {
+            if (label instanceof NumberValueLiteral)
+                return Integer.parseInt(((NumberValueLiteral) label).getRawValue());
+            else if (label instanceof CharValueLiteral)
+                return (int) ((CharValueLiteral) label).getRawValue().charAt(0);
+            else if (label instanceof Minus && ((Minus) label).getOperand() instanceof NumberValueLiteral)
+                return Integer.parseInt("-" + ((NumberValueLiteral) ((Minus) label).getOperand()).getRawValue());
+            else return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @Override
     public @NotNull Type visitCaseStatement(@NotNull CodeBlock block, @NotNull Node expression) {
         return visitScoped(ScopeType.CASE, () -> {
@@ -275,6 +351,79 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
         return variable;
     }
 
+    /**
+     * Records the additions that result in a {@link String} as concatenations
+     * in the {@link #getResolutionTable()}.
+     *
+     * @param left  the left
+     * @param right the right
+     * @return the type of the addition
+     */
+    @Override
+    public @NotNull Type visitAdd(@NotNull Node left, @NotNull Node right) {
+        Type type = left.accept(this).add(right.accept(this));
+        if (type.is(ObjectType.STRING)) this.resolutionTable.setConcatenation(left);
+        return type;
+    }
+
+    /**
+     * Records in the {@link #getResolutionTable()} the assignments in loops
+     * that append a {@link String} to the variable itself.
+     *
+     * @param name  the name
+     * @param value the value
+     * @return the assigned type
+     */
+    @Override
+    public @NotNull Type visitReAssign(@NotNull Node name, @NotNull Node value) {
+        Type type = Visitor.super.visitReAssign(name, value);
+        if (name instanceof Literal && !(name instanceof BinaryOperation) && isAccumulation((Literal) name, value))
+            try {
+                this.environment.check(CONTINUE_SCOPES);
+                this.resolutionTable.setAccumulation(value);
+            } catch (ScopeException ignored) {
+                // Not in a loop
+            }
+        return type;
+    }
+
+    /**
+     * Checks whether the given value is a concatenation chain starting with the given variable.
+     *
+     * @param name  the variable
+     * @param value the value
+     * @return true if it is
+     */
+    private boolean isAccumulation(final @NotNull Literal name, final @NotNull Node value) {
+        Node first = value;
+        while (first instanceof Add && this.resolutionTable.isConcatenation(((Add) first).getLeft()))
+            first = ((Add) first).getLeft();
+        return first != value && first instanceof Literal && !(first instanceof BinaryOperation) &&
+                ((Literal) first).getLiteral().equals(name.getLiteral());
+    }
+
+    /**
+     * Visits the value and records its type in the {@link #getResolutionTable()}.
+     * If it already matches the type of the variable, the assignment is also marked as exact.
+     *
+     * @param variableType the type of the variable
+     * @param variableName the variable
+     * @param value        the value
+     * @return the assigned type
+     */
+    @Override
+    public @NotNull Type assignVariable(@NotNull ClassType variableType,
+                                       @NotNull VariableContainer<ClassType, Type, ParameterTypes, ?> variableName,
+                                       @NotNull Node value) {
+        Type variable = value.accept(this);
+        this.resolutionTable.setType(value, variable);
+        if (!variable.is(VariableContainer.class) && variable.equals(variableType.toType()))
+            this.resolutionTable.setExactAssignment(value);
+        variable = convertVariable(variableType, variable);
+        variableName.set(variable);
+        return variableType.cast(variable);
+    }
+
     /**
      * Support function for {@link #visitAssignment(Node, Literal, Node)}
      * and {@link #visitReAssign(Node, Node)}.
@@ -320,11 +469,93 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
         return ArrayClassType.of(type.accept(this).checkClass());
     }
 
+    /**
+     * Resolves the constructor of the new object and records it in the {@link #getResolutionTable()}
+     * if all the parameters have an exact type.
+     *
+     * @param left  the left
+     * @param right the right
+     * @return the new object
+     */
+    @Override
+    public @NotNull Type visitNewObject(@NotNull Node left, @NotNull Node right) {
+        try {
+            Type type = left.accept(this);
+            ParameterTypes parameters = right.accept(this).check(ParameterTypes.class);
+            ClassType classType = type.checkClass();
+            Constructor<?> constructor = classType.resolveConstructor(parameters);
+            Type object = classType.newResolvedObject(constructor, parameters);
+            if (parameters.stream().allMatch(TypeChecker::isExactType))
+                this.resolutionTable.setConstructor(right, constructor);
+            return object;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Resolves the invoked method and records it in the {@link #getResolutionTable()}
+     * if both the executor and the parameters have an exact type.
+     *
+     * @param executor   the executor
+     * @param methodName the method name
+     * @param invocation the invocation
+     * @return the method call
+     */
+    @Override
+    public @NotNull Type visitMethodCall(@NotNull Node executor, @NotNull String methodName,
+                                         @NotNull MethodInvocation invocation) {
+        try {
+            Type actualExecutor = executor.accept(this);
+            if (actualExecutor.equals(visitEmptyLiteral())) actualExecutor = visitThisLiteral();
+            ParameterTypes parameters = invocation.accept(this).check(ParameterTypes.class);
+            Method method = actualExecutor.resolveMethod(methodName, parameters);
+            Type returned = actualExecutor.invokeResolvedMethod(method, parameters);
+            boolean exactExecutor = executor.is(EmptyLiteral.class) || executor.is(ThisLiteral.class) ||
+                    isExactExecutor(actualExecutor);
+            if (exactExecutor && parameters.stream().allMatch(TypeChecker::isExactType))
+                this.resolutionTable.setMethod(invocation, method);
+            return returned;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
+    /**
+     * Resolves the accessed field and records it in the {@link #getResolutionTable()}
+     * if the executor has an exact type.
+     * Fields of arrays are not resolved.
+     *
+     * @param executor  the executor
+     * @param fieldName the field name
+     * @return the field
+     */
+    @Override
+    public @NotNull Type visitField(@NotNull Node executor, @NotNull Node fieldName) {
+        try {
+            Type actualExecutor = executor.accept(this);
+            LiteralVariableContainer<ClassType, Type, ParameterTypes> actualFieldName = fieldName.accept(this)
+                    .check(LiteralVariableContainer.class);
+            if (actualExecutor.is(ArrayType.class))
+                return (Type) actualExecutor.getField(actualFieldName.getName());
+            if (actualExecutor.isPrimitive()) actualExecutor = actualExecutor.toWrapper();
+            Field field = actualExecutor.resolveField(actualFieldName.getName());
+            Type type = (Type) actualExecutor.getField(field);
+            if (isExactExecutor(actualExecutor)) this.resolutionTable.setField(fieldName, field);
+            return type;
+        } catch (VisitorObjectException e) {
+            throw exceptionWrapper(e);
+        }
+    }
+
     @Override
     public @NotNull ParameterTypes visitMethodInvocation(@NotNull List<Node> parameters) {
         List<Type> parameterTypes = new LinkedList<>();
-        for (Node parameter : parameters)
-            parameterTypes.add(parameter.accept(this));
+        for (Node parameter : parameters) {
+            Type type = parameter.accept(this);
+            this.resolutionTable.setType(parameter, type);
+            parameterTypes.add(type);
+        }
         return new ParameterTypes(parameterTypes);
     }
 
@@ -384,13 +615,16 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
             Tuple<ClassType, Type> tuple = new Tuple<>();
             if (literal.endsWith(".class")) {
                 ClassType type = ClassType.of(literal.substring(0, literal.length() - 6));
+                this.resolutionTable.setLiteralClass(literal, type.toJavaClass());
                 tuple.set(type.toClass(), type.toClass());
             } else {
                 ClassType type = ClassType.of(literal);
+                this.resolutionTable.setLiteralClass(literal, type.toJavaClass());
                 tuple.set(type, type);
             }
             return tuple;
         } catch (TypeException e) {
+            this.resolutionTable.setLiteralClass(literal, null);
             return Visitor.super.getObjectFromLiteral(literal);
         }
     }
@@ -400,6 +634,34 @@ public class TypeChecker implements Visitor<ClassType, Type, ParameterTypes> {
         return Types.NO_TYPE;
     }
 
+    /**
+     * Checks whether the given executor type is exact,
+     * meaning that members resolved on it are the same ones the runtime lookup would find.
+     * This is true for classes and for instances of final classes.
+     *
+     * @param type the type
+     * @return true if it is
+     */
+    static boolean isExactExecutor(final @NotNull Type type) {
+        if (type.isNull() || type.is(Types.NO_TYPE)) return false;
+        else if (type.isClassType()) return true;
+        else return isExactType(type);
+    }
+
+    /**
+     * Checks whether the given type is exact, meaning that at runtime
+     * the value will have exactly the same class.
+     * This is true for primitive types and instances of final classes, except for arrays.
+     *
+     * @param type the type
+     * @return true if it is
+     */
+    static boolean isExactType(final @NotNull Type type) {
+        if (type.isPrimitive()) return true;
+        else if (type.isNull() || type.is(Types.NO_TYPE) || type.is(ArrayType.class)) return false;
+        else return Modifier.isFinal(type.toClass().toJavaClass().getModifiers());
+    }
+
     @Override
     public @NotNull RuntimeException exceptionWrapper(@NotNull Exception exception) {
         return TypeCheckerException.of(exception);
@@ -91,15 +91,24 @@ public interface Visitor<
      * @return the code block
      */
     default @NotNull O visitCodeBlock(final @NotNull LinkedList<Statement> statements) {
-        return visitScoped(ScopeType.CODE_BLOCK, () -> {
-            O empty = visitEmptyLiteral();
-            for (Statement statement : statements) {
-                O o = statement.accept(this);
-                // Something was returned
-                if (!o.equals(empty)) return o;
-            }
-            return empty;
-        });
+        return visitScoped(ScopeType.CODE_BLOCK, () -> visitUnscopedCodeBlock(statements));
+    }
+
+    /**
+     * Converts unscoped code block and its fields to this visitor type.
+     * Differently from {@link #visitCodeBlock(LinkedList)}, no new scope is created.
+     *
+     * @param statements the statements
+     * @return the code block
+     */
+    default @NotNull O visitUnscopedCodeBlock(final @NotNull LinkedList<Statement> statements) {
+        O empty = visitEmptyLiteral();
+        for (Statement statement : statements) {
+            O o = statement.accept(this);
+            // Something was returned
+            if (!o.equals(empty)) return o;
+        }
+        return empty;
     }
 
     /**
@@ -282,10 +291,7 @@ public interface Visitor<
         } catch (ScopeException e) {
             throw exceptionWrapper(e);
         }
-        O variable = value.accept(this);
-        variable = convertVariable(variableType, variable);
-        variableName.set(variable);
-        return variableType.cast(variable);
+        return assignVariable(variableType, variableName, value);
     }
 
     /**
@@ -299,7 +305,23 @@ public interface Visitor<
      */
     default @NotNull O visitReAssign(final @NotNull Node name, final @NotNull Node value) {
         VariableContainer<C, O, P, ?> variableName = name.accept(this).check(VariableContainer.class);
-        C variableType = variableName.getType();
+        return assignVariable(variableName.getType(), variableName, value);
+    }
+
+    /**
+     * Support method for {@link #visitAssignment(Node, Literal, Node)} and
+     * {@link #visitReAssign(Node, Node)}.
+     * Visits the value, converts it using {@link #convertVariable(ClassVisitorObject, VisitorObject)}
+     * and sets it in the given variable.
+     *
+     * @param variableType the type of the variable
+     * @param variableName the variable
+     * @param value        the value
+     * @return the assigned value
+     */
+    default @NotNull O assignVariable(final @NotNull C variableType,
+                                      final @NotNull VariableContainer<C, O, P, ?> variableName,
+                                      final @NotNull Node value) {
         O variable = value.accept(this);
         variable = convertVariable(variableType, variable);
         variableName.set(variable);
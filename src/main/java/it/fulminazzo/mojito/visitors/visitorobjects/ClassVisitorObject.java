@@ -57,6 +57,17 @@ public interface ClassVisitorObject<
      * @throws VisitorObjectException the exception thrown in case of errors
      */
     default @NotNull O newObject(final @NotNull P parameters) throws VisitorObjectException {
+        return newResolvedObject(resolveConstructor(parameters), parameters);
+    }
+
+    /**
+     * Searches the first constructor of the current class compatible with the given parameters.
+     *
+     * @param parameters the parameters
+     * @return the constructor
+     * @throws VisitorObjectException the exception thrown in case no compatible constructor is found
+     */
+    default @NotNull Constructor<?> resolveConstructor(final @NotNull P parameters) throws VisitorObjectException {
         final String methodName = "<init>";
         final C classVisitorObject = (C) this;
         try {
@@ -75,7 +86,7 @@ public interface ClassVisitorObject<
                 if (Boolean.TRUE.equals(refl.invokeMethod("validateParameters",
                         new Class[]{Class[].class, Executable.class},
                         parametersTypes, constructor)))
-                    return newObject(constructor, parameters);
+                    return constructor;
             }
 
             throw typesMismatch(classVisitorObject, constructors.get(0), parameters);
@@ -84,6 +95,24 @@ public interface ClassVisitorObject<
         }
     }
 
+    /**
+     * Creates a new object from the current class with the given constructor,
+     * previously obtained from {@link #resolveConstructor(ParameterVisitorObjects)}, and parameters.
+     *
+     * @param constructor the constructor
+     * @param parameters  the parameters
+     * @return the object associated with this class
+     * @throws VisitorObjectException the exception thrown in case of errors
+     */
+    default @NotNull O newResolvedObject(final @NotNull Constructor<?> constructor,
+                                         final @NotNull P parameters) throws VisitorObjectException {
+        try {
+            return newObject(constructor, parameters);
+        } catch (IllegalArgumentException e) {
+            throw methodNotFound((C) this, "<init>", parameters);
+        }
+    }
+
     /**
      * Creates a new object from the current class with
      * the given constructor and parameters.
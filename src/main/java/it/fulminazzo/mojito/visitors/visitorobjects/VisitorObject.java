@@ -96,11 +96,22 @@ public interface VisitorObject<
      */
     default @NotNull FieldContainer<C, O, P> getField(final @NotNull String fieldName) throws VisitorObjectException {
         if (isPrimitive()) return toWrapper().getField(fieldName);
+        return getField(resolveField(fieldName));
+    }
+
+    /**
+     * Searches the given field in the associated {@link ClassVisitorObject}.
+     *
+     * @param fieldName the field name
+     * @return the field
+     * @throws VisitorObjectException the exception thrown in case the field is not found
+     */
+    default @NotNull Field resolveField(final @NotNull String fieldName) throws VisitorObjectException {
+        if (isPrimitive()) return toWrapper().resolveField(fieldName);
         C classVisitorObject = is(ClassVisitorObject.class) ? (C) this : toClass();
         try {
             Class<?> javaClass = classVisitorObject.toJavaClass();
-            Field field = ReflectionUtils.getField(javaClass, fieldName);
-            return getField(field);
+            return ReflectionUtils.getField(javaClass, fieldName);
         } catch (IllegalArgumentException e) {
             throw fieldNotFound(classVisitorObject, fieldName);
         }
@@ -127,6 +138,21 @@ public interface VisitorObject<
     default @NotNull O invokeMethod(final @NotNull String methodName,
                                     final @NotNull P parameters) throws VisitorObjectException {
         if (isPrimitive()) return toWrapper().invokeMethod(methodName, parameters);
+        return invokeResolvedMethod(resolveMethod(methodName, parameters), parameters);
+    }
+
+    /**
+     * Searches the given method in the associated {@link ClassVisitorObject}.
+     * The first method compatible with the given parameters is returned.
+     *
+     * @param methodName the method name
+     * @param parameters the parameters
+     * @return the method
+     * @throws VisitorObjectException the exception thrown in case no compatible method is found
+     */
+    default @NotNull Method resolveMethod(final @NotNull String methodName,
+                                          final @NotNull P parameters) throws VisitorObjectException {
+        if (isPrimitive()) return toWrapper().resolveMethod(methodName, parameters);
         C classVisitorObject = is(ClassVisitorObject.class) ? (C) this : toClass();
         try {
             Class<?> javaClass = classVisitorObject.toJavaClass();
@@ -143,7 +169,7 @@ public interface VisitorObject<
                 if (Boolean.TRUE.equals(refl.invokeMethod("validateParameters",
                         new Class[]{Class[].class, Executable.class},
                         parametersTypes, method)))
-                    return invokeMethod(method, parameters);
+                    return method;
             }
 
             throw typesMismatch(classVisitorObject, methods.get(0), parameters);
@@ -152,6 +178,25 @@ public interface VisitorObject<
         }
     }
 
+    /**
+     * Invokes the given method, previously obtained from {@link #resolveMethod(String, ParameterVisitorObjects)},
+     * and returns the value returned from it.
+     *
+     * @param method     the method
+     * @param parameters the parameters
+     * @return the returned object from the method
+     * @throws VisitorObjectException the exception thrown in case of errors
+     */
+    default @NotNull O invokeResolvedMethod(final @NotNull Method method,
+                                            final @NotNull P parameters) throws VisitorObjectException {
+        if (isPrimitive()) return toWrapper().invokeResolvedMethod(method, parameters);
+        try {
+            return invokeMethod(method, parameters);
+        } catch (IllegalArgumentException e) {
+            throw methodNotFound(is(ClassVisitorObject.class) ? (C) this : toClass(), method.getName(), parameters);
+        }
+    }
+
     /**
      * Invokes the given method from the associated {@link ClassVisitorObject} and
      * returns the value returned from it.
@@ -8,6 +8,9 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
 /**
  * A variable container is an abstract class that contains the information of a variable.
  * It also provides a {@link #set(VisitorObject)} method to update it.
@@ -95,6 +98,21 @@ public abstract class VariableContainer<
         return this.variable.invokeMethod(methodName, parameters);
     }
 
+    @Override
+    public @NotNull Field resolveField(@NotNull String fieldName) throws VisitorObjectException {
+        return this.variable.resolveField(fieldName);
+    }
+
+    @Override
+    public @NotNull Method resolveMethod(@NotNull String methodName, @NotNull P parameters) throws VisitorObjectException {
+        return this.variable.resolveMethod(methodName, parameters);
+    }
+
+    @Override
+    public @NotNull O invokeResolvedMethod(@NotNull Method method, @NotNull P parameters) throws VisitorObjectException {
+        return this.variable.invokeResolvedMethod(method, parameters);
+    }
+
     @Override
     public @NotNull O toPrimitive() {
         return this.variable.toPrimitive();
@@ -0,0 +1,78 @@
+package it.fulminazzo.mojito
+
+import it.fulminazzo.mojito.optimizer.Optimizer
+import spock.lang.Specification
+
+/**
+ * The base of the specifications that compare the results of the programs in every {@link ExecutionMode}.
+ */
+abstract class ExecutionModeSpecification extends Specification {
+    static final List<ExecutionMode> MODES = ExecutionMode.values().toList() - ExecutionMode.INTERPRETED
+
+    static final List<String> PROGRAMS = [
+            'return 1 + 2;',
+            'int i = 0; while (i < 10) i++; return i;',
+            'int sum = 0; for (int i = 0; i < 100; i++) sum += i; return sum;',
+            'long sum = 0L; for (int i = 0; i < 100; i++) sum += i; return sum;',
+            'double d = 1; for (int i = 0; i < 5; i++) d = d / 2; return d;',
+            'int i = 0; do { i += 3; } while (i < 10); return i;',
+            'int i = 0; while (true) { if (i == 5) break; i++; } return i;',
+            'int c = 0; for (int i = 0; i < 10; i++) { if (i % 2 == 0) continue; c++; } return c;',
+            'int c = 0; for (int i = 0; i < 10; i++) { if (i % 2 == 0) continue; if (i > 7) break; c++; } return c;',
+            'int c = 0; for (int i = 0; i < 3; i++) for (int j = 0; j < 3; j++) c += i * j; return c;',
+            'int c = 0; for (int i = 0; i < 3; i++) for (int j = 0; j < 3; j++) { if (j == 2) break; c += i * j; } return c;',
+            'int[] arr = new int[]{1, 2, 3}; int sum = 0; for (int a : arr) sum += a; return sum;',
+            'int[] arr = new int[]{1, 2, 3}; int sum = 0; for (int a : arr) { if (a == 3) break; sum += a; } return sum;',
+            'int[] arr = new int[3]; for (int i = 0; i < 3; i++) arr[i] = i * 2; return arr[2];',
+            'String s = ""; for (int i = 0; i < 3; i++) s += i; return s;',
+            'String s = "\\"a\\"\\n"; for (int i = 0; i < 3; i++) s += i; return s;',
+            'char c = \'\\\'\'; return c;',
+            'int r = 0; for (int i = 0; i < 4; i++) { switch (i) { case 1: r += 10; break; default: r += 1; } } return r;',
+            'int r = 0; for (int i = 0; i < 4; i++) { switch (i) { case 1: continue; default: r += 1; } } return r;',
+            'int r = 0; switch (2) { case 1: r = 1; break; case 2: r = 2; break; default: r = 3; } return r;',
+            'int r = 0; for (int i = 0; i < 5; i++) { switch (i) { case 1: case 2: r += i; continue; case 3: break; default: r += 10; } r++; } return r;',
+            'int r = 0; for (int i = 0; i < 3; i++) { switch (i) { case 0: switch (r) { case 0: r += 5; break; } break; default: r++; } } return r;',
+            'String s = "b"; switch (s) { case "a": return 1; case "b": return 2; } return 3;',
+            'char c = \'x\'; switch (c) { case \'x\': c = \'y\'; default: return c; }',
+            'return "a".CASE_INSENSITIVE_ORDER.compare("a", "A");',
+            'int[] a = new int[]{1, 2}; String[] b = new String[2]; b[1] = "x"; return a[1] + b[1] + b[0];',
+            'int r = 0; for (int i = 0; i < 3; i++) { try { throw new IllegalStateException(); } catch (IllegalStateException e) { r++; } } return r;',
+            'try { throw new IllegalStateException("x"); } catch (IllegalArgumentException | IllegalStateException e) { return e.getMessage(); }',
+            'for (int i = 0; i < 3; i++) { try { return i; } finally { } } return -1;',
+            'int i = 0; int j = i++ + ++i; return j;',
+            'int i = 10; int j = i-- - --i; return j;',
+            'int i = 0; i = i = 3; return i;',
+            'int i = 2147483647; i = i + 1; return i;',
+            'return "Hello".length() + 1;',
+            'StringBuilder b = new StringBuilder(); for (int i = 0; i < 3; i++) b.append(i); return b.toString();',
+            'return this.toString().length() > 0;',
+            'return twice(21);',
+            'return this.twice(2) + 1;',
+            'return Integer.MAX_VALUE;',
+            'boolean b = 1 < 2 && 3 > 2; return b;',
+            'Integer a = 1000; Integer b = 1000; return a == b;',
+            'Integer a = 1000; long b = 1000L; return a != b;',
+            'String a = "ab"; String b = "a"; b += "b"; return a == b;',
+            'String a = "ab"; String b = "a"; b += "b"; return a != b;',
+            'int i = 5; if (i > 3) { return true; } else { return false; }',
+            'int i = 5; if (i > 3) { return true; } else if (i > 1) { return false; } return null;',
+            'int i = 0; while (i < 3) i++;'
+    ]
+
+    /**
+     * Runs the given code in the given mode, without optimizing it.
+     *
+     * @param mode      the mode
+     * @param code      the code
+     * @param variables the variables
+     * @return the result of the program (null if not present)
+     */
+    protected Object run(final ExecutionMode mode, final String code, final Map<String, Object> variables = [:]) {
+        return Mojito.newRunner(this, Optimizer.none(), mode).run(code, variables).orElse(null)
+    }
+
+    int twice(final int i) {
+        return i * 2
+    }
+
+}
@@ -0,0 +1,71 @@
+package it.fulminazzo.mojito
+
+import it.fulminazzo.mojito.optimizer.Optimizer
+
+class ExecutionModeTest extends ExecutionModeSpecification {
+
+    def 'test #mode execution of #code should return the same result as the interpreted one'() {
+        given:
+        def expected = run(ExecutionMode.INTERPRETED, code)
+
+        when:
+        def actual = run(mode, code)
+
+        then:
+        actual == expected
+
+        where:
+        [mode, code] << [MODES, PROGRAMS].combinations()
+    }
+
+    def 'test #mode compiled script of #code should return the same result as the interpreted one'() {
+        given:
+        def expected = run(ExecutionMode.INTERPRETED, code)
+        def script = Mojito.newRunner(this, Optimizer.none(), mode).compile(code)
+
+        expect:
+        script.run().orElse(null) == expected
+        script.run().orElse(null) == expected
+
+        where:
+        [mode, code] << [MODES, PROGRAMS].combinations()
+    }
+
+    def 'test #mode execution of #file should return the same result as the interpreted one'() {
+        given:
+        def code = new File("build/resources/test/${file}").text
+        def variables = ['variable': 1]
+
+        expect:
+        run(mode, code, variables) == run(ExecutionMode.INTERPRETED, code, variables)
+
+        where:
+        [mode, file] << [MODES, ['runner_test.java', 'runner_test_variable.java']].combinations()
+    }
+
+    def 'test #mode execution should read and update runner variables'() {
+        given:
+        def code = 'int sum = 0; for (int i = 0; i < variable; i++) sum += variable; return sum + text;'
+        def variables = ['variable': 4, 'text': 'a'] as Map<String, Object>
+
+        expect:
+        run(mode, code, variables) == '16a'
+
+        where:
+        mode << ExecutionMode.values()
+    }
+
+    def 'test #mode execution should wrap runtime exceptions'() {
+        when:
+        run(mode, 'throw new IllegalArgumentException("Hello, world!");')
+
+        then:
+        def e = thrown(RunnerException)
+        e.cause instanceof IllegalArgumentException
+        e.cause.message == 'Hello, world!'
+
+        where:
+        mode << ExecutionMode.values()
+    }
+
+}
@@ -52,6 +52,16 @@ class MojitoTest extends Specification {
         out.contains('An error occurred while parsing variables')
     }
 
+    def 'test main with bench should show the report of every script'() {
+        when:
+        Mojito.main(new String[]{'--bench', 'build/resources/test/bench', '2'})
+        def out = this.output.toString()
+
+        then:
+        ['csv_parsing', 'rule_evaluation', 'numeric_kernels', 'text_templating', 'collection_transforms']
+                .every { out.contains(it) }
+    }
+
     def 'test main with #arguments should show usage'() {
         when:
         Mojito.main(arguments.toArray(new String[arguments.size()]))
@@ -67,6 +77,9 @@ class MojitoTest extends Specification {
                 ['--help'],
                 ['/?'],
                 ['--code'],
+                ['--bench'],
+                ['--bench', 'build/resources/test/bench', 'invalid'],
+                ['--bench', 'build/resources/test/bench', '0'],
         ]
     }
 
@@ -0,0 +1,101 @@
+package it.fulminazzo.mojito
+
+import it.fulminazzo.mojito.listener.ExecutionListener
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class PreparedScriptTest extends Specification {
+    private static final String CODE = '''
+        String s = "";
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += i;
+            s += i % 10;
+        }
+        return s.length() + sum;
+    '''
+
+    private static int expected(final int n) {
+        return n + (n * (n - 1)).intdiv(2)
+    }
+
+    def 'test compiled script in mode #mode should return the same results from many threads'() {
+        given:
+        def script = Mojito.newRunner(this, mode).compile(CODE)
+        def pool = Executors.newFixedThreadPool(8)
+        def tasks = (1..200).collect { i -> { -> script.run([n: i % 50]).orElse(null) } as Callable }
+
+        when:
+        def results = pool.invokeAll(tasks).collect { it.get() }
+
+        then:
+        results.withIndex().every { r, i -> r == expected((i + 1) % 50) }
+        script.invocations == 200
+
+        cleanup:
+        pool.shutdown()
+        pool.awaitTermination(10, TimeUnit.SECONDS)
+
+        where:
+        mode << [ExecutionMode.INTERPRETED, ExecutionMode.SPECIALIZED, ExecutionMode.COMPILED,
+                 ExecutionMode.BYTECODE, ExecutionMode.JVM, ExecutionMode.TIERED]
+    }
+
+    def 'test compiled script should only have tiered programs in mode #mode'() {
+        given:
+        def script = Mojito.newRunner(this, mode).compile('return 1;')
+
+        when:
+        script.run()
+
+        then:
+        script.programs.size() == size
+
+        where:
+        mode                      | size
+        ExecutionMode.COMPILED    | 0
+        ExecutionMode.TIERED      | 1
+    }
+
+    def 'test compiled script should be checked again for different variable types'() {
+        given:
+        def script = Mojito.newRunner(this, ExecutionMode.COMPILED).compile('return a + a;')
+
+        expect:
+        script.run([a: 1]).orElse(null) == 2
+        script.run([a: 'x']).orElse(null) == 'xx'
+    }
+
+    def 'test checked syntax should be reused by the first preparation only'() {
+        given:
+        def phases = []
+        def listener = new ExecutionListener() {
+            @Override
+            void onPhaseStart(ExecutionListener.Phase phase) {
+                phases.add(phase)
+            }
+        }
+        def script = Mojito.newRunner(this, ExecutionMode.COMPILED).withListener(listener).compile('return a + a;')
+
+        when:
+        script.checkSyntax()
+        script.run([a: 1])
+        script.run([a: 'x'])
+
+        then:
+        phases.count { it == ExecutionListener.Phase.PARSE } == 2
+        phases.count { it == ExecutionListener.Phase.TYPE_CHECK } == 2
+    }
+
+    def 'test checkSyntax should report syntax errors'() {
+        when:
+        Mojito.newRunner(this).compile('return 1 +;').checkSyntax()
+
+        then:
+        thrown(RuntimeException)
+    }
+
+}
@@ -1,5 +1,6 @@
 package it.fulminazzo.mojito
 
+import it.fulminazzo.mojito.optimizer.Optimizer
 import spock.lang.Specification
 
 class RunnerTest extends Specification {
@@ -9,9 +10,12 @@ class RunnerTest extends Specification {
         this.runner = new MojitoRunner(this)
     }
 
-    def 'test run(#parameters) should return #expected'() {
+    def 'test #mode run(#parameters) should return #expected'() {
+        given:
+        parameters.findAll { it instanceof InputStream }.each { (it as InputStream).reset() }
+
         when:
-        def actual = this.runner.run(*parameters)
+        def actual = Mojito.newRunner(this, mode).run(*parameters)
 
         then:
         if (expected == null) !actual.present
@@ -21,25 +25,29 @@ class RunnerTest extends Specification {
         }
 
         where:
-        parameters                                                                                        | expected
-        ['return 0;']                                                                                     | 0
-        ['return variable', ['variable': 1]]                                                              | 1
-        ['return variable', ['variable': null]]                                                           | null
-        [new File('build/resources/test/runner_test.java')]                                               | 0
-        [new File('build/resources/test/runner_test_variable.java'), ['variable': 1]]                     | 1
-        [new File('build/resources/test/runner_test_variable.java'), ['variable': null]]                  | null
-        [new File('build/resources/test/runner_test.java').newInputStream()]                              | 0
-        [new File('build/resources/test/runner_test_variable.java').newInputStream(), ['variable': 1]]    | 1
-        [new File('build/resources/test/runner_test_variable.java').newInputStream(), ['variable': null]] | null
+        [mode, parameters, expected] << [
+                ExecutionMode.values().toList(),
+                [
+                        [['return 0;'], 0],
+                        [['return variable', ['variable': 1]], 1],
+                        [['return variable', ['variable': null]], null],
+                        [[new File('build/resources/test/runner_test.java')], 0],
+                        [[new File('build/resources/test/runner_test_variable.java'), ['variable': 1]], 1],
+                        [[new File('build/resources/test/runner_test_variable.java'), ['variable': null]], null],
+                        [[stream('runner_test.java')], 0],
+                        [[stream('runner_test_variable.java'), ['variable': 1]], 1],
+                        [[stream('runner_test_variable.java'), ['variable': null]], null]
+                ]
+        ].combinations().collect { m, c -> [m, c[0], c[1]] }
     }
 
-    def 'test runtime exception during execution'() {
+    def 'test #mode runtime exception during execution'() {
         given:
         def expectedCause = new IllegalArgumentException('Hello, world!')
         def expected = RunnerException.of(expectedCause)
 
         when:
-        this.runner.run('throw new IllegalArgumentException(\"Hello, world!\");')
+        Mojito.newRunner(this, mode).run('throw new IllegalArgumentException(\"Hello, world!\");')
 
         then:
         def e = thrown(RunnerException)
@@ -47,6 +55,9 @@ class RunnerTest extends Specification {
         def cause = e.cause
         cause instanceof IllegalArgumentException
         cause.message == expectedCause.message
+
+        where:
+        mode << ExecutionMode.values()
     }
 
     def 'test file not found should throw wrapped exception'() {
@@ -58,12 +69,39 @@ class RunnerTest extends Specification {
         e.message == RunnerException.cannotFindFile('not_existing').message
     }
 
-    def 'test latestResult should be equal to result of run'() {
+    def 'test #mode latestResult should be equal to result of run'() {
+        given:
+        def runner = Mojito.newRunner(this, mode)
+
         when:
-        def expected = this.runner.run('return 1;')
+        def expected = runner.run('return 1;')
 
         then:
-        this.runner.latestResult() == expected
+        runner.latestResult() == expected
+
+        where:
+        mode << ExecutionMode.values()
+    }
+
+    def 'test #mode withOptimizer should apply all the given passes'() {
+        given:
+        def runner = Mojito.newRunner(this, mode)
+        def code = '''
+            int total = 0;
+            for (int i = 0; i < 3; i++) {
+                int base = 2 * 5;
+                total += base + i;
+            }
+            if (false) return -1;
+            return total;
+        '''
+
+        expect:
+        runner.withOptimizer(new Optimizer()).run(code).get() == 33
+        runner.run(code).get() == 33
+
+        where:
+        mode << ExecutionMode.values()
     }
 
     def 'test ScopeException for JaCoCo coverage'() {
@@ -82,4 +120,39 @@ class RunnerTest extends Specification {
         noExceptionThrown()
     }
 
+    def 'test #method of a runner implementing only run should throw UnsupportedOperationException'() {
+        given:
+        def runner = new Runner() {
+            @Override
+            Optional<?> latestResult() {
+                return Optional.empty()
+            }
+
+            @Override
+            Optional<?> run(InputStream input, Map<String, Object> variables) {
+                return Optional.empty()
+            }
+        }
+
+        when:
+        runner."$method"(*parameters)
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        where:
+        method                | parameters
+        'prepare'             | ['return 1;']
+        'compile'             | ['return 1;']
+        'withOptimizer'       | [new Optimizer()]
+        'withBudget'          | [null]
+        'withProfiler'        | [null]
+        'withInteropProfiler' | [null]
+        'withListener'        | [null]
+    }
+
+    private static InputStream stream(final String file) {
+        return new ByteArrayInputStream(new File("build/resources/test/${file}").bytes)
+    }
+
 }
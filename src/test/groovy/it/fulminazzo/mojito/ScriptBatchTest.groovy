@@ -0,0 +1,164 @@
+package it.fulminazzo.mojito
+
+import it.fulminazzo.mojito.executor.BudgetExceededException
+import it.fulminazzo.mojito.executor.ExecutionBudget
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+class ScriptBatchTest extends Specification {
+
+    def 'test runAsync should complete with the result of the program'() {
+        given:
+        def runner = Mojito.newRunner(this, ExecutionMode.COMPILED)
+
+        when:
+        def result = runner.runAsync('return a * 2;', [a: 21]).get(10, TimeUnit.SECONDS)
+
+        then:
+        result.orElse(null) == 42
+    }
+
+    def 'test runAsync should complete exceptionally if the program throws'() {
+        when:
+        Mojito.newRunner(this).runAsync('throw new IllegalStateException("boom");').get(10, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause.cause instanceof IllegalStateException
+    }
+
+    def 'test runAll in mode #mode should return the results in order'() {
+        given:
+        def runner = Mojito.newRunner(this, mode)
+        def tasks = (0..<100).collect { ScriptTask.of('return a + 1;', [a: it]) }
+
+        when:
+        def results = runner.runAll(tasks)
+
+        then:
+        results*.successful.every()
+        results.collect { it.result.orElse(null) } == (1..100).toList()
+        results.withIndex().every { r, i -> r.task.is(tasks[i]) }
+
+        where:
+        mode << [ExecutionMode.INTERPRETED, ExecutionMode.COMPILED, ExecutionMode.TIERED]
+    }
+
+    def 'test runAll should report failures without stopping the other tasks'() {
+        given:
+        def tasks = [
+                ScriptTask.of('return 1;'),
+                ScriptTask.of('throw new IllegalArgumentException("boom");'),
+                ScriptTask.of('return 1 +;'),
+                ScriptTask.of('return 3;')
+        ]
+
+        when:
+        def results = Mojito.newRunner(this).runAll(tasks)
+
+        then:
+        results*.successful == [true, false, false, true]
+        results[0].result.orElse(null) == 1
+        results[1].failure.get().cause instanceof IllegalArgumentException
+        results[2].failure.present
+        results[3].result.orElse(null) == 3
+    }
+
+    def 'test runAll should fail tasks that exceed their timeout'() {
+        given:
+        def latch = new CountDownLatch(1)
+        def tasks = [
+                ScriptTask.of('latch.await(); return 1;', [latch: latch]).withTimeout(50, TimeUnit.MILLISECONDS),
+                ScriptTask.of('return 2;').withTimeout(10, TimeUnit.SECONDS)
+        ]
+
+        when:
+        def results = Mojito.newRunner(this).runAll(tasks)
+
+        then:
+        results[0].failure.get() instanceof TimeoutException
+        results[1].result.orElse(null) == 2
+
+        cleanup:
+        latch.countDown()
+    }
+
+    def 'test runAll should stop runaway tasks that exceed their timeout'() {
+        given:
+        def tasks = [
+                ScriptTask.of('boolean running = true; while (running) { } return 1;').withTimeout(50, TimeUnit.MILLISECONDS),
+                ScriptTask.of('int i = 0; while (true) { i++; }')
+                        .withBudget(ExecutionBudget.unlimited().withMaxSteps(100))
+        ]
+
+        when:
+        def results = Mojito.newRunner(this).runAll(tasks)
+
+        then:
+        results[0].failure.get() instanceof TimeoutException
+        results[1].failure.get() instanceof BudgetExceededException
+    }
+
+    def 'test runAll should not submit more than the maximum concurrent tasks'() {
+        given:
+        def pool = Executors.newFixedThreadPool(8)
+        def tracker = new Tracker()
+        def tasks = (1..50).collect { ScriptTask.of('tracker.track(); return 1;', [tracker: tracker]) }
+
+        when:
+        def results = Mojito.newRunner(this).runAll(tasks, pool, 2)
+
+        then:
+        results*.successful.every()
+        tracker.peak.get() <= 2
+
+        cleanup:
+        pool.shutdown()
+        pool.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    def 'test runAll should report tasks rejected by the executor'() {
+        given:
+        def pool = Executors.newSingleThreadExecutor()
+        pool.shutdown()
+
+        when:
+        def results = Mojito.newRunner(this).runAll([ScriptTask.of('return 1;')], pool)
+
+        then:
+        !results[0].successful
+    }
+
+    def 'test runAll should not accept a concurrency lower than one'() {
+        when:
+        Mojito.newRunner(this).runAll([], Executors.newSingleThreadExecutor(), 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test default executor should be shared'() {
+        expect:
+        ScriptExecutors.getDefault().is(ScriptExecutors.getDefault())
+        ScriptExecutors.defaultConcurrency > 0
+    }
+
+    static class Tracker {
+        final AtomicInteger running = new AtomicInteger()
+        final AtomicInteger peak = new AtomicInteger()
+
+        void track() {
+            this.peak.accumulateAndGet(this.running.incrementAndGet(), Math::max)
+            Thread.sleep(2)
+            this.running.decrementAndGet()
+        }
+
+    }
+
+}
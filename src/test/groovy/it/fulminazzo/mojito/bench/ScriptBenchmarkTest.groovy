@@ -0,0 +1,67 @@
+package it.fulminazzo.mojito.bench
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import spock.lang.Specification
+
+class ScriptBenchmarkTest extends Specification {
+
+    def 'test percentile #percentile of 1 to 100 should be #expected'() {
+        given:
+        def values = (1L..100L) as long[]
+
+        expect:
+        Latencies.percentile(values, percentile) == expected
+
+        where:
+        percentile | expected
+        50         | 50
+        99         | 99
+        100        | 100
+    }
+
+    def 'test latencies should be computed from unsorted times'() {
+        when:
+        def latencies = Latencies.of([30L, 10L, 20L] as long[])
+
+        then:
+        latencies.iterations == 3
+        latencies.totalTime == 60
+        latencies.p50 == 20
+        latencies.p99 == 30
+        latencies.throughput == 3e9 / 60
+    }
+
+    def 'test run should measure both the interpreted and the compiled script'() {
+        when:
+        def report = new ScriptBenchmark(1, 3).run([sum: 'int s = 0; for (int i = 0; i < 10; i++) s += i; return s;'])
+
+        then:
+        report.results.size() == 1
+        def result = report.results[0]
+        result.name == 'sum'
+        result.interpreted.iterations == 3
+        result.compiled != null
+        result.compiled.iterations == 3
+        !Double.isNaN(result.overhead)
+        report.toText().contains('sum')
+        report.toJson().startsWith('[{"name":"sum","interpreted":{"iterations":3,')
+    }
+
+    def 'test script #name of the corpus should return the same value when compiled'() {
+        given:
+        def code = new File("build/resources/test/bench/${name}.java").text
+
+        when:
+        def interpreted = Mojito.newRunner(new Object(), ExecutionMode.INTERPRETED).run(code, [:])
+        def compiled = Mojito.newRunner(new Object(), ExecutionMode.JVM).run(code, [:])
+
+        then:
+        interpreted.isPresent()
+        interpreted == compiled
+
+        where:
+        name << ['csv_parsing', 'rule_evaluation', 'numeric_kernels', 'text_templating', 'collection_transforms']
+    }
+
+}
@@ -0,0 +1,77 @@
+package it.fulminazzo.mojito.compiler
+
+import it.fulminazzo.mojito.ExecutionModeSpecification
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.typechecker.TypeChecker
+
+class BytecodeCompilerTest extends ExecutionModeSpecification {
+
+    private BytecodeProgram compile(final String code) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def program = parser.parseProgram()
+        def typeChecker = new TypeChecker(this)
+        program.accept(typeChecker)
+        return new BytecodeCompiler(this, typeChecker.resolutionTable).compile(program)
+    }
+
+    def 'test loops should be compiled to jumps'() {
+        given:
+        def program = compile('int sum = 0; for (int i = 0; i < 10; i++) { if (i == 5) break; sum += i; } return sum;')
+
+        when:
+        def listing = program.disassemble()
+
+        then:
+        listing.contains('ILT')
+        listing.contains('IEQ')
+        listing.contains('JUMP_IF_FALSE')
+        listing.contains('POST_INC')
+        !listing.contains('FALLBACK')
+    }
+
+    def 'test #code should be compiled without delegating to the executor'() {
+        given:
+        def program = compile(code)
+
+        when:
+        def listing = program.disassemble()
+
+        then:
+        listing.contains(opcode)
+        !listing.contains('FALLBACK')
+
+        where:
+        code                                                                                | opcode
+        'int r = 0; switch (2) { case 1: r = 1; break; default: r = 3; } return r;'        | 'SWITCH'
+        'String s = "b"; switch (s) { case "a": return 1; case "b": return 2; } return 3;' | 'SWITCH'
+        'throw new IllegalStateException();'                                                | 'THROW'
+        'return "a".CASE_INSENSITIVE_ORDER.compare("a", "A");'                              | 'GET_FIELD'
+        'int[] a = new int[3]; return a[0];'                                                | 'NEW_ARRAY'
+        'int[] a = new int[]{1, 2}; return a[1];'                                           | 'NEW_ARRAY_OF'
+    }
+
+    def 'test unsupported statements should be delegated to the executor'() {
+        given:
+        def program = compile('int i = 1; try { i++; } catch (IllegalStateException e) { i--; } return i;')
+
+        expect:
+        program.disassemble().contains('FALLBACK_STATEMENT')
+        program.execute(new Executor(this)).get().value == 2
+    }
+
+    def 'test program should count the executed instructions of all its runs'() {
+        given:
+        def program = compile('int i = 0; while (i < 3) i++;')
+
+        when:
+        program.execute(new Executor(this))
+        program.execute(new Executor(this))
+
+        then:
+        // CONST STORE (LOAD CONST ILT JUMP_IF_FALSE POST_INC POP JUMP) * 3 + LOAD CONST ILT JUMP_IF_FALSE
+        program.executedInstructions == 2 * (2 + 7 * 3 + 4)
+    }
+
+}
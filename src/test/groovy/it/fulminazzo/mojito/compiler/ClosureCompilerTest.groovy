@@ -0,0 +1,33 @@
+package it.fulminazzo.mojito.compiler
+
+import it.fulminazzo.mojito.ExecutionModeSpecification
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.typechecker.TypeChecker
+
+class ClosureCompilerTest extends ExecutionModeSpecification {
+
+    private CompiledProgram compile(final String code) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def program = parser.parseProgram()
+        def typeChecker = new TypeChecker(this)
+        program.accept(typeChecker)
+        return new ClosureCompiler(this, typeChecker.resolutionTable).compile(program)
+    }
+
+    def 'test compiled program should be executable many times'() {
+        given:
+        def program = compile('int sum = 0; for (int i = 0; i < 10; i++) sum += twice(i); return sum;')
+
+        expect:
+        program.execute(new Executor(this)).get().value == 90
+        program.execute(new Executor(this)).get().value == 90
+    }
+
+    def 'test compiled program without return should have no value'() {
+        expect:
+        !compile('int i = 0; while (i < 3) i++;').execute(new Executor(this)).present
+    }
+
+}
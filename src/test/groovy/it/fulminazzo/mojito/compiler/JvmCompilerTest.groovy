@@ -0,0 +1,75 @@
+package it.fulminazzo.mojito.compiler
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.ExecutionModeSpecification
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.typechecker.TypeChecker
+
+class JvmCompilerTest extends ExecutionModeSpecification {
+
+    private Optional<JvmProgram> compile(final String code) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def program = parser.parseProgram()
+        def typeChecker = new TypeChecker(this)
+        program.accept(typeChecker)
+        return new JvmCompiler(this, typeChecker.resolutionTable).compile(program, [:])
+    }
+
+    def 'test program with loops should be compiled to a class'() {
+        when:
+        def program = compile('int sum = 0; for (int i = 0; i < 10; i++) sum += twice(i); return sum;')
+
+        then:
+        program.present
+        program.get().source.contains('class MojitoScript')
+        program.get().execute(new Executor(this), [:]).get().value == 90
+    }
+
+    def 'test program with empty return should not be compiled'() {
+        expect:
+        !compile('int i = 0; return;').present
+    }
+
+    def 'test jvm execution should fall back to interpretation'() {
+        expect:
+        run(ExecutionMode.JVM, 'int i = 1; return; ') == run(ExecutionMode.INTERPRETED, 'int i = 1; return; ')
+    }
+
+    def 'test jvm comparison #code should return #expected like the interpreted one'() {
+        given:
+        def program = compile(code)
+
+        expect:
+        program.present
+        program.get().execute(new Executor(this), [:]).get().value == expected
+        run(ExecutionMode.INTERPRETED, code) == expected
+
+        where:
+        code                                                                      | expected
+        'Integer a = 1000; Integer b = 1000; return a == b;'                      | true
+        'Integer a = 1000; Integer b = 1000; return a != b;'                      | false
+        'Integer a = 1000; long b = 1000L; return a == b;'                        | true
+        'Integer a = 1000; double b = 1000.0; return a != b;'                     | false
+        'String a = "ab"; String b = "a"; b += "b"; return a == b;'               | true
+        'String a = "ab"; String b = "a"; b += "b"; return a != b;'               | false
+        'String a = "ab"; String b = "a"; b += "b"; return (a == b) == (1 == 1);' | true
+        'String a = null; return a == null;'                                      | true
+        'int a = 1000; long b = 1000L; return a != b;'                            | false
+    }
+
+    def 'test java literal of #value should be #expected'() {
+        expect:
+        JavaSourceGenerator.toJavaLiteral(value) == expected
+
+        where:
+        value          | expected
+        'a"b\\c\n'     | '"a\\"b\\\\c\\012"'
+        (char) '\''    | "'\\''"
+        1L             | '1L'
+        1.5f           | '1.5f'
+        Double.NaN     | "Double.longBitsToDouble(${Double.doubleToRawLongBits(Double.NaN)}L)"
+    }
+
+}
@@ -0,0 +1,154 @@
+package it.fulminazzo.mojito.compiler
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.RunnerException
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+
+class TieredProgramTest extends Specification {
+    private List<PromotionEvent> events
+    private TierPolicy policy
+
+    void setup() {
+        this.events = []
+        // Compiling in the current thread makes the promotions deterministic
+        this.policy = new TierPolicy()
+                .withCompiler({ it.run() } as Executor)
+                .withListener({ this.events.add(it) } as PromotionListener)
+    }
+
+    def 'test tiered execution of #code should return the same result as the interpreted one'() {
+        given:
+        def expected = Mojito.newRunner(this, ExecutionMode.INTERPRETED).run(code).orElse(null)
+        def script = Mojito.newRunner(this).prepare(code, this.policy
+                .withCompileThreshold(2)
+                .withJvmThreshold(4)
+                .withBackEdgeThreshold(3))
+
+        when:
+        def results = (1..5).collect { script.run().orElse(null) }
+
+        then:
+        results.every { it == expected }
+
+        where:
+        code << [
+                'return 1 + 2;',
+                'int sum = 0; for (int i = 0; i < 100; i++) sum += i; return sum;',
+                'long sum = 0L; for (int i = 0; i < 100; i++) sum += i; return sum;',
+                'int i = 0; do { i += 3; } while (i < 100); return i;',
+                'int i = 0; while (true) { if (i == 50) break; i++; } return i;',
+                'int c = 0; for (int i = 0; i < 10; i++) { if (i % 2 == 0) continue; c++; } return c;',
+                'int c = 0; for (int i = 0; i < 10; i++) for (int j = 0; j < 10; j++) c += i * j; return c;',
+                'for (int i = 0; i < 10; i++) if (i == 7) return i; return -1;',
+                'int[] arr = new int[]{1, 2, 3, 4, 5}; int sum = 0; for (int a : arr) sum += a; return sum;',
+                'String s = ""; for (int i = 0; i < 10; i++) s += i; return s;',
+                'int r = 0; for (int i = 0; i < 10; i++) { switch (i % 3) { case 1: r += 1; break; default: r += 2; } } return r;'
+        ]
+    }
+
+    def 'test program should be promoted after the compile threshold'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('int i = 1; return i + 1;', this.policy
+                .withCompileThreshold(3)
+                .withJvmThreshold(Long.MAX_VALUE))
+
+        when:
+        def modes = (1..4).collect {
+            script.run()
+            script.programs.first().executionMode
+        }
+
+        then:
+        modes == [ExecutionMode.INTERPRETED, ExecutionMode.INTERPRETED, ExecutionMode.COMPILED, ExecutionMode.COMPILED]
+        script.invocations == 4
+        this.events.size() == 1
+        this.events[0].from == ExecutionMode.INTERPRETED
+        this.events[0].to == ExecutionMode.COMPILED
+        !this.events[0].loop
+        this.events[0].successful
+        this.events[0].invocations == 3
+    }
+
+    def 'test program should be promoted to the jvm'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('int sum = 0; for (int i = 0; i < 10; i++) sum += i; return sum;',
+                this.policy.withCompileThreshold(1).withJvmThreshold(2))
+
+        when:
+        def results = (1..3).collect { script.run().get().value }
+
+        then:
+        results == [45, 45, 45]
+        script.programs.first().executionMode == ExecutionMode.JVM
+        this.events.collect { it.to } == [ExecutionMode.COMPILED, ExecutionMode.JVM]
+    }
+
+    def 'test hot loop should be replaced at its back-edge'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('int sum = 0; for (int i = 0; i < 100; i++) sum += i; return sum;',
+                this.policy.withBackEdgeThreshold(10))
+
+        when:
+        def result = script.run().get().value
+
+        then:
+        result == 4950
+        script.programs.first().executionMode == ExecutionMode.INTERPRETED
+        script.programs.first().compiledLoops == 1
+        script.programs.first().backEdges == 10
+        this.events.size() == 1
+        this.events[0].loop
+        this.events[0].backEdges == 10
+    }
+
+    def 'test back-edges should promote the program at the next invocation'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('int i = 0; for (int a : new int[]{1, 2, 3, 4}) i += a; return i;',
+                this.policy.withCompileThreshold(100).withBackEdgeThreshold(5))
+
+        when:
+        3.times { script.run() }
+
+        then:
+        script.programs.first().executionMode == ExecutionMode.COMPILED
+        this.events.size() == 1
+        !this.events[0].loop
+        this.events[0].backEdges == 8
+    }
+
+    def 'test prepared script should be checked for every combination of variable types'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('return a + a;', this.policy)
+
+        expect:
+        script.run(['a': 1]).get().value == 2
+        script.run(['a': 'b']).get().value == 'bb'
+        script.run(['a': 2]).get().value == 4
+        script.programs.size() == 2
+    }
+
+    def 'test prepared script should wrap thrown exceptions'() {
+        given:
+        def script = Mojito.newRunner(this).prepare('throw new IllegalStateException("Hello");', this.policy)
+
+        when:
+        script.run()
+
+        then:
+        def e = thrown(RunnerException)
+        e.cause instanceof IllegalStateException
+    }
+
+    def 'test tiered mode should return the same result as the interpreted one'() {
+        given:
+        def code = 'int sum = 0; for (int i = 0; i < 20000; i++) sum += i % 7; return sum;'
+
+        expect:
+        Mojito.newRunner(this, ExecutionMode.TIERED).run(code).orElse(null) ==
+                Mojito.newRunner(this, ExecutionMode.INTERPRETED).run(code).orElse(null)
+    }
+
+}
@@ -0,0 +1,184 @@
+package it.fulminazzo.mojito.executor
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class ExecutionBudgetTest extends Specification {
+    private static final String INFINITE_LOOP = '''
+        boolean running = true;
+        int i = 0;
+        while (running) {
+            i++;
+        }
+        return i;
+    '''
+    private static final List<ExecutionMode> MODES = ExecutionMode.values().toList()
+
+    def 'test meter should allow exactly the maximum steps'() {
+        given:
+        def meter = ExecutionBudget.unlimited().withMaxSteps(steps).start()
+
+        when:
+        steps.times { meter.tick() }
+
+        then:
+        noExceptionThrown()
+        meter.executedSteps == steps
+
+        when:
+        meter.tick()
+
+        then:
+        def e = thrown(BudgetExceededException)
+        e.reason == BudgetExceededException.Reason.STEPS
+
+        when:
+        meter.tick()
+
+        then:
+        thrown(BudgetExceededException)
+
+        where:
+        steps << [0, 1, 3, ExecutionMeter.CHECK_INTERVAL, ExecutionMeter.CHECK_INTERVAL * 2 + 5]
+    }
+
+    def 'test unlimited budget should only stop at interruption'() {
+        given:
+        def meter = ExecutionBudget.unlimited().start()
+
+        when:
+        10_000.times { meter.tick() }
+        Thread.currentThread().interrupt()
+        ExecutionMeter.CHECK_INTERVAL.times { meter.tick() }
+
+        then:
+        def e = thrown(BudgetExceededException)
+        e.reason == BudgetExceededException.Reason.INTERRUPTED
+        meter.executedSteps > 10_000
+
+        cleanup:
+        Thread.interrupted()
+    }
+
+    def 'test huge timeout #timeout should never be exceeded'() {
+        given:
+        def meter = ExecutionBudget.unlimited().withTimeout(timeout, TimeUnit.MILLISECONDS).start()
+
+        when:
+        (ExecutionMeter.CHECK_INTERVAL * 2).times { meter.tick() }
+
+        then:
+        noExceptionThrown()
+
+        where:
+        timeout << [Long.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE)]
+    }
+
+    def 'test withMaxSteps should not accept negative values'() {
+        when:
+        ExecutionBudget.unlimited().withMaxSteps(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test infinite loop in mode #mode should exceed the maximum steps'() {
+        given:
+        def runner = Mojito.newRunner(this, mode).withBudget(ExecutionBudget.unlimited().withMaxSteps(10_000))
+
+        when:
+        runner.run(INFINITE_LOOP)
+
+        then:
+        def e = thrown(BudgetExceededException)
+        e.reason == BudgetExceededException.Reason.STEPS
+
+        where:
+        mode << MODES
+    }
+
+    def 'test infinite loop in mode #mode should exceed the timeout'() {
+        given:
+        def runner = Mojito.newRunner(this, mode).withBudget(ExecutionBudget.unlimited().withTimeout(20, TimeUnit.MILLISECONDS))
+
+        when:
+        runner.run(INFINITE_LOOP)
+
+        then:
+        def e = thrown(BudgetExceededException)
+        e.reason == BudgetExceededException.Reason.TIMEOUT
+
+        where:
+        mode << MODES
+    }
+
+    def 'test budget exceeded in mode #mode should not be caught by the program'() {
+        given:
+        def code = '''
+            boolean running = true;
+            int i = 0;
+            try {
+                while (running) {
+                    i++;
+                }
+            } catch (Exception e) {
+                return -1;
+            }
+            return i;
+        '''
+        def runner = Mojito.newRunner(this, mode).withBudget(ExecutionBudget.unlimited().withMaxSteps(100))
+
+        when:
+        runner.run(code)
+
+        then:
+        thrown(BudgetExceededException)
+
+        where:
+        mode << MODES
+    }
+
+    def 'test method invocations in mode #mode should be counted as steps'() {
+        given:
+        def runner = Mojito.newRunner(this, mode).withBudget(ExecutionBudget.unlimited().withMaxSteps(steps))
+
+        when:
+        def result = runner.run('return s.toUpperCase().toLowerCase().length();', [s: 'a'])
+
+        then:
+        result.orElse(null) == 1
+
+        when:
+        Mojito.newRunner(this, mode).withBudget(ExecutionBudget.unlimited().withMaxSteps(steps - 1))
+                .run('return s.toUpperCase().toLowerCase().length();', [s: 'a'])
+
+        then:
+        thrown(BudgetExceededException)
+
+        where:
+        mode                      | steps
+        ExecutionMode.INTERPRETED | 3
+        ExecutionMode.SPECIALIZED | 3
+        ExecutionMode.COMPILED    | 3
+        ExecutionMode.BYTECODE    | 3
+    }
+
+    def 'test compiled script should run with its own budget'() {
+        given:
+        def script = Mojito.newRunner(this, ExecutionMode.COMPILED).compile('int sum = 0; for (int i = 0; i < n; i++) { sum += i; } return sum;')
+        def budget = ExecutionBudget.unlimited().withMaxSteps(10)
+
+        expect:
+        script.run([n: 10], budget).orElse(null) == 45
+
+        when:
+        script.run([n: 11], budget)
+
+        then:
+        thrown(BudgetExceededException)
+    }
+
+}
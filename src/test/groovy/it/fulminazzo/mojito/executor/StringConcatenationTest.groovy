@@ -0,0 +1,65 @@
+package it.fulminazzo.mojito.executor
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.executor.values.Value
+import it.fulminazzo.mojito.executor.values.objects.StringBuilderValue
+import spock.lang.Specification
+
+class StringConcatenationTest extends Specification {
+
+    def 'test concatenate should convert every value like String.valueOf'() {
+        when:
+        def result = StringConcatenation.concatenate(Value.of('a'), Value.of(1), Value.of('c' as char),
+                Value.of(2.5d), Value.of(true))
+
+        then:
+        result.value == 'a1c2.5true'
+    }
+
+    def 'test accumulate should append to the builder of the current value'() {
+        given:
+        def current = StringBuilderValue.of('a')
+
+        when:
+        def result = StringConcatenation.accumulate(current, Value.of(1), Value.of('b'))
+
+        then:
+        result.value == 'a1b'
+        current.value == 'a'
+    }
+
+    def 'test accumulate should start a builder from a string value'() {
+        when:
+        def result = StringConcatenation.accumulate(Value.of('a'), Value.of(1))
+
+        then:
+        result instanceof StringBuilderValue
+        result.value == 'a1'
+    }
+
+    def 'test #code in mode #mode should return #expected'() {
+        when:
+        def result = Mojito.newRunner(this, mode).run(code, [s: 'x']).orElse(null)
+
+        then:
+        result == expected
+
+        where:
+        [mode, code, expected] << [
+                [ExecutionMode.INTERPRETED, ExecutionMode.COMPILED, ExecutionMode.BYTECODE],
+                [
+                        ['return s + 1 + 2;', 'x12'],
+                        ['return 1 + 2 + s;', '3x'],
+                        ['return s + (1 + 2) + s;', 'x3x'],
+                        ['return s + null + \'c\';', 'xnullc'],
+                        ['String r = ""; for (int i = 0; i < 5; i++) r += i; return r;', '01234'],
+                        ['String r = ""; for (int i = 0; i < 3; i++) r = r + i + ","; return r;', '0,1,2,'],
+                        ['String r = ""; String t = ""; for (int i = 0; i < 3; i++) { t = r; r += i; } return t + "|" + r;', '01|012'],
+                        ['String r = ""; int i = 0; while (i < 3) { r += s; i++; } return r.length();', 3],
+                        ['String r = "a"; for (int i = 0; i < 3; i++) { r += i; r = "b"; } return r;', 'b']
+                ]
+        ].combinations().collect { m, c -> [m, c[0], c[1]] }
+    }
+
+}
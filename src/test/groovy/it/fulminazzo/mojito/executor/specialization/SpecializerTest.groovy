@@ -0,0 +1,145 @@
+package it.fulminazzo.mojito.executor.specialization
+
+import it.fulminazzo.fulmicollection.objects.Refl
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.MojitoRunner
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.parser.node.Node
+import it.fulminazzo.mojito.parser.node.container.JavaProgram
+import it.fulminazzo.mojito.typechecker.TypeChecker
+import spock.lang.Specification
+
+class SpecializerTest extends Specification {
+    private TypeChecker typeChecker
+
+    private JavaProgram specialize(final String code, final Map<String, Object> variables = [:]) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def program = parser.parseProgram()
+        this.typeChecker = new TypeChecker(this)
+        MojitoRunner.declareTypes(this.typeChecker, variables)
+        this.typeChecker.visitProgram(program)
+        return new Specializer(this.typeChecker.resolutionTable).specialize(program)
+    }
+
+    private Object execute(final JavaProgram program, final Map<String, Object> variables = [:]) {
+        def executor = new Executor(this, this.typeChecker.resolutionTable)
+        MojitoRunner.declareValues(executor, variables)
+        return executor.visitProgram(program).map { it.value }.orElse(null)
+    }
+
+    private static List<SpecializingNode> getSpecializingNodes(final Node node) {
+        def nodes = []
+        if (node instanceof SpecializingNode) nodes.add(node)
+        def refl = new Refl<>(node)
+        for (def field : refl.nonStaticFields) {
+            def object = refl.getFieldObject(field)
+            if (object instanceof Node) nodes.addAll(getSpecializingNodes(object))
+            else if (object instanceof List)
+                object.findAll { it instanceof Node }.each { nodes.addAll(getSpecializingNodes(it)) }
+        }
+        return nodes
+    }
+
+    def 'test specialized execution of #code should return the same result as the bytecode one'() {
+        given:
+        def expected = Mojito.newRunner(this, ExecutionMode.BYTECODE).run(code).orElse(null)
+
+        when:
+        def actual = Mojito.newRunner(this, ExecutionMode.SPECIALIZED).run(code).orElse(null)
+
+        then:
+        actual == expected
+
+        where:
+        code << [
+                'return 1 + 2;',
+                'int sum = 0; for (int i = 0; i < 100; i++) sum += i; return sum;',
+                'long sum = 0L; for (int i = 0; i < 100; i++) sum += i; return sum;',
+                'int i = Integer.MAX_VALUE; return i + 1;',
+                'String s = ""; for (int i = 0; i < 10; i++) s = s + i; return s;',
+                'return "a" + 1 + 2;',
+                'return 1 + 2 + "a";',
+                'return 1 + 2.5;',
+                'return 3 == 3.0;',
+                'int i = 0; int j = i++ + ++i; return j;',
+                'StringBuilder b = new StringBuilder(); for (int i = 0; i < 3; i++) b.append(i); return b.toString();',
+                'return Integer.MAX_VALUE - Integer.MIN_VALUE;',
+                'return this.toString().length() > 0;'
+        ]
+    }
+
+    def 'test #code should specialize to #expected'() {
+        given:
+        def program = specialize(code, variables)
+
+        when:
+        def result = execute(program, variables)
+        def specializations = getSpecializingNodes(program).collect { it.specialization }
+
+        then:
+        result == value
+        specializations.containsAll(expected)
+
+        where:
+        code                                  | variables                  | value   | expected
+        'return 1 + 2;'                       | [:]                        | 3       | ['int']
+        'return "a" + 2;'                     | [:]                        | 'a2'    | ['string']
+        'return s + 1 + 2;'                   | [s: 'a']                   | 'a12'   | ['concatenation']
+        'return 1.0 + 2;'                     | [:]                        | 3.0d    | ['generic']
+        'return Integer.MAX_VALUE;'           | [:]                        | Integer.MAX_VALUE | ['constant']
+        'return System.out != null;'          | [:]                        | true    | ['static field']
+        'list.add(1); return list.size();'    | [list: new ArrayList<>()]  | 1       | ['monomorphic ArrayList.add', 'monomorphic ArrayList.size']
+    }
+
+    def 'test binary operation should deoptimize when its operands change'() {
+        given:
+        def program = specialize('return x + 1;', [x: 1])
+        def node = getSpecializingNodes(program)[0]
+
+        when:
+        def results = [1, 'a', 2, 'b', 3, 'c', 4].collect {
+            def result = execute(program, [x: it])
+            [result, node.specialization]
+        }
+
+        then:
+        results == [
+                [2, 'int'],
+                ['a1', 'uninitialized'],
+                [3, 'int'],
+                ['b1', 'uninitialized'],
+                [4, 'int'],
+                ['c1', 'generic'],
+                [5, 'generic']
+        ]
+        node.deoptimizations == SpecializingNode.MAX_DEOPTIMIZATIONS
+    }
+
+    def 'test method call should deoptimize when its receiver changes'() {
+        given:
+        def program = specialize('return list.size();', [list: new ArrayList<>()])
+        def node = getSpecializingNodes(program)[0]
+
+        when:
+        def first = execute(program, [list: new ArrayList<>([1, 2])])
+        def second = execute(program, [list: new LinkedList<>([1, 2, 3])])
+
+        then:
+        first == 2
+        second == 3
+        node.deoptimizations == 1
+    }
+
+    def 'test specializing node should be transparent to other visitors'() {
+        given:
+        def program = specialize('int i = 1; return i + 2;')
+
+        expect:
+        program.toString().contains('Add')
+        !program.toString().contains('SpecializingNode')
+    }
+
+}
@@ -0,0 +1,74 @@
+package it.fulminazzo.mojito.executor.values
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.executor.values.arrays.ArrayValue
+import spock.lang.Specification
+
+class ValueIteratorTest extends Specification {
+
+    def 'test iterator of array should return the stored components'() {
+        given:
+        def array = ArrayValue.of(PrimitiveClassValue.INT, [Value.of(1), Value.of(2)])
+
+        when:
+        def iterator = ValueIterator.of(array)
+        def values = []
+        while (iterator.hasNext()) values.add(iterator.next())
+
+        then:
+        values == [array.get(0), array.get(1)]
+    }
+
+    def 'test iterator of iterable should convert every element to value'() {
+        when:
+        def iterator = ValueIterator.of(Value.of(['a', 'b']))
+        def values = []
+        while (iterator.hasNext()) values.add(iterator.next())
+
+        then:
+        values == [Value.of('a'), Value.of('b')]
+    }
+
+    def 'test iterator of empty array should throw NoSuchElementException'() {
+        given:
+        def iterator = ValueIterator.of(ArrayValue.of(PrimitiveClassValue.INT, 0))
+
+        when:
+        iterator.next()
+
+        then:
+        !iterator.hasNext()
+        thrown(NoSuchElementException)
+    }
+
+    def 'test enhanced for in mode #mode should iterate over #name'() {
+        given:
+        def code = '''
+            int sum = 0;
+            for (TYPE x : data) {
+                if (x < 0) break;
+                sum += x;
+            }
+            for (TYPE x : data) sum += x;
+            return sum;
+        '''.replace('TYPE', type)
+
+        when:
+        def result = Mojito.newRunner(this, mode).run(code, [data: data]).orElse(null)
+
+        then:
+        result == expected
+
+        where:
+        mode                      | name       | type      | data                   | expected
+        ExecutionMode.INTERPRETED | 'array'    | 'int'     | new int[]{1, 2, -1, 3} | 8
+        ExecutionMode.INTERPRETED | 'iterable' | 'Integer' | [1, 2, -1, 3]          | 8
+        ExecutionMode.COMPILED    | 'array'    | 'int'     | new int[]{1, 2, -1, 3} | 8
+        ExecutionMode.COMPILED    | 'iterable' | 'Integer' | [1, 2, -1, 3]          | 8
+        ExecutionMode.BYTECODE    | 'array'    | 'int'     | new int[]{1, 2, -1, 3} | 8
+        ExecutionMode.BYTECODE    | 'iterable' | 'Integer' | [1, 2, -1, 3]          | 8
+        ExecutionMode.INTERPRETED | 'empty'    | 'int'     | new int[0]             | 0
+    }
+
+}
@@ -1,5 +1,7 @@
 package it.fulminazzo.mojito.executor.values.arrays
 
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.executor.values.ClassValue
 import it.fulminazzo.mojito.executor.values.PrimitiveClassValue
 import it.fulminazzo.mojito.executor.values.Value
 import it.fulminazzo.mojito.executor.values.ValueException
@@ -86,4 +88,150 @@ class ArrayValueTest extends Specification {
         string == "${ArrayValue.simpleName}(${ObjectClassValue.STRING}, ${array})"
     }
 
-}
\ No newline at end of file
+    def 'test array of #type should be backed by #expected'() {
+        when:
+        def value = new ArrayValue<>(type, 2)
+
+        then:
+        value.values.getClass() == expected
+        value.values.array().getClass() == arrayClass
+
+        where:
+        type                        | expected                    | arrayClass
+        PrimitiveClassValue.BYTE    | ArrayStorage.ByteStorage    | byte[]
+        PrimitiveClassValue.SHORT   | ArrayStorage.ShortStorage   | short[]
+        PrimitiveClassValue.CHAR    | ArrayStorage.CharStorage    | char[]
+        PrimitiveClassValue.INT     | ArrayStorage.IntStorage     | int[]
+        PrimitiveClassValue.LONG    | ArrayStorage.LongStorage    | long[]
+        PrimitiveClassValue.FLOAT   | ArrayStorage.FloatStorage   | float[]
+        PrimitiveClassValue.DOUBLE  | ArrayStorage.DoubleStorage  | double[]
+        PrimitiveClassValue.BOOLEAN | ArrayStorage.BooleanStorage | boolean[]
+        ObjectClassValue.INTEGER    | ArrayStorage.ObjectStorage  | Value[]
+    }
+
+    def 'test set of #value in array of #type should store #expected'() {
+        given:
+        def array = new ArrayValue<>(type, 1)
+
+        when:
+        array.set(0, value)
+
+        then:
+        array.get(0) == expected
+
+        where:
+        type                       | value                 | expected
+        PrimitiveClassValue.INT    | Value.of(1)           | Value.of(1)
+        PrimitiveClassValue.INT    | Value.of('a' as char) | Value.of(97)
+        PrimitiveClassValue.DOUBLE | Value.of(1)           | Value.of(1.0d)
+        PrimitiveClassValue.CHAR   | Value.of(98)          | Value.of('b' as char)
+        PrimitiveClassValue.LONG   | Value.of(2)           | Value.of(2L)
+        ObjectClassValue.STRING    | Value.of('a')         | Value.of('a')
+    }
+
+    def 'test array of raw object should copy it'() {
+        given:
+        def raw = new int[]{1, 2, 3}
+
+        when:
+        def array = ArrayValue.of(raw)
+        array.set(0, Value.of(10))
+        def value = array.value
+
+        then:
+        raw[0] == 1
+        value == new int[]{10, 2, 3}
+        value.is(array.values.array())
+    }
+
+    def 'test view of raw #raw should share changes with it'() {
+        when:
+        def array = ArrayValue.view(raw)
+        array.set(0, value)
+
+        then:
+        raw[0] == value.value
+        array.value.is(raw)
+
+        when:
+        raw[1] = raw[0]
+
+        then:
+        array.get(1) == value
+
+        where:
+        raw                          | value
+        new int[]{1, 2}              | Value.of(10)
+        new char[]{'a', 'b'}         | Value.of('c' as char)
+        new String[]{'Hello', 'all'} | Value.of('world')
+    }
+
+    def 'test exported object array should share changes with the array value'() {
+        given:
+        def array = new ArrayValue<>(ObjectClassValue.STRING, [Value.of('a'), Value.of('b')])
+
+        when:
+        def exported = array.value
+        exported[0] = 'c'
+        array.set(1, Value.of('d'))
+
+        then:
+        exported.getClass() == String[]
+        exported == new String[]{'c', 'd'}
+        array.get(0) == Value.of('c')
+        array.value.is(exported)
+    }
+
+    def 'test arrays passed to Java methods should not be copied'() {
+        given:
+        def raw = new int[]{3, 1, 2}
+        def code = '''
+            int[] sorted = new int[]{6, 4, 5};
+            this.sortArray(sorted);
+            this.sortArray(raw);
+            raw[0] = sorted[0] * 100 + sorted[1] * 10 + sorted[2];
+            String[] parts = "a,b".split(",");
+            return parts[1];
+        '''
+
+        when:
+        def result = Mojito.newRunner(this).run(code, [raw: raw]).orElse(null)
+
+        then:
+        result == 'b'
+        raw == new int[]{456, 2, 3}
+    }
+
+    void sortArray(final int[] array) {
+        Arrays.sort(array)
+    }
+
+    def 'test arrays with different storages should be equal'() {
+        expect:
+        new ArrayValue<>(PrimitiveClassValue.INT, [Value.of(1), Value.of(2)]) ==
+                ArrayValue.of(ClassValue.of(Integer.TYPE), [Value.of(1), Value.of(2)])
+        new ArrayValue<>(PrimitiveClassValue.INT, 2) == ArrayValue.of(new int[2])
+    }
+
+    def 'test large arrays should be sorted'() {
+        given:
+        def code = '''
+            int[] arr = new int[20000];
+            for (int i = 0; i < arr.length; i++) arr[i] = (i * 7919) % 20000;
+            int[] counts = new int[20000];
+            for (int i = 0; i < arr.length; i++) counts[arr[i]]++;
+            int k = 0;
+            for (int i = 0; i < counts.length; i++)
+                for (int j = 0; j < counts[i]; j++) arr[k++] = i;
+            for (int i = 1; i < arr.length; i++) if (arr[i - 1] > arr[i]) return false;
+            return arr[arr.length - 1] == 19999;
+        '''
+
+        when:
+        def result = Mojito.newRunner(this).run(code).orElse(null)
+
+        then:
+        result == true
+    }
+
+}
@@ -0,0 +1,48 @@
+package it.fulminazzo.mojito.executor.values.objects
+
+import spock.lang.Specification
+
+class StringBuilderValueTest extends Specification {
+
+    def 'test append should not change the previous value'() {
+        given:
+        def first = StringBuilderValue.of('a')
+
+        when:
+        def second = first.append('b', 'c')
+        def third = second.append('d')
+
+        then:
+        first.value == 'a'
+        second.value == 'abc'
+        third.value == 'abcd'
+    }
+
+    def 'test append to an older value should copy the builder'() {
+        given:
+        def first = StringBuilderValue.of('a')
+        def second = first.append('b')
+
+        when:
+        def other = first.append('c')
+        def third = second.append('d')
+
+        then:
+        other.value == 'ac'
+        second.value == 'ab'
+        third.value == 'abd'
+    }
+
+    def 'test value should be equal to a string value with the same content'() {
+        given:
+        def value = StringBuilderValue.of('Hello, ').append('world!')
+        def string = new StringObjectValue('Hello, world!')
+
+        expect:
+        value == string
+        string == value
+        value.hashCode() == string.hashCode()
+        value.toClass() == ObjectClassValue.STRING
+    }
+
+}
@@ -0,0 +1,138 @@
+package it.fulminazzo.mojito.jfr
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.parser.JavaParser
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+class ScriptEventsTest extends Specification {
+
+    def 'test events should be available with the jdk.jfr module'() {
+        expect:
+        ScriptEvents.available
+    }
+
+    def 'test start should return null while no event is recorded'() {
+        expect:
+        ScriptEvents.start(ExecutionMode.INTERPRETED) == null
+    }
+
+    def 'test recording in mode #mode should contain the events of every phase'() {
+        given:
+        def recording = new Recording()
+        recording.enable('it.fulminazzo.mojito.ScriptParsed')
+        recording.enable('it.fulminazzo.mojito.ScriptTypeChecked')
+        recording.enable('it.fulminazzo.mojito.ScriptExecuted')
+
+        when:
+        def events = record(recording) {
+            Mojito.newRunner(this, mode).run('int a = 1; return a + 2;', [:])
+        }
+
+        then:
+        def parsed = events.find { it.eventType.name == 'it.fulminazzo.mojito.ScriptParsed' }
+        parsed != null
+        parsed.getLong('sourceLength') == 'int a = 1; return a + 2;'.length()
+        parsed.getLong('tokens') > 0
+        events.any { it.eventType.name == 'it.fulminazzo.mojito.ScriptTypeChecked' }
+        def executed = events.find { it.eventType.name == 'it.fulminazzo.mojito.ScriptExecuted' }
+        executed != null
+        executed.getString('mode') == mode.name()
+        executed.getLong('nodes') > 0
+
+        where:
+        mode << [ExecutionMode.INTERPRETED, ExecutionMode.COMPILED]
+    }
+
+    def 'test recording should contain the slow Java calls'() {
+        given:
+        def previous = ScriptEvents.slowInteropThreshold
+        ScriptEvents.setSlowInteropThreshold(0, TimeUnit.NANOSECONDS)
+        def recording = new Recording()
+        recording.enable('it.fulminazzo.mojito.SlowInteropCall')
+
+        when:
+        def events = record(recording) {
+            Mojito.newRunner(this, ExecutionMode.INTERPRETED).run('return s.length();', [s: 'abc'])
+        }
+
+        then:
+        def call = events.find { it.eventType.name == 'it.fulminazzo.mojito.SlowInteropCall' }
+        call != null
+        call.getClass('declaringClass').name == String.name
+        call.getString('method') == 'length'
+
+        cleanup:
+        ScriptEvents.setSlowInteropThreshold(previous, TimeUnit.NANOSECONDS)
+    }
+
+    def 'test recording should contain the cache misses'() {
+        given:
+        def recording = new Recording()
+        recording.enable('it.fulminazzo.mojito.CacheMiss')
+
+        when:
+        def events = record(recording) {
+            def script = Mojito.newRunner(this, ExecutionMode.INTERPRETED).compile('return a;')
+            script.run([a: 1])
+            script.run([a: 2])
+        }
+
+        then:
+        events.count { it.eventType.name == 'it.fulminazzo.mojito.CacheMiss' &&
+                it.getString('cache') == 'prepared-programs' } == 1
+    }
+
+    def 'test executions of a compiled script should record the nodes of its program'() {
+        given:
+        def code = 'int a = 1; return a + 2;'
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def expected = ScriptEvents.countNodes(parser.parseProgram())
+        def recording = new Recording()
+        recording.enable('it.fulminazzo.mojito.ScriptExecuted')
+
+        when:
+        def events = record(recording) {
+            def script = Mojito.newRunner(this, ExecutionMode.INTERPRETED).compile(code)
+            script.run()
+            script.run()
+        }
+
+        then:
+        def executed = events.findAll { it.eventType.name == 'it.fulminazzo.mojito.ScriptExecuted' }
+        executed.size() == 2
+        executed.every { it.getLong('nodes') == expected }
+    }
+
+    def 'test countNodes should count every node of the tree'() {
+        given:
+        def parser = new JavaParser()
+        parser.setInput('return 1 + 2;')
+        def program = parser.parseProgram()
+
+        expect:
+        ScriptEvents.countNodes(program) > 3
+    }
+
+    private static List<RecordedEvent> record(final Recording recording, final Closure<?> action) {
+        def file = Files.createTempFile('mojito', '.jfr')
+        try {
+            recording.start()
+            action()
+            recording.stop()
+            recording.dump(file)
+            return RecordingFile.readAllEvents(file)
+        } finally {
+            recording.close()
+            Files.deleteIfExists(file)
+        }
+    }
+
+}
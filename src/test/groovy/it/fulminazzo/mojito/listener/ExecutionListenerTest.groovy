@@ -0,0 +1,149 @@
+package it.fulminazzo.mojito.listener
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.environment.scopetypes.ScopeType
+import it.fulminazzo.mojito.parser.node.statements.Statement
+import org.jetbrains.annotations.NotNull
+import spock.lang.Specification
+
+import java.lang.reflect.Method
+
+class ExecutionListenerTest extends Specification {
+
+    def 'test listener in mode #mode should be notified of every phase'() {
+        given:
+        def listener = new RecordingListener()
+
+        when:
+        def result = Mojito.newRunner(this, mode).withListener(listener).run('return s.length();', [s: 'abc'])
+
+        then:
+        result.get() == 3
+        listener.events.findAll { it.startsWith('start') } == expected.collect { "start $it" }
+        listener.events.findAll { it.startsWith('end') } == expected.collect { "end $it" }
+
+        where:
+        mode                      | expected
+        ExecutionMode.INTERPRETED | ['PARSE', 'TYPE_CHECK', 'OPTIMIZE', 'EXECUTE']
+        ExecutionMode.SPECIALIZED | ['PARSE', 'TYPE_CHECK', 'OPTIMIZE', 'EXECUTE']
+        ExecutionMode.COMPILED    | ['PARSE', 'TYPE_CHECK', 'OPTIMIZE', 'EXECUTE']
+        ExecutionMode.JVM         | ['PARSE', 'TYPE_CHECK', 'OPTIMIZE', 'COMPILE', 'EXECUTE']
+    }
+
+    def 'test listener should be notified of statements, methods and scopes'() {
+        given:
+        def listener = new RecordingListener()
+        def code = '''
+            int total = 0;
+            for (int i = 0; i < 2; i++) {
+                int length = s.length();
+                total += length;
+            }
+            return total;
+        '''
+
+        when:
+        Mojito.newRunner(this).withListener(listener).run(code, [s: 'ab'])
+        def events = listener.events.findAll { !it.startsWith('start') && !it.startsWith('end') }
+
+        then:
+        events.count { it.startsWith('statement') } == 7
+        events.count { it == 'method length' } == 2
+        events.count { it == 'enter FOR' } == 1
+        events.count { it == 'exit FOR' } == 1
+    }
+
+    def 'test listener should be notified of methods invoked on objects'() {
+        given:
+        def listener = new RecordingListener()
+
+        when:
+        Mojito.newRunner(this).withListener(listener).run('Object o = s; return o.toString();', [s: 'ab'])
+
+        then:
+        listener.events.contains('method toString')
+    }
+
+    def 'test listener should be notified of thrown exceptions'() {
+        given:
+        def listener = new RecordingListener()
+
+        when:
+        Mojito.newRunner(this).withListener(listener).run('throw new IllegalStateException("failed");', [:])
+
+        then:
+        thrown(Exception)
+        listener.events.contains('exception IllegalStateException')
+        listener.events.last() == 'end EXECUTE'
+    }
+
+    def 'test composite listener should notify all the listeners'() {
+        given:
+        def first = new RecordingListener()
+        def second = new RecordingListener()
+
+        when:
+        Mojito.newRunner(this).withListener(ExecutionListener.of(first, second)).run('return 1;', [:])
+
+        then:
+        !first.events.isEmpty()
+        first.events == second.events
+    }
+
+    def 'test listener should be notified by compiled scripts'() {
+        given:
+        def listener = new RecordingListener()
+        def script = Mojito.newRunner(this).withListener(listener).compile('return s.length();')
+
+        when:
+        script.run([s: 'a'])
+        script.run([s: 'b'])
+
+        then:
+        listener.events.count { it == 'start PARSE' } == 1
+        listener.events.count { it == 'start EXECUTE' } == 2
+        listener.events.count { it == 'method length' } == 2
+    }
+
+    static class RecordingListener implements ExecutionListener {
+        final List<String> events = Collections.synchronizedList([])
+
+        @Override
+        void onPhaseStart(@NotNull Phase phase) {
+            this.events.add("start $phase".toString())
+        }
+
+        @Override
+        void onPhaseEnd(@NotNull Phase phase, long duration) {
+            this.events.add("end $phase".toString())
+        }
+
+        @Override
+        void onStatement(@NotNull Statement statement) {
+            this.events.add("statement ${statement.class.simpleName}".toString())
+        }
+
+        @Override
+        void onJavaMethodInvoked(@NotNull Method method, long duration) {
+            this.events.add("method ${method.name}".toString())
+        }
+
+        @Override
+        void onExceptionThrown(@NotNull Throwable exception) {
+            this.events.add("exception ${exception.class.simpleName}".toString())
+        }
+
+        @Override
+        void onScopeEnter(@NotNull ScopeType scope) {
+            this.events.add("enter $scope".toString())
+        }
+
+        @Override
+        void onScopeExit(@NotNull ScopeType scope) {
+            this.events.add("exit $scope".toString())
+        }
+
+    }
+
+}
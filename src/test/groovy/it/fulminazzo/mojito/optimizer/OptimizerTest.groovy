@@ -0,0 +1,192 @@
+package it.fulminazzo.mojito.optimizer
+
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.parser.node.Assignment
+import it.fulminazzo.mojito.parser.node.container.JavaProgram
+import it.fulminazzo.mojito.parser.node.container.UnscopedCodeBlock
+import it.fulminazzo.mojito.parser.node.statements.IfStatement
+import it.fulminazzo.mojito.parser.node.statements.Statement
+import it.fulminazzo.mojito.parser.node.statements.WhileStatement
+import it.fulminazzo.mojito.parser.node.values.BooleanValueLiteral
+import it.fulminazzo.mojito.parser.node.values.NumberValueLiteral
+import it.fulminazzo.mojito.typechecker.TypeChecker
+import spock.lang.Specification
+
+class OptimizerTest extends Specification {
+
+    private static JavaProgram parse(final String code) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        def program = parser.parseProgram()
+        program.accept(new TypeChecker(new Object()))
+        return program
+    }
+
+    private static Object execute(final JavaProgram program) {
+        return program.accept(new Executor(new Object())).value
+    }
+
+    def 'test constant folding of #code should return #expected'() {
+        given:
+        def program = parse(code)
+        def optimizer = new Optimizer(new ConstantFolding())
+
+        when:
+        def report = optimizer.optimize(program)
+
+        then:
+        report.count(ConstantFolding.NAME) > 0
+        execute(program) == expected
+
+        where:
+        code                          | expected
+        'return 1 + 2 * 3;'           | 7
+        'return 2 - 5;'               | -3
+        'return 1L << 40;'            | 1L << 40
+        'return 1 < 2 && 3 > 4;'      | false
+        'return "Hello, " + "world";' | 'Hello, world'
+    }
+
+    def 'test constant folding should fold nested operations into a single literal'() {
+        given:
+        def program = parse('int i = (1 + 2) * 3; return i;')
+
+        when:
+        new Optimizer(new ConstantFolding()).optimize(program)
+
+        then:
+        def assignment = (Assignment) program.statements[0].expression
+        assignment.value == new NumberValueLiteral('9')
+        execute(program) == 9
+    }
+
+    def 'test constant folding should not fold division by zero'() {
+        given:
+        def program = parse('int i = 0; if (i == 0) return 1; return 1 / 0;')
+
+        when:
+        def report = new Optimizer(new ConstantFolding()).optimize(program)
+
+        then:
+        report.empty
+        execute(program) == 1
+    }
+
+    def 'test dead branch elimination of #code should return #expected'() {
+        given:
+        def program = parse(code)
+        def optimizer = new Optimizer(new ConstantFolding(), new DeadBranchElimination())
+
+        when:
+        def report = optimizer.optimize(program)
+
+        then:
+        report.count(DeadBranchElimination.NAME) == 1
+        !program.statements.any { it.expression instanceof BooleanValueLiteral }
+        execute(program) == expected
+
+        where:
+        code                                                             | expected
+        'int i = 0; if (true) i = 1; else i = 2; return i;'              | 1
+        'int i = 0; if (1 > 2) i = 1; else i = 2; return i;'             | 2
+        'int i = 0; if (false) i = 1; return i;'                         | 0
+        'int i = 0; while (false) i++; return i;'                        | 0
+        'int i = 0; if (false) i = 1; else if (i == 0) i = 3; return i;' | 3
+    }
+
+    def 'test dead branch elimination should keep the scope of a branch declaring variables'() {
+        given:
+        def program = parse('int i = 0; if (false) { i = 1; } else { int j = 2; i = j; } return i;')
+
+        when:
+        new Optimizer(new DeadBranchElimination()).optimize(program)
+
+        then:
+        def statement = (IfStatement) program.statements[1]
+        statement.elseBranch.class.simpleName == 'EmptyLiteral'
+        execute(program) == 2
+    }
+
+    def 'test scope elision should only remove scopes without declarations'() {
+        given:
+        def program = parse('int i = 0; while (i < 10) { i++; } if (i == 10) { int j = i; i = j * 2; } return i;')
+
+        when:
+        def report = new Optimizer(new ScopeElision()).optimize(program)
+
+        then:
+        report.count(ScopeElision.NAME) == 1
+        ((WhileStatement) program.statements[1]).code instanceof UnscopedCodeBlock
+        !(((IfStatement) program.statements[2]).then instanceof UnscopedCodeBlock)
+        execute(program) == 20
+    }
+
+    def 'test loop invariant hoisting should move invariant expressions before the loop'() {
+        given:
+        def program = parse('int a = 3; int b = 4; int sum = 0; ' +
+                'for (int i = 0; i < a * b; i++) { sum += a * b + i; } return sum;')
+
+        when:
+        def report = new Optimizer(new LoopInvariantHoisting()).optimize(program)
+
+        then:
+        report.count(LoopInvariantHoisting.NAME) == 2
+        def hoisted = program.statements.findAll { it.class == Statement && it.expression instanceof Assignment }
+                .collect { ((Assignment) it.expression).name.literal }
+        hoisted.containsAll(['__mojito_hoisted_0', '__mojito_hoisted_1'])
+        execute(program) == 144 + 66
+    }
+
+    def 'test loop invariant hoisting should ignore #description'() {
+        given:
+        def program = parse(code)
+
+        when:
+        def report = new Optimizer(new LoopInvariantHoisting()).optimize(program)
+
+        then:
+        report.empty
+        execute(program) == expected
+
+        where:
+        description         | code                                                                                   | expected
+        'written variables' | 'int a = 1; int s = 0; while (a < 5) { s += a * 2; a++; } return s;'                   | 20
+        'divisions'         | 'int a = 0; int s = 0; while (s < 0) { s = s / a; } return s;'                         | 0
+        'object variables'  | 'String a = "a"; String s = ""; while (s.length() < 2) { s = s + (a + a); } return s;' | 'aa'
+    }
+
+    def 'test disabled passes should not be applied'() {
+        given:
+        def program = parse('return 1 + 2;')
+        def optimizer = new Optimizer().disable(ConstantFolding.NAME)
+
+        when:
+        def report = optimizer.optimize(program)
+
+        then:
+        !optimizer.isEnabled(ConstantFolding.NAME)
+        report.empty
+        execute(program) == 3
+    }
+
+    def 'test enabling unknown pass should throw'() {
+        when:
+        new Optimizer().enable('not_existing')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test default passes'() {
+        expect:
+        new Optimizer().passes == [ConstantFolding.NAME, DeadBranchElimination.NAME,
+                                   LoopInvariantHoisting.NAME, ScopeElision.NAME]
+    }
+
+    def 'test none should have no passes'() {
+        expect:
+        Optimizer.none().passes.empty
+    }
+
+}
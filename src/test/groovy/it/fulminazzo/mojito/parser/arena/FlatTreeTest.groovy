@@ -0,0 +1,130 @@
+package it.fulminazzo.mojito.parser.arena
+
+import it.fulminazzo.mojito.executor.specialization.Specializer
+import it.fulminazzo.mojito.parser.JavaParser
+import it.fulminazzo.mojito.parser.node.container.JavaProgram
+import it.fulminazzo.mojito.parser.node.operators.binary.Add
+import it.fulminazzo.mojito.parser.node.statements.Return
+import it.fulminazzo.mojito.parser.node.statements.Statement
+import it.fulminazzo.mojito.parser.node.values.NumberValueLiteral
+import it.fulminazzo.mojito.typechecker.TypeChecker
+import spock.lang.Specification
+
+class FlatTreeTest extends Specification {
+
+    private static JavaProgram parse(final String code) {
+        def parser = new JavaParser()
+        parser.setInput(code)
+        return parser.parseProgram()
+    }
+
+    def 'test conversion of #name should be lossless'() {
+        given:
+        def program = parse(code)
+
+        when:
+        def tree = FlatTree.of(program)
+        def converted = tree.toNode()
+
+        then:
+        converted == program
+        !converted.is(program)
+        converted.toString() == program.toString()
+
+        where:
+        name          | code
+        'arithmetic'  | 'int a = 1; long b = 2L; double c = 3.5d; return a * (b + c) % 4;'
+        'strings'     | 'String s = "a\\tb"; char c = \'\\n\'; return s + c + s.length();'
+        'escapes'     | 'String s = "\\\\\\"x\\\\"; char c = \'\\\\\'; return s + c;'
+        'unary'       | 'int i = 0; i++; --i; boolean b = !(i > -1); return b;'
+        'loops'       | 'int s = 0; for (int i = 0; i < 10; i++) { if (i % 2 == 0) continue; s += i; } while (s > 0) s--; return s;'
+        'arrays'      | 'int[] a = new int[3]; int[] b = new int[]{1, 2}; for (int x : b) a[0] += x; return a.length;'
+        'switch'      | 'int r = 0; switch (r) { case 0: r = 1; break; case 1: { r = 2; } default: r = 3; } return r;'
+        'try'         | 'try { throw new IllegalStateException("x"); } catch (IllegalArgumentException | IllegalStateException e) { return 1; } finally { int a = 0; }'
+        'method call' | 'StringBuilder b = new StringBuilder(); b.append(1).append("a"); return System.currentTimeMillis() > 0 && !false;'
+    }
+
+    def 'test tree should store equal strings only once'() {
+        when:
+        def tree = FlatTree.of(parse('String a = "x"; String b = "x"; return a + b;'))
+
+        then:
+        tree.size() > 0
+        tree.constantCount < tree.size()
+        tree.toNode() == parse('String a = "x"; String b = "x"; return a + b;')
+    }
+
+    def 'test cursor should walk the tree without converting it'() {
+        given:
+        def cursor = FlatTree.of(parse('return 1 + 2;')).cursor()
+
+        expect:
+        cursor.type == JavaProgram
+        cursor.fieldCount == 1
+        cursor.getFieldName(0) == 'statements'
+        cursor.getChildCount(0) == 1
+
+        when:
+        cursor.enter(0, 0)
+
+        then:
+        cursor.is(Statement)
+        cursor.type == Return
+        cursor.depth == 1
+
+        when:
+        cursor.enter(0)
+
+        then:
+        cursor.type == Add
+        cursor.depth == 2
+        cursor.toNode() == new Add(new NumberValueLiteral('1'), new NumberValueLiteral('2'))
+
+        when:
+        cursor.enter(1)
+
+        then:
+        cursor.type == NumberValueLiteral
+        cursor.getString(0) == '2'
+
+        when:
+        cursor.exit().exit().exit()
+
+        then:
+        cursor.type == JavaProgram
+        cursor.depth == 0
+    }
+
+    def 'test cursor should reject fields of the wrong type'() {
+        given:
+        def cursor = FlatTree.of(parse('return 1;')).cursor()
+
+        when:
+        cursor.getString(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test specialized program should not be stored'() {
+        given:
+        def program = parse('int a = 1; return a + 2;')
+        def typeChecker = new TypeChecker(this)
+        typeChecker.visitProgram(program)
+
+        when:
+        FlatTree.of(new Specializer(typeChecker.resolutionTable).specialize(program))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test exit from the first node should throw exception'() {
+        when:
+        FlatTree.of(parse('return 1;')).cursor().exit()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+}
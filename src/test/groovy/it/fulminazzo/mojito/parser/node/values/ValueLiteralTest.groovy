@@ -0,0 +1,51 @@
+package it.fulminazzo.mojito.parser.node.values
+
+import it.fulminazzo.mojito.tokenizer.TokenType
+import spock.lang.Specification
+
+class ValueLiteralTest extends Specification {
+
+    def 'test fromToken of #token should be equal to the validated literal'() {
+        when:
+        def literal = ValueLiteral.fromToken(type, token)
+
+        then:
+        literal == expected
+        literal.rawValue == expected.rawValue
+
+        where:
+        type                    | token               | expected
+        TokenType.NUMBER_VALUE  | '42'                | new NumberValueLiteral('42')
+        TokenType.LONG_VALUE    | '42L'               | new LongValueLiteral('42L')
+        TokenType.LONG_VALUE    | '42l'               | new LongValueLiteral('42l')
+        TokenType.DOUBLE_VALUE  | '4.2d'              | new DoubleValueLiteral('4.2d')
+        TokenType.FLOAT_VALUE   | '4.2f'              | new FloatValueLiteral('4.2f')
+        TokenType.BOOLEAN_VALUE | 'true'              | new BooleanValueLiteral('true')
+        TokenType.CHAR_VALUE    | '\'a\''             | new CharValueLiteral('\'a\'')
+        TokenType.CHAR_VALUE    | '\'\\n\''           | new CharValueLiteral('\'\\n\'')
+        TokenType.STRING_VALUE  | '"Hello"'           | new StringValueLiteral('"Hello"')
+        TokenType.STRING_VALUE  | '"a\\tb \\"c\\""'   | new StringValueLiteral('"a\\tb \\"c\\""')
+    }
+
+    def 'test fromToken of non value token should throw exception'() {
+        when:
+        ValueLiteral.fromToken(TokenType.LITERAL, 'a')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'test unescapeString of #string should return #expected'() {
+        expect:
+        ValueLiteral.unescapeString(string) == expected
+
+        where:
+        string       | expected
+        'plain'      | 'plain'
+        'a\\tb'      | 'a\tb'
+        '\\\\n'      | '\\n'
+        '\\\\\\n'    | '\\\n'
+        '\\q\\'      | '\\q\\'
+    }
+
+}
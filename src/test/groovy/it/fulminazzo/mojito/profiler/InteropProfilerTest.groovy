@@ -0,0 +1,98 @@
+package it.fulminazzo.mojito.profiler
+
+import it.fulminazzo.mojito.Mojito
+import spock.lang.Specification
+
+import java.awt.Point
+
+class InteropProfilerTest extends Specification {
+
+    def 'test profiler should record every call site'() {
+        given:
+        def profiler = new InteropProfiler()
+        def code = '''
+            int total = 0;
+            for (int i = 0; i < 5; i++)
+                total += s.length();
+            return total;
+        '''
+
+        when:
+        def result = Mojito.newRunner(this).withInteropProfiler(profiler).run(code, [s: 'abc'])
+        def report = profiler.report
+        def site = report.sites.find { it.name == 'length()' }
+
+        then:
+        result.get() == 15
+        site.position.line == 4
+        site.count == 5
+        site.receiverTypes == [String]
+        !site.megamorphic
+        site.totalTime == InteropProfiler.Phase.values().collect { site.getTime(it) }.sum()
+        report.jdkMembers*.label == ['String.length()']
+        report.jdkMembers[0].count == 5
+    }
+
+    def 'test profiler should detect megamorphic sites'() {
+        given:
+        def profiler = new InteropProfiler()
+        def code = '''
+            int total = 0;
+            for (Object o : data) total += o.toString().length();
+            return total;
+        '''
+
+        when:
+        Mojito.newRunner(this).withInteropProfiler(profiler).run(code, [data: [1, 'ab', 3L, 4.5D]])
+        def report = profiler.report
+
+        then:
+        report.megamorphicSites*.name == ['toString()']
+        report.megamorphicSites[0].receiverTypes == [Integer, String, Long, Double]
+    }
+
+    def 'test profiler should record field accesses'() {
+        given:
+        def profiler = new InteropProfiler()
+
+        when:
+        def result = Mojito.newRunner(this).withInteropProfiler(profiler)
+                .run('return p.getLocation().x;', [p: new Point(1, 2)])
+        def site = profiler.report.sites.find { it.name == 'x' }
+
+        then:
+        result.get() == 1
+        site.count == 1
+        site.receiverTypes == [Point]
+        site.getTime(InteropProfiler.Phase.MARSHAL) == 0
+        profiler.report.jdkMembers*.label.contains('Point.x')
+    }
+
+    def 'test report should be converted to tables'() {
+        given:
+        def profiler = new InteropProfiler()
+        Mojito.newRunner(this).withInteropProfiler(profiler).run('return s.trim().length();', [s: ' a '])
+
+        when:
+        def text = profiler.report.toText(10)
+
+        then:
+        text.startsWith('site')
+        text.contains('String.trim()')
+        text.contains('String.length()')
+    }
+
+    def 'test reset should discard the recorded accesses'() {
+        given:
+        def profiler = new InteropProfiler()
+        Mojito.newRunner(this).withInteropProfiler(profiler).run('return s.length();', [s: 'a'])
+
+        when:
+        profiler.reset()
+
+        then:
+        profiler.report.sites.isEmpty()
+        profiler.report.members.isEmpty()
+    }
+
+}
@@ -0,0 +1,118 @@
+package it.fulminazzo.mojito.profiler
+
+import it.fulminazzo.mojito.ExecutionMode
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.parser.JavaParser
+import spock.lang.Specification
+
+class NodeProfilerTest extends Specification {
+    private static final String CODE = '''
+        int sum = 0;
+        for (int i = 0; i < 10; i++)
+            sum += i;
+        return sum;
+    '''
+
+    def 'test profiler in mode #mode should count every statement'() {
+        given:
+        def profiler = new NodeProfiler()
+
+        when:
+        def result = Mojito.newRunner(this, mode).withProfiler(profiler).run(CODE, [:])
+        def nodes = profiler.report.nodes.collectEntries { [(it.position.line): it] }
+
+        then:
+        result.get() == 45
+        nodes[2].name == 'Assignment'
+        nodes[2].count == 1
+        nodes[3].name == 'ForStatement'
+        nodes[3].count == 1
+        nodes[4].count == 10
+        nodes[5].name == 'Return'
+        nodes[3].inclusiveTime >= nodes[4].inclusiveTime
+        nodes[3].exclusiveTime == nodes[3].inclusiveTime - nodes[4].inclusiveTime
+
+        where:
+        mode << [ExecutionMode.INTERPRETED, ExecutionMode.SPECIALIZED, ExecutionMode.BYTECODE, ExecutionMode.JVM]
+    }
+
+    def 'test profiler should add the executions of more runs'() {
+        given:
+        def profiler = new NodeProfiler()
+        def runner = Mojito.newRunner(this).withProfiler(profiler)
+
+        when:
+        runner.run(CODE, [:])
+        runner.run(CODE, [:])
+
+        then:
+        profiler.report.nodes.find { it.position.line == 4 }.count == 20
+    }
+
+    def 'test profiler should record the stacks of the statements'() {
+        given:
+        def profiler = new NodeProfiler()
+
+        when:
+        Mojito.newRunner(this).withProfiler(profiler).run(CODE, [:])
+        def stacks = profiler.report.toCollapsedStacks().readLines()
+
+        then:
+        stacks.size() == 4
+        stacks.any { it ==~ /ForStatement@3:\d+;\w+@4:\d+ \d+/ }
+    }
+
+    def 'test report should be converted to JSON'() {
+        given:
+        def profiler = new NodeProfiler()
+
+        when:
+        Mojito.newRunner(this).withProfiler(profiler).run('return 1;', [:])
+        def json = profiler.report.toJson()
+
+        then:
+        json ==~ /\[\{"name":"Return","line":1,"column":\d+,"count":1,"inclusiveNanos":\d+,"exclusiveNanos":\d+}]/
+    }
+
+    def 'test report should be converted to a table'() {
+        given:
+        def profiler = new NodeProfiler()
+
+        when:
+        Mojito.newRunner(this).withProfiler(profiler).run(CODE, [:])
+        def lines = profiler.report.toText().readLines()
+
+        then:
+        lines.size() == 5
+        lines[0].startsWith('statement')
+    }
+
+    def 'test reset should discard the recorded executions'() {
+        given:
+        def profiler = new NodeProfiler()
+        Mojito.newRunner(this).withProfiler(profiler).run(CODE, [:])
+
+        when:
+        profiler.reset()
+
+        then:
+        profiler.report.nodes.isEmpty()
+        profiler.report.totalTime == 0
+    }
+
+    def 'test parser should record the position of method calls and fields'() {
+        given:
+        def parser = new JavaParser()
+        parser.setInput('int a = 1;\n  String s = System.out.toString().trim();')
+
+        when:
+        def program = parser.parseProgram()
+        def statement = program.statements[1]
+
+        then:
+        parser.sourceMap.getPosition(program.statements[0]).line == 1
+        parser.sourceMap.getPosition(statement).line == 2
+        parser.sourceMap.size() > 2
+    }
+
+}
@@ -0,0 +1,173 @@
+package it.fulminazzo.mojito.script
+
+import spock.lang.Specification
+
+import javax.script.*
+
+class MojitoScriptEngineTest extends Specification {
+    private ScriptEngine engine
+
+    void setup() {
+        this.engine = new ScriptEngineManager().getEngineByName('mojito')
+    }
+
+    def 'test engine should be registered as a service'() {
+        expect:
+        this.engine instanceof MojitoScriptEngine
+        this.engine.factory.names.contains('mojito')
+        this.engine.factory.getParameter(ScriptEngine.NAME) == 'mojito'
+    }
+
+    def 'test eval should inject the bindings as variables'() {
+        given:
+        def bindings = this.engine.createBindings()
+        bindings.put('a', 2)
+        bindings.put('b', 3)
+
+        when:
+        def result = this.engine.eval('return a * b;', bindings)
+
+        then:
+        result == 6
+    }
+
+    def 'test engine bindings should take precedence over global ones'() {
+        given:
+        def context = new SimpleScriptContext()
+        context.setBindings(new SimpleBindings([a: 1]), ScriptContext.GLOBAL_SCOPE)
+        context.setBindings(new SimpleBindings([a: 2]), ScriptContext.ENGINE_SCOPE)
+
+        expect:
+        this.engine.eval('return a;', context) == 2
+    }
+
+    def 'test compiled script should be evaluated many times'() {
+        given:
+        def script = (this.engine as Compilable).compile('int s = 0; for (int i = 0; i < n; i++) s += i; return s;')
+
+        when:
+        def results = (1..5).collect { script.eval(new SimpleBindings([n: it])) }
+
+        then:
+        results == [0, 1, 3, 6, 10]
+        script.engine == this.engine
+    }
+
+    def 'test eval of the same code should reuse the compiled script'() {
+        given:
+        def engine = this.engine as MojitoScriptEngine
+
+        when:
+        def results = (1..3).collect { engine.eval('return n * 2;', new SimpleBindings([n: it])) }
+
+        then:
+        results == [2, 4, 6]
+        engine.scripts.size() == 1
+        engine.scripts.values().first().invocations == 3
+    }
+
+    def 'test engine should only keep the most recently used scripts'() {
+        given:
+        def engine = this.engine as MojitoScriptEngine
+
+        when:
+        (0..MojitoScriptEngine.MAX_CACHED_SCRIPTS).each { engine.eval("return ${it};".toString()) }
+
+        then:
+        engine.scripts.size() == MojitoScriptEngine.MAX_CACHED_SCRIPTS
+        !engine.scripts.containsKey('return 0;')
+    }
+
+    def 'test compile should report syntax errors'() {
+        when:
+        (this.engine as Compilable).compile('return 1 +;')
+
+        then:
+        thrown(ScriptException)
+    }
+
+    def 'test exceptions thrown by the script should be wrapped'() {
+        when:
+        this.engine.eval('throw new IllegalStateException("Hello");')
+
+        then:
+        def e = thrown(ScriptException)
+        e.cause != null
+    }
+
+    def 'test output should be written to the writer of the context'() {
+        given:
+        def writer = new StringWriter()
+        def context = new SimpleScriptContext()
+        context.setWriter(writer)
+
+        when:
+        this.engine.eval('System.out.println("Hello"); System.out.print("world");', context)
+
+        then:
+        writer.toString().normalize() == 'Hello\nworld'
+    }
+
+    def 'test original output should be restored after the evaluation'() {
+        given:
+        def out = System.out
+        def err = System.err
+
+        when:
+        this.engine.eval('System.out.print("Hello");', new SimpleScriptContext())
+
+        then:
+        System.out.is(out)
+        System.err.is(err)
+    }
+
+    def 'test output statement and program should be executable'() {
+        given:
+        def factory = this.engine.factory
+        def writer = new StringWriter()
+        def context = new SimpleScriptContext()
+        context.setWriter(writer)
+
+        when:
+        this.engine.eval(factory.getProgram(factory.getOutputStatement('say "hi"'), 'return 1'), context)
+
+        then:
+        writer.toString() == 'say "hi"'
+    }
+
+    def 'test invokeFunction should call the methods of the executing object'() {
+        given:
+        def engine = new MojitoScriptEngineFactory().getScriptEngine(this)
+
+        expect:
+        engine.invokeFunction('twice', 21) == 42
+        engine.invokeMethod('Hello', 'length') == 5
+        engine.getInterface(Doubler).apply(4) == 8
+    }
+
+    def 'test invokeFunction of missing method should throw NoSuchMethodException'() {
+        given:
+        def engine = new MojitoScriptEngineFactory().getScriptEngine(this)
+
+        when:
+        engine.invokeFunction('missing')
+
+        then:
+        thrown(NoSuchMethodException)
+    }
+
+    int twice(int value) {
+        return value * 2
+    }
+
+    int apply(int value) {
+        return twice(value)
+    }
+
+    interface Doubler {
+
+        int apply(int value)
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package it.fulminazzo.mojito.typechecker
+
+import it.fulminazzo.mojito.Mojito
+import it.fulminazzo.mojito.RunnerException
+import spock.lang.Specification
+
+class CatchTableTest extends Specification {
+    private CatchTable table
+
+    void setup() {
+        this.table = new CatchTable([
+                [IllegalArgumentException, IllegalStateException],
+                [RuntimeException],
+                [Exception]
+        ])
+    }
+
+    def 'test get handler of #thrown should return #expected'() {
+        when:
+        def handler = this.table.getHandler(thrown)
+
+        then:
+        handler?.index == expected
+        handler == null || handler.type.isAssignableFrom(thrown)
+
+        where:
+        thrown                         | expected
+        IllegalArgumentException       | 0
+        NumberFormatException          | 0
+        IllegalStateException          | 0
+        UnsupportedOperationException  | 1
+        IOException                    | 2
+        Error                          | null
+    }
+
+    def 'test get handler should be memoized'() {
+        expect:
+        this.table.getHandler(ArithmeticException).is(this.table.getHandler(ArithmeticException))
+        this.table.getHandler(OutOfMemoryError) == null
+        this.table.getHandler(OutOfMemoryError) == null
+    }
+
+    def 'test try statement should catch #thrown in clause #expected'() {
+        given:
+        def code = """
+            int r = 0;
+            for (int i = 0; i < 3; i++) {
+                try {
+                    throw new ${thrown}();
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    r += 1;
+                } catch (RuntimeException e) {
+                    r += 10;
+                }
+            }
+            return r;
+        """
+
+        when:
+        def result = Mojito.newRunner(this).run(code).orElse(null)
+
+        then:
+        result == expected * 3
+
+        where:
+        thrown                          | expected
+        'IllegalArgumentException'      | 1
+        'NumberFormatException'         | 1
+        'IllegalStateException'         | 1
+        'UnsupportedOperationException' | 10
+        'ArithmeticException'           | 10
+    }
+
+    def 'test uncaught exception should be propagated'() {
+        when:
+        Mojito.newRunner(this).run('try { throw new IllegalStateException(); } catch (IllegalArgumentException e) { return 1; }')
+
+        then:
+        def e = thrown(RunnerException)
+        e.cause instanceof IllegalStateException
+    }
+
+}
@@ -0,0 +1,180 @@
+package it.fulminazzo.mojito.typechecker
+
+import it.fulminazzo.mojito.TestClass
+import it.fulminazzo.mojito.executor.Executor
+import it.fulminazzo.mojito.executor.values.primitivevalue.PrimitiveValue
+import it.fulminazzo.mojito.parser.node.Assignment
+import it.fulminazzo.mojito.parser.node.MethodCall
+import it.fulminazzo.mojito.parser.node.MethodInvocation
+import it.fulminazzo.mojito.parser.node.literals.Literal
+import it.fulminazzo.mojito.parser.node.container.CodeBlock
+import it.fulminazzo.mojito.parser.node.operators.binary.Add
+import it.fulminazzo.mojito.parser.node.operators.binary.NewObject
+import it.fulminazzo.mojito.parser.node.operators.unary.Minus
+import it.fulminazzo.mojito.parser.node.AssignmentBlock
+import it.fulminazzo.mojito.parser.node.statements.CaseStatement
+import it.fulminazzo.mojito.parser.node.statements.CatchStatement
+import it.fulminazzo.mojito.parser.node.statements.TryStatement
+import it.fulminazzo.mojito.parser.node.statements.SwitchStatement
+import it.fulminazzo.mojito.parser.node.values.NumberValueLiteral
+import it.fulminazzo.mojito.parser.node.values.StringValueLiteral
+import it.fulminazzo.mojito.typechecker.types.objects.ObjectType
+import spock.lang.Specification
+
+class ResolutionTableTest extends Specification {
+    private TypeChecker typeChecker
+    private ResolutionTable table
+
+    void setup() {
+        this.typeChecker = new TypeChecker(new TestClass())
+        this.table = this.typeChecker.resolutionTable
+    }
+
+    def 'test method call on exact executor should be resolved'() {
+        given:
+        def invocation = new MethodInvocation([])
+        def methodCall = new MethodCall(new StringValueLiteral('\"Hello\"'), 'length', invocation)
+
+        when:
+        methodCall.accept(this.typeChecker)
+
+        then:
+        this.table.getMethod(invocation) == String.getMethod('length')
+    }
+
+    def 'test method call on non-final executor should not be resolved'() {
+        given:
+        def invocation = new MethodInvocation([])
+        def executor = new NewObject(Literal.of('Object'), new MethodInvocation([]))
+        def methodCall = new MethodCall(executor, 'toString', invocation)
+
+        when:
+        methodCall.accept(this.typeChecker)
+
+        then:
+        this.table.getMethod(invocation) == null
+    }
+
+    def 'test new object with exact parameters should be resolved'() {
+        given:
+        def invocation = new MethodInvocation([new StringValueLiteral('\"Hello\"')])
+        def newObject = new NewObject(Literal.of('StringBuilder'), invocation)
+
+        when:
+        newObject.accept(this.typeChecker)
+
+        then:
+        this.table.getConstructor(invocation) == StringBuilder.getConstructor(String)
+        this.table.getType(invocation.parameters[0]) == ObjectType.STRING
+    }
+
+    def 'test assignment of #value should be exact: #expected'() {
+        given:
+        def assignment = new Assignment(Literal.of(type), Literal.of('variable'), value)
+
+        when:
+        assignment.accept(this.typeChecker)
+
+        then:
+        this.table.isExactAssignment(value) == expected
+
+        where:
+        type     | value                                 | expected
+        'int'    | new NumberValueLiteral('1')           | true
+        'String' | new StringValueLiteral('\"Hello\"')   | true
+        'long'   | new NumberValueLiteral('1')           | false
+        'Object' | new StringValueLiteral('\"Hello\"')   | false
+    }
+
+    def 'test literal #literal should be resolved to #expected'() {
+        when:
+        this.typeChecker.getObjectFromLiteral(literal)
+
+        then:
+        this.table.isLiteralResolved(literal)
+        this.table.getLiteralClass(literal) == expected
+
+        where:
+        literal         | expected
+        'String'        | String
+        'String.class'  | String
+        'int'           | Integer.TYPE
+        'not_existing'  | null
+    }
+
+    def 'test executor should use resolved method'() {
+        given:
+        def invocation = new MethodInvocation([])
+        def methodCall = new MethodCall(new StringValueLiteral('\"Hello\"'), 'length', invocation)
+        methodCall.accept(this.typeChecker)
+
+        and:
+        def executor = new Executor(new TestClass(), this.table)
+
+        when:
+        def value = methodCall.accept(executor)
+
+        then:
+        value == PrimitiveValue.of(5)
+    }
+
+    def 'test switch statement with constant labels should have #expected table'() {
+        given:
+        def expression = new NumberValueLiteral('1')
+        def switchStatement = new SwitchStatement(expression, labels.collect {
+            new CaseStatement(it, new CodeBlock())
+        }, new CodeBlock())
+
+        when:
+        switchStatement.accept(this.typeChecker)
+
+        then:
+        this.table.getSwitchTable(expression)?.name == expected
+
+        where:
+        labels                                                                | expected
+        [new NumberValueLiteral('1'), new NumberValueLiteral('2')]            | 'table'
+        [new NumberValueLiteral('1'), new NumberValueLiteral('1000')]         | 'hash'
+        [new NumberValueLiteral('1'), new Minus(new NumberValueLiteral('500'))] | 'hash'
+        [new NumberValueLiteral('1'), new Add(new NumberValueLiteral('1'),
+                new NumberValueLiteral('1'))]                                 | null
+    }
+
+    def 'test switch statement on string should have hash table'() {
+        given:
+        def expression = new StringValueLiteral('\"b\"')
+        def switchStatement = new SwitchStatement(expression, [
+                new CaseStatement(new StringValueLiteral('\"a\"'), new CodeBlock()),
+                new CaseStatement(new StringValueLiteral('\"b\"'), new CodeBlock())
+        ], new CodeBlock())
+
+        when:
+        switchStatement.accept(this.typeChecker)
+        def table = this.table.getSwitchTable(expression)
+
+        then:
+        table.name == 'hash'
+        table.getCase('b') == 1
+        table.getCase('c') == 2
+        table.getCase(null) == SwitchTable.NOT_SUPPORTED
+    }
+
+    def 'test try statement should have catch table'() {
+        given:
+        def catchBlocks = [
+                new CatchStatement([Literal.of('IllegalArgumentException')], Literal.of('e'), new CodeBlock()),
+                new CatchStatement([Literal.of('RuntimeException')], Literal.of('e'), new CodeBlock())
+        ]
+        def tryStatement = new TryStatement(new AssignmentBlock([]), new CodeBlock(), catchBlocks, new CodeBlock())
+
+        when:
+        tryStatement.accept(this.typeChecker)
+        def table = this.table.getCatchTable(catchBlocks)
+
+        then:
+        table.getHandler(NumberFormatException).index == 0
+        table.getHandler(IllegalStateException).index == 1
+        table.getHandler(Exception) == null
+    }
+
+}
@@ -0,0 +1,99 @@
+package it.fulminazzo.mojito.typechecker
+
+import it.fulminazzo.mojito.Mojito
+import spock.lang.Specification
+
+class SwitchTableTest extends Specification {
+
+    def 'test ints #labels should create #expected table'() {
+        when:
+        def table = SwitchTable.ofInts(labels as int[])
+
+        then:
+        table.name == expected
+
+        where:
+        labels                 | expected
+        [1, 2, 3]              | 'table'
+        [-1, 0, 1, 4]          | 'table'
+        [1, 100]               | 'hash'
+        [Integer.MIN_VALUE, 0] | 'hash'
+        []                     | 'hash'
+    }
+
+    def 'test get case of #value in #labels should return #expected'() {
+        when:
+        def table = SwitchTable.ofInts(labels as int[])
+
+        then:
+        table.getCase(value) == expected
+
+        where:
+        labels        | value             | expected
+        [1, 2, 3]     | 2                 | 1
+        [1, 2, 3]     | 4                 | 3
+        [1, 2, 3]     | 0                 | 3
+        [1, 2, 3]     | Integer.MAX_VALUE | 3
+        [97, 98]      | 'b' as char       | 1
+        [1, 2, 3]     | 3 as short        | 2
+        [1, 2, 3]     | 1 as byte         | 0
+        [1, 2, 3]     | null              | SwitchTable.NOT_SUPPORTED
+        [1, 2, 3]     | 1L                | SwitchTable.NOT_SUPPORTED
+        [1, 1000]     | 1000              | 1
+        [1, 1000]     | 999               | 2
+        [1, 1000]     | 'a'               | SwitchTable.NOT_SUPPORTED
+    }
+
+    def 'test switch on #value should return #expected'() {
+        given:
+        def code = """
+            String r = "";
+            switch (v) {
+                case 1: r += "one";
+                case 2: r += "two"; break;
+                case 3: { r += "three"; return r; }
+                case -4: r += "minus four";
+                default: r += "default";
+            }
+            return r;
+        """
+
+        when:
+        def result = Mojito.newRunner(this).run(code, [v: value]).orElse(null)
+
+        then:
+        result == expected
+
+        where:
+        value | expected
+        1     | 'onetwo'
+        2     | 'two'
+        3     | 'three'
+        -4    | 'minus fourdefault'
+        5     | 'default'
+    }
+
+    def 'test switch on string #value should return #expected'() {
+        given:
+        def code = """
+            switch (v) {
+                case "first": return 1;
+                case "second": return 2;
+                default: return 0;
+            }
+        """
+
+        when:
+        def result = Mojito.newRunner(this).run(code, [v: value]).orElse(null)
+
+        then:
+        result == expected
+
+        where:
+        value    | expected
+        'first'  | 1
+        'second' | 2
+        'third'  | 0
+    }
+
+}
@@ -0,0 +1,22 @@
+ArrayList numbers = new ArrayList();
+for (int i = 0; i < 300; i++) numbers.add((i * 7919) % 1000);
+
+ArrayList evens = new ArrayList();
+for (Object number : numbers) {
+    int value = (Integer) number;
+    if (value % 2 == 0) evens.add(value * 3);
+}
+
+HashMap groups = new HashMap();
+for (Object number : evens) {
+    int value = (Integer) number;
+    String key = "bucket" + value % 10;
+    Integer previous = (Integer) groups.get(key);
+    if (previous == null) groups.put(key, value);
+    else groups.put(key, previous + value);
+}
+
+Collections.sort(evens);
+long checksum = 0L;
+for (Object key : groups.keySet()) checksum += (Integer) groups.get(key);
+return checksum + (Integer) evens.get(0) + groups.size();
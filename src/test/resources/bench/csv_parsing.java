@@ -0,0 +1,18 @@
+StringBuilder input = new StringBuilder("id,name,quantity,price\n");
+for (int i = 0; i < 200; i++)
+    input.append(i).append(",item").append(i % 17).append(",").append(i % 9 + 1).append(",").append(i % 50 + 10).append("\n");
+
+String[] lines = input.toString().split("\n");
+long total = 0L;
+int rows = 0;
+for (int i = 1; i < lines.length; i++) {
+    String line = lines[i].trim();
+    if (line.isEmpty()) continue;
+    String[] fields = line.split(",");
+    int quantity = Integer.parseInt(fields[2]);
+    int price = Integer.parseInt(fields[3]);
+    if (fields[1].endsWith("3")) continue;
+    total += quantity * price;
+    rows++;
+}
+return total + rows;
@@ -0,0 +1,29 @@
+int size = 24;
+double[] a = new double[576];
+double[] b = new double[576];
+double[] c = new double[576];
+for (int i = 0; i < size * size; i++) {
+    a[i] = i % 7 + 1;
+    b[i] = i % 5 - 2;
+}
+for (int i = 0; i < size; i++)
+    for (int j = 0; j < size; j++) {
+        double sum = 0;
+        for (int k = 0; k < size; k++) sum += a[i * size + k] * b[k * size + j];
+        c[i * size + j] = sum;
+    }
+
+long primes = 0L;
+for (int n = 2; n < 2000; n++) {
+    boolean prime = true;
+    for (int d = 2; d * d <= n; d++)
+        if (n % d == 0) {
+            prime = false;
+            break;
+        }
+    if (prime) primes += n;
+}
+
+double trace = 0;
+for (int i = 0; i < size; i++) trace += c[i * size + i];
+return trace + primes;
@@ -0,0 +1,25 @@
+int approved = 0;
+int rejected = 0;
+int review = 0;
+for (int id = 0; id < 500; id++) {
+    int age = 18 + id % 60;
+    int income = 1000 + (id * 37) % 9000;
+    int debt = (id * 53) % 5000;
+    boolean employed = id % 7 != 0;
+    String country = "IT";
+    if (id % 5 == 0) country = "FR";
+    else if (id % 11 == 0) country = "US";
+
+    int score = 0;
+    if (age >= 25 && age <= 65) score += 20;
+    if (employed) score += 30;
+    if (income > debt * 2) score += 25;
+    else if (income > debt) score += 10;
+    if (country.equals("IT") || country.equals("FR")) score += 10;
+    if (debt == 0) score += 15;
+
+    if (score >= 70) approved++;
+    else if (score >= 40) review++;
+    else rejected++;
+}
+return approved * 1000000 + review * 1000 + rejected;
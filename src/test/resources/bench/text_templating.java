@@ -0,0 +1,26 @@
+String template = "Dear {name}, your order #{id} of {count} items ships on {day}.";
+String[] names = new String[]{"Alice", "Bob", "Carol", "Dave", "Eve"};
+String[] days = new String[]{"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+StringBuilder output = new StringBuilder();
+for (int i = 0; i < 200; i++) {
+    StringBuilder line = new StringBuilder();
+    int start = 0;
+    int open = template.indexOf("{", start);
+    while (open >= 0) {
+        int close = template.indexOf("}", open);
+        line.append(template.substring(start, open));
+        String key = template.substring(open + 1, close);
+        switch (key) {
+            case "name": line.append(names[i % names.length]); break;
+            case "id": line.append(1000 + i); break;
+            case "count": line.append(i % 9 + 1); break;
+            case "day": line.append(days[i % days.length]); break;
+            default: line.append("?");
+        }
+        start = close + 1;
+        open = template.indexOf("{", start);
+    }
+    line.append(template.substring(start));
+    output.append(line.toString().toUpperCase()).append('\n');
+}
+return output.length();